@@ -0,0 +1,79 @@
+package com.bookmyseat.reviewservice.archive;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * One fixed-size record of a movie's offset index, describing a compressed block in the
+ * movie's segment file together with the rating totals of the reviews inside it.
+ */
+class ArchiveIndexEntry {
+
+    static final int BYTES = 8 + 4 + 4 + 8 + 8 + 5 * 4;
+
+    private final long offset;
+    private final int compressedLength;
+    private final int reviewCount;
+    private final long maxReviewId;
+    private final long ratingTenthsSum;
+    private final int[] ratingCounts;
+
+    ArchiveIndexEntry(long offset, int compressedLength, int reviewCount, long maxReviewId,
+                      long ratingTenthsSum, int[] ratingCounts) {
+        this.offset = offset;
+        this.compressedLength = compressedLength;
+        this.reviewCount = reviewCount;
+        this.maxReviewId = maxReviewId;
+        this.ratingTenthsSum = ratingTenthsSum;
+        this.ratingCounts = ratingCounts;
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(offset);
+        out.writeInt(compressedLength);
+        out.writeInt(reviewCount);
+        out.writeLong(maxReviewId);
+        out.writeLong(ratingTenthsSum);
+        for (int star = 1; star <= 5; star++) {
+            out.writeInt(ratingCounts[star]);
+        }
+    }
+
+    static ArchiveIndexEntry readFrom(DataInput in) throws IOException {
+        long offset = in.readLong();
+        int compressedLength = in.readInt();
+        int reviewCount = in.readInt();
+        long maxReviewId = in.readLong();
+        long ratingTenthsSum = in.readLong();
+        int[] ratingCounts = new int[6];
+        for (int star = 1; star <= 5; star++) {
+            ratingCounts[star] = in.readInt();
+        }
+        return new ArchiveIndexEntry(offset, compressedLength, reviewCount, maxReviewId, ratingTenthsSum, ratingCounts);
+    }
+
+    long getOffset() {
+        return offset;
+    }
+
+    int getCompressedLength() {
+        return compressedLength;
+    }
+
+    int getReviewCount() {
+        return reviewCount;
+    }
+
+    long getMaxReviewId() {
+        return maxReviewId;
+    }
+
+    long getRatingTenthsSum() {
+        return ratingTenthsSum;
+    }
+
+    int getRatingCount(int star) {
+        return ratingCounts[star];
+    }
+}
@@ -0,0 +1,57 @@
+package com.bookmyseat.reviewservice.archive;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Rating totals of the archived reviews of one movie, used to keep aggregates exact
+ * after rows leave the reviews table.
+ */
+public class ArchivedRatingStats {
+
+    public static final ArchivedRatingStats EMPTY = new ArchivedRatingStats(0, BigDecimal.ZERO, new int[6]);
+
+    private final long reviewCount;
+    private final BigDecimal ratingSum;
+    private final int[] ratingCounts;
+
+    // Constructor
+    public ArchivedRatingStats(long reviewCount, BigDecimal ratingSum, int[] ratingCounts) {
+        this.reviewCount = reviewCount;
+        this.ratingSum = ratingSum;
+        this.ratingCounts = ratingCounts;
+    }
+
+    ArchivedRatingStats plus(ArchiveIndexEntry entry) {
+        int[] counts = Arrays.copyOf(ratingCounts, ratingCounts.length);
+        for (int star = 1; star <= 5; star++) {
+            counts[star] += entry.getRatingCount(star);
+        }
+        return new ArchivedRatingStats(reviewCount + entry.getReviewCount(),
+                ratingSum.add(BigDecimal.valueOf(entry.getRatingTenthsSum(), 1)), counts);
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public BigDecimal getRatingSum() {
+        return ratingSum;
+    }
+
+    /**
+     * Number of archived reviews whose rating truncates to the given star value (1-5)
+     */
+    public int getRatingCount(int star) {
+        return star >= 1 && star <= 5 ? ratingCounts[star] : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedRatingStats{" +
+                "reviewCount=" + reviewCount +
+                ", ratingSum=" + ratingSum +
+                ", ratingCounts=" + Arrays.toString(ratingCounts) +
+                '}';
+    }
+}
@@ -0,0 +1,387 @@
+package com.bookmyseat.reviewservice.archive;
+
+import com.bookmyseat.reviewservice.dto.ReviewDTO;
+import com.bookmyseat.reviewservice.entity.Review;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cold tier for old reviews, stored on local disk.
+ * <p>
+ * Each movie has an append-only segment file of Deflater-compressed blocks and an offset
+ * index of fixed-size entries, one per block. Blocks are appended oldest batch first and
+ * hold their reviews newest first, so reading the index backwards yields the movie's
+ * archived reviews in listing order. Blocks are read through memory-mapped regions of the
+ * segment file.
+ * <p>
+ * {@link #append} only writes the files; the block becomes visible to readers once
+ * {@link #publish} is called after its rows are deleted from the reviews table. Until then
+ * it is kept as the movie's pending batch, so a failed delete can be finished later.
+ * <p>
+ * The directory only counts as durable once an operator has created the {@value #VOLUME_MARKER}
+ * file in it, on a volume that outlives the container; the archiver refuses to delete rows
+ * from the reviews table before that.
+ */
+@Component
+public class ReviewArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewArchive.class);
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+
+    public static final String VOLUME_MARKER = "review-archive.volume";
+
+    private final Path directory;
+    private final Map<Long, MovieArchive> movies = new ConcurrentHashMap<>();
+    private final Map<Long, ArchiveBatch> pending = new ConcurrentHashMap<>();
+
+    public ReviewArchive(@Value("${review.archive.directory:/var/lib/review-archive}") String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * Load the offset index of every archived movie
+     */
+    @PostConstruct
+    public void load() {
+        if (!Files.isDirectory(directory)) {
+            logger.debug("No review archive found at {}", directory.toAbsolutePath());
+            return;
+        }
+
+        try (DirectoryStream<Path> indexFiles = Files.newDirectoryStream(directory, "movie-*" + INDEX_SUFFIX)) {
+            for (Path indexFile : indexFiles) {
+                String name = indexFile.getFileName().toString();
+                Long movieId = Long.valueOf(name.substring("movie-".length(), name.length() - INDEX_SUFFIX.length()));
+                List<ArchiveIndexEntry> entries = readIndex(indexFile, segmentFile(movieId));
+                MovieArchive archive = new MovieArchive();
+                entries.forEach(archive::add);
+                movies.put(movieId, archive);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load review archive from " + directory, e);
+        }
+
+        logger.info("Loaded review archive for {} movies from {}", movies.size(), directory.toAbsolutePath());
+    }
+
+    /**
+     * Whether the directory is an absolute, writable path carrying the {@value #VOLUME_MARKER}
+     * file, i.e. a provisioned volume rather than the container's own file system
+     */
+    public boolean isOnDurableVolume() {
+        return directory.isAbsolute()
+                && Files.isRegularFile(directory.resolve(VOLUME_MARKER))
+                && Files.isWritable(directory);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Number of archived reviews of a movie
+     */
+    public long getArchivedReviewCount(Long movieId) {
+        MovieArchive archive = movies.get(movieId);
+        return archive != null ? archive.stats.getReviewCount() : 0L;
+    }
+
+    /**
+     * Rating totals of the archived reviews of a movie
+     */
+    public ArchivedRatingStats getRatingStats(Long movieId) {
+        MovieArchive archive = movies.get(movieId);
+        return archive != null ? archive.stats : ArchivedRatingStats.EMPTY;
+    }
+
+    /**
+     * Ids of movies with archived reviews
+     */
+    public List<Long> getArchivedMovieIds() {
+        return new ArrayList<>(movies.keySet());
+    }
+
+    /**
+     * Read archived reviews of a movie in listing order (newest first).
+     * @param offset number of archived reviews to skip
+     * @param limit maximum number of reviews to return
+     * @param preview whether to cut comments down to the listing preview
+     */
+    public List<ReviewDTO> readReviews(Long movieId, long offset, int limit, boolean preview) {
+        MovieArchive archive = movies.get(movieId);
+        if (archive == null || limit <= 0 || offset >= archive.stats.getReviewCount()) {
+            return Collections.emptyList();
+        }
+
+        List<ArchiveIndexEntry> entries = archive.entries;
+        List<ReviewDTO> reviews = new ArrayList<>(limit);
+        long skip = offset;
+
+        try (FileChannel segment = FileChannel.open(segmentFile(movieId), StandardOpenOption.READ)) {
+            for (int i = entries.size() - 1; i >= 0 && reviews.size() < limit; i--) {
+                ArchiveIndexEntry entry = entries.get(i);
+                if (skip >= entry.getReviewCount()) {
+                    skip -= entry.getReviewCount();
+                    continue;
+                }
+
+                List<ReviewDTO> block = ReviewSegmentCodec.decode(mapBlock(segment, entry));
+                int from = (int) skip;
+                int to = Math.min(block.size(), from + limit - reviews.size());
+                for (ReviewDTO review : block.subList(from, to)) {
+                    reviews.add(preview ? toPreview(review) : review);
+                }
+                skip = 0;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archived reviews of movie " + movieId, e);
+        }
+        return reviews;
+    }
+
+    /**
+     * User names of every archived review of a movie, including a batch that is not published yet
+     */
+    public List<String> readUserNames(Long movieId) {
+        List<ArchiveIndexEntry> entries = new ArrayList<>();
+        MovieArchive archive = movies.get(movieId);
+        if (archive != null) {
+            entries.addAll(archive.entries);
+        }
+        ArchiveBatch unpublished = pending.get(movieId);
+        if (unpublished != null) {
+            entries.add(unpublished.getEntry());
+        }
+        if (entries.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> userNames = new ArrayList<>();
+        try (FileChannel segment = FileChannel.open(segmentFile(movieId), StandardOpenOption.READ)) {
+            for (ArchiveIndexEntry entry : entries) {
+                for (ReviewDTO review : ReviewSegmentCodec.decode(mapBlock(segment, entry))) {
+                    userNames.add(review.getUserName());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archived reviewers of movie " + movieId, e);
+        }
+        return userNames;
+    }
+
+    /**
+     * Append a batch of reviews of one movie to its segment file and offset index.
+     * The batch must be newer than everything already archived for the movie.
+     * @param reviewsNewestFirst reviews ordered by review date descending
+     * @return the index entry, to {@link #publish} once the rows are gone from the reviews table
+     */
+    public synchronized ArchiveBatch append(Long movieId, List<Review> reviewsNewestFirst) {
+        if (pending.containsKey(movieId)) {
+            // Publishing blocks out of order would break the listing order of the index
+            throw new IllegalStateException("Movie " + movieId + " has an archived batch that was not published yet");
+        }
+        byte[] block = ReviewSegmentCodec.encode(reviewsNewestFirst);
+
+        long maxReviewId = 0;
+        long ratingTenthsSum = 0;
+        int[] ratingCounts = new int[6];
+        for (Review review : reviewsNewestFirst) {
+            maxReviewId = Math.max(maxReviewId, review.getId());
+            ratingTenthsSum += ReviewSegmentCodec.toTenths(review.getRating());
+            int star = review.getRating().intValue();
+            if (star >= 1 && star <= 5) {
+                ratingCounts[star]++;
+            }
+        }
+
+        try {
+            Files.createDirectories(directory);
+
+            long offset;
+            try (FileChannel segment = FileChannel.open(segmentFile(movieId),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // Append after any bytes left by an interrupted earlier write
+                offset = segment.size();
+                ByteBuffer buffer = ByteBuffer.wrap(block);
+                while (buffer.hasRemaining()) {
+                    segment.write(buffer, offset + buffer.position());
+                }
+                segment.force(false);
+            }
+
+            ArchiveIndexEntry entry = new ArchiveIndexEntry(offset, block.length, reviewsNewestFirst.size(),
+                    maxReviewId, ratingTenthsSum, ratingCounts);
+            ByteArrayOutputStream encodedEntry = new ByteArrayOutputStream(ArchiveIndexEntry.BYTES);
+            entry.writeTo(new DataOutputStream(encodedEntry));
+
+            try (FileChannel index = FileChannel.open(indexFile(movieId),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // Drop a partial entry left by an interrupted earlier write
+                long indexEnd = index.size() - index.size() % ArchiveIndexEntry.BYTES;
+                index.truncate(indexEnd);
+                ByteBuffer buffer = ByteBuffer.wrap(encodedEntry.toByteArray());
+                while (buffer.hasRemaining()) {
+                    index.write(buffer, indexEnd + buffer.position());
+                }
+                index.force(false);
+            }
+
+            logger.debug("Archived {} reviews of movie {} into a {} byte block", reviewsNewestFirst.size(), movieId, block.length);
+            ArchiveBatch batch = new ArchiveBatch(movieId, entry);
+            pending.put(movieId, batch);
+            return batch;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive reviews of movie " + movieId, e);
+        }
+    }
+
+    /**
+     * Make an appended batch visible to readers
+     */
+    public void publish(ArchiveBatch batch) {
+        movies.computeIfAbsent(batch.getMovieId(), id -> new MovieArchive()).add(batch.getEntry());
+        pending.remove(batch.getMovieId(), batch);
+    }
+
+    /**
+     * Batches appended but not yet published because their rows were not deleted
+     */
+    public List<ArchiveBatch> getPendingBatches() {
+        return new ArrayList<>(pending.values());
+    }
+
+    /**
+     * The most recently archived batch of a movie, used to finish a batch whose rows were not deleted
+     */
+    public ArchiveBatch getLatestBatch(Long movieId) {
+        MovieArchive archive = movies.get(movieId);
+        if (archive == null || archive.entries.isEmpty()) {
+            return null;
+        }
+        return new ArchiveBatch(movieId, archive.entries.get(archive.entries.size() - 1));
+    }
+
+    /**
+     * Ids of the reviews in an archived batch
+     */
+    public List<Long> readReviewIds(ArchiveBatch batch) {
+        try (FileChannel segment = FileChannel.open(segmentFile(batch.getMovieId()), StandardOpenOption.READ)) {
+            return ReviewSegmentCodec.decode(mapBlock(segment, batch.getEntry())).stream()
+                    .map(ReviewDTO::getId)
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archived batch of movie " + batch.getMovieId(), e);
+        }
+    }
+
+    private static MappedByteBuffer mapBlock(FileChannel segment, ArchiveIndexEntry entry) throws IOException {
+        return segment.map(FileChannel.MapMode.READ_ONLY, entry.getOffset(), entry.getCompressedLength());
+    }
+
+    private static ReviewDTO toPreview(ReviewDTO review) {
+        String comment = review.getComment();
+        boolean truncated = comment != null && comment.length() > Review.COMMENT_PREVIEW_LENGTH;
+        return new ReviewDTO(review.getId(), review.getMovieId(), review.getUserName(), review.getRating(),
+                truncated ? comment.substring(0, Review.COMMENT_PREVIEW_LENGTH) : comment,
+                truncated, review.getReviewDate());
+    }
+
+    private static List<ArchiveIndexEntry> readIndex(Path indexFile, Path segmentFile) throws IOException {
+        long segmentSize = Files.exists(segmentFile) ? Files.size(segmentFile) : 0;
+        long completeEntries = Files.size(indexFile) / ArchiveIndexEntry.BYTES;
+
+        List<ArchiveIndexEntry> entries = new ArrayList<>();
+        try (InputStream in = Files.newInputStream(indexFile);
+             DataInputStream data = new DataInputStream(new BufferedInputStream(in))) {
+            for (long i = 0; i < completeEntries; i++) {
+                ArchiveIndexEntry entry = ArchiveIndexEntry.readFrom(data);
+                if (entry.getOffset() + entry.getCompressedLength() > segmentSize) {
+                    logger.warn("Ignoring archive index entry past the end of {}", segmentFile);
+                    break;
+                }
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    private Path segmentFile(Long movieId) {
+        return directory.resolve("movie-" + movieId + SEGMENT_SUFFIX);
+    }
+
+    private Path indexFile(Long movieId) {
+        return directory.resolve("movie-" + movieId + INDEX_SUFFIX);
+    }
+
+    /**
+     * In-memory view of one movie's offset index; readers see an immutable snapshot
+     */
+    private static class MovieArchive {
+
+        private volatile List<ArchiveIndexEntry> entries = Collections.emptyList();
+        private volatile ArchivedRatingStats stats = ArchivedRatingStats.EMPTY;
+
+        synchronized void add(ArchiveIndexEntry entry) {
+            List<ArchiveIndexEntry> updated = new ArrayList<>(entries);
+            updated.add(entry);
+            stats = stats.plus(entry);
+            entries = Collections.unmodifiableList(updated);
+        }
+    }
+
+    /**
+     * A block appended to a movie's segment file
+     */
+    public static class ArchiveBatch {
+
+        private final Long movieId;
+        private final ArchiveIndexEntry entry;
+
+        ArchiveBatch(Long movieId, ArchiveIndexEntry entry) {
+            this.movieId = movieId;
+            this.entry = entry;
+        }
+
+        public Long getMovieId() {
+            return movieId;
+        }
+
+        public int getReviewCount() {
+            return entry.getReviewCount();
+        }
+
+        public long getMaxReviewId() {
+            return entry.getMaxReviewId();
+        }
+
+        ArchiveIndexEntry getEntry() {
+            return entry;
+        }
+    }
+}
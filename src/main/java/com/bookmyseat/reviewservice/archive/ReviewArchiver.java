@@ -0,0 +1,222 @@
+package com.bookmyseat.reviewservice.archive;
+
+import com.bookmyseat.reviewservice.entity.Review;
+import com.bookmyseat.reviewservice.event.ReviewsArchivedEvent;
+import com.bookmyseat.reviewservice.repository.ReviewRepository;
+import com.bookmyseat.reviewservice.service.JobLeaseService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Background job that moves reviews older than the configured age from the reviews table
+ * into the {@link ReviewArchive}, one movie and one batch at a time.
+ * <p>
+ * A batch is written to disk first and its rows deleted afterwards. It is published to
+ * readers only once the delete has committed, so a review is never listed or counted in both
+ * tiers. If the delete fails the batch stays pending and is finished on the next run; if the
+ * process stops in between, the rows are deleted on the next start.
+ * <p>
+ * Rows are only ever deleted into a durable archive directory (see
+ * {@link ReviewArchive#isOnDurableVolume()}); the application does not start with archiving
+ * enabled otherwise. Runs hold a {@link JobLeaseService} lease, so only one instance archives or
+ * recovers batches at a time.
+ * <p>
+ * Every delete is followed by a {@link ReviewsArchivedEvent}, so the local search index drops the
+ * archived reviews straight away.
+ */
+@Component
+@ConditionalOnProperty(name = "review.archive.enabled", havingValue = "true")
+public class ReviewArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewArchiver.class);
+
+    static final String LEASE = "review-archiver";
+
+    private final ReviewRepository reviewRepository;
+    private final ReviewArchive reviewArchive;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLeaseService jobLeaseService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final int ageDays;
+    private final int batchSize;
+    private final Duration leaseDuration;
+
+    @Autowired
+    public ReviewArchiver(ReviewRepository reviewRepository,
+                          ReviewArchive reviewArchive,
+                          TransactionTemplate transactionTemplate,
+                          JobLeaseService jobLeaseService,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${review.archive.age-days:730}") int ageDays,
+                          @Value("${review.archive.batch-size:1000}") int batchSize,
+                          @Value("${review.archive.lease-hours:6}") long leaseHours) {
+        this(reviewRepository, reviewArchive, transactionTemplate, jobLeaseService, eventPublisher,
+                Clock.systemDefaultZone(), ageDays, batchSize, Duration.ofHours(leaseHours));
+    }
+
+    ReviewArchiver(ReviewRepository reviewRepository, ReviewArchive reviewArchive,
+                   TransactionTemplate transactionTemplate, JobLeaseService jobLeaseService,
+                   ApplicationEventPublisher eventPublisher, Clock clock,
+                   int ageDays, int batchSize, Duration leaseDuration) {
+        this.reviewRepository = reviewRepository;
+        this.reviewArchive = reviewArchive;
+        this.transactionTemplate = transactionTemplate;
+        this.jobLeaseService = jobLeaseService;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.ageDays = ageDays;
+        this.batchSize = Math.max(1, batchSize);
+        this.leaseDuration = leaseDuration;
+    }
+
+    /**
+     * Refuse to start when archived reviews would be lost with the container
+     */
+    @PostConstruct
+    public void verifyDurableStorage() {
+        if (!reviewArchive.isOnDurableVolume()) {
+            throw new IllegalStateException("Review archiving needs durable storage: mount a persistent volume at an " +
+                    "absolute review.archive.directory and create " + ReviewArchive.VOLUME_MARKER + " in it (directory: " +
+                    reviewArchive.getDirectory().toAbsolutePath() + ")");
+        }
+    }
+
+    /**
+     * Delete the rows of any batch that was archived but not removed from the reviews table
+     * before the last shutdown, then finish batches whose delete failed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverInterruptedBatches() {
+        if (!acquireLease()) {
+            return;
+        }
+        try {
+            recoverBatches();
+        } finally {
+            jobLeaseService.release(LEASE);
+        }
+    }
+
+    private void recoverBatches() {
+        // Batches on disk from before a restart were loaded as published
+        for (Long movieId : reviewArchive.getArchivedMovieIds()) {
+            ReviewArchive.ArchiveBatch batch = reviewArchive.getLatestBatch(movieId);
+            if (batch != null && reviewRepository.existsById(batch.getMaxReviewId())) {
+                List<Long> reviewIds = reviewArchive.readReviewIds(batch);
+                int deleted = deleteReviews(movieId, reviewIds);
+                logger.warn("Deleted {} reviews of movie {} left behind by an interrupted archive run", deleted, movieId);
+            }
+        }
+        finishPendingBatches();
+    }
+
+    /**
+     * Delete the rows of batches whose delete failed earlier, and publish them
+     */
+    private void finishPendingBatches() {
+        for (ReviewArchive.ArchiveBatch batch : reviewArchive.getPendingBatches()) {
+            try {
+                int deleted = deleteReviews(batch.getMovieId(), reviewArchive.readReviewIds(batch));
+                reviewArchive.publish(batch);
+                logger.warn("Deleted {} reviews of movie {} left behind by a failed archive delete",
+                        deleted, batch.getMovieId());
+            } catch (RuntimeException e) {
+                logger.error("Failed to finish archived batch of movie {}: {}", batch.getMovieId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Archive every review older than the configured age
+     * @return number of reviews archived
+     */
+    @Scheduled(cron = "${review.archive.cron:0 30 3 * * *}")
+    public long archiveOldReviews() {
+        if (!acquireLease()) {
+            return 0;
+        }
+        try {
+            return archiveReviews();
+        } finally {
+            jobLeaseService.release(LEASE);
+        }
+    }
+
+    private boolean acquireLease() {
+        verifyDurableStorage();
+        if (!jobLeaseService.tryAcquire(LEASE, leaseDuration)) {
+            logger.info("Review archiving is running on another instance, skipping");
+            return false;
+        }
+        return true;
+    }
+
+    private long archiveReviews() {
+        finishPendingBatches();
+
+        LocalDateTime cutoff = LocalDateTime.now(clock).minusDays(ageDays);
+        logger.info("Archiving reviews older than {}", cutoff);
+
+        long archived = 0;
+        for (Long movieId : reviewRepository.findMovieIdsWithReviewsBefore(cutoff)) {
+            try {
+                archived += archiveMovie(movieId, cutoff);
+            } catch (RuntimeException e) {
+                // Leave this movie for the next run and carry on with the others
+                logger.error("Failed to archive reviews of movie {}: {}", movieId, e.getMessage(), e);
+            }
+        }
+
+        logger.info("Archived {} reviews older than {}", archived, cutoff);
+        return archived;
+    }
+
+    private long archiveMovie(Long movieId, LocalDateTime cutoff) {
+        long archived = 0;
+        List<Review> batch;
+        do {
+            // Oldest first, so successive batches are appended in time order
+            batch = reviewRepository.findArchiveCandidates(movieId, cutoff, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            List<Review> newestFirst = new ArrayList<>(batch);
+            Collections.reverse(newestFirst);
+            ReviewArchive.ArchiveBatch archiveBatch = reviewArchive.append(movieId, newestFirst);
+
+            // A failed delete leaves the block pending, to be finished by recoverInterruptedBatches
+            deleteReviews(movieId, batch.stream().map(Review::getId).toList());
+            reviewArchive.publish(archiveBatch);
+            archived += batch.size();
+        } while (batch.size() == batchSize);
+
+        logger.debug("Archived {} reviews of movie {}", archived, movieId);
+        return archived;
+    }
+
+    private int deleteReviews(Long movieId, List<Long> reviewIds) {
+        Integer deleted = transactionTemplate.execute(status -> reviewRepository.deleteArchivedReviews(movieId, reviewIds));
+        eventPublisher.publishEvent(new ReviewsArchivedEvent(movieId, reviewIds));
+        return deleted != null ? deleted : 0;
+    }
+}
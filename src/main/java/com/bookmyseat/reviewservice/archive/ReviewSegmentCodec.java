@@ -0,0 +1,114 @@
+package com.bookmyseat.reviewservice.archive;
+
+import com.bookmyseat.reviewservice.dto.ReviewDTO;
+import com.bookmyseat.reviewservice.entity.Review;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes a batch of reviews of one movie into a Deflater-compressed block and back.
+ * Blocks hold reviews newest first, so a listing page reads them in order.
+ */
+final class ReviewSegmentCodec {
+
+    private static final int NULL_STRING = -1;
+
+    private ReviewSegmentCodec() {}
+
+    static byte[] encode(List<Review> reviewsNewestFirst) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(compressed, deflater))) {
+            out.writeInt(reviewsNewestFirst.size());
+            for (Review review : reviewsNewestFirst) {
+                out.writeLong(review.getId());
+                out.writeLong(review.getMovieId());
+                writeString(out, review.getUserName());
+                out.writeShort(toTenths(review.getRating()));
+                writeString(out, review.getComment());
+                out.writeLong(review.getReviewDate().toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(review.getReviewDate().getNano());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode archive block", e);
+        } finally {
+            deflater.end();
+        }
+        return compressed.toByteArray();
+    }
+
+    static List<ReviewDTO> decode(ByteBuffer block) {
+        ByteBuffer data = inflate(block);
+        int count = data.getInt();
+        List<ReviewDTO> reviews = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Long id = data.getLong();
+            Long movieId = data.getLong();
+            String userName = readString(data);
+            BigDecimal rating = BigDecimal.valueOf(data.getShort(), 1);
+            String comment = readString(data);
+            LocalDateTime reviewDate = LocalDateTime.ofEpochSecond(data.getLong(), data.getInt(), ZoneOffset.UTC);
+            reviews.add(new ReviewDTO(id, movieId, userName, rating, comment, reviewDate));
+        }
+        return reviews;
+    }
+
+    static int toTenths(BigDecimal rating) {
+        return rating.movePointRight(1).intValue();
+    }
+
+    private static ByteBuffer inflate(ByteBuffer block) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(block);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(block.remaining() * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated archive block");
+                }
+                out.write(buffer, 0, n);
+            }
+            return ByteBuffer.wrap(out.toByteArray());
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt archive block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_STRING);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer data) {
+        int length = data.getInt();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        data.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
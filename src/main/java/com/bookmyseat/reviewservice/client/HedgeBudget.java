@@ -0,0 +1,55 @@
+package com.bookmyseat.reviewservice.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps hedged requests at a share of all requests.
+ * <p>
+ * Every lookup earns a fraction of a token and a hedge spends a whole one, so over time hedges
+ * stay at or below the configured percentage of lookups however slow Movie Service gets. A small
+ * burst allowance lets a short latency spike be hedged without waiting for tokens to build up.
+ * Tokens are counted in millionths so the balance fits in one atomic long.
+ */
+public class HedgeBudget {
+
+    private static final long TOKEN = 1_000_000;
+
+    private final long earnedPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance = new AtomicLong();
+
+    public HedgeBudget(double maxExtraLoadPercent, int burst) {
+        if (maxExtraLoadPercent < 0 || maxExtraLoadPercent > 100) {
+            throw new IllegalArgumentException("Extra load must be between 0 and 100 percent: " + maxExtraLoadPercent);
+        }
+        this.earnedPerRequest = Math.round(maxExtraLoadPercent / 100 * TOKEN);
+        this.maxBalance = Math.max(1, burst) * TOKEN;
+    }
+
+    /**
+     * Credit one lookup towards future hedges
+     */
+    public void onRequest() {
+        if (balance.get() < maxBalance) {
+            balance.accumulateAndGet(earnedPerRequest, (current, earned) -> Math.min(maxBalance, current + earned));
+        }
+    }
+
+    /**
+     * Spend one hedge, unless the budget is exhausted
+     */
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    double tokens() {
+        return (double) balance.get() / TOKEN;
+    }
+}
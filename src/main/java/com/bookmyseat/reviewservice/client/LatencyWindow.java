@@ -0,0 +1,71 @@
+package com.bookmyseat.reviewservice.client;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latencies of the most recent calls and a quantile over them.
+ * <p>
+ * Samples go into a fixed ring buffer, so recording allocates nothing. The quantile is
+ * recomputed from a sorted copy of the buffer every {@code size / 8} samples by whichever
+ * recording thread gets there first, and read from a volatile field in between, so the hedging
+ * delay follows Movie Service latency without sorting on every call.
+ */
+public class LatencyWindow {
+
+    private final long[] samples;
+    private final double quantile;
+    private final int minSamples;
+    private final int refreshEvery;
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile long quantileNanos = -1;
+    private volatile long refreshedAt;
+
+    public LatencyWindow(int size, double quantile, int minSamples) {
+        if (size < 8) {
+            throw new IllegalArgumentException("Window must hold at least 8 samples: " + size);
+        }
+        if (quantile <= 0 || quantile >= 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + quantile);
+        }
+        this.samples = new long[size];
+        this.quantile = quantile;
+        this.minSamples = Math.max(1, Math.min(minSamples, size));
+        this.refreshEvery = size / 8;
+    }
+
+    public void record(long nanos) {
+        long count = recorded.incrementAndGet();
+        // A racing writer may overwrite a neighbouring slot; one lost sample does not move a quantile
+        samples[(int) ((count - 1) % samples.length)] = nanos;
+        if (count >= minSamples && count - refreshedAt >= refreshEvery && refreshing.compareAndSet(false, true)) {
+            try {
+                refresh(count);
+            } finally {
+                refreshing.set(false);
+            }
+        }
+    }
+
+    /**
+     * Quantile of the recent samples, or -1 until enough calls have been recorded
+     */
+    public long quantileNanos() {
+        return quantileNanos;
+    }
+
+    public long count() {
+        return recorded.get();
+    }
+
+    private void refresh(long count) {
+        int filled = (int) Math.min(count, samples.length);
+        long[] sorted = Arrays.copyOf(samples, filled);
+        Arrays.sort(sorted);
+        int index = (int) Math.min(filled - 1, Math.ceil(quantile * filled) - 1);
+        quantileNanos = sorted[Math.max(0, index)];
+        refreshedAt = count;
+    }
+}
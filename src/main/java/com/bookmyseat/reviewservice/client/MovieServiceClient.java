@@ -24,10 +24,13 @@ public class MovieServiceClient {
 
     private final RestClient restClient;
     private final String movieServiceBaseUrl;
+    private final MovieServiceHedger hedger;
 
     public MovieServiceClient(RestClient.Builder restClientBuilder,
-                             @Value("${movie-service.base-url}") String movieServiceBaseUrl) {
+                             @Value("${movie-service.base-url}") String movieServiceBaseUrl,
+                             MovieServiceHedger hedger) {
         this.movieServiceBaseUrl = movieServiceBaseUrl;
+        this.hedger = hedger;
         this.restClient = restClientBuilder
                 .baseUrl(movieServiceBaseUrl)
                 .build();
@@ -43,6 +46,10 @@ public class MovieServiceClient {
     @Retry(name = "movieService", fallbackMethod = "getMovieFallback")
     @CircuitBreaker(name = "movieService")
     public MovieDetailDTO getMovieById(Long movieId) {
+        return hedger.call(() -> fetchMovie(movieId));
+    }
+
+    private MovieDetailDTO fetchMovie(Long movieId) {
         try {
             logger.debug("Fetching movie details for movieId: {}", movieId);
 
@@ -0,0 +1,324 @@
+package com.bookmyseat.reviewservice.client;
+
+import com.bookmyseat.reviewservice.exception.MovieServiceUnavailableException;
+import com.bookmyseat.reviewservice.metrics.RequestLatencyMetrics;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Hedges slow Movie Service lookups.
+ * <p>
+ * A lookup runs on a small worker pool while the caller waits up to the recent p95 latency. If
+ * it has not finished by then, an identical second request is sent and the first attempt to
+ * succeed decides the result; the call only fails once every attempt started has failed. Hedges
+ * are paid for from a {@link HedgeBudget}, so they add at most the configured share of extra
+ * load, and are only sent while the movieService circuit breaker is closed. The breaker sees the
+ * outcome of the hedged call through its annotation on {@link MovieServiceClient#getMovieById};
+ * the outcome of every other attempt, success or failure, is recorded on it directly, so a fast
+ * hedge cannot hide a failing Movie Service.
+ * <p>
+ * Every worker holds one pooled connection while its attempt runs, so the worker count is capped
+ * at the connection pool's max-per-route. Workers then never wait out the pool's acquire timeout
+ * behind each other.
+ */
+@Component
+public class MovieServiceHedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieServiceHedger.class);
+
+    static final String CIRCUIT_BREAKER = "movieService";
+
+    private final boolean enabled;
+    private final CircuitBreaker circuitBreaker;
+    private final HedgeBudget budget;
+    private final LatencyWindow latencies;
+    private final long initialDelayNanos;
+    private final long minDelayNanos;
+    private final ThreadPoolExecutor workers;
+    private final ContextSnapshotFactory snapshots = ContextSnapshotFactory.builder().build();
+    private final Counter hedgesWon;
+    private final Counter hedgesLost;
+    private final Counter skippedBudget;
+    private final Counter skippedSaturated;
+
+    @Autowired
+    public MovieServiceHedger(CircuitBreakerRegistry circuitBreakerRegistry,
+                              MeterRegistry meterRegistry,
+                              @Value("${movie-service.hedging.enabled:false}") boolean enabled,
+                              @Value("${movie-service.hedging.max-extra-load-percent:5}") double maxExtraLoadPercent,
+                              @Value("${movie-service.hedging.burst:10}") int burst,
+                              @Value("${movie-service.hedging.initial-delay-ms:100}") long initialDelayMs,
+                              @Value("${movie-service.hedging.min-delay-ms:10}") long minDelayMs,
+                              @Value("${movie-service.hedging.window-size:1024}") int windowSize,
+                              @Value("${movie-service.hedging.min-samples:100}") int minSamples,
+                              @Value("${movie-service.hedging.threads:100}") int threads,
+                              @Value("${movie-service.pool.max-per-route:150}") int maxConnectionsPerRoute) {
+        this(circuitBreakerRegistry, meterRegistry, enabled, new HedgeBudget(maxExtraLoadPercent, burst),
+                initialDelayMs, minDelayMs, windowSize, minSamples, workerCount(threads, maxConnectionsPerRoute));
+    }
+
+    MovieServiceHedger(CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry, boolean enabled,
+                       HedgeBudget budget, long initialDelayMs, long minDelayMs, int windowSize, int minSamples,
+                       int threads) {
+        this.enabled = enabled;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER);
+        this.budget = budget;
+        this.latencies = new LatencyWindow(windowSize, 0.95, minSamples);
+        this.initialDelayNanos = TimeUnit.MILLISECONDS.toNanos(initialDelayMs);
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMs);
+        // No queue: when every worker is busy the lookup runs on the caller's thread without a hedge
+        this.workers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), daemonThreads("movie-service-hedge"));
+        this.workers.allowCoreThreadTimeOut(true);
+
+        this.hedgesWon = hedgeCounter(meterRegistry, "won");
+        this.hedgesLost = hedgeCounter(meterRegistry, "lost");
+        this.skippedBudget = skippedCounter(meterRegistry, "budget");
+        this.skippedSaturated = skippedCounter(meterRegistry, "saturated");
+        TimeGauge.builder("review_movie_service_hedge_delay", this, TimeUnit.NANOSECONDS,
+                        MovieServiceHedger::hedgeDelayNanos)
+                .description("Time a Movie Service lookup may take before it is hedged")
+                .register(meterRegistry);
+    }
+
+    static int workerCount(int threads, int maxConnectionsPerRoute) {
+        if (threads > maxConnectionsPerRoute) {
+            logger.warn("movie-service.hedging.threads ({}) exceeds movie-service.pool.max-per-route ({}), " +
+                    "using {} hedging workers", threads, maxConnectionsPerRoute, maxConnectionsPerRoute);
+            return maxConnectionsPerRoute;
+        }
+        return threads;
+    }
+
+    /**
+     * Run a lookup, hedging it if it is slower than usual
+     */
+    public <T> T call(Supplier<T> attempt) {
+        if (!enabled || circuitBreaker.getState() != CircuitBreaker.State.CLOSED) {
+            return attempt.get();
+        }
+        budget.onRequest();
+
+        Race<T> race = new Race<>();
+        String endpoint = RequestLatencyMetrics.currentEndpoint();
+        ContextSnapshot context = snapshots.captureAll();
+        Attempt<T> primary = new Attempt<>(attempt, race, endpoint, context, false);
+        race.start();
+        try {
+            workers.execute(primary);
+        } catch (RejectedExecutionException e) {
+            skippedSaturated.increment();
+            return timed(attempt);
+        }
+
+        try {
+            return race.first.get(hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            hedge(attempt, race, endpoint, context);
+            return await(race.first);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MovieServiceUnavailableException("Interrupted while waiting for movie service", e);
+        }
+    }
+
+    /**
+     * Current hedging delay: the recent p95, or the initial delay until enough calls were seen
+     */
+    long hedgeDelayNanos() {
+        long p95 = latencies.quantileNanos();
+        return Math.max(minDelayNanos, p95 < 0 ? initialDelayNanos : p95);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private <T> void hedge(Supplier<T> attempt, Race<T> race, String endpoint, ContextSnapshot context) {
+        if (race.first.isDone()) {
+            return;
+        }
+        if (!budget.tryAcquire()) {
+            skippedBudget.increment();
+            return;
+        }
+        Attempt<T> hedge = new Attempt<>(attempt, race, endpoint, context, true);
+        race.start();
+        try {
+            workers.execute(hedge);
+            logger.debug("Hedged movie service lookup after {} ms", TimeUnit.NANOSECONDS.toMillis(hedgeDelayNanos()));
+        } catch (RejectedExecutionException e) {
+            skippedSaturated.increment();
+            race.cancelStart();
+        }
+    }
+
+    private <T> T timed(Supplier<T> attempt) {
+        long start = System.nanoTime();
+        try {
+            return attempt.get();
+        } finally {
+            latencies.record(System.nanoTime() - start);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> first) {
+        try {
+            return first.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new MovieServiceUnavailableException("Movie service unavailable: " + cause.getMessage(), cause);
+    }
+
+    private static Counter hedgeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("review_movie_service_hedges")
+                .description("Hedged Movie Service lookups by whether the hedge supplied the answer")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Counter skippedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("review_movie_service_hedges_skipped")
+                .description("Slow Movie Service lookups that were not hedged")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Shared outcome of the attempts of one lookup: the first success, or the first failure
+     * once no attempt is left running
+     */
+    private static final class Race<T> {
+
+        private final CompletableFuture<T> first = new CompletableFuture<>();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        void start() {
+            running.incrementAndGet();
+        }
+
+        /**
+         * Undo {@link #start} for an attempt that could not be sent. The primary may have
+         * succeeded since the hedge was decided on, in which case there is no failure to report.
+         */
+        void cancelStart() {
+            if (running.decrementAndGet() == 0) {
+                Throwable e = failure.get();
+                if (e != null) {
+                    first.completeExceptionally(e);
+                }
+            }
+        }
+
+        /**
+         * @return whether this success decided the result
+         */
+        boolean succeed(T value) {
+            running.decrementAndGet();
+            return first.complete(value);
+        }
+
+        /**
+         * @return whether this failure decided the result, being the last attempt to finish
+         */
+        boolean fail(Throwable e) {
+            failure.compareAndSet(null, e);
+            return running.decrementAndGet() == 0 && first.completeExceptionally(failure.get());
+        }
+    }
+
+    /**
+     * One request to Movie Service, racing the other attempt to complete the shared future
+     */
+    private final class Attempt<T> implements Runnable {
+
+        private final Supplier<T> attempt;
+        private final Race<T> race;
+        private final String endpoint;
+        private final ContextSnapshot context;
+        private final boolean hedge;
+
+        private Attempt(Supplier<T> attempt, Race<T> race, String endpoint,
+                        ContextSnapshot context, boolean hedge) {
+            this.attempt = attempt;
+            this.race = race;
+            this.endpoint = endpoint;
+            this.context = context;
+            this.hedge = hedge;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            boolean won;
+            Throwable failure = null;
+            try (ContextSnapshot.Scope scope = context.setThreadLocals()) {
+                won = race.succeed(RequestLatencyMetrics.callAs(endpoint, attempt));
+            } catch (Throwable e) {
+                failure = e;
+                won = race.fail(e);
+            }
+            long nanos = System.nanoTime() - start;
+            latencies.record(nanos);
+
+            if (hedge) {
+                (won && failure == null ? hedgesWon : hedgesLost).increment();
+            }
+            if (!won && circuitBreaker.tryAcquirePermission()) {
+                // Only the deciding attempt reaches the breaker through the caller, so record the other one here
+                if (failure != null) {
+                    circuitBreaker.onError(nanos, TimeUnit.NANOSECONDS, failure);
+                } else {
+                    circuitBreaker.onSuccess(nanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.bookmyseat.reviewservice.client;
+
+import com.bookmyseat.reviewservice.dto.MovieDetailDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Resolves titles for a batch of movies with one request per distinct movie, issued concurrently.
+ * Movie service has no bulk lookup, so this is the closest to a single round trip per page.
+ */
+@Component
+public class MovieTitleResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieTitleResolver.class);
+
+    static final String UNKNOWN_MOVIE = "Unknown Movie";
+
+    private final MovieServiceClient movieServiceClient;
+
+    public MovieTitleResolver(MovieServiceClient movieServiceClient) {
+        this.movieServiceClient = movieServiceClient;
+    }
+
+    /**
+     * Look up titles for the given movies. Movies that cannot be resolved map to "Unknown Movie".
+     * @param movieIds Movie identifiers, duplicates allowed
+     * @return Title per distinct movie id
+     */
+    public Map<Long, String> resolveTitles(Collection<Long> movieIds) {
+        Map<Long, CompletableFuture<String>> lookups = new HashMap<>();
+        for (Long movieId : movieIds) {
+            lookups.computeIfAbsent(movieId, this::lookupTitle);
+        }
+
+        Map<Long, String> titles = new HashMap<>();
+        lookups.forEach((movieId, lookup) -> titles.put(movieId, lookup.join()));
+
+        logger.debug("Resolved {} movie titles for {} rows", titles.size(), movieIds.size());
+        return titles;
+    }
+
+    private CompletableFuture<String> lookupTitle(Long movieId) {
+        try {
+            return movieServiceClient.getMovieByIdAsync(movieId)
+                    .toCompletableFuture()
+                    .thenApply(MovieDetailDTO::getTitle)
+                    .exceptionally(e -> {
+                        logger.warn("Failed to fetch movie title for movie {}: {}", movieId, e.getMessage());
+                        return UNKNOWN_MOVIE;
+                    });
+        } catch (Exception e) {
+            logger.warn("Failed to fetch movie title for movie {}: {}", movieId, e.getMessage());
+            return CompletableFuture.completedFuture(UNKNOWN_MOVIE);
+        }
+    }
+}
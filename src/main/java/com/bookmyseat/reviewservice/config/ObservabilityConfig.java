@@ -1,43 +1,95 @@
 package com.bookmyseat.reviewservice.config;
 
-import io.micrometer.core.instrument.Counter;
+import com.bookmyseat.reviewservice.metrics.RepositoryLatencyPostProcessor;
+import com.bookmyseat.reviewservice.metrics.RequestLatencyMetrics;
+import com.bookmyseat.reviewservice.metrics.TimedCborHttpMessageConverter;
+import com.bookmyseat.reviewservice.metrics.TimedJacksonHttpMessageConverter;
+import com.bookmyseat.reviewservice.metrics.TimedSmileHttpMessageConverter;
+import com.bookmyseat.reviewservice.query.EntityLoadCountingIntegrator;
+import com.bookmyseat.reviewservice.query.QueryStatistics;
+import com.bookmyseat.reviewservice.query.QueryStatisticsPostProcessor;
+import com.bookmyseat.reviewservice.query.StatementCountingInspector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.time.Duration;
+import java.util.List;
 
 /**
  * Configuration for custom observability metrics
- * Provides counters and timers for tracking review service operations
+ * Times each review API endpoint, and the Movie Service calls, repository calls and JSON, CBOR
+ * or Smile mapping within it, and collects per-query repository statistics
  */
 @Configuration
 public class ObservabilityConfig {
 
     @Bean
-    public Counter reviewRequestCounter(MeterRegistry meterRegistry) {
-        return Counter.builder("review_requests_total")
-                .description("Total number of review requests")
-                .register(meterRegistry);
+    public RequestLatencyMetrics requestLatencyMetrics(MeterRegistry meterRegistry,
+                                                       @Value("${review.metrics.slo:50ms,100ms,250ms,500ms,1s}") List<Duration> slos) {
+        return new RequestLatencyMetrics(meterRegistry, slos);
+    }
+
+    @Bean
+    public static RepositoryLatencyPostProcessor repositoryLatencyPostProcessor(
+            ObjectProvider<RequestLatencyMetrics> requestLatencyMetrics) {
+        return new RepositoryLatencyPostProcessor(requestLatencyMetrics);
+    }
+
+    /**
+     * Replaces Spring Boot's JSON converter with one that times response mapping
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   RequestLatencyMetrics requestLatencyMetrics) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, requestLatencyMetrics);
+    }
+
+    /**
+     * Replaces the default CBOR converter with a timed one whose mapper gets the same
+     * spring.jackson settings as JSON; it stays after JSON, so only an explicit Accept selects it
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                           RequestLatencyMetrics requestLatencyMetrics) {
+        return new TimedCborHttpMessageConverter(builder.factory(new CBORFactory()).build(), requestLatencyMetrics);
     }
 
+    /**
+     * Replaces the default Smile converter in the same way
+     */
     @Bean
-    public Timer reviewRequestTimer(MeterRegistry meterRegistry) {
-        return Timer.builder("review_request_duration")
-                .description("Time taken to process review requests")
-                .register(meterRegistry);
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+                                                                             RequestLatencyMetrics requestLatencyMetrics) {
+        return new TimedSmileHttpMessageConverter(builder.factory(new SmileFactory()).build(), requestLatencyMetrics);
     }
 
     @Bean
-    public Counter ratingRequestCounter(MeterRegistry meterRegistry) {
-        return Counter.builder("rating_requests_total")
-                .description("Total number of rating aggregation requests")
-                .register(meterRegistry);
+    public static QueryStatisticsPostProcessor queryStatisticsPostProcessor(ObjectProvider<QueryStatistics> queryStatistics) {
+        return new QueryStatisticsPostProcessor(queryStatistics);
     }
 
+    /**
+     * Lets Hibernate count statements and entity loads for the query statistics
+     */
     @Bean
-    public Timer ratingRequestTimer(MeterRegistry meterRegistry) {
-        return Timer.builder("rating_request_duration")
-                .description("Time taken to process rating aggregation requests")
-                .register(meterRegistry);
+    public HibernatePropertiesCustomizer queryCountingHibernateProperties() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCountingInspector());
+            properties.put("hibernate.integrator_provider",
+                    (IntegratorProvider) () -> List.of(new EntityLoadCountingIntegrator()));
+        };
     }
-}
\ No newline at end of file
+}
@@ -1,42 +1,105 @@
 package com.bookmyseat.reviewservice.config;
 
+import com.bookmyseat.reviewservice.metrics.MovieServiceLatencyInterceptor;
+import com.bookmyseat.reviewservice.metrics.RequestLatencyMetrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.ClientHttpRequestFactories;
-import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
-import java.time.Duration;
-
+/**
+ * HTTP client for Movie Service calls.
+ * Requests go through a pool of HTTP/1.1 keep-alive connections, so a call normally reuses an
+ * open connection instead of paying for a TCP handshake. The pool is sized per route and exported
+ * to Micrometer as the httpcomponents.httpclient.pool gauges tagged httpclient=movie-service.
+ */
 @Configuration
 public class RestClientConfig {
 
-    @Value("${movie-service.timeout:3000}")
-    private long timeout;
+    static final String POOL_METRICS_NAME = "movie-service";
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager movieServiceConnectionManager(
+            @Value("${movie-service.timeout:3000}") long timeout,
+            @Value("${movie-service.pool.max-total:150}") int maxTotal,
+            @Value("${movie-service.pool.max-per-route:150}") int maxPerRoute,
+            @Value("${movie-service.pool.validate-after-inactivity-ms:2000}") long validateAfterInactivityMs,
+            @Value("${movie-service.pool.time-to-live-ms:300000}") long timeToLiveMs) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                // Hands out the most recently used connection, leaving spare ones idle long enough to be evicted
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(timeout))
+                        .setSocketTimeout(Timeout.ofMilliseconds(timeout))
+                        // Connections idle this long are checked before reuse, catching ones the server closed
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivityMs))
+                        // Bounds connection age so new Movie Service instances behind DNS get traffic
+                        .setTimeToLive(TimeValue.ofMilliseconds(timeToLiveMs))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient movieServiceHttpClient(
+            PoolingHttpClientConnectionManager movieServiceConnectionManager,
+            @Value("${movie-service.timeout:3000}") long timeout,
+            @Value("${movie-service.pool.acquire-timeout-ms:1000}") long acquireTimeoutMs,
+            @Value("${movie-service.pool.idle-timeout-ms:30000}") long idleTimeoutMs) {
+        return HttpClients.custom()
+                .setConnectionManager(movieServiceConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // Fails fast when the pool is exhausted instead of queueing behind slow calls
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(acquireTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(timeout))
+                        .build())
+                // Background thread closing connections idle longer than the timeout and expired ones
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeoutMs))
+                .evictExpiredConnections()
+                // Retries are left to resilience4j
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    @Bean
+    public MeterBinder movieServiceConnectionPoolMetrics(PoolingHttpClientConnectionManager movieServiceConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(movieServiceConnectionManager, POOL_METRICS_NAME);
+    }
 
     @Bean
-    public ClientHttpRequestFactory clientHttpRequestFactory() {
-        ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.DEFAULTS
-                .withConnectTimeout(Duration.ofMillis(timeout))
-                .withReadTimeout(Duration.ofMillis(timeout));
-        return ClientHttpRequestFactories.get(settings);
+    public ClientHttpRequestFactory clientHttpRequestFactory(CloseableHttpClient movieServiceHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(movieServiceHttpClient);
     }
 
     @Bean
-    public RestClient.Builder restClientBuilder(ClientHttpRequestFactory requestFactory) {
+    public RestClient.Builder restClientBuilder(ClientHttpRequestFactory requestFactory,
+                                                RequestLatencyMetrics requestLatencyMetrics) {
         return RestClient.builder()
                 .requestFactory(requestFactory)
                 .requestInterceptor((request, body, execution) -> {
                     // Add tracing headers for distributed tracing
                     request.getHeaders().add("Content-Type", "application/json");
                     return execution.execute(request, body);
-                });
+                })
+                .requestInterceptor(new MovieServiceLatencyInterceptor(requestLatencyMetrics));
     }
 
     @Bean
     public RestClient restClient(RestClient.Builder builder) {
         return builder.build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,12 @@
+package com.bookmyseat.reviewservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background jobs such as the review archiver
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,27 @@
+package com.bookmyseat.reviewservice.config;
+
+import com.bookmyseat.reviewservice.startup.LazyPackagesPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Startup tuning: beans of the packages in review.startup.lazy-packages are created on first
+ * use (the fast-startup profile sets it to the OpenAPI and Swagger UI packages)
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static LazyPackagesPostProcessor lazyPackagesPostProcessor(Environment environment) {
+        // Bound by hand: bean factory post-processors are created before @Value is resolved
+        List<String> packages = Binder.get(environment)
+                .bind("review.startup.lazy-packages", Bindable.listOf(String.class))
+                .orElse(List.of());
+        return new LazyPackagesPostProcessor(packages);
+    }
+}
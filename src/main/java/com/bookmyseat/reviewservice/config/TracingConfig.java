@@ -0,0 +1,39 @@
+package com.bookmyseat.reviewservice.config;
+
+import com.bookmyseat.reviewservice.tracing.AdaptiveSampler;
+import com.bookmyseat.reviewservice.tracing.SpanBudget;
+import com.bookmyseat.reviewservice.tracing.TailSamplingSpanProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.tracing.SpanProcessors;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Replaces fixed-probability trace sampling with a low baseline plus tail sampling of failed,
+ * slow and circuit-breaker traces, within a per-second span budget
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public Sampler adaptiveSampler(@Value("${management.tracing.sampling.probability:0.1}") double baselineProbability) {
+        return new AdaptiveSampler(baselineProbability);
+    }
+
+    /**
+     * Routes all ended spans through the tail sampler before Spring Boot's batch exporter
+     */
+    @Bean
+    public SpanProcessors spanProcessors(BatchSpanProcessor otelSpanProcessor,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${review.tracing.max-spans-per-second:500}") int maxSpansPerSecond,
+                                         @Value("${review.tracing.slow-threshold-ms:500}") long slowThresholdMs,
+                                         @Value("${review.tracing.max-pending-traces:10000}") int maxPendingTraces,
+                                         @Value("${review.tracing.max-trace-age-ms:60000}") long maxTraceAgeMs) {
+        return SpanProcessors.of(new TailSamplingSpanProcessor(otelSpanProcessor, new SpanBudget(maxSpansPerSecond),
+                slowThresholdMs, maxPendingTraces, maxTraceAgeMs, meterRegistry));
+    }
+}
@@ -0,0 +1,29 @@
+package com.bookmyseat.reviewservice.config;
+
+import com.bookmyseat.reviewservice.metrics.RequestLatencyInterceptor;
+import com.bookmyseat.reviewservice.metrics.RequestLatencyMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the latency interceptor on the review API
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<RequestLatencyMetrics> requestLatencyMetrics;
+
+    public WebMvcConfig(ObjectProvider<RequestLatencyMetrics> requestLatencyMetrics) {
+        this.requestLatencyMetrics = requestLatencyMetrics;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Web slice tests run without the metrics configuration
+        requestLatencyMetrics.ifAvailable(metrics -> registry
+                .addInterceptor(new RequestLatencyInterceptor(metrics))
+                .addPathPatterns("/api/v1/reviews/**"));
+    }
+}
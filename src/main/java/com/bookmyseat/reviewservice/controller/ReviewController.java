@@ -1,10 +1,21 @@
 package com.bookmyseat.reviewservice.controller;
 
 import com.bookmyseat.reviewservice.dto.*;
+import com.bookmyseat.reviewservice.idempotency.IdempotentSubmission;
+import com.bookmyseat.reviewservice.ratelimit.SubmissionRateLimiter;
+import com.bookmyseat.reviewservice.service.IdempotencyService;
 import com.bookmyseat.reviewservice.service.MovieRatingService;
+import com.bookmyseat.reviewservice.service.RatingStreamService;
+import com.bookmyseat.reviewservice.service.RatingTrendService;
+import com.bookmyseat.reviewservice.service.ReviewSearchService;
 import com.bookmyseat.reviewservice.service.ReviewService;
+import com.bookmyseat.reviewservice.service.ReviewerCountService;
+import com.bookmyseat.reviewservice.service.TrendingService;
+import com.bookmyseat.reviewservice.summary.RatingSummaryJsonCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,9 +25,18 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/reviews")
@@ -25,29 +45,75 @@ public class ReviewController {
 
     private static final Logger logger = LoggerFactory.getLogger(ReviewController.class);
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
     private final ReviewService reviewService;
     private final MovieRatingService movieRatingService;
-
-    public ReviewController(ReviewService reviewService, MovieRatingService movieRatingService) {
+    private final RatingSummaryJsonCache ratingSummaryJsonCache;
+    private final ReviewSearchService reviewSearchService;
+    private final RatingTrendService ratingTrendService;
+    private final TrendingService trendingService;
+    private final ReviewerCountService reviewerCountService;
+    private final IdempotencyService idempotencyService;
+    private final SubmissionRateLimiter submissionRateLimiter;
+    private final RatingStreamService ratingStreamService;
+
+    public ReviewController(ReviewService reviewService, MovieRatingService movieRatingService,
+                            RatingSummaryJsonCache ratingSummaryJsonCache,
+                            ReviewSearchService reviewSearchService, RatingTrendService ratingTrendService,
+                            TrendingService trendingService, ReviewerCountService reviewerCountService,
+                            IdempotencyService idempotencyService, SubmissionRateLimiter submissionRateLimiter,
+                            RatingStreamService ratingStreamService) {
         this.reviewService = reviewService;
         this.movieRatingService = movieRatingService;
+        this.ratingSummaryJsonCache = ratingSummaryJsonCache;
+        this.reviewSearchService = reviewSearchService;
+        this.ratingTrendService = ratingTrendService;
+        this.trendingService = trendingService;
+        this.reviewerCountService = reviewerCountService;
+        this.idempotencyService = idempotencyService;
+        this.submissionRateLimiter = submissionRateLimiter;
+        this.ratingStreamService = ratingStreamService;
     }
 
     @PostMapping
-    @Operation(summary = "Submit a review", description = "Submit a new review for a movie")
+    @Operation(summary = "Submit a review", description = "Submit a new review for a movie. "
+            + "Retries carrying the Idempotency-Key of an earlier submission replay its response.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Review created successfully"),
+            @ApiResponse(responseCode = "201", description = "Review created successfully, or replayed for a repeated Idempotency-Key"),
             @ApiResponse(responseCode = "400", description = "Invalid input data"),
             @ApiResponse(responseCode = "404", description = "Movie not found"),
+            @ApiResponse(responseCode = "409", description = "User has already reviewed this movie, or a request with the same Idempotency-Key is still in progress"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different submission"),
+            @ApiResponse(responseCode = "429", description = "Too many submissions by this user or for this movie"),
             @ApiResponse(responseCode = "503", description = "Movie service unavailable")
     })
     public ResponseEntity<ReviewDTO> submitReview(
-            @Valid @RequestBody ReviewSubmissionDTO reviewSubmission) {
+            @Valid @RequestBody ReviewSubmissionDTO reviewSubmission,
+
+            @Parameter(description = "Client-generated key identifying this submission across retries (at most 100 characters)")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
 
         logger.info("Received review submission for movie {} by user {}",
                    reviewSubmission.getMovieId(), reviewSubmission.getUserName());
 
-        ReviewDTO createdReview = reviewService.submitReview(reviewSubmission);
+        ReviewDTO createdReview;
+        if (idempotencyKey != null) {
+            // Rate limited inside submitOnce, so a replayed retry is not charged as a new submission
+            IdempotentSubmission submission = idempotencyService.submitOnce(idempotencyKey, reviewSubmission,
+                    () -> rateLimitedSubmit(reviewSubmission));
+            if (submission.isReplayed()) {
+                return ResponseEntity.status(HttpStatus.CREATED)
+                        .header(IDEMPOTENT_REPLAYED_HEADER, "true")
+                        .body(submission.getResponse());
+            }
+            createdReview = submission.getResponse();
+        } else {
+            createdReview = rateLimitedSubmit(reviewSubmission);
+        }
 
         logger.info("Review {} created successfully for movie {}",
                    createdReview.getId(), createdReview.getMovieId());
@@ -55,6 +121,11 @@ public class ReviewController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdReview);
     }
 
+    private ReviewDTO rateLimitedSubmit(ReviewSubmissionDTO reviewSubmission) {
+        submissionRateLimiter.checkSubmission(reviewSubmission.getMovieId(), reviewSubmission.getUserName());
+        return reviewService.submitReview(reviewSubmission);
+    }
+
     @GetMapping("/movie/{movieId}")
     @Operation(summary = "Get reviews for a movie", description = "Retrieve paginated reviews for a specific movie")
     @ApiResponses(value = {
@@ -72,10 +143,13 @@ public class ReviewController {
             @RequestParam(defaultValue = "10") int size,
 
             @Parameter(description = "Sort field and direction")
-            @RequestParam(defaultValue = "reviewDate,desc") String sort) {
+            @RequestParam(defaultValue = "reviewDate,desc") String sort,
 
-        logger.debug("Fetching reviews for movie {} - page: {}, size: {}, sort: {}",
-                    movieId, page, size, sort);
+            @Parameter(description = "Return comment previews instead of full comments")
+            @RequestParam(defaultValue = "false") boolean preview) {
+
+        logger.debug("Fetching reviews for movie {} - page: {}, size: {}, sort: {}, preview: {}",
+                    movieId, page, size, sort, preview);
 
         // Parse sort parameter
         String[] sortParams = sort.split(",");
@@ -84,7 +158,9 @@ public class ReviewController {
                 ? Sort.Direction.ASC : Sort.Direction.DESC;
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortField));
-        MovieReviewsResponseDTO response = reviewService.getReviewsForMovie(movieId, pageable);
+        MovieReviewsResponseDTO response = preview
+                ? reviewService.getReviewPreviewsForMovie(movieId, pageable)
+                : reviewService.getReviewsForMovie(movieId, pageable);
 
         logger.debug("Found {} reviews for movie {} on page {}",
                     response.getReviews().size(), movieId, page);
@@ -92,31 +168,185 @@ public class ReviewController {
         return ResponseEntity.ok(response);
     }
 
-    @GetMapping("/movie/{movieId}/rating")
+    @GetMapping(value = "/movie/{movieId}/rating", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
     @Operation(summary = "Get movie rating summary", description = "Get aggregated rating information for a movie")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Rating summary retrieved successfully"),
+            @ApiResponse(responseCode = "200", description = "Rating summary retrieved successfully",
+                    content = {
+                            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = RatingSummaryDTO.class)),
+                            @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE,
+                                    schema = @Schema(implementation = RatingSummaryDTO.class)),
+                            @Content(mediaType = APPLICATION_SMILE_VALUE,
+                                    schema = @Schema(implementation = RatingSummaryDTO.class))
+                    }),
             @ApiResponse(responseCode = "404", description = "Movie not found")
     })
-    public ResponseEntity<RatingSummaryDTO> getMovieRatingSummary(
+    public ResponseEntity<?> getMovieRatingSummary(
             @Parameter(description = "Movie ID", required = true)
-            @PathVariable Long movieId) {
+            @PathVariable Long movieId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
 
         logger.debug("Fetching rating summary for movie: {}", movieId);
 
-        RatingSummaryDTO ratingSummary = movieRatingService.getMovieRatingSummary(movieId);
+        if (acceptsBinaryFormat(accept)) {
+            // Encoded by the negotiated message converter
+            return ResponseEntity.ok(movieRatingService.getMovieRatingSummary(movieId));
+        }
+
+        // Already encoded; the byte array converter copies it to the response as is
+        byte[] json = ratingSummaryJsonCache.getJson(movieId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json);
+    }
+
+    @GetMapping(value = "/movie/{movieId}/rating/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream movie rating summary",
+               description = "Server-Sent Events stream of the movie's rating summary: the current summary, "
+                       + "then a new \"rating\" event at most once per second while reviews change it")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "404", description = "Movie not found")
+    })
+    public SseEmitter streamMovieRatingSummary(
+            @Parameter(description = "Movie ID", required = true)
+            @PathVariable Long movieId) {
+
+        logger.debug("Opening rating stream for movie: {}", movieId);
+
+        return ratingStreamService.subscribe(movieId);
+    }
+
+    @GetMapping("/movie/{movieId}/trend")
+    @Operation(summary = "Get movie rating trend", description = "Get the rating time series of a movie over a date range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rating trend retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range or granularity"),
+            @ApiResponse(responseCode = "404", description = "Movie not found")
+    })
+    public ResponseEntity<RatingTrendDTO> getMovieRatingTrend(
+            @Parameter(description = "Movie ID", required = true)
+            @PathVariable Long movieId,
+            @Parameter(description = "First day of the range (ISO date); defaults to 29 days before the end")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the range (ISO date); defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Period length: DAY, WEEK or MONTH")
+            @RequestParam(defaultValue = "DAY") TrendGranularity granularity) {
+
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        logger.debug("Fetching {} rating trend for movie {} from {} to {}", granularity, movieId, start, end);
+
+        RatingTrendDTO trend = ratingTrendService.getRatingTrend(movieId, start, end, granularity);
+        return ResponseEntity.ok(trend);
+    }
+
+    @GetMapping("/movie/{movieId}/unique-reviewers")
+    @Operation(summary = "Get unique reviewer count", description = "Estimate how many distinct users reviewed a movie")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estimate retrieved successfully")
+    })
+    public ResponseEntity<UniqueReviewersDTO> getUniqueReviewers(
+            @Parameter(description = "Movie ID", required = true)
+            @PathVariable Long movieId) {
+
+        logger.debug("Estimating unique reviewers of movie {}", movieId);
+
+        UniqueReviewersDTO uniqueReviewers = reviewerCountService.getUniqueReviewers(movieId);
+
+        return ResponseEntity.ok(uniqueReviewers);
+    }
+
+    @GetMapping("/unique-reviewers")
+    @Operation(summary = "Get unique reviewer count across movies",
+               description = "Estimate how many distinct users reviewed any of the given movies, or any movie at all")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estimate retrieved successfully")
+    })
+    public ResponseEntity<UniqueReviewersDTO> getUniqueReviewersAcrossMovies(
+            @Parameter(description = "Movie IDs, e.g. the movies of a genre; omit to count across all movies")
+            @RequestParam(required = false) List<Long> movieIds) {
+
+        logger.debug("Estimating unique reviewers across movies {}", movieIds);
+
+        UniqueReviewersDTO uniqueReviewers = reviewerCountService.getUniqueReviewers(movieIds);
 
-        logger.debug("Rating summary for movie {}: avg={}, total={}",
-                    movieId, ratingSummary.getAverageRating(), ratingSummary.getTotalReviews());
+        return ResponseEntity.ok(uniqueReviewers);
+    }
+
+    @GetMapping("/trending")
+    @Operation(summary = "Get trending movies", description = "Movies ranked by review activity, with recent reviews weighted most")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Trending movies retrieved successfully")
+    })
+    public ResponseEntity<List<TrendingMovieDTO>> getTrendingMovies(
+            @Parameter(description = "Number of movies (max 50)")
+            @RequestParam(defaultValue = "10") int limit) {
+
+        logger.debug("Fetching top {} trending movies", limit);
+
+        List<TrendingMovieDTO> movies = trendingService.getTrendingMovies(limit);
 
-        return ResponseEntity.ok(ratingSummary);
+        return ResponseEntity.ok(movies);
+    }
+
+    @GetMapping("/user/{userName}")
+    @Operation(summary = "Get reviews by user", description = "Retrieve a user's reviews, newest first, using cursor pagination; archived reviews are not included")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reviews retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<UserReviewsResponseDTO> getReviewsByUser(
+            @Parameter(description = "User name", required = true)
+            @PathVariable String userName,
+
+            @Parameter(description = "Cursor from the previous page's nextCursor; omit for the first page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Page size (max 100)")
+            @RequestParam(defaultValue = "20") int size) {
+
+        logger.debug("Fetching reviews by user {} - cursor: {}, size: {}", userName, cursor, size);
+
+        UserReviewsResponseDTO response = reviewService.getReviewsByUser(userName, cursor, size);
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search reviews", description = "Full-text search over review comments, ranked by relevance")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+            @ApiResponse(responseCode = "400", description = "Missing search query")
+    })
+    public ResponseEntity<ReviewSearchResponseDTO> searchReviews(
+            @Parameter(description = "Search terms", required = true)
+            @RequestParam("q") String query,
+
+            @Parameter(description = "Restrict results to a single movie")
+            @RequestParam(required = false) Long movieId,
+
+            @Parameter(description = "Page number (0-based)")
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(description = "Page size (max 100)")
+            @RequestParam(defaultValue = "10") int size) {
+
+        logger.debug("Searching reviews for '{}' - movie: {}, page: {}, size: {}", query, movieId, page, size);
+
+        ReviewSearchResponseDTO response = reviewSearchService.searchReviews(query, movieId, page, size);
+
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/{reviewId}")
     @Operation(summary = "Get review by ID", description = "Retrieve a specific review by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Review retrieved successfully"),
-            @ApiResponse(responseCode = "404", description = "Review not found")
+            @ApiResponse(responseCode = "404", description = "Review not found or archived")
     })
     public ResponseEntity<ReviewDTO> getReviewById(
             @Parameter(description = "Review ID", required = true)
@@ -129,6 +359,23 @@ public class ReviewController {
         return ResponseEntity.ok(review);
     }
 
+    @GetMapping("/{reviewId}/comment")
+    @Operation(summary = "Get full review comment", description = "Retrieve the full comment of a review listed as a preview")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Comment retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Review not found or archived")
+    })
+    public ResponseEntity<ReviewCommentDTO> getReviewComment(
+            @Parameter(description = "Review ID", required = true)
+            @PathVariable Long reviewId) {
+
+        logger.debug("Fetching full comment for review: {}", reviewId);
+
+        ReviewCommentDTO comment = reviewService.getReviewComment(reviewId);
+
+        return ResponseEntity.ok(comment);
+    }
+
     @GetMapping("/movie/{movieId}/has-reviews")
     @Operation(summary = "Check if movie has reviews", description = "Check if a specific movie has any reviews")
     @ApiResponses(value = {
@@ -160,4 +407,25 @@ public class ReviewController {
 
         return ResponseEntity.ok(count);
     }
-}
\ No newline at end of file
+
+    // Leave the pre-encoded JSON path only when CBOR or Smile is the client's top-ranked type;
+    // a wildcard or JSON ranked first, or an unparseable header, is served the cached JSON
+    private static boolean acceptsBinaryFormat(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            // Highest quality first, then most specific; MediaType.sortBySpecificityAndQuality is deprecated for this
+            MimeTypeUtils.sortBySpecificity(mediaTypes);
+            return mediaTypes.stream()
+                    .filter(type -> type.getQualityValue() > 0)
+                    .findFirst()
+                    .map(type -> type.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)
+                            || type.equalsTypeAndSubtype(APPLICATION_SMILE))
+                    .orElse(false);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+}
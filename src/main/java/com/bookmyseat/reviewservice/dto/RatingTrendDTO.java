@@ -0,0 +1,131 @@
+package com.bookmyseat.reviewservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Rating time series of a movie over a date range")
+public class RatingTrendDTO {
+
+    @Schema(description = "ID of the movie", example = "1")
+    private Long movieId;
+
+    @Schema(description = "Title of the movie", example = "Inception")
+    private String movieTitle;
+
+    @Schema(description = "First day of the range (inclusive)", example = "2025-09-01")
+    private LocalDate from;
+
+    @Schema(description = "Last day of the range (inclusive)", example = "2025-09-30")
+    private LocalDate to;
+
+    @Schema(description = "Period length of each point", example = "WEEK")
+    private TrendGranularity granularity;
+
+    @Schema(description = "Number of reviews submitted in the range", example = "150")
+    private Integer totalReviews;
+
+    @Schema(description = "Average rating over the range, absent when there were no reviews", example = "4.3")
+    private BigDecimal averageRating;
+
+    @Schema(description = "One point per period, oldest first, including periods without reviews")
+    private List<RatingTrendPointDTO> points;
+
+    // Default constructor
+    public RatingTrendDTO() {}
+
+    // Constructor
+    public RatingTrendDTO(Long movieId, String movieTitle, LocalDate from, LocalDate to,
+                          TrendGranularity granularity, Integer totalReviews, BigDecimal averageRating,
+                          List<RatingTrendPointDTO> points) {
+        this.movieId = movieId;
+        this.movieTitle = movieTitle;
+        this.from = from;
+        this.to = to;
+        this.granularity = granularity;
+        this.totalReviews = totalReviews;
+        this.averageRating = averageRating;
+        this.points = points;
+    }
+
+    // Getters and Setters
+    public Long getMovieId() {
+        return movieId;
+    }
+
+    public void setMovieId(Long movieId) {
+        this.movieId = movieId;
+    }
+
+    public String getMovieTitle() {
+        return movieTitle;
+    }
+
+    public void setMovieTitle(String movieTitle) {
+        this.movieTitle = movieTitle;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public TrendGranularity getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(TrendGranularity granularity) {
+        this.granularity = granularity;
+    }
+
+    public Integer getTotalReviews() {
+        return totalReviews;
+    }
+
+    public void setTotalReviews(Integer totalReviews) {
+        this.totalReviews = totalReviews;
+    }
+
+    public BigDecimal getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(BigDecimal averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public List<RatingTrendPointDTO> getPoints() {
+        return points;
+    }
+
+    public void setPoints(List<RatingTrendPointDTO> points) {
+        this.points = points;
+    }
+
+    @Override
+    public String toString() {
+        return "RatingTrendDTO{" +
+                "movieId=" + movieId +
+                ", movieTitle='" + movieTitle + '\'' +
+                ", from=" + from +
+                ", to=" + to +
+                ", granularity=" + granularity +
+                ", totalReviews=" + totalReviews +
+                ", averageRating=" + averageRating +
+                ", points=" + points +
+                '}';
+    }
+}
@@ -0,0 +1,91 @@
+package com.bookmyseat.reviewservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Schema(description = "Rating statistics of a movie for one period of a trend")
+public class RatingTrendPointDTO {
+
+    @Schema(description = "First day of the period", example = "2025-09-29")
+    private LocalDate periodStart;
+
+    @Schema(description = "Number of reviews submitted in the period", example = "42")
+    private Integer reviewCount;
+
+    @Schema(description = "Average rating of the period, absent when there were no reviews", example = "4.25")
+    private BigDecimal averageRating;
+
+    @Schema(description = "Cumulative average rating from the start of the range to the end of the period", example = "4.31")
+    private BigDecimal cumulativeAverageRating;
+
+    @Schema(description = "Number of reviews per half-star rating value, keyed \"1.0\" to \"5.0\"")
+    private Map<String, Integer> ratingDistribution;
+
+    // Default constructor
+    public RatingTrendPointDTO() {}
+
+    // Constructor
+    public RatingTrendPointDTO(LocalDate periodStart, Integer reviewCount, BigDecimal averageRating,
+                               BigDecimal cumulativeAverageRating, Map<String, Integer> ratingDistribution) {
+        this.periodStart = periodStart;
+        this.reviewCount = reviewCount;
+        this.averageRating = averageRating;
+        this.cumulativeAverageRating = cumulativeAverageRating;
+        this.ratingDistribution = ratingDistribution;
+    }
+
+    // Getters and Setters
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public Integer getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(Integer reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public BigDecimal getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(BigDecimal averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public BigDecimal getCumulativeAverageRating() {
+        return cumulativeAverageRating;
+    }
+
+    public void setCumulativeAverageRating(BigDecimal cumulativeAverageRating) {
+        this.cumulativeAverageRating = cumulativeAverageRating;
+    }
+
+    public Map<String, Integer> getRatingDistribution() {
+        return ratingDistribution;
+    }
+
+    public void setRatingDistribution(Map<String, Integer> ratingDistribution) {
+        this.ratingDistribution = ratingDistribution;
+    }
+
+    @Override
+    public String toString() {
+        return "RatingTrendPointDTO{" +
+                "periodStart=" + periodStart +
+                ", reviewCount=" + reviewCount +
+                ", averageRating=" + averageRating +
+                ", cumulativeAverageRating=" + cumulativeAverageRating +
+                ", ratingDistribution=" + ratingDistribution +
+                '}';
+    }
+}
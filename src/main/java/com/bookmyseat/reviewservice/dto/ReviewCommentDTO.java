@@ -0,0 +1,47 @@
+package com.bookmyseat.reviewservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Full comment of a review")
+public class ReviewCommentDTO {
+
+    @Schema(description = "Review ID", example = "1")
+    private Long reviewId;
+
+    @Schema(description = "Full comment about the movie", example = "Great movie! Highly recommended.")
+    private String comment;
+
+    // Default constructor
+    public ReviewCommentDTO() {}
+
+    // Constructor
+    public ReviewCommentDTO(Long reviewId, String comment) {
+        this.reviewId = reviewId;
+        this.comment = comment;
+    }
+
+    // Getters and Setters
+    public Long getReviewId() {
+        return reviewId;
+    }
+
+    public void setReviewId(Long reviewId) {
+        this.reviewId = reviewId;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+
+    @Override
+    public String toString() {
+        return "ReviewCommentDTO{" +
+                "reviewId=" + reviewId +
+                ", comment='" + comment + '\'' +
+                '}';
+    }
+}
@@ -1,5 +1,6 @@
 package com.bookmyseat.reviewservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.math.BigDecimal;
@@ -26,6 +27,10 @@ public class ReviewDTO {
     @Schema(description = "Comment about the movie", example = "Great movie! Highly recommended.")
     private String comment;
 
+    @Schema(description = "Whether comment holds a truncated preview (preview listings only)", example = "true")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean commentTruncated;
+
     @Schema(description = "Date and time when the review was submitted", example = "2025-09-29T10:30:00")
     private LocalDateTime reviewDate;
 
@@ -44,6 +49,19 @@ public class ReviewDTO {
         this.reviewDate = reviewDate;
     }
 
+    // Projection constructor used by read-only repository queries (movie title is set by service layer)
+    public ReviewDTO(Long id, Long movieId, String userName,
+                    BigDecimal rating, String comment, LocalDateTime reviewDate) {
+        this(id, movieId, null, userName, rating, comment, reviewDate);
+    }
+
+    // Projection constructor for preview listings (comment holds the stored preview)
+    public ReviewDTO(Long id, Long movieId, String userName, BigDecimal rating,
+                    String commentPreview, Boolean commentTruncated, LocalDateTime reviewDate) {
+        this(id, movieId, null, userName, rating, commentPreview, reviewDate);
+        this.commentTruncated = commentTruncated;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -93,6 +111,14 @@ public class ReviewDTO {
         this.comment = comment;
     }
 
+    public Boolean getCommentTruncated() {
+        return commentTruncated;
+    }
+
+    public void setCommentTruncated(Boolean commentTruncated) {
+        this.commentTruncated = commentTruncated;
+    }
+
     public LocalDateTime getReviewDate() {
         return reviewDate;
     }
@@ -110,6 +136,7 @@ public class ReviewDTO {
                 ", userName='" + userName + '\'' +
                 ", rating=" + rating +
                 ", comment='" + comment + '\'' +
+                ", commentTruncated=" + commentTruncated +
                 ", reviewDate=" + reviewDate +
                 '}';
     }
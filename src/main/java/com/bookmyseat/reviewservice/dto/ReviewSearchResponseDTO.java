@@ -0,0 +1,115 @@
+package com.bookmyseat.reviewservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Paginated full-text search results over review comments")
+public class ReviewSearchResponseDTO {
+
+    @Schema(description = "Search query as submitted", example = "imax ending")
+    private String query;
+
+    @Schema(description = "Movie the search was restricted to, if any", example = "1")
+    private Long movieId;
+
+    @Schema(description = "Matching reviews, best match first, with comment previews")
+    private List<ReviewDTO> reviews;
+
+    @Schema(description = "Total number of matching reviews", example = "42")
+    private Long totalHits;
+
+    @Schema(description = "Current page number", example = "0")
+    private Integer page;
+
+    @Schema(description = "Number of results per page", example = "10")
+    private Integer size;
+
+    @Schema(description = "Total number of pages", example = "5")
+    private Integer totalPages;
+
+    // Default constructor
+    public ReviewSearchResponseDTO() {}
+
+    // Constructor
+    public ReviewSearchResponseDTO(String query, Long movieId, List<ReviewDTO> reviews, Long totalHits,
+                                   Integer page, Integer size, Integer totalPages) {
+        this.query = query;
+        this.movieId = movieId;
+        this.reviews = reviews;
+        this.totalHits = totalHits;
+        this.page = page;
+        this.size = size;
+        this.totalPages = totalPages;
+    }
+
+    // Getters and Setters
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public Long getMovieId() {
+        return movieId;
+    }
+
+    public void setMovieId(Long movieId) {
+        this.movieId = movieId;
+    }
+
+    public List<ReviewDTO> getReviews() {
+        return reviews;
+    }
+
+    public void setReviews(List<ReviewDTO> reviews) {
+        this.reviews = reviews;
+    }
+
+    public Long getTotalHits() {
+        return totalHits;
+    }
+
+    public void setTotalHits(Long totalHits) {
+        this.totalHits = totalHits;
+    }
+
+    public Integer getPage() {
+        return page;
+    }
+
+    public void setPage(Integer page) {
+        this.page = page;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public Integer getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(Integer totalPages) {
+        this.totalPages = totalPages;
+    }
+
+    @Override
+    public String toString() {
+        return "ReviewSearchResponseDTO{" +
+                "query='" + query + '\'' +
+                ", movieId=" + movieId +
+                ", reviews=" + reviews +
+                ", totalHits=" + totalHits +
+                ", page=" + page +
+                ", size=" + size +
+                ", totalPages=" + totalPages +
+                '}';
+    }
+}
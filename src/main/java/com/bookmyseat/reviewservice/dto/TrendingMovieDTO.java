@@ -0,0 +1,76 @@
+package com.bookmyseat.reviewservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "A movie on the trending rail")
+public class TrendingMovieDTO {
+
+    @Schema(description = "Position on the rail, starting at 1", example = "1")
+    private Integer rank;
+
+    @Schema(description = "Movie identifier", example = "1")
+    private Long movieId;
+
+    @Schema(description = "Movie title", example = "Inception")
+    private String movieTitle;
+
+    @Schema(description = "Review count with each review's weight halving every half-life since it was submitted",
+            example = "37.42")
+    private BigDecimal trendingScore;
+
+    // Default constructor
+    public TrendingMovieDTO() {}
+
+    // Constructor
+    public TrendingMovieDTO(Integer rank, Long movieId, String movieTitle, BigDecimal trendingScore) {
+        this.rank = rank;
+        this.movieId = movieId;
+        this.movieTitle = movieTitle;
+        this.trendingScore = trendingScore;
+    }
+
+    // Getters and Setters
+    public Integer getRank() {
+        return rank;
+    }
+
+    public void setRank(Integer rank) {
+        this.rank = rank;
+    }
+
+    public Long getMovieId() {
+        return movieId;
+    }
+
+    public void setMovieId(Long movieId) {
+        this.movieId = movieId;
+    }
+
+    public String getMovieTitle() {
+        return movieTitle;
+    }
+
+    public void setMovieTitle(String movieTitle) {
+        this.movieTitle = movieTitle;
+    }
+
+    public BigDecimal getTrendingScore() {
+        return trendingScore;
+    }
+
+    public void setTrendingScore(BigDecimal trendingScore) {
+        this.trendingScore = trendingScore;
+    }
+
+    @Override
+    public String toString() {
+        return "TrendingMovieDTO{" +
+                "rank=" + rank +
+                ", movieId=" + movieId +
+                ", movieTitle='" + movieTitle + '\'' +
+                ", trendingScore=" + trendingScore +
+                '}';
+    }
+}
@@ -0,0 +1,64 @@
+package com.bookmyseat.reviewservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(description = "Approximate number of distinct users who reviewed a set of movies")
+public class UniqueReviewersDTO {
+
+    @Schema(description = "Movies counted; empty when counting across all movies", example = "[1, 2, 3]")
+    private List<Long> movieIds;
+
+    @Schema(description = "Estimated number of distinct reviewers", example = "18250")
+    private Long uniqueReviewers;
+
+    @Schema(description = "Relative standard error of the estimate; about 95% of estimates fall within twice this",
+            example = "0.0163")
+    private BigDecimal relativeStandardError;
+
+    // Default constructor
+    public UniqueReviewersDTO() {}
+
+    // Constructor
+    public UniqueReviewersDTO(List<Long> movieIds, Long uniqueReviewers, BigDecimal relativeStandardError) {
+        this.movieIds = movieIds;
+        this.uniqueReviewers = uniqueReviewers;
+        this.relativeStandardError = relativeStandardError;
+    }
+
+    // Getters and Setters
+    public List<Long> getMovieIds() {
+        return movieIds;
+    }
+
+    public void setMovieIds(List<Long> movieIds) {
+        this.movieIds = movieIds;
+    }
+
+    public Long getUniqueReviewers() {
+        return uniqueReviewers;
+    }
+
+    public void setUniqueReviewers(Long uniqueReviewers) {
+        this.uniqueReviewers = uniqueReviewers;
+    }
+
+    public BigDecimal getRelativeStandardError() {
+        return relativeStandardError;
+    }
+
+    public void setRelativeStandardError(BigDecimal relativeStandardError) {
+        this.relativeStandardError = relativeStandardError;
+    }
+
+    @Override
+    public String toString() {
+        return "UniqueReviewersDTO{" +
+                "movieIds=" + movieIds +
+                ", uniqueReviewers=" + uniqueReviewers +
+                ", relativeStandardError=" + relativeStandardError +
+                '}';
+    }
+}
@@ -0,0 +1,89 @@
+package com.bookmyseat.reviewservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Cursor-paginated review history of a user")
+public class UserReviewsResponseDTO {
+
+    @Schema(description = "Name of the user", example = "John Doe")
+    private String userName;
+
+    @Schema(description = "Reviews written by the user, newest first")
+    private List<ReviewDTO> reviews;
+
+    @Schema(description = "Maximum number of reviews per page", example = "20")
+    private Integer size;
+
+    @Schema(description = "Cursor for the next page, absent on the last page", example = "MjAyNS0wOS0zMFQxMDozMDowMHw0Mg")
+    private String nextCursor;
+
+    @Schema(description = "Whether more reviews follow this page", example = "true")
+    private Boolean hasMore;
+
+    // Default constructor
+    public UserReviewsResponseDTO() {}
+
+    // Constructor
+    public UserReviewsResponseDTO(String userName, List<ReviewDTO> reviews, Integer size,
+                                  String nextCursor, Boolean hasMore) {
+        this.userName = userName;
+        this.reviews = reviews;
+        this.size = size;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public String getUserName() {
+        return userName;
+    }
+
+    public void setUserName(String userName) {
+        this.userName = userName;
+    }
+
+    public List<ReviewDTO> getReviews() {
+        return reviews;
+    }
+
+    public void setReviews(List<ReviewDTO> reviews) {
+        this.reviews = reviews;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Boolean getHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(Boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    @Override
+    public String toString() {
+        return "UserReviewsResponseDTO{" +
+                "userName='" + userName + '\'' +
+                ", reviews=" + reviews +
+                ", size=" + size +
+                ", nextCursor='" + nextCursor + '\'' +
+                ", hasMore=" + hasMore +
+                '}';
+    }
+}
@@ -0,0 +1,85 @@
+package com.bookmyseat.reviewservice.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "job_leases")
+public class JobLease implements Persistable<String> {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(name = "owner", nullable = false, length = 200)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // Leases are only saved to create them, so saving always inserts and a concurrent create fails
+    @Transient
+    private boolean newLease = true;
+
+    // Default constructor
+    public JobLease() {}
+
+    // Constructor
+    public JobLease(String jobName, String owner, Instant expiresAt) {
+        this.jobName = jobName;
+        this.owner = owner;
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String getId() {
+        return jobName;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newLease;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        this.newLease = false;
+    }
+
+    // Getters and Setters
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "JobLease{" +
+                "jobName='" + jobName + '\'' +
+                ", owner='" + owner + '\'' +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
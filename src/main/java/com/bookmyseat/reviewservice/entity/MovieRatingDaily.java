@@ -0,0 +1,237 @@
+package com.bookmyseat.reviewservice.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Rating rollup of one movie for one day: review count, rating sum and a half-star histogram.
+ */
+@Entity
+@Table(name = "movie_rating_daily")
+@IdClass(MovieRatingDailyId.class)
+public class MovieRatingDaily {
+
+    // Histogram buckets: 1.0, 1.5, ..., 5.0
+    public static final int HALF_STAR_BUCKETS = 9;
+
+    @Id
+    @Column(name = "movie_id")
+    private Long movieId;
+
+    @Id
+    @Column(name = "rating_date")
+    private LocalDate ratingDate;
+
+    @Column(name = "review_count", nullable = false)
+    private Integer reviewCount = 0;
+
+    @Column(name = "rating_sum", nullable = false, precision = 12, scale = 1)
+    private BigDecimal ratingSum = BigDecimal.ZERO;
+
+    @Column(name = "rating_10_count", nullable = false)
+    private Integer rating10Count = 0;
+
+    @Column(name = "rating_15_count", nullable = false)
+    private Integer rating15Count = 0;
+
+    @Column(name = "rating_20_count", nullable = false)
+    private Integer rating20Count = 0;
+
+    @Column(name = "rating_25_count", nullable = false)
+    private Integer rating25Count = 0;
+
+    @Column(name = "rating_30_count", nullable = false)
+    private Integer rating30Count = 0;
+
+    @Column(name = "rating_35_count", nullable = false)
+    private Integer rating35Count = 0;
+
+    @Column(name = "rating_40_count", nullable = false)
+    private Integer rating40Count = 0;
+
+    @Column(name = "rating_45_count", nullable = false)
+    private Integer rating45Count = 0;
+
+    @Column(name = "rating_50_count", nullable = false)
+    private Integer rating50Count = 0;
+
+    // Default constructor
+    public MovieRatingDaily() {}
+
+    // Constructor for a new, empty day
+    public MovieRatingDaily(Long movieId, LocalDate ratingDate) {
+        this.movieId = movieId;
+        this.ratingDate = ratingDate;
+    }
+
+    // Histogram bucket of a rating, rounded to the nearest half star
+    public static int halfStarBucket(BigDecimal rating) {
+        int halfStars = rating.multiply(BigDecimal.valueOf(2)).setScale(0, RoundingMode.HALF_UP).intValue();
+        return Math.min(Math.max(halfStars - 2, 0), HALF_STAR_BUCKETS - 1);
+    }
+
+    // Rating value a histogram bucket stands for, e.g. "3.5"
+    public static String halfStarLabel(int bucket) {
+        return BigDecimal.valueOf(bucket + 2).divide(BigDecimal.valueOf(2)).setScale(1).toPlainString();
+    }
+
+    // Utility method to add a single review to the rollup
+    public void addRating(BigDecimal rating) {
+        addRatings(rating, 1);
+    }
+
+    // Utility method to add several reviews with the same rating
+    public void addRatings(BigDecimal rating, int count) {
+        reviewCount += count;
+        ratingSum = ratingSum.add(rating.multiply(BigDecimal.valueOf(count)));
+        addHalfStarCount(halfStarBucket(rating), count);
+    }
+
+    // Utility method to get the histogram count of a bucket
+    public Integer getHalfStarCount(int bucket) {
+        return switch (bucket) {
+            case 0 -> rating10Count;
+            case 1 -> rating15Count;
+            case 2 -> rating20Count;
+            case 3 -> rating25Count;
+            case 4 -> rating30Count;
+            case 5 -> rating35Count;
+            case 6 -> rating40Count;
+            case 7 -> rating45Count;
+            case 8 -> rating50Count;
+            default -> 0;
+        };
+    }
+
+    private void addHalfStarCount(int bucket, int count) {
+        switch (bucket) {
+            case 0 -> rating10Count += count;
+            case 1 -> rating15Count += count;
+            case 2 -> rating20Count += count;
+            case 3 -> rating25Count += count;
+            case 4 -> rating30Count += count;
+            case 5 -> rating35Count += count;
+            case 6 -> rating40Count += count;
+            case 7 -> rating45Count += count;
+            case 8 -> rating50Count += count;
+        }
+    }
+
+    // Getters and Setters
+    public Long getMovieId() {
+        return movieId;
+    }
+
+    public void setMovieId(Long movieId) {
+        this.movieId = movieId;
+    }
+
+    public LocalDate getRatingDate() {
+        return ratingDate;
+    }
+
+    public void setRatingDate(LocalDate ratingDate) {
+        this.ratingDate = ratingDate;
+    }
+
+    public Integer getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(Integer reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public BigDecimal getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(BigDecimal ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
+    public Integer getRating10Count() {
+        return rating10Count;
+    }
+
+    public void setRating10Count(Integer rating10Count) {
+        this.rating10Count = rating10Count;
+    }
+
+    public Integer getRating15Count() {
+        return rating15Count;
+    }
+
+    public void setRating15Count(Integer rating15Count) {
+        this.rating15Count = rating15Count;
+    }
+
+    public Integer getRating20Count() {
+        return rating20Count;
+    }
+
+    public void setRating20Count(Integer rating20Count) {
+        this.rating20Count = rating20Count;
+    }
+
+    public Integer getRating25Count() {
+        return rating25Count;
+    }
+
+    public void setRating25Count(Integer rating25Count) {
+        this.rating25Count = rating25Count;
+    }
+
+    public Integer getRating30Count() {
+        return rating30Count;
+    }
+
+    public void setRating30Count(Integer rating30Count) {
+        this.rating30Count = rating30Count;
+    }
+
+    public Integer getRating35Count() {
+        return rating35Count;
+    }
+
+    public void setRating35Count(Integer rating35Count) {
+        this.rating35Count = rating35Count;
+    }
+
+    public Integer getRating40Count() {
+        return rating40Count;
+    }
+
+    public void setRating40Count(Integer rating40Count) {
+        this.rating40Count = rating40Count;
+    }
+
+    public Integer getRating45Count() {
+        return rating45Count;
+    }
+
+    public void setRating45Count(Integer rating45Count) {
+        this.rating45Count = rating45Count;
+    }
+
+    public Integer getRating50Count() {
+        return rating50Count;
+    }
+
+    public void setRating50Count(Integer rating50Count) {
+        this.rating50Count = rating50Count;
+    }
+
+    @Override
+    public String toString() {
+        return "MovieRatingDaily{" +
+                "movieId=" + movieId +
+                ", ratingDate=" + ratingDate +
+                ", reviewCount=" + reviewCount +
+                ", ratingSum=" + ratingSum +
+                '}';
+    }
+}
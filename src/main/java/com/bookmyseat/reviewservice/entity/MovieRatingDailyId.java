@@ -0,0 +1,47 @@
+package com.bookmyseat.reviewservice.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Composite primary key of {@link MovieRatingDaily}
+ */
+public class MovieRatingDailyId implements Serializable {
+
+    private Long movieId;
+    private LocalDate ratingDate;
+
+    // Default constructor
+    public MovieRatingDailyId() {}
+
+    // Constructor
+    public MovieRatingDailyId(Long movieId, LocalDate ratingDate) {
+        this.movieId = movieId;
+        this.ratingDate = ratingDate;
+    }
+
+    public Long getMovieId() {
+        return movieId;
+    }
+
+    public LocalDate getRatingDate() {
+        return ratingDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MovieRatingDailyId other)) {
+            return false;
+        }
+        return Objects.equals(movieId, other.movieId) && Objects.equals(ratingDate, other.ratingDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(movieId, ratingDate);
+    }
+}
@@ -0,0 +1,75 @@
+package com.bookmyseat.reviewservice.entity;
+
+import com.bookmyseat.reviewservice.sketch.HyperLogLog;
+import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "movie_reviewer_sketches")
+public class MovieReviewerSketch {
+
+    @Id
+    @Column(name = "movie_id")
+    private Long movieId;
+
+    @Column(name = "registers", nullable = false, length = HyperLogLog.REGISTER_COUNT)
+    private byte[] registers;
+
+    @Column(name = "updated_at")
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    // Default constructor
+    public MovieReviewerSketch() {}
+
+    // Constructor
+    public MovieReviewerSketch(Long movieId, HyperLogLog sketch) {
+        this.movieId = movieId;
+        this.registers = sketch.toBytes();
+    }
+
+    // Utility method to read the stored sketch
+    public HyperLogLog getSketch() {
+        return HyperLogLog.fromBytes(registers);
+    }
+
+    // Utility method to replace the stored sketch
+    public void setSketch(HyperLogLog sketch) {
+        this.registers = sketch.toBytes();
+    }
+
+    // Getters and Setters
+    public Long getMovieId() {
+        return movieId;
+    }
+
+    public void setMovieId(Long movieId) {
+        this.movieId = movieId;
+    }
+
+    public byte[] getRegisters() {
+        return registers;
+    }
+
+    public void setRegisters(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "MovieReviewerSketch{" +
+                "movieId=" + movieId +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
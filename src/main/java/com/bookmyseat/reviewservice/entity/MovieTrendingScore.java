@@ -0,0 +1,64 @@
+package com.bookmyseat.reviewservice.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "movie_trending_scores")
+public class MovieTrendingScore {
+
+    @Id
+    @Column(name = "movie_id")
+    private Long movieId;
+
+    @Column(name = "score", nullable = false)
+    private Double score;
+
+    @Column(name = "scored_at", nullable = false)
+    private Instant scoredAt;
+
+    // Default constructor
+    public MovieTrendingScore() {}
+
+    // Constructor
+    public MovieTrendingScore(Long movieId, Double score, Instant scoredAt) {
+        this.movieId = movieId;
+        this.score = score;
+        this.scoredAt = scoredAt;
+    }
+
+    // Getters and Setters
+    public Long getMovieId() {
+        return movieId;
+    }
+
+    public void setMovieId(Long movieId) {
+        this.movieId = movieId;
+    }
+
+    public Double getScore() {
+        return score;
+    }
+
+    public void setScore(Double score) {
+        this.score = score;
+    }
+
+    public Instant getScoredAt() {
+        return scoredAt;
+    }
+
+    public void setScoredAt(Instant scoredAt) {
+        this.scoredAt = scoredAt;
+    }
+
+    @Override
+    public String toString() {
+        return "MovieTrendingScore{" +
+                "movieId=" + movieId +
+                ", score=" + score +
+                ", scoredAt=" + scoredAt +
+                '}';
+    }
+}
@@ -12,6 +12,9 @@ import java.time.LocalDateTime;
 @Table(name = "reviews")
 public class Review {
 
+    // Number of comment characters stored in comment_preview for listings
+    public static final int COMMENT_PREVIEW_LENGTH = 200;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -35,6 +38,12 @@ public class Review {
     @Size(max = 1000, message = "Comment must not exceed 1000 characters")
     private String comment;
 
+    @Column(name = "comment_preview", length = COMMENT_PREVIEW_LENGTH)
+    private String commentPreview;
+
+    @Column(name = "comment_truncated", nullable = false)
+    private Boolean commentTruncated = false;
+
     @Column(name = "review_date", nullable = false)
     @CreationTimestamp
     private LocalDateTime reviewDate;
@@ -58,6 +67,22 @@ public class Review {
         this.comment = comment;
     }
 
+    // Keep the stored preview in sync with the full comment
+    @PrePersist
+    @PreUpdate
+    void updateCommentPreview() {
+        if (comment == null) {
+            commentPreview = null;
+            commentTruncated = false;
+        } else if (comment.length() > COMMENT_PREVIEW_LENGTH) {
+            commentPreview = comment.substring(0, COMMENT_PREVIEW_LENGTH);
+            commentTruncated = true;
+        } else {
+            commentPreview = comment;
+            commentTruncated = false;
+        }
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -99,6 +124,22 @@ public class Review {
         this.comment = comment;
     }
 
+    public String getCommentPreview() {
+        return commentPreview;
+    }
+
+    public void setCommentPreview(String commentPreview) {
+        this.commentPreview = commentPreview;
+    }
+
+    public Boolean getCommentTruncated() {
+        return commentTruncated;
+    }
+
+    public void setCommentTruncated(Boolean commentTruncated) {
+        this.commentTruncated = commentTruncated;
+    }
+
     public LocalDateTime getReviewDate() {
         return reviewDate;
     }
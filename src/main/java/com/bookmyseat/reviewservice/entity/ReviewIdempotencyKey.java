@@ -0,0 +1,181 @@
+package com.bookmyseat.reviewservice.entity;
+
+import com.bookmyseat.reviewservice.dto.ReviewDTO;
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "review_idempotency_keys")
+public class ReviewIdempotencyKey implements Persistable<String> {
+
+    // Longest Idempotency-Key header value accepted
+    public static final int MAX_KEY_LENGTH = 100;
+
+    @Id
+    @Column(name = "idempotency_key", length = MAX_KEY_LENGTH)
+    private String idempotencyKey;
+
+    @Column(name = "review_id")
+    private Long reviewId;
+
+    @Column(name = "movie_id")
+    private Long movieId;
+
+    @Column(name = "movie_title")
+    private String movieTitle;
+
+    @Column(name = "user_name", length = 100)
+    private String userName;
+
+    @Column(name = "rating", precision = 2, scale = 1)
+    private BigDecimal rating;
+
+    @Column(name = "comment", columnDefinition = "TEXT")
+    private String comment;
+
+    @Column(name = "review_date")
+    private LocalDateTime reviewDate;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // Keys are only saved to claim them, so saving always inserts and a concurrent claim of the same key fails
+    @Transient
+    private boolean newKey = true;
+
+    // Default constructor
+    public ReviewIdempotencyKey() {}
+
+    // Constructor for a claim made before the review is submitted; the response is filled in later
+    public ReviewIdempotencyKey(String idempotencyKey, Instant createdAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.createdAt = createdAt;
+    }
+
+    // Constructor
+    public ReviewIdempotencyKey(String idempotencyKey, ReviewDTO response, Instant createdAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.reviewId = response.getId();
+        this.movieId = response.getMovieId();
+        this.movieTitle = response.getMovieTitle();
+        this.userName = response.getUserName();
+        this.rating = response.getRating();
+        this.comment = response.getComment();
+        this.reviewDate = response.getReviewDate();
+        this.createdAt = createdAt;
+    }
+
+    // Utility method to check whether the submission holding the key has not stored its response yet
+    public boolean isPending() {
+        return reviewId == null;
+    }
+
+    // Utility method to rebuild the original response
+    public ReviewDTO toReviewDTO() {
+        return new ReviewDTO(reviewId, movieId, movieTitle, userName, rating, comment, reviewDate);
+    }
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newKey;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        this.newKey = false;
+    }
+
+    // Getters and Setters
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public Long getReviewId() {
+        return reviewId;
+    }
+
+    public void setReviewId(Long reviewId) {
+        this.reviewId = reviewId;
+    }
+
+    public Long getMovieId() {
+        return movieId;
+    }
+
+    public void setMovieId(Long movieId) {
+        this.movieId = movieId;
+    }
+
+    public String getMovieTitle() {
+        return movieTitle;
+    }
+
+    public void setMovieTitle(String movieTitle) {
+        this.movieTitle = movieTitle;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public void setUserName(String userName) {
+        this.userName = userName;
+    }
+
+    public BigDecimal getRating() {
+        return rating;
+    }
+
+    public void setRating(BigDecimal rating) {
+        this.rating = rating;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+
+    public LocalDateTime getReviewDate() {
+        return reviewDate;
+    }
+
+    public void setReviewDate(LocalDateTime reviewDate) {
+        this.reviewDate = reviewDate;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ReviewIdempotencyKey{" +
+                "idempotencyKey='" + idempotencyKey + '\'' +
+                ", reviewId=" + reviewId +
+                ", movieId=" + movieId +
+                ", userName='" + userName + '\'' +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
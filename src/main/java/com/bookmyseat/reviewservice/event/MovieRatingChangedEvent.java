@@ -0,0 +1,25 @@
+package com.bookmyseat.reviewservice.event;
+
+/**
+ * Published by the movie rating service whenever the movie_ratings row of a movie is
+ * inserted, updated or deleted, so copies of the aggregate held elsewhere can be dropped.
+ */
+public class MovieRatingChangedEvent {
+
+    private final Long movieId;
+
+    public MovieRatingChangedEvent(Long movieId) {
+        this.movieId = movieId;
+    }
+
+    public Long getMovieId() {
+        return movieId;
+    }
+
+    @Override
+    public String toString() {
+        return "MovieRatingChangedEvent{" +
+                "movieId=" + movieId +
+                '}';
+    }
+}
@@ -0,0 +1,63 @@
+package com.bookmyseat.reviewservice.event;
+
+import com.bookmyseat.reviewservice.entity.Review;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Published by the review service after a review has been saved.
+ * Carries a detached copy of the review so listeners never touch the managed entity.
+ */
+public class ReviewSubmittedEvent {
+
+    private final Long reviewId;
+    private final Long movieId;
+    private final String userName;
+    private final BigDecimal rating;
+    private final String comment;
+    private final LocalDateTime reviewDate;
+
+    public ReviewSubmittedEvent(Review review) {
+        this.reviewId = review.getId();
+        this.movieId = review.getMovieId();
+        this.userName = review.getUserName();
+        this.rating = review.getRating();
+        this.comment = review.getComment();
+        this.reviewDate = review.getReviewDate();
+    }
+
+    public Long getReviewId() {
+        return reviewId;
+    }
+
+    public Long getMovieId() {
+        return movieId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public BigDecimal getRating() {
+        return rating;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public LocalDateTime getReviewDate() {
+        return reviewDate;
+    }
+
+    @Override
+    public String toString() {
+        return "ReviewSubmittedEvent{" +
+                "reviewId=" + reviewId +
+                ", movieId=" + movieId +
+                ", userName='" + userName + '\'' +
+                ", rating=" + rating +
+                '}';
+    }
+}
@@ -0,0 +1,34 @@
+package com.bookmyseat.reviewservice.event;
+
+import java.util.List;
+
+/**
+ * Published by the review archiver after a batch of reviews has been deleted from the
+ * reviews table, so in-memory copies of those reviews can be dropped.
+ */
+public class ReviewsArchivedEvent {
+
+    private final Long movieId;
+    private final List<Long> reviewIds;
+
+    public ReviewsArchivedEvent(Long movieId, List<Long> reviewIds) {
+        this.movieId = movieId;
+        this.reviewIds = List.copyOf(reviewIds);
+    }
+
+    public Long getMovieId() {
+        return movieId;
+    }
+
+    public List<Long> getReviewIds() {
+        return reviewIds;
+    }
+
+    @Override
+    public String toString() {
+        return "ReviewsArchivedEvent{" +
+                "movieId=" + movieId +
+                ", reviews=" + reviewIds.size() +
+                '}';
+    }
+}
@@ -0,0 +1,12 @@
+package com.bookmyseat.reviewservice.exception;
+
+public class DuplicateReviewException extends RuntimeException {
+
+    public DuplicateReviewException(String message) {
+        super(message);
+    }
+
+    public DuplicateReviewException(Long movieId, String userName) {
+        super("User " + userName + " has already reviewed movie ID: " + movieId);
+    }
+}
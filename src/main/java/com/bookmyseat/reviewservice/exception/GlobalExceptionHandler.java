@@ -4,13 +4,16 @@ import com.bookmyseat.reviewservice.dto.ErrorResponseDTO;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import java.util.ArrayList;
@@ -91,6 +94,152 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidCursorException(
+            InvalidCursorException ex, HttpServletRequest request) {
+
+        logger.warn("Invalid cursor: {}", ex.getMessage());
+
+        ErrorResponseDTO error = new ErrorResponseDTO(
+                ex.getMessage(),
+                "INVALID_CURSOR",
+                HttpStatus.BAD_REQUEST.value(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(DuplicateReviewException.class)
+    public ResponseEntity<ErrorResponseDTO> handleDuplicateReviewException(
+            DuplicateReviewException ex, HttpServletRequest request) {
+
+        logger.warn("Duplicate review: {}", ex.getMessage());
+
+        ErrorResponseDTO error = new ErrorResponseDTO(
+                ex.getMessage(),
+                "DUPLICATE_REVIEW",
+                HttpStatus.CONFLICT.value(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponseDTO> handleRateLimitExceededException(
+            RateLimitExceededException ex, HttpServletRequest request) {
+
+        logger.warn("Rate limit exceeded: {}", ex.getMessage());
+
+        ErrorResponseDTO error = new ErrorResponseDTO(
+                ex.getMessage(),
+                "RATE_LIMIT_EXCEEDED",
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidIdempotencyKeyException(
+            InvalidIdempotencyKeyException ex, HttpServletRequest request) {
+
+        logger.warn("Invalid idempotency key: {}", ex.getMessage());
+
+        ErrorResponseDTO error = new ErrorResponseDTO(
+                ex.getMessage(),
+                "INVALID_IDEMPOTENCY_KEY",
+                HttpStatus.BAD_REQUEST.value(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public ResponseEntity<ErrorResponseDTO> handleIdempotencyKeyReuseException(
+            IdempotencyKeyReuseException ex, HttpServletRequest request) {
+
+        logger.warn("Idempotency key reused: {}", ex.getMessage());
+
+        ErrorResponseDTO error = new ErrorResponseDTO(
+                ex.getMessage(),
+                "IDEMPOTENCY_KEY_REUSED",
+                HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
+    }
+
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ErrorResponseDTO> handleIdempotencyKeyInProgressException(
+            IdempotencyKeyInProgressException ex, HttpServletRequest request) {
+
+        logger.warn("Idempotency key still in progress: {}", ex.getMessage());
+
+        ErrorResponseDTO error = new ErrorResponseDTO(
+                ex.getMessage(),
+                "IDEMPOTENCY_KEY_IN_PROGRESS",
+                HttpStatus.CONFLICT.value(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidDateRangeException(
+            InvalidDateRangeException ex, HttpServletRequest request) {
+
+        logger.warn("Invalid date range: {}", ex.getMessage());
+
+        ErrorResponseDTO error = new ErrorResponseDTO(
+                ex.getMessage(),
+                "INVALID_DATE_RANGE",
+                HttpStatus.BAD_REQUEST.value(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponseDTO> handleTypeMismatchException(
+            MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
+
+        logger.warn("Invalid value for parameter {}: {}", ex.getName(), ex.getValue());
+
+        ErrorResponseDTO error = new ErrorResponseDTO(
+                "Invalid value '" + ex.getValue() + "' for parameter '" + ex.getName() + "'",
+                "VALIDATION_ERROR",
+                HttpStatus.BAD_REQUEST.value(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ErrorResponseDTO> handleMissingParameterException(
+            MissingServletRequestParameterException ex, HttpServletRequest request) {
+
+        logger.warn("Missing request parameter: {}", ex.getParameterName());
+
+        ErrorResponseDTO error = new ErrorResponseDTO(
+                "Required parameter '" + ex.getParameterName() + "' is missing",
+                "VALIDATION_ERROR",
+                HttpStatus.BAD_REQUEST.value(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(HttpClientErrorException.class)
     public ResponseEntity<ErrorResponseDTO> handleHttpClientErrorException(
             HttpClientErrorException ex, HttpServletRequest request) {
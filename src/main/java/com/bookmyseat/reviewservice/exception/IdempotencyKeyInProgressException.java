@@ -0,0 +1,8 @@
+package com.bookmyseat.reviewservice.exception;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+}
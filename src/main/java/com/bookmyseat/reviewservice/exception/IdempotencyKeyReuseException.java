@@ -0,0 +1,8 @@
+package com.bookmyseat.reviewservice.exception;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+    }
+}
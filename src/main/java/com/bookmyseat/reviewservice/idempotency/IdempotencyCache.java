@@ -0,0 +1,70 @@
+package com.bookmyseat.reviewservice.idempotency;
+
+import com.bookmyseat.reviewservice.dto.ReviewDTO;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded in-memory map from Idempotency-Key to the response of the submission made with it.
+ * <p>
+ * Entries are kept in access order and the least recently used one is dropped once the
+ * capacity is reached, so memory stays fixed however many keys clients send. Expired entries
+ * are not removed eagerly; a lookup ignores them and they age out of the LRU order.
+ */
+public class IdempotencyCache {
+
+    private final int capacity;
+    private final Map<String, Entry> entries;
+
+    public IdempotencyCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > IdempotencyCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Find the response stored for a key, unless it was stored before the given time
+     */
+    public synchronized ReviewDTO get(String key, Instant notBefore) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.createdAt.isBefore(notBefore)) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.response;
+    }
+
+    public synchronized void put(String key, ReviewDTO response, Instant createdAt) {
+        entries.put(key, new Entry(response, createdAt));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private static final class Entry {
+        private final ReviewDTO response;
+        private final Instant createdAt;
+
+        private Entry(ReviewDTO response, Instant createdAt) {
+            this.response = response;
+            this.createdAt = createdAt;
+        }
+    }
+}
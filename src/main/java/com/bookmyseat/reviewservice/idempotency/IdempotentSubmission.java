@@ -0,0 +1,34 @@
+package com.bookmyseat.reviewservice.idempotency;
+
+import com.bookmyseat.reviewservice.dto.ReviewDTO;
+
+/**
+ * Response to a submission made with an Idempotency-Key, and whether it was replayed from an
+ * earlier request with the same key rather than created by this one.
+ */
+public class IdempotentSubmission {
+
+    private final ReviewDTO response;
+    private final boolean replayed;
+
+    private IdempotentSubmission(ReviewDTO response, boolean replayed) {
+        this.response = response;
+        this.replayed = replayed;
+    }
+
+    public static IdempotentSubmission created(ReviewDTO response) {
+        return new IdempotentSubmission(response, false);
+    }
+
+    public static IdempotentSubmission replayed(ReviewDTO response) {
+        return new IdempotentSubmission(response, true);
+    }
+
+    public ReviewDTO getResponse() {
+        return response;
+    }
+
+    public boolean isReplayed() {
+        return replayed;
+    }
+}
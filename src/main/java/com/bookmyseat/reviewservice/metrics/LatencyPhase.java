@@ -0,0 +1,26 @@
+package com.bookmyseat.reviewservice.metrics;
+
+/**
+ * Parts of a request timed separately so slow endpoints can be traced to their cause
+ */
+public enum LatencyPhase {
+
+    /** HTTP calls to Movie Service, one sample per attempt */
+    MOVIE_SERVICE("movie_service"),
+
+    /** Spring Data repository calls */
+    DATABASE("database"),
+
+    /** Mapping response DTOs to JSON */
+    MAPPING("mapping");
+
+    private final String tag;
+
+    LatencyPhase(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
@@ -0,0 +1,83 @@
+package com.bookmyseat.reviewservice.metrics;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Records each outgoing Movie Service call as the {@link LatencyPhase#MOVIE_SERVICE} phase,
+ * from sending the request until the response body has been read and closed.
+ */
+public class MovieServiceLatencyInterceptor implements ClientHttpRequestInterceptor {
+
+    private final RequestLatencyMetrics requestLatencyMetrics;
+
+    public MovieServiceLatencyInterceptor(RequestLatencyMetrics requestLatencyMetrics) {
+        this.requestLatencyMetrics = requestLatencyMetrics;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        long start = System.nanoTime();
+        try {
+            return new TimedResponse(execution.execute(request, body), start);
+        } catch (IOException | RuntimeException e) {
+            requestLatencyMetrics.recordPhase(LatencyPhase.MOVIE_SERVICE, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    /**
+     * Response that stops the clock when the client is done with it
+     */
+    private final class TimedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final long start;
+        private boolean recorded;
+
+        private TimedResponse(ClientHttpResponse delegate, long start) {
+            this.delegate = delegate;
+            this.start = start;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (!recorded) {
+                    recorded = true;
+                    requestLatencyMetrics.recordPhase(LatencyPhase.MOVIE_SERVICE, System.nanoTime() - start);
+                }
+            }
+        }
+    }
+}
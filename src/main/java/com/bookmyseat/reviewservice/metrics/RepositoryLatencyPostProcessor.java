@@ -0,0 +1,32 @@
+package com.bookmyseat.reviewservice.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds a listener to every Spring Data repository that records each method call as the
+ * {@link LatencyPhase#DATABASE} phase.
+ */
+public class RepositoryLatencyPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<RequestLatencyMetrics> requestLatencyMetrics;
+
+    public RepositoryLatencyPostProcessor(ObjectProvider<RequestLatencyMetrics> requestLatencyMetrics) {
+        this.requestLatencyMetrics = requestLatencyMetrics;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+            // Resolved on first call, so post-processing does not initialize the meter registry early
+            RepositoryMethodInvocationListener listener = invocation -> requestLatencyMetrics.ifAvailable(
+                    metrics -> metrics.recordPhase(LatencyPhase.DATABASE, invocation.getDuration(TimeUnit.NANOSECONDS)));
+            repositoryFactoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(listener));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,51 @@
+package com.bookmyseat.reviewservice.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Times each request handled by a controller method and names it after that method, so
+ * phase timings recorded while serving it are attributed to the same endpoint.
+ */
+public class RequestLatencyInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SAMPLE_ATTRIBUTE = RequestLatencyInterceptor.class.getName() + ".sample";
+
+    private final RequestLatencyMetrics requestLatencyMetrics;
+
+    public RequestLatencyInterceptor(RequestLatencyMetrics requestLatencyMetrics) {
+        this.requestLatencyMetrics = requestLatencyMetrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // An async dispatch only completes a request already timed up to its hand-off
+        if (handler instanceof HandlerMethod handlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+            request.setAttribute(RequestLatencyMetrics.ENDPOINT_ATTRIBUTE, handlerMethod.getMethod().getName());
+            request.setAttribute(SAMPLE_ATTRIBUTE, requestLatencyMetrics.startRequest());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Streams stay open for minutes; their duration says nothing about request latency
+        request.removeAttribute(SAMPLE_ATTRIBUTE);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object sample = request.getAttribute(SAMPLE_ATTRIBUTE);
+        if (sample instanceof Timer.Sample timerSample) {
+            request.removeAttribute(SAMPLE_ATTRIBUTE);
+            // Exceptions not mapped by the exception handler leave the status unset
+            int status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+            requestLatencyMetrics.recordRequest(timerSample, String.valueOf(
+                    request.getAttribute(RequestLatencyMetrics.ENDPOINT_ATTRIBUTE)), status);
+        }
+    }
+}
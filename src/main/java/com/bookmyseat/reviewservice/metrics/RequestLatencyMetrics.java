@@ -0,0 +1,121 @@
+package com.bookmyseat.reviewservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency timers for the review API.
+ * <p>
+ * {@code review_request_duration} times each endpoint, tagged by outcome, and
+ * {@code review_request_phase_duration} times the Movie Service calls, repository calls and
+ * JSON mapping made while serving it. Both publish percentile histograms with buckets at the
+ * configured SLO thresholds, so latency targets can be checked straight from Prometheus.
+ * Phases are attributed to the endpoint of the current request, or to "background" for
+ * scheduled jobs and other work outside a request.
+ */
+public class RequestLatencyMetrics {
+
+    /** Request attribute holding the endpoint name of the request being served */
+    public static final String ENDPOINT_ATTRIBUTE = RequestLatencyMetrics.class.getName() + ".endpoint";
+
+    static final String REQUEST_TIMER = "review_request_duration";
+    static final String PHASE_TIMER = "review_request_phase_duration";
+    static final String BACKGROUND = "background";
+
+    private static final ThreadLocal<String> ENDPOINT_OVERRIDE = new ThreadLocal<>();
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(10);
+
+    private final MeterRegistry meterRegistry;
+    private final Duration[] slos;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public RequestLatencyMetrics(MeterRegistry meterRegistry, List<Duration> slos) {
+        this.meterRegistry = meterRegistry;
+        this.slos = slos.toArray(Duration[]::new);
+    }
+
+    public Timer.Sample startRequest() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Record a finished request
+     * @param sample Sample started when the request arrived
+     * @param endpoint Name of the endpoint that served it
+     * @param status Response status
+     */
+    public void recordRequest(Timer.Sample sample, String endpoint, int status) {
+        String outcome = Outcome.forStatus(status).name();
+        sample.stop(timers.computeIfAbsent(REQUEST_TIMER + '|' + endpoint + '|' + outcome,
+                key -> histogram(Timer.builder(REQUEST_TIMER)
+                        .description("Review API request latency by endpoint and outcome")
+                        .tag("endpoint", endpoint)
+                        .tag("outcome", outcome))));
+    }
+
+    /**
+     * Record time spent in one phase of the current request
+     */
+    public void recordPhase(LatencyPhase phase, long nanos) {
+        String endpoint = currentEndpoint();
+        timers.computeIfAbsent(PHASE_TIMER + '|' + endpoint + '|' + phase.getTag(),
+                key -> histogram(Timer.builder(PHASE_TIMER)
+                        .description("Time spent calling Movie Service, querying the database and mapping JSON per endpoint")
+                        .tag("endpoint", endpoint)
+                        .tag("phase", phase.getTag())))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer histogram(Timer.Builder builder) {
+        return builder
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(slos)
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Endpoint of the request being served on this thread, or "background" outside a request
+     */
+    public static String currentEndpoint() {
+        String override = ENDPOINT_OVERRIDE.get();
+        if (override != null) {
+            return override;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object endpoint = attributes != null
+                ? attributes.getAttribute(ENDPOINT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+        return endpoint != null ? endpoint.toString() : BACKGROUND;
+    }
+
+    /**
+     * Run work handed off to another thread as part of the given endpoint, so its phases are
+     * attributed to the request that started it rather than to "background"
+     */
+    public static <T> T callAs(String endpoint, Supplier<T> action) {
+        String previous = ENDPOINT_OVERRIDE.get();
+        ENDPOINT_OVERRIDE.set(endpoint);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                ENDPOINT_OVERRIDE.set(previous);
+            } else {
+                ENDPOINT_OVERRIDE.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.bookmyseat.reviewservice.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * CBOR converter for internal callers sending {@code Accept: application/cbor}. Times response
+ * writing as the {@link LatencyPhase#MAPPING} phase, like {@link TimedJacksonHttpMessageConverter}
+ * does for JSON, so the formats can be compared on the same timer.
+ */
+public class TimedCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    private final RequestLatencyMetrics requestLatencyMetrics;
+
+    public TimedCborHttpMessageConverter(ObjectMapper objectMapper, RequestLatencyMetrics requestLatencyMetrics) {
+        super(objectMapper);
+        this.requestLatencyMetrics = requestLatencyMetrics;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            requestLatencyMetrics.recordPhase(LatencyPhase.MAPPING, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.bookmyseat.reviewservice.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * JSON converter that records how long each response body takes to write as the
+ * {@link LatencyPhase#MAPPING} phase. List endpoints project rows straight into DTOs in their
+ * queries, so writing the DTOs out is where their mapping cost lies.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final RequestLatencyMetrics requestLatencyMetrics;
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, RequestLatencyMetrics requestLatencyMetrics) {
+        super(objectMapper);
+        this.requestLatencyMetrics = requestLatencyMetrics;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            requestLatencyMetrics.recordPhase(LatencyPhase.MAPPING, System.nanoTime() - start);
+        }
+    }
+}
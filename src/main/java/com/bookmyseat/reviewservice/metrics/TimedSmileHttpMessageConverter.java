@@ -0,0 +1,34 @@
+package com.bookmyseat.reviewservice.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Smile (binary JSON) converter for callers sending {@code Accept: application/x-jackson-smile}.
+ * Response writing is timed as the {@link LatencyPhase#MAPPING} phase.
+ */
+public class TimedSmileHttpMessageConverter extends MappingJackson2SmileHttpMessageConverter {
+
+    private final RequestLatencyMetrics requestLatencyMetrics;
+
+    public TimedSmileHttpMessageConverter(ObjectMapper objectMapper, RequestLatencyMetrics requestLatencyMetrics) {
+        super(objectMapper);
+        this.requestLatencyMetrics = requestLatencyMetrics;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            requestLatencyMetrics.recordPhase(LatencyPhase.MAPPING, System.nanoTime() - start);
+        }
+    }
+}
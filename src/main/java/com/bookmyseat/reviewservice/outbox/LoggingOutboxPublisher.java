@@ -0,0 +1,27 @@
+package com.bookmyseat.reviewservice.outbox;
+
+import com.bookmyseat.reviewservice.entity.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Default publisher until a broker is wired in: writes each event to the log
+ */
+@Component
+@ConditionalOnProperty(name = "review.outbox.publisher", havingValue = "logging", matchIfMissing = true)
+public class LoggingOutboxPublisher implements OutboxPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingOutboxPublisher.class);
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            logger.info("Outbox event {} {} for movie {}: {}",
+                       event.getId(), event.getEventType(), event.getMovieId(), event.getPayload());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.bookmyseat.reviewservice.outbox;
+
+/**
+ * Kinds of event other services can receive from the review outbox
+ */
+public enum OutboxEventType {
+    REVIEW_SUBMITTED,
+    RATING_CHANGED
+}
@@ -0,0 +1,20 @@
+package com.bookmyseat.reviewservice.outbox;
+
+import com.bookmyseat.reviewservice.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Delivers outbox events to other services, for example through a message broker.
+ * <p>
+ * Events arrive in id order and may be delivered more than once, so consumers should
+ * ignore event ids they have already seen.
+ */
+public interface OutboxPublisher {
+
+    /**
+     * Publish a batch of events, throwing if any of them could not be delivered
+     * @param events Events in id order
+     */
+    void publish(List<OutboxEvent> events);
+}
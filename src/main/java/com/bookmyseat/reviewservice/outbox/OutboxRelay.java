@@ -0,0 +1,97 @@
+package com.bookmyseat.reviewservice.outbox;
+
+import com.bookmyseat.reviewservice.entity.OutboxEvent;
+import com.bookmyseat.reviewservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Publishes stored outbox events through the {@link OutboxPublisher}, oldest first, and
+ * deletes each batch once it has been delivered.
+ * <p>
+ * A batch that fails to publish stays in the table and ends the run, so events are
+ * delivered at least once and in order. If the process stops between publishing and
+ * deleting, or several instances relay at the same time, a batch can be delivered twice.
+ */
+@Component
+@ConditionalOnProperty(name = "review.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter published;
+    private final Counter failures;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxPublisher outboxPublisher,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${review.outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${review.outbox.relay.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+
+        this.published = Counter.builder("review_outbox_published")
+                .description("Outbox events delivered to the publisher")
+                .register(meterRegistry);
+        this.failures = Counter.builder("review_outbox_publish_failures")
+                .description("Outbox batches that failed to publish and were left for the next run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publish and delete up to the configured number of batches
+     * @return number of events published
+     */
+    @Scheduled(fixedDelayString = "${review.outbox.relay.interval-ms:1000}")
+    public int relay() {
+        int relayed = 0;
+        for (int batches = 0; batches < maxBatchesPerRun; batches++) {
+            List<OutboxEvent> batch = outboxEventRepository.findOldest(PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            try {
+                outboxPublisher.publish(batch);
+            } catch (RuntimeException e) {
+                failures.increment();
+                logger.error("Failed to publish {} outbox events starting at id {}: {}",
+                            batch.size(), batch.get(0).getId(), e.getMessage(), e);
+                break;
+            }
+
+            List<Long> ids = batch.stream().map(OutboxEvent::getId).toList();
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deleteByIds(ids));
+            published.increment(batch.size());
+            relayed += batch.size();
+
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (relayed > 0) {
+            logger.debug("Relayed {} outbox events", relayed);
+        }
+        return relayed;
+    }
+}
@@ -0,0 +1,78 @@
+package com.bookmyseat.reviewservice.outbox;
+
+import com.bookmyseat.reviewservice.entity.MovieRating;
+import com.bookmyseat.reviewservice.entity.OutboxEvent;
+import com.bookmyseat.reviewservice.entity.Review;
+import com.bookmyseat.reviewservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes review and rating change events to the review_outbox table.
+ * <p>
+ * Every method joins the caller's transaction, so an event is stored if and only if the
+ * change it describes is committed. {@link OutboxRelay} publishes the stored events.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class ReviewOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public ReviewOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public void recordReviewSubmitted(Review review) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("reviewId", review.getId());
+        payload.put("movieId", review.getMovieId());
+        payload.put("userName", review.getUserName());
+        payload.put("rating", review.getRating());
+        payload.put("comment", review.getComment());
+        payload.put("reviewDate", review.getReviewDate());
+        append(OutboxEventType.REVIEW_SUBMITTED, review.getMovieId(), payload);
+    }
+
+    public void recordRatingChanged(MovieRating movieRating) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("movieId", movieRating.getMovieId());
+        payload.put("averageRating", movieRating.getAverageRating());
+        payload.put("totalReviews", movieRating.getTotalReviews());
+        payload.put("removed", false);
+        append(OutboxEventType.RATING_CHANGED, movieRating.getMovieId(), payload);
+    }
+
+    /**
+     * Record that a movie's rating row was deleted: a zeroed aggregate flagged as removed, so
+     * consumers can drop the movie or treat it as unrated
+     */
+    public void recordRatingRemoved(Long movieId) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("movieId", movieId);
+        payload.put("averageRating", BigDecimal.ZERO);
+        payload.put("totalReviews", 0);
+        payload.put("removed", true);
+        append(OutboxEventType.RATING_CHANGED, movieId, payload);
+    }
+
+    private void append(OutboxEventType eventType, Long movieId, Map<String, Object> payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + eventType + " event for movie " + movieId, e);
+        }
+        outboxEventRepository.save(new OutboxEvent(eventType, movieId, json, LocalDateTime.now()));
+    }
+}
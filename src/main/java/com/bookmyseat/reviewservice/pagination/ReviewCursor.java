@@ -0,0 +1,60 @@
+package com.bookmyseat.reviewservice.pagination;
+
+import com.bookmyseat.reviewservice.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last review on a page ordered by review date and id, both descending.
+ * Encoded as an opaque URL-safe token so clients pass it back without interpreting it.
+ */
+public final class ReviewCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime reviewDate;
+    private final Long reviewId;
+
+    public ReviewCursor(LocalDateTime reviewDate, Long reviewId) {
+        this.reviewDate = reviewDate;
+        this.reviewId = reviewId;
+    }
+
+    public LocalDateTime getReviewDate() {
+        return reviewDate;
+    }
+
+    public Long getReviewId() {
+        return reviewId;
+    }
+
+    public String encode() {
+        String raw = reviewDate.toString() + SEPARATOR + reviewId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ReviewCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + token);
+            }
+            return new ReviewCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ReviewCursor{" +
+                "reviewDate=" + reviewDate +
+                ", reviewId=" + reviewId +
+                '}';
+    }
+}
@@ -0,0 +1,112 @@
+package com.bookmyseat.reviewservice.partition;
+
+import com.bookmyseat.reviewservice.query.HibernateStatementCapture;
+import com.bookmyseat.reviewservice.repository.ReviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Calls every movie-scoped query in {@link ReviewPartitionQueries}, captures the SQL Hibernate
+ * generates for it, runs {@code EXPLAIN} on that SQL against the partitioned table and checks
+ * that MySQL reads exactly one partition.
+ * <p>
+ * The calls run against the live reviews table inside a transaction that is rolled back. For
+ * the EXPLAIN every {@code ?} is bound to the sample movie id; only the movie_id comparison
+ * decides pruning, and MySQL converts the value for the other columns.
+ */
+public class PartitionPruningVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionPruningVerifier.class);
+
+    private static final Pattern SOURCE_TABLE = Pattern.compile("\\b" + ReviewPartitionMigrator.SOURCE_TABLE + "\\b");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReviewRepository reviewRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public PartitionPruningVerifier(JdbcTemplate jdbcTemplate, ReviewRepository reviewRepository,
+                                    TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reviewRepository = reviewRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Verify partition pruning against the given table.
+     * @return true if every statement of every movie-scoped query reads a single partition
+     */
+    public boolean verify(String table) {
+        boolean allPruned = true;
+
+        for (Map.Entry<String, Consumer<ReviewRepository>> query : ReviewPartitionQueries.MOVIE_SCOPED.entrySet()) {
+            List<String> statements = captureStatements(query.getValue());
+            if (statements.isEmpty()) {
+                logger.error("{} issued no SQL through Hibernate, cannot check pruning", query.getKey());
+                allPruned = false;
+            }
+
+            for (String statement : statements) {
+                String sql = SOURCE_TABLE.matcher(statement).replaceAll(table);
+                Set<String> partitions = partitionsScanned(jdbcTemplate.queryForList("EXPLAIN " + sql, sampleParameters(sql)));
+
+                if (partitions.size() == 1) {
+                    logger.info("{} prunes to partition {}", query.getKey(), partitions.iterator().next());
+                } else {
+                    logger.error("{} does not prune to one partition, reads {}: {}",
+                                query.getKey(), partitions.isEmpty() ? "an unpartitioned table" : partitions, sql);
+                    allPruned = false;
+                }
+            }
+        }
+
+        ReviewPartitionQueries.ALL_PARTITIONS.forEach((method, reason) ->
+                logger.info("{} reads all partitions: {}", method, reason));
+
+        return allPruned;
+    }
+
+    /**
+     * Call a query and return the SQL Hibernate prepared for it
+     */
+    public List<String> captureStatements(Consumer<ReviewRepository> query) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return HibernateStatementCapture.capture(() -> query.accept(reviewRepository));
+        });
+    }
+
+    static Object[] sampleParameters(String sql) {
+        Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        Arrays.fill(parameters, ReviewPartitionQueries.SAMPLE_MOVIE_ID);
+        return parameters;
+    }
+
+    /**
+     * Collect the partitions listed in the {@code partitions} column of an EXPLAIN result.
+     */
+    static Set<String> partitionsScanned(List<Map<String, Object>> plan) {
+        Set<String> partitions = new TreeSet<>();
+        for (Map<String, Object> row : plan) {
+            for (Map.Entry<String, Object> column : row.entrySet()) {
+                if ("partitions".equalsIgnoreCase(column.getKey()) && column.getValue() != null) {
+                    for (String partition : column.getValue().toString().split(",")) {
+                        if (!partition.isBlank()) {
+                            partitions.add(partition.trim());
+                        }
+                    }
+                }
+            }
+        }
+        return partitions;
+    }
+}
@@ -0,0 +1,276 @@
+package com.bookmyseat.reviewservice.partition;
+
+import com.bookmyseat.reviewservice.repository.ReviewRepository;
+import com.bookmyseat.reviewservice.service.JobLeaseService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Copies the reviews table into the hash-partitioned reviews_partitioned table while the
+ * service keeps writing, then optionally swaps the two tables.
+ * <p>
+ * Rows are copied in id ranges with a pause between chunks so the copy does not saturate
+ * the primary. The copy resumes from the highest id already present in the target, so it
+ * can be stopped and restarted. Rows are also inserted out of id order, updated and deleted
+ * (the archiver removes old reviews) while the copy runs, so a reconcile pass then compares
+ * the id sets range by range: target rows that are gone from the source or whose updated_at
+ * differs are deleted, and source rows missing from the target are inserted. The final
+ * reconcile runs over the whole table under a write lock right before the atomic rename.
+ * <p>
+ * The migration runs on a background thread once the application accepts traffic, so startup
+ * and readiness never wait for the backfill, and only on the instance holding the
+ * {@link JobLeaseService} lease. Stopping the application interrupts it between chunks.
+ */
+@Component
+@ConditionalOnProperty(name = "review.partition-migration.enabled", havingValue = "true")
+public class ReviewPartitionMigrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewPartitionMigrator.class);
+
+    static final String SOURCE_TABLE = "reviews";
+    static final String TARGET_TABLE = "reviews_partitioned";
+    static final String RETIRED_TABLE = "reviews_unpartitioned";
+    static final String LEASE = "review-partition-migration";
+
+    private static final String COLUMNS = "id, movie_id, user_name, rating, comment, comment_preview, " +
+            "comment_truncated, review_date, created_at, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final PartitionPruningVerifier pruningVerifier;
+    private final JobLeaseService jobLeaseService;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final boolean cutover;
+    private final Duration leaseDuration;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+    // Not a daemon thread, so a run with web-application-type=none keeps the JVM up until it ends
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "review-partition-migration"));
+
+    @Autowired
+    public ReviewPartitionMigrator(JdbcTemplate jdbcTemplate,
+                                   DataSource dataSource,
+                                   ReviewRepository reviewRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   JobLeaseService jobLeaseService,
+                                   @Value("${review.partition-migration.chunk-size:5000}") int chunkSize,
+                                   @Value("${review.partition-migration.pause-ms:50}") long pauseMillis,
+                                   @Value("${review.partition-migration.cutover:false}") boolean cutover,
+                                   @Value("${review.partition-migration.lease-hours:24}") long leaseHours) {
+        this(jdbcTemplate, dataSource, new PartitionPruningVerifier(jdbcTemplate, reviewRepository, transactionTemplate),
+                jobLeaseService, chunkSize, pauseMillis, cutover, Duration.ofHours(leaseHours));
+    }
+
+    ReviewPartitionMigrator(JdbcTemplate jdbcTemplate, DataSource dataSource, PartitionPruningVerifier pruningVerifier,
+                            JobLeaseService jobLeaseService, int chunkSize, long pauseMillis, boolean cutover,
+                            Duration leaseDuration) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.pruningVerifier = pruningVerifier;
+        this.jobLeaseService = jobLeaseService;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.pauseMillis = Math.max(0, pauseMillis);
+        this.cutover = cutover;
+        this.leaseDuration = leaseDuration;
+    }
+
+    /**
+     * Start the migration in the background the first time the application accepts traffic
+     */
+    @EventListener
+    public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC && started.compareAndSet(false, true)) {
+            executor.execute(this::runExclusively);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    void runExclusively() {
+        if (!jobLeaseService.tryAcquire(LEASE, leaseDuration)) {
+            logger.info("Partition migration is running on another instance, skipping");
+            return;
+        }
+        boolean interrupted = false;
+        try {
+            migrate();
+        } catch (InterruptedException e) {
+            interrupted = true;
+            logger.warn("Partition migration stopped; the next run resumes from the highest copied id");
+        } catch (Exception e) {
+            logger.error("Partition migration failed: {}", e.getMessage(), e);
+        } finally {
+            // Released before the interrupt is restored, so the pool still hands out a connection
+            jobLeaseService.release(LEASE);
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    void migrate() throws InterruptedException, SQLException {
+        logger.info("Starting partition migration: chunkSize={}, pauseMs={}, cutover={}", chunkSize, pauseMillis, cutover);
+
+        long copied = copyRemaining();
+        logger.info("Copied {} reviews into {}", copied, TARGET_TABLE);
+        long reconciled = reconcile();
+        logger.info("Reconciled {} reviews changed during the copy", reconciled);
+
+        if (!pruningVerifier.verify(TARGET_TABLE)) {
+            logger.error("Partition pruning check failed, leaving {} in place", SOURCE_TABLE);
+            return;
+        }
+
+        if (cutover) {
+            swapTables();
+        } else {
+            logger.info("Pruning check passed; rerun with review.partition-migration.cutover=true to swap tables");
+        }
+    }
+
+    /**
+     * Copy every source row above the target's highest id, one throttled chunk at a time.
+     * @return number of rows copied
+     */
+    long copyRemaining() throws InterruptedException {
+        long lastId = maxId(TARGET_TABLE);
+        long endId = maxId(SOURCE_TABLE);
+        long copied = 0;
+
+        while (lastId < endId) {
+            long upperId = Math.min(endId, lastId + chunkSize);
+            copied += jdbcTemplate.update(copySql(), lastId, upperId);
+            lastId = upperId;
+
+            logger.debug("Copied reviews up to id {} of {}", lastId, endId);
+            if (pauseMillis > 0 && lastId < endId) {
+                Thread.sleep(pauseMillis);
+            }
+        }
+        return copied;
+    }
+
+    /**
+     * Bring the target in line with the source, one throttled id range at a time.
+     * Rows changed while a range is being compared are caught by the final reconcile.
+     * @return number of rows deleted from or inserted into the target
+     */
+    long reconcile() throws InterruptedException {
+        long endId = Math.max(maxId(SOURCE_TABLE), maxId(TARGET_TABLE));
+        long lastId = 0;
+        long changed = 0;
+
+        while (lastId < endId) {
+            long upperId = Math.min(endId, lastId + chunkSize);
+            changed += jdbcTemplate.update(deleteStaleSql(), lastId, upperId);
+            changed += jdbcTemplate.update(insertMissingSql(), lastId, upperId);
+            lastId = upperId;
+
+            if (pauseMillis > 0 && lastId < endId) {
+                Thread.sleep(pauseMillis);
+            }
+        }
+        return changed;
+    }
+
+    void swapTables() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(lockTablesSql());
+            try {
+                long deleted = reconcileAll(connection, deleteStaleSql());
+                long inserted = reconcileAll(connection, insertMissingSql());
+                logger.info("Final reconcile under write lock deleted {} and inserted {} reviews", deleted, inserted);
+
+                for (String rename : renameTablesSql()) {
+                    statement.execute(rename);
+                }
+            } finally {
+                statement.execute(unlockTablesSql());
+            }
+        }
+        logger.info("Swapped tables: {} is now partitioned, previous table kept as {}", SOURCE_TABLE, RETIRED_TABLE);
+    }
+
+    /**
+     * Write locks that keep the service out of both tables until the rename (MySQL). Every
+     * table alias used by the reconcile statements has to be locked as well.
+     */
+    String lockTablesSql() {
+        return "LOCK TABLES " + SOURCE_TABLE + " WRITE, " + SOURCE_TABLE + " AS s READ, " +
+                TARGET_TABLE + " WRITE, " + TARGET_TABLE + " AS t READ";
+    }
+
+    String unlockTablesSql() {
+        return "UNLOCK TABLES";
+    }
+
+    List<String> renameTablesSql() {
+        // MySQL 8.0.13+ allows RENAME TABLE on tables locked by this session
+        return List.of("RENAME TABLE " + SOURCE_TABLE + " TO " + RETIRED_TABLE + ", " +
+                TARGET_TABLE + " TO " + SOURCE_TABLE);
+    }
+
+    private static long reconcileAll(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement reconcile = connection.prepareStatement(sql)) {
+            reconcile.setLong(1, 0L);
+            reconcile.setLong(2, Long.MAX_VALUE);
+            return reconcile.executeUpdate();
+        }
+    }
+
+    private long maxId(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return maxId != null ? maxId : 0L;
+    }
+
+    static String copySql() {
+        return "INSERT IGNORE INTO " + TARGET_TABLE + " (" + COLUMNS + ") " +
+                "SELECT " + COLUMNS + " FROM " + SOURCE_TABLE + " WHERE id > ? AND id <= ? ORDER BY id";
+    }
+
+    /**
+     * Deletes target rows in an id range that were deleted or updated in the source since they were copied
+     */
+    static String deleteStaleSql() {
+        return "DELETE FROM " + TARGET_TABLE + " WHERE id > ? AND id <= ? AND NOT EXISTS (" +
+                "SELECT 1 FROM " + SOURCE_TABLE + " s WHERE s.id = " + TARGET_TABLE + ".id AND " +
+                "(s.updated_at = " + TARGET_TABLE + ".updated_at OR " +
+                "(s.updated_at IS NULL AND " + TARGET_TABLE + ".updated_at IS NULL)))";
+    }
+
+    /**
+     * Inserts source rows in an id range that are missing from the target, wherever their id falls
+     */
+    static String insertMissingSql() {
+        return "INSERT INTO " + TARGET_TABLE + " (" + COLUMNS + ") " +
+                "SELECT " + COLUMNS + " FROM " + SOURCE_TABLE + " s WHERE s.id > ? AND s.id <= ? AND NOT EXISTS (" +
+                "SELECT 1 FROM " + TARGET_TABLE + " t WHERE t.id = s.id) ORDER BY s.id";
+    }
+}
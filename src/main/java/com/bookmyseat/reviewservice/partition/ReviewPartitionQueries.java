@@ -0,0 +1,90 @@
+package com.bookmyseat.reviewservice.partition;
+
+import com.bookmyseat.reviewservice.repository.ReviewRepository;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Classifies every {@code ReviewRepository} query for the partitioned reviews table.
+ * <p>
+ * Movie-scoped queries are listed as a call of the repository method with sample arguments, so
+ * the SQL Hibernate generates for them can be captured and checked with {@code EXPLAIN}. Every
+ * other query is listed with the reason it reads all partitions.
+ * ReviewPartitionQueriesTest fails when a repository method is in neither list.
+ */
+public final class ReviewPartitionQueries {
+
+    static final Long SAMPLE_MOVIE_ID = 1L;
+
+    /**
+     * Queries that must prune to a single partition, keyed by repository method name.
+     */
+    public static final Map<String, Consumer<ReviewRepository>> MOVIE_SCOPED = new LinkedHashMap<>();
+
+    /**
+     * Queries that cannot prune on movie_id, keyed by repository method name.
+     */
+    public static final Map<String, String> ALL_PARTITIONS = new LinkedHashMap<>();
+
+    static {
+        LocalDateTime cutoff = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+        // Both overloads: the page and its count query, and the unpaged list
+        MOVIE_SCOPED.put("findByMovieIdOrderByReviewDateDesc", repository -> {
+            repository.findByMovieIdOrderByReviewDateDesc(SAMPLE_MOVIE_ID, PageRequest.of(2, 20));
+            repository.findByMovieIdOrderByReviewDateDesc(SAMPLE_MOVIE_ID);
+        });
+        MOVIE_SCOPED.put("findReviewDTOsByMovieId",
+                repository -> repository.findReviewDTOsByMovieId(SAMPLE_MOVIE_ID, PageRequest.of(2, 20)));
+        MOVIE_SCOPED.put("findReviewPreviewsByMovieId",
+                repository -> repository.findReviewPreviewsByMovieId(SAMPLE_MOVIE_ID, PageRequest.of(2, 20)));
+        MOVIE_SCOPED.put("countByMovieId",
+                repository -> repository.countByMovieId(SAMPLE_MOVIE_ID));
+        MOVIE_SCOPED.put("existsByMovieId",
+                repository -> repository.existsByMovieId(SAMPLE_MOVIE_ID));
+        MOVIE_SCOPED.put("existsByMovieIdAndUserName",
+                repository -> repository.existsByMovieIdAndUserName(SAMPLE_MOVIE_ID, "Alice"));
+        MOVIE_SCOPED.put("calculateAverageRating",
+                repository -> repository.calculateAverageRating(SAMPLE_MOVIE_ID));
+        MOVIE_SCOPED.put("getRatingDistribution",
+                repository -> repository.getRatingDistribution(SAMPLE_MOVIE_ID));
+        MOVIE_SCOPED.put("countByMovieIdAndRating",
+                repository -> repository.countByMovieIdAndRating(SAMPLE_MOVIE_ID, BigDecimal.valueOf(4.5)));
+        MOVIE_SCOPED.put("findLatestReviewsForMovie",
+                repository -> repository.findLatestReviewsForMovie(SAMPLE_MOVIE_ID, PageRequest.of(0, 5)));
+        MOVIE_SCOPED.put("findArchiveCandidates",
+                repository -> repository.findArchiveCandidates(SAMPLE_MOVIE_ID, cutoff, PageRequest.of(0, 1000)));
+        // Ids no review has; the verifier also rolls the call back
+        MOVIE_SCOPED.put("deleteArchivedReviews",
+                repository -> repository.deleteArchivedReviews(SAMPLE_MOVIE_ID, List.of(-3L, -2L, -1L)));
+
+        ALL_PARTITIONS.put("findReviewPreviewsByIds",
+                "looks rows up by id only; one primary key probe per partition");
+        ALL_PARTITIONS.put("findCommentById",
+                "looks a row up by id only; one primary key probe per partition");
+        ALL_PARTITIONS.put("findSearchDocumentsAfter",
+                "search index load reads every review by design");
+        ALL_PARTITIONS.put("findReviewersAfter",
+                "reviewer sketch backfill reads every review by design");
+        ALL_PARTITIONS.put("findReviewDTOsByUserName",
+                "user history; merges idx_user_review_date from every partition");
+        ALL_PARTITIONS.put("findReviewDTOsByUserNameBefore",
+                "user history; merges idx_user_review_date from every partition");
+        ALL_PARTITIONS.put("findMovieIdsWithReviewsBefore",
+                "nightly archive run; scans idx_review_date in every partition");
+        ALL_PARTITIONS.put("countRatingsByMovieAndDay",
+                "rollup backfill; scans idx_review_date in every partition");
+        ALL_PARTITIONS.put("findMoviesWithMostReviews",
+                "catalogue-wide aggregation");
+        ALL_PARTITIONS.put("findHighestRatedMovies",
+                "catalogue-wide aggregation");
+    }
+
+    private ReviewPartitionQueries() {}
+}
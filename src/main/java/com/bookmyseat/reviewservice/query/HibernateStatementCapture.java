@@ -0,0 +1,44 @@
+package com.bookmyseat.reviewservice.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the SQL Hibernate prepares on the current thread while a block runs, exactly as
+ * {@link StatementCountingInspector} sees it: with {@code ?} placeholders and Hibernate's own
+ * table aliases, joins and paging clauses.
+ */
+public final class HibernateStatementCapture {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    private HibernateStatementCapture() {
+    }
+
+    /**
+     * Run a block and return the statements Hibernate prepared for it on this thread
+     */
+    public static List<String> capture(Runnable block) {
+        List<String> previous = CAPTURED.get();
+        List<String> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            block.run();
+        } finally {
+            if (previous != null) {
+                previous.addAll(statements);
+                CAPTURED.set(previous);
+            } else {
+                CAPTURED.remove();
+            }
+        }
+        return statements;
+    }
+
+    static void record(String sql) {
+        List<String> statements = CAPTURED.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.bookmyseat.reviewservice.query;
+
+/**
+ * Running totals of SQL statements issued and entities loaded on the current thread.
+ * Repository calls read them before and after to attribute the difference to the call.
+ */
+final class QueryCounters {
+
+    private static final ThreadLocal<QueryCounters> CURRENT = ThreadLocal.withInitial(QueryCounters::new);
+
+    long statements;
+    long entitiesLoaded;
+
+    private QueryCounters() {
+    }
+
+    static QueryCounters current() {
+        return CURRENT.get();
+    }
+}
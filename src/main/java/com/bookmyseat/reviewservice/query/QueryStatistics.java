@@ -0,0 +1,147 @@
+package com.bookmyseat.reviewservice.query;
+
+import com.bookmyseat.reviewservice.metrics.RequestLatencyMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-query execution statistics for the Spring Data repositories.
+ * <p>
+ * Each repository method is a query, named like {@code ReviewRepository.findReviewDTOsByMovieId}.
+ * Its calls are published as {@code review_query_duration} (a percentile histogram),
+ * {@code review_query_rows}, {@code review_query_entities_loaded} and
+ * {@code review_query_statements}; calls slower than the threshold are also counted and logged
+ * to the {@code com.bookmyseat.reviewservice.query.SlowQueries} logger. Collection and the
+ * threshold can be changed at runtime through the querystats actuator endpoint.
+ */
+@Component
+public class QueryStatistics {
+
+    private static final Logger slowQueryLogger = LoggerFactory.getLogger("com.bookmyseat.reviewservice.query.SlowQueries");
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, QueryMeters> queries = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+    private volatile long slowThresholdNanos;
+
+    public QueryStatistics(MeterRegistry meterRegistry,
+                           @Value("${review.query-stats.enabled:true}") boolean enabled,
+                           @Value("${review.query-stats.slow-threshold-ms:200}") long slowThresholdMs) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        setSlowThresholdMs(slowThresholdMs);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getSlowThresholdMs() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    public void setSlowThresholdMs(long slowThresholdMs) {
+        if (slowThresholdMs < 0) {
+            throw new IllegalArgumentException("Slow query threshold must not be negative: " + slowThresholdMs);
+        }
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+    }
+
+    /**
+     * Record one call of a repository method
+     * @param query Repository and method name
+     * @param nanos Time taken
+     * @param rows Rows returned
+     * @param entitiesLoaded Entities Hibernate loaded during the call
+     * @param statements SQL statements issued during the call
+     */
+    public void record(String query, long nanos, long rows, long entitiesLoaded, long statements) {
+        QueryMeters meters = queries.computeIfAbsent(query, QueryMeters::new);
+        meters.duration.record(nanos, TimeUnit.NANOSECONDS);
+        meters.rows.record(rows);
+        meters.entitiesLoaded.increment(entitiesLoaded);
+        meters.statements.increment(statements);
+
+        if (nanos >= slowThresholdNanos) {
+            meters.slow.increment();
+            slowQueryLogger.warn("Slow query {} took {} ms: {} rows, {} entities loaded, {} statements, endpoint {}",
+                    query, TimeUnit.NANOSECONDS.toMillis(nanos), rows, entitiesLoaded, statements,
+                    RequestLatencyMetrics.currentEndpoint());
+        }
+    }
+
+    /**
+     * Totals per query since startup, slowest in total first
+     */
+    public QueryStatisticsReport report() {
+        List<QueryStatisticsReport.QueryReport> reports = queries.values().stream()
+                .map(QueryMeters::toReport)
+                .sorted(Comparator.comparingDouble(QueryStatisticsReport.QueryReport::getTotalTimeMs).reversed())
+                .toList();
+        return new QueryStatisticsReport(enabled, getSlowThresholdMs(), reports);
+    }
+
+    /**
+     * Meters of one query
+     */
+    private final class QueryMeters {
+
+        private final String query;
+        private final Timer duration;
+        private final DistributionSummary rows;
+        private final Counter entitiesLoaded;
+        private final Counter statements;
+        private final Counter slow;
+
+        private QueryMeters(String query) {
+            this.query = query;
+            this.duration = Timer.builder("review_query_duration")
+                    .description("Repository query execution time")
+                    .tag("query", query)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(meterRegistry);
+            this.rows = DistributionSummary.builder("review_query_rows")
+                    .description("Rows returned per repository query")
+                    .tag("query", query)
+                    .register(meterRegistry);
+            this.entitiesLoaded = Counter.builder("review_query_entities_loaded")
+                    .description("Entities loaded by Hibernate during repository queries")
+                    .tag("query", query)
+                    .register(meterRegistry);
+            this.statements = Counter.builder("review_query_statements")
+                    .description("SQL statements issued during repository queries")
+                    .tag("query", query)
+                    .register(meterRegistry);
+            this.slow = Counter.builder("review_slow_queries")
+                    .description("Repository queries slower than the slow query threshold")
+                    .tag("query", query)
+                    .register(meterRegistry);
+        }
+
+        private QueryStatisticsReport.QueryReport toReport() {
+            return new QueryStatisticsReport.QueryReport(query, duration.count(),
+                    duration.totalTime(TimeUnit.MILLISECONDS), duration.max(TimeUnit.MILLISECONDS),
+                    (long) rows.totalAmount(), (long) entitiesLoaded.count(), (long) statements.count(),
+                    (long) slow.count());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.bookmyseat.reviewservice.query;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint at /actuator/querystats listing per-query statistics. A POST with
+ * {@code enabled} and/or {@code slowThresholdMs} switches collection or changes the slow query
+ * threshold without a restart.
+ */
+@Component
+@Endpoint(id = "querystats")
+public class QueryStatisticsEndpoint {
+
+    private final QueryStatistics queryStatistics;
+
+    public QueryStatisticsEndpoint(QueryStatistics queryStatistics) {
+        this.queryStatistics = queryStatistics;
+    }
+
+    @ReadOperation
+    public QueryStatisticsReport queryStatistics() {
+        return queryStatistics.report();
+    }
+
+    @WriteOperation
+    public QueryStatisticsReport configure(@Nullable Boolean enabled, @Nullable Long slowThresholdMs) {
+        if (enabled != null) {
+            queryStatistics.setEnabled(enabled);
+        }
+        if (slowThresholdMs != null) {
+            queryStatistics.setSlowThresholdMs(slowThresholdMs);
+        }
+        return queryStatistics.report();
+    }
+}
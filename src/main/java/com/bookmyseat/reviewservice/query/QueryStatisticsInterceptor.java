@@ -0,0 +1,68 @@
+package com.bookmyseat.reviewservice.query;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times each call of one repository's methods and counts what it returned, loaded and issued.
+ * Does nothing beyond one volatile read while query statistics are switched off.
+ */
+public class QueryStatisticsInterceptor implements MethodInterceptor {
+
+    private final String repositoryName;
+    private final ObjectProvider<QueryStatistics> queryStatistics;
+    private final Map<Method, String> queryNames = new ConcurrentHashMap<>();
+
+    public QueryStatisticsInterceptor(String repositoryName, ObjectProvider<QueryStatistics> queryStatistics) {
+        this.repositoryName = repositoryName;
+        this.queryStatistics = queryStatistics;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        QueryStatistics statistics = queryStatistics.getIfAvailable();
+        if (statistics == null || !statistics.isEnabled()) {
+            return invocation.proceed();
+        }
+
+        QueryCounters counters = QueryCounters.current();
+        long statementsBefore = counters.statements;
+        long entitiesBefore = counters.entitiesLoaded;
+        long start = System.nanoTime();
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            String query = queryNames.computeIfAbsent(invocation.getMethod(),
+                    method -> repositoryName + "." + method.getName());
+            statistics.record(query, nanos, rowCount(result),
+                    counters.entitiesLoaded - entitiesBefore, counters.statements - statementsBefore);
+        }
+    }
+
+    static long rowCount(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,27 @@
+package com.bookmyseat.reviewservice.query;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Adds a {@link QueryStatisticsInterceptor} to every Spring Data repository
+ */
+public class QueryStatisticsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<QueryStatistics> queryStatistics;
+
+    public QueryStatisticsPostProcessor(ObjectProvider<QueryStatistics> queryStatistics) {
+        this.queryStatistics = queryStatistics;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+            repositoryFactoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(new QueryStatisticsInterceptor(
+                            repositoryInformation.getRepositoryInterface().getSimpleName(), queryStatistics))));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,93 @@
+package com.bookmyseat.reviewservice.query;
+
+import java.util.List;
+
+/**
+ * Response of the querystats actuator endpoint
+ */
+public class QueryStatisticsReport {
+
+    private final boolean enabled;
+    private final long slowThresholdMs;
+    private final List<QueryReport> queries;
+
+    public QueryStatisticsReport(boolean enabled, long slowThresholdMs, List<QueryReport> queries) {
+        this.enabled = enabled;
+        this.slowThresholdMs = slowThresholdMs;
+        this.queries = queries;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getSlowThresholdMs() {
+        return slowThresholdMs;
+    }
+
+    public List<QueryReport> getQueries() {
+        return queries;
+    }
+
+    /**
+     * Totals of one repository method since startup
+     */
+    public static class QueryReport {
+
+        private final String query;
+        private final long executions;
+        private final double totalTimeMs;
+        private final double maxTimeMs;
+        private final long rows;
+        private final long entitiesLoaded;
+        private final long statements;
+        private final long slowExecutions;
+
+        public QueryReport(String query, long executions, double totalTimeMs, double maxTimeMs, long rows,
+                           long entitiesLoaded, long statements, long slowExecutions) {
+            this.query = query;
+            this.executions = executions;
+            this.totalTimeMs = totalTimeMs;
+            this.maxTimeMs = maxTimeMs;
+            this.rows = rows;
+            this.entitiesLoaded = entitiesLoaded;
+            this.statements = statements;
+            this.slowExecutions = slowExecutions;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        public long getExecutions() {
+            return executions;
+        }
+
+        public double getTotalTimeMs() {
+            return totalTimeMs;
+        }
+
+        /**
+         * Longest execution in the last few minutes
+         */
+        public double getMaxTimeMs() {
+            return maxTimeMs;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getEntitiesLoaded() {
+            return entitiesLoaded;
+        }
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getSlowExecutions() {
+            return slowExecutions;
+        }
+    }
+}
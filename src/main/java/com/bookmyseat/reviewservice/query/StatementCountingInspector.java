@@ -0,0 +1,17 @@
+package com.bookmyseat.reviewservice.query;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts each SQL statement Hibernate prepares on the current thread and hands it to an active
+ * {@link HibernateStatementCapture}; the SQL is left unchanged
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounters.current().statements++;
+        HibernateStatementCapture.record(sql);
+        return sql;
+    }
+}
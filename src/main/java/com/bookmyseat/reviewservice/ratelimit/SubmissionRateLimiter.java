@@ -0,0 +1,92 @@
+package com.bookmyseat.reviewservice.ratelimit;
+
+import com.bookmyseat.reviewservice.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles review submissions per user name and per movie with {@link TokenBucketLimiter}s,
+ * so a review-bombing campaign is turned away before it reaches Movie Service or the database.
+ * <p>
+ * Limits apply per instance; with several instances the effective limit is multiplied by
+ * their number.
+ */
+@Component
+public class SubmissionRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionRateLimiter.class);
+
+    private final boolean enabled;
+    private final TokenBucketLimiter userLimiter;
+    private final TokenBucketLimiter movieLimiter;
+    private final Counter userThrottled;
+    private final Counter movieThrottled;
+
+    public SubmissionRateLimiter(MeterRegistry meterRegistry,
+                                 @Value("${review.rate-limit.enabled:true}") boolean enabled,
+                                 @Value("${review.rate-limit.max-keys:65536}") int maxKeys,
+                                 @Value("${review.rate-limit.stripes:64}") int stripes,
+                                 @Value("${review.rate-limit.user.burst:5}") int userBurst,
+                                 @Value("${review.rate-limit.user.per-minute:10}") double userPerMinute,
+                                 @Value("${review.rate-limit.movie.burst:100}") int movieBurst,
+                                 @Value("${review.rate-limit.movie.per-minute:1200}") double moviePerMinute) {
+        this.enabled = enabled;
+        this.userLimiter = new TokenBucketLimiter(maxKeys, stripes, userBurst, userPerMinute / 60);
+        this.movieLimiter = new TokenBucketLimiter(maxKeys, stripes, movieBurst, moviePerMinute / 60);
+
+        this.userThrottled = Counter.builder("review_submissions_throttled")
+                .description("Review submissions rejected by the rate limiter")
+                .tag("scope", "user")
+                .register(meterRegistry);
+        this.movieThrottled = Counter.builder("review_submissions_throttled")
+                .description("Review submissions rejected by the rate limiter")
+                .tag("scope", "movie")
+                .register(meterRegistry);
+        FunctionCounter.builder("review_rate_limit_evictions", userLimiter, TokenBucketLimiter::evictionCount)
+                .description("Rate limit buckets dropped to make room for a new key")
+                .tag("scope", "user")
+                .register(meterRegistry);
+        FunctionCounter.builder("review_rate_limit_evictions", movieLimiter, TokenBucketLimiter::evictionCount)
+                .description("Rate limit buckets dropped to make room for a new key")
+                .tag("scope", "movie")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Take one submission from the user's and the movie's allowance
+     * @throws RateLimitExceededException if either allowance is used up
+     */
+    public void checkSubmission(Long movieId, String userName) {
+        if (!enabled) {
+            return;
+        }
+
+        // User first, so a throttled user does not use up the movie's allowance
+        long waitNanos = userLimiter.tryAcquire(userName);
+        if (waitNanos > 0) {
+            userThrottled.increment();
+            logger.warn("Throttling review submissions by user {}", userName);
+            throw new RateLimitExceededException("Too many reviews submitted by user " + userName
+                    + ". Please try again later.", retryAfterSeconds(waitNanos));
+        }
+
+        waitNanos = movieLimiter.tryAcquire(movieId);
+        if (waitNanos > 0) {
+            movieThrottled.increment();
+            logger.warn("Throttling review submissions for movie {}", movieId);
+            throw new RateLimitExceededException("Too many reviews submitted for movie ID: " + movieId
+                    + ". Please try again later.", retryAfterSeconds(waitNanos));
+        }
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,162 @@
+package com.bookmyseat.reviewservice.ratelimit;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets for a bounded number of keys, each allowing a burst of requests and then a
+ * steady rate.
+ * <p>
+ * Buckets live in flat primitive arrays split into lock stripes, so a check allocates nothing
+ * and only contends with keys hashing to the same stripe. Within a stripe a key can occupy one
+ * of {@link #WAYS} slots of its set; a new key takes an empty slot or evicts the least recently
+ * used bucket of the set. An evicted key starts again with a full bucket, which is what an idle
+ * key would have had anyway, so the space stays fixed without ever refusing a new key.
+ * <p>
+ * Keys are identified by a 64-bit hash only; two keys sharing a hash share a bucket.
+ */
+public class TokenBucketLimiter {
+
+    // Slots a key may occupy within its set
+    static final int WAYS = 4;
+
+    private final int stripeMask;
+    private final int setsPerStripe;
+    private final Object[] locks;
+    private final long[] keys;
+    private final double[] tokens;
+    private final long[] updatedNanos;
+    private final double burst;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+    private final LongAdder evictions = new LongAdder();
+
+    public TokenBucketLimiter(int maxKeys, int stripes, double burst, double tokensPerSecond) {
+        this(maxKeys, stripes, burst, tokensPerSecond, System::nanoTime);
+    }
+
+    TokenBucketLimiter(int maxKeys, int stripes, double burst, double tokensPerSecond, LongSupplier nanoClock) {
+        if (maxKeys < 1 || stripes < 1) {
+            throw new IllegalArgumentException("Key count and stripes must be positive");
+        }
+        if (burst < 1 || tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("Burst must be at least 1 and the rate positive");
+        }
+        int stripeCount = powerOfTwoAtLeast(stripes);
+        this.stripeMask = stripeCount - 1;
+        this.setsPerStripe = powerOfTwoAtLeast(Math.max(1, maxKeys / (stripeCount * WAYS)));
+        this.locks = new Object[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            locks[i] = new Object();
+        }
+
+        int slots = stripeCount * setsPerStripe * WAYS;
+        this.keys = new long[slots];
+        this.tokens = new double[slots];
+        this.updatedNanos = new long[slots];
+        this.burst = burst;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Take a token from the key's bucket
+     * @return 0 if a token was taken, otherwise nanoseconds until one is available
+     */
+    public long tryAcquire(String key) {
+        return tryAcquireHash(hash(key));
+    }
+
+    /**
+     * Take a token from the key's bucket
+     * @return 0 if a token was taken, otherwise nanoseconds until one is available
+     */
+    public long tryAcquire(long key) {
+        return tryAcquireHash(mix(key));
+    }
+
+    private long tryAcquireHash(long hash) {
+        // Zero marks an empty slot
+        long key = hash != 0 ? hash : 1;
+        int stripe = (int) (key >>> 32) & stripeMask;
+        int base = (stripe * setsPerStripe + ((int) key & (setsPerStripe - 1))) * WAYS;
+
+        synchronized (locks[stripe]) {
+            long now = nanoClock.getAsLong();
+            int slot = findOrClaim(base, key, now);
+
+            double available = Math.min(burst, tokens[slot] + (now - updatedNanos[slot]) * tokensPerNano);
+            updatedNanos[slot] = now;
+            if (available >= 1) {
+                tokens[slot] = available - 1;
+                return 0;
+            }
+            tokens[slot] = available;
+            return (long) Math.ceil((1 - available) / tokensPerNano);
+        }
+    }
+
+    private int findOrClaim(int base, long key, long now) {
+        int victim = -1;
+        for (int slot = base; slot < base + WAYS; slot++) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            if (victim == -1 || (keys[victim] != 0 && (keys[slot] == 0 || updatedNanos[slot] - updatedNanos[victim] < 0))) {
+                victim = slot;
+            }
+        }
+
+        if (keys[victim] != 0) {
+            evictions.increment();
+        }
+        keys[victim] = key;
+        tokens[victim] = burst;
+        updatedNanos[victim] = now;
+        return victim;
+    }
+
+    /**
+     * Number of keys that can be tracked at once
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Number of buckets dropped to make room for a new key
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * FNV-1a over the UTF-16 chars, so hashing a key allocates nothing
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * MurmurHash3 finalizer, spreading sequential ids across all 64 bits
+     */
+    static long mix(long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static int powerOfTwoAtLeast(int value) {
+        int power = Integer.highestOneBit(value);
+        return power == value ? value : power << 1;
+    }
+}
@@ -0,0 +1,33 @@
+package com.bookmyseat.reviewservice.repository;
+
+import com.bookmyseat.reviewservice.entity.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Take a lease that has expired, or extend one already held by the owner
+     * @return 1, or 0 if another instance holds the lease
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = :owner, l.expiresAt = :expiresAt " +
+           "WHERE l.jobName = :jobName AND (l.expiresAt < :now OR l.owner = :owner)")
+    int takeOver(@Param("jobName") String jobName,
+                 @Param("owner") String owner,
+                 @Param("expiresAt") Instant expiresAt,
+                 @Param("now") Instant now);
+
+    /**
+     * Let a lease held by the owner expire now, so the next run on any instance can take it
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.expiresAt = :now WHERE l.jobName = :jobName AND l.owner = :owner")
+    int release(@Param("jobName") String jobName, @Param("owner") String owner, @Param("now") Instant now);
+}
@@ -0,0 +1,45 @@
+package com.bookmyseat.reviewservice.repository;
+
+import com.bookmyseat.reviewservice.entity.MovieRatingDaily;
+import com.bookmyseat.reviewservice.entity.MovieRatingDailyId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface MovieRatingDailyRepository extends JpaRepository<MovieRatingDaily, MovieRatingDailyId> {
+
+    /**
+     * Find the daily rollups of a movie within a date range (inclusive), oldest first
+     */
+    List<MovieRatingDaily> findByMovieIdAndRatingDateBetweenOrderByRatingDate(Long movieId, LocalDate from, LocalDate to);
+
+    /**
+     * Add one review to an existing daily rollup in a single statement.
+     * Returns 0 when the movie has no rollup row for that day yet.
+     */
+    @Modifying
+    @Query("UPDATE MovieRatingDaily d SET " +
+           "d.reviewCount = d.reviewCount + 1, " +
+           "d.ratingSum = d.ratingSum + :rating, " +
+           "d.rating10Count = d.rating10Count + CASE WHEN :bucket = 0 THEN 1 ELSE 0 END, " +
+           "d.rating15Count = d.rating15Count + CASE WHEN :bucket = 1 THEN 1 ELSE 0 END, " +
+           "d.rating20Count = d.rating20Count + CASE WHEN :bucket = 2 THEN 1 ELSE 0 END, " +
+           "d.rating25Count = d.rating25Count + CASE WHEN :bucket = 3 THEN 1 ELSE 0 END, " +
+           "d.rating30Count = d.rating30Count + CASE WHEN :bucket = 4 THEN 1 ELSE 0 END, " +
+           "d.rating35Count = d.rating35Count + CASE WHEN :bucket = 5 THEN 1 ELSE 0 END, " +
+           "d.rating40Count = d.rating40Count + CASE WHEN :bucket = 6 THEN 1 ELSE 0 END, " +
+           "d.rating45Count = d.rating45Count + CASE WHEN :bucket = 7 THEN 1 ELSE 0 END, " +
+           "d.rating50Count = d.rating50Count + CASE WHEN :bucket = 8 THEN 1 ELSE 0 END " +
+           "WHERE d.movieId = :movieId AND d.ratingDate = :ratingDate")
+    int addRating(@Param("movieId") Long movieId,
+                  @Param("ratingDate") LocalDate ratingDate,
+                  @Param("rating") BigDecimal rating,
+                  @Param("bucket") int bucket);
+}
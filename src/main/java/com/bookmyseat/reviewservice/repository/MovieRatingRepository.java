@@ -1,6 +1,7 @@
 package com.bookmyseat.reviewservice.repository;
 
 import com.bookmyseat.reviewservice.entity.MovieRating;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -45,6 +46,12 @@ public interface MovieRatingRepository extends JpaRepository<MovieRating, Long>
     @Query("SELECT mr FROM MovieRating mr ORDER BY mr.totalReviews DESC, mr.averageRating DESC")
     List<MovieRating> findMostReviewedMovies();
 
+    /**
+     * Get ids of the most reviewed movies, most reviewed first
+     */
+    @Query("SELECT mr.movieId FROM MovieRating mr ORDER BY mr.totalReviews DESC")
+    List<Long> findMostReviewedMovieIds(Pageable pageable);
+
     /**
      * Get movies by rating range
      */
@@ -0,0 +1,38 @@
+package com.bookmyseat.reviewservice.repository;
+
+import com.bookmyseat.reviewservice.entity.MovieReviewerSketch;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MovieReviewerSketchRepository extends JpaRepository<MovieReviewerSketch, Long> {
+
+    /**
+     * Find a movie's sketch and lock its row until the transaction ends, so concurrent
+     * submissions for the same movie do not overwrite each other's registers
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM MovieReviewerSketch s WHERE s.movieId = :movieId")
+    Optional<MovieReviewerSketch> findForUpdate(@Param("movieId") Long movieId);
+
+    /**
+     * Find the registers of the given movies' sketches
+     */
+    @Query("SELECT s.registers FROM MovieReviewerSketch s WHERE s.movieId IN :movieIds")
+    List<byte[]> findRegistersByMovieIdIn(@Param("movieIds") Collection<Long> movieIds);
+
+    /**
+     * Find the next batch of sketch registers, in movie id order, after the given movie id
+     */
+    @Query("SELECT s.movieId, s.registers FROM MovieReviewerSketch s WHERE s.movieId > :afterMovieId ORDER BY s.movieId")
+    List<Object[]> findRegistersAfter(@Param("afterMovieId") Long afterMovieId, Pageable pageable);
+}
@@ -0,0 +1,9 @@
+package com.bookmyseat.reviewservice.repository;
+
+import com.bookmyseat.reviewservice.entity.MovieTrendingScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MovieTrendingScoreRepository extends JpaRepository<MovieTrendingScore, Long> {
+}
@@ -0,0 +1,70 @@
+package com.bookmyseat.reviewservice.repository;
+
+import com.bookmyseat.reviewservice.entity.ReviewIdempotencyKey;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReviewIdempotencyKeyRepository extends JpaRepository<ReviewIdempotencyKey, String> {
+
+    /**
+     * Find a batch of keys stored before the given time
+     */
+    @Query("SELECT k.idempotencyKey FROM ReviewIdempotencyKey k WHERE k.createdAt < :cutoff")
+    List<String> findKeysCreatedBefore(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    /**
+     * Store the response of the submission holding a pending claim
+     * @return 1, or 0 if the claim was released or taken over in the meantime
+     */
+    @Modifying
+    @Query("UPDATE ReviewIdempotencyKey k SET " +
+           "k.reviewId = :reviewId, k.movieId = :movieId, k.movieTitle = :movieTitle, k.userName = :userName, " +
+           "k.rating = :rating, k.comment = :comment, k.reviewDate = :reviewDate " +
+           "WHERE k.idempotencyKey = :key AND k.reviewId IS NULL AND k.createdAt = :claimedAt")
+    int completeClaim(@Param("key") String key,
+                      @Param("claimedAt") Instant claimedAt,
+                      @Param("reviewId") Long reviewId,
+                      @Param("movieId") Long movieId,
+                      @Param("movieTitle") String movieTitle,
+                      @Param("userName") String userName,
+                      @Param("rating") BigDecimal rating,
+                      @Param("comment") String comment,
+                      @Param("reviewDate") LocalDateTime reviewDate);
+
+    /**
+     * Delete a pending claim made at the given time, so a retry can submit again
+     */
+    @Modifying
+    @Query("DELETE FROM ReviewIdempotencyKey k " +
+           "WHERE k.idempotencyKey = :key AND k.reviewId IS NULL AND k.createdAt = :claimedAt")
+    int releaseClaim(@Param("key") String key, @Param("claimedAt") Instant claimedAt);
+
+    /**
+     * Delete a key that no longer guards a submission: a pending claim made before the given
+     * time by a request that never finished, or a key past its time to live
+     */
+    @Modifying
+    @Query("DELETE FROM ReviewIdempotencyKey k WHERE k.idempotencyKey = :key AND " +
+           "((k.reviewId IS NULL AND k.createdAt < :staleBefore) OR k.createdAt < :expiredBefore)")
+    int deleteAbandonedKey(@Param("key") String key,
+                           @Param("staleBefore") Instant staleBefore,
+                           @Param("expiredBefore") Instant expiredBefore);
+
+    /**
+     * Delete the given keys
+     */
+    @Modifying
+    @Query("DELETE FROM ReviewIdempotencyKey k WHERE k.idempotencyKey IN :keys")
+    int deleteByKeys(@Param("keys") Collection<String> keys);
+}
@@ -1,15 +1,22 @@
 package com.bookmyseat.reviewservice.repository;
 
+import com.bookmyseat.reviewservice.dto.ReviewCommentDTO;
+import com.bookmyseat.reviewservice.dto.ReviewDTO;
 import com.bookmyseat.reviewservice.entity.Review;
+import com.bookmyseat.reviewservice.search.ReviewSearchDocument;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
@@ -19,6 +26,54 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
      */
     Page<Review> findByMovieIdOrderByReviewDateDesc(Long movieId, Pageable pageable);
 
+    /**
+     * Find a page of reviews for a movie projected straight into DTOs.
+     * Selects only the columns the listing needs and bypasses the persistence context.
+     */
+    @Query(value = "SELECT new com.bookmyseat.reviewservice.dto.ReviewDTO(" +
+                   "r.id, r.movieId, r.userName, r.rating, r.comment, r.reviewDate) " +
+                   "FROM Review r WHERE r.movieId = :movieId ORDER BY r.reviewDate DESC",
+           countQuery = "SELECT COUNT(r) FROM Review r WHERE r.movieId = :movieId")
+    Page<ReviewDTO> findReviewDTOsByMovieId(@Param("movieId") Long movieId, Pageable pageable);
+
+    /**
+     * Find a page of review previews for a movie.
+     * Reads the stored comment preview instead of the full TEXT comment.
+     */
+    @Query(value = "SELECT new com.bookmyseat.reviewservice.dto.ReviewDTO(" +
+                   "r.id, r.movieId, r.userName, r.rating, r.commentPreview, r.commentTruncated, r.reviewDate) " +
+                   "FROM Review r WHERE r.movieId = :movieId ORDER BY r.reviewDate DESC",
+           countQuery = "SELECT COUNT(r) FROM Review r WHERE r.movieId = :movieId")
+    Page<ReviewDTO> findReviewPreviewsByMovieId(@Param("movieId") Long movieId, Pageable pageable);
+
+    /**
+     * Find review previews for a set of review ids, in no particular order
+     */
+    @Query("SELECT new com.bookmyseat.reviewservice.dto.ReviewDTO(" +
+           "r.id, r.movieId, r.userName, r.rating, r.commentPreview, r.commentTruncated, r.reviewDate) " +
+           "FROM Review r WHERE r.id IN :reviewIds")
+    List<ReviewDTO> findReviewPreviewsByIds(@Param("reviewIds") Collection<Long> reviewIds);
+
+    /**
+     * Find the next batch of reviews for the search index, in id order, after the given id
+     */
+    @Query("SELECT new com.bookmyseat.reviewservice.search.ReviewSearchDocument(r.id, r.movieId, r.comment) " +
+           "FROM Review r WHERE r.id > :afterId ORDER BY r.id")
+    List<ReviewSearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Find the next batch of reviewers in review id order after the given id.
+     * Each row holds review id, movieId and userName.
+     */
+    @Query("SELECT r.id, r.movieId, r.userName FROM Review r WHERE r.id > :afterId ORDER BY r.id")
+    List<Object[]> findReviewersAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Find the full comment of a single review
+     */
+    @Query("SELECT new com.bookmyseat.reviewservice.dto.ReviewCommentDTO(r.id, r.comment) FROM Review r WHERE r.id = :reviewId")
+    Optional<ReviewCommentDTO> findCommentById(@Param("reviewId") Long reviewId);
+
     /**
      * Find all reviews for a specific movie
      */
@@ -34,6 +89,11 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
      */
     boolean existsByMovieId(Long movieId);
 
+    /**
+     * Check if a user has already reviewed a movie
+     */
+    boolean existsByMovieIdAndUserName(Long movieId, String userName);
+
     /**
      * Calculate average rating for a movie
      */
@@ -58,9 +118,57 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     List<Review> findLatestReviewsForMovie(@Param("movieId") Long movieId, Pageable pageable);
 
     /**
-     * Find reviews by user name
+     * Find the first page of a user's reviews, newest first.
+     * Pass a page size one larger than needed to detect whether more reviews follow.
+     */
+    @Query("SELECT new com.bookmyseat.reviewservice.dto.ReviewDTO(" +
+           "r.id, r.movieId, r.userName, r.rating, r.comment, r.reviewDate) " +
+           "FROM Review r WHERE r.userName = :userName ORDER BY r.reviewDate DESC, r.id DESC")
+    List<ReviewDTO> findReviewDTOsByUserName(@Param("userName") String userName, Pageable pageable);
+
+    /**
+     * Find the page of a user's reviews that follows the given (reviewDate, id) position.
+     * Seeks on the (user_name, review_date, id) index instead of skipping rows with OFFSET.
+     */
+    @Query("SELECT new com.bookmyseat.reviewservice.dto.ReviewDTO(" +
+           "r.id, r.movieId, r.userName, r.rating, r.comment, r.reviewDate) " +
+           "FROM Review r WHERE r.userName = :userName " +
+           "AND (r.reviewDate < :reviewDate OR (r.reviewDate = :reviewDate AND r.id < :reviewId)) " +
+           "ORDER BY r.reviewDate DESC, r.id DESC")
+    List<ReviewDTO> findReviewDTOsByUserNameBefore(@Param("userName") String userName,
+                                                   @Param("reviewDate") LocalDateTime reviewDate,
+                                                   @Param("reviewId") Long reviewId,
+                                                   Pageable pageable);
+
+    /**
+     * Find the ids of movies that have reviews older than the cutoff
+     */
+    @Query("SELECT DISTINCT r.movieId FROM Review r WHERE r.reviewDate < :cutoff")
+    List<Long> findMovieIdsWithReviewsBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Find the oldest reviews of a movie written before the cutoff, oldest first
+     */
+    @Query("SELECT r FROM Review r WHERE r.movieId = :movieId AND r.reviewDate < :cutoff ORDER BY r.reviewDate ASC, r.id ASC")
+    List<Review> findArchiveCandidates(@Param("movieId") Long movieId,
+                                       @Param("cutoff") LocalDateTime cutoff,
+                                       Pageable pageable);
+
+    /**
+     * Delete reviews of a movie that have been moved to the archive
+     */
+    @Modifying
+    @Query("DELETE FROM Review r WHERE r.movieId = :movieId AND r.id IN :reviewIds")
+    int deleteArchivedReviews(@Param("movieId") Long movieId, @Param("reviewIds") Collection<Long> reviewIds);
+
+    /**
+     * Count reviews per movie, day and rating value within a time range, for rebuilding daily rollups.
+     * Each row holds movieId, day (LocalDate), rating and count.
      */
-    List<Review> findByUserNameOrderByReviewDateDesc(String userName);
+    @Query("SELECT r.movieId, cast(r.reviewDate as LocalDate), r.rating, COUNT(r) FROM Review r " +
+           "WHERE r.reviewDate >= :from AND r.reviewDate < :to " +
+           "GROUP BY r.movieId, cast(r.reviewDate as LocalDate), r.rating")
+    List<Object[]> countRatingsByMovieAndDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 
     /**
      * Get movies with most reviews
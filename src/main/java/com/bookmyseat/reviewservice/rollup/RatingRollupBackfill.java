@@ -0,0 +1,113 @@
+package com.bookmyseat.reviewservice.rollup;
+
+import com.bookmyseat.reviewservice.service.RatingTrendService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Rebuilds the movie_rating_daily rollups from the reviews table, one chunk of days per task,
+ * with several chunks running in parallel. Each chunk is its own transaction, so a failed
+ * chunk can be rerun on its own.
+ * <p>
+ * The range ends before today, because today's rollups are kept current on submit. It starts
+ * no earlier than the archive age when archiving is on, because archived reviews are no
+ * longer in the reviews table and their days would be rebuilt short.
+ */
+@Component
+@ConditionalOnProperty(name = "review.rollup.backfill.enabled", havingValue = "true")
+public class RatingRollupBackfill implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingRollupBackfill.class);
+
+    private final RatingTrendService ratingTrendService;
+    private final Clock clock;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final int chunkDays;
+    private final int threads;
+    private final boolean archiveEnabled;
+    private final int archiveAgeDays;
+
+    @Autowired
+    public RatingRollupBackfill(RatingTrendService ratingTrendService,
+                                @Value("${review.rollup.backfill.from}") String from,
+                                @Value("${review.rollup.backfill.to:}") String to,
+                                @Value("${review.rollup.backfill.chunk-days:7}") int chunkDays,
+                                @Value("${review.rollup.backfill.threads:4}") int threads,
+                                @Value("${review.archive.enabled:false}") boolean archiveEnabled,
+                                @Value("${review.archive.age-days:730}") int archiveAgeDays) {
+        this(ratingTrendService, Clock.systemDefaultZone(), LocalDate.parse(from),
+                to.isBlank() ? null : LocalDate.parse(to), chunkDays, threads, archiveEnabled, archiveAgeDays);
+    }
+
+    RatingRollupBackfill(RatingTrendService ratingTrendService, Clock clock, LocalDate from, LocalDate to,
+                         int chunkDays, int threads, boolean archiveEnabled, int archiveAgeDays) {
+        this.ratingTrendService = ratingTrendService;
+        this.clock = clock;
+        this.from = from;
+        this.to = to;
+        this.chunkDays = Math.max(1, chunkDays);
+        this.threads = Math.max(1, threads);
+        this.archiveEnabled = archiveEnabled;
+        this.archiveAgeDays = archiveAgeDays;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        LocalDate today = LocalDate.now(clock);
+        LocalDate start = from;
+        LocalDate end = to == null || !to.isBefore(today) ? today : to.plusDays(1);
+
+        if (archiveEnabled && start.isBefore(today.minusDays(archiveAgeDays - 1L))) {
+            start = today.minusDays(archiveAgeDays - 1L);
+            logger.warn("Backfill start moved to {}; older reviews may already be archived", start);
+        }
+        if (!start.isBefore(end)) {
+            logger.info("Nothing to backfill between {} and {}", start, end);
+            return;
+        }
+
+        logger.info("Backfilling daily rating rollups from {} to {} in {}-day chunks on {} threads",
+                   start, end, chunkDays, threads);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> chunks = new ArrayList<>();
+            for (LocalDate chunkStart = start; chunkStart.isBefore(end); chunkStart = chunkStart.plusDays(chunkDays)) {
+                LocalDate chunkFrom = chunkStart;
+                LocalDate chunkTo = chunkStart.plusDays(chunkDays).isBefore(end) ? chunkStart.plusDays(chunkDays) : end;
+                chunks.add(executor.submit(() -> ratingTrendService.rebuildRollups(chunkFrom, chunkTo)));
+            }
+
+            int rows = 0;
+            int failed = 0;
+            for (Future<Integer> chunk : chunks) {
+                try {
+                    rows += chunk.get();
+                } catch (ExecutionException e) {
+                    failed++;
+                    logger.error("Rollup backfill chunk failed: {}", e.getCause().getMessage(), e.getCause());
+                }
+            }
+
+            logger.info("Backfilled {} daily rating rollups in {} chunks, {} failed", rows, chunks.size(), failed);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
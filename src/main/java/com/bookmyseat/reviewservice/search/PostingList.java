@@ -0,0 +1,96 @@
+package com.bookmyseat.reviewservice.search;
+
+import java.util.Arrays;
+
+/**
+ * Compressed posting list for a single term.
+ * Each entry is the gap to the previous document number followed by the term frequency,
+ * both written as variable-length integers, so a typical entry takes two bytes.
+ * Document numbers must be appended in increasing order.
+ */
+final class PostingList {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private byte[] data = new byte[INITIAL_CAPACITY];
+    private int length;
+    private int documentFrequency;
+    private int lastDocument = -1;
+
+    void add(int document, int termFrequency) {
+        if (document <= lastDocument) {
+            throw new IllegalArgumentException("Documents must be added in increasing order");
+        }
+        ensureCapacity(10);
+        writeVarInt(document - lastDocument);
+        writeVarInt(termFrequency);
+        lastDocument = document;
+        documentFrequency++;
+    }
+
+    int documentFrequency() {
+        return documentFrequency;
+    }
+
+    long sizeInBytes() {
+        return data.length;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+        }
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * Forward-only decoder over the list. Call {@link #next()} before reading the first entry.
+     */
+    final class Cursor {
+
+        private int offset;
+        private int document = -1;
+        private int termFrequency;
+
+        boolean next() {
+            if (offset >= length) {
+                document = Integer.MAX_VALUE;
+                return false;
+            }
+            document += readVarInt();
+            termFrequency = readVarInt();
+            return true;
+        }
+
+        int document() {
+            return document;
+        }
+
+        int termFrequency() {
+            return termFrequency;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
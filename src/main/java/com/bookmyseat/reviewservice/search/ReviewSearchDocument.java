@@ -0,0 +1,29 @@
+package com.bookmyseat.reviewservice.search;
+
+/**
+ * Minimal projection of a review used to build the search index.
+ */
+public class ReviewSearchDocument {
+
+    private final Long reviewId;
+    private final Long movieId;
+    private final String comment;
+
+    public ReviewSearchDocument(Long reviewId, Long movieId, String comment) {
+        this.reviewId = reviewId;
+        this.movieId = movieId;
+        this.comment = comment;
+    }
+
+    public Long getReviewId() {
+        return reviewId;
+    }
+
+    public Long getMovieId() {
+        return movieId;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+}
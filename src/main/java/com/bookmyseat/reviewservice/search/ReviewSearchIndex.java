@@ -0,0 +1,369 @@
+package com.bookmyseat.reviewservice.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over review comments.
+ * <p>
+ * Every indexed review gets a sequential document number. Review id, movie id and term count
+ * are stored in parallel primitive arrays indexed by that number, and each term maps to a
+ * {@link PostingList} of document numbers. Results are ranked with BM25. Ties go to the newer
+ * document. Readers share a read lock and writers take the write lock.
+ * <p>
+ * Removed reviews stay in the posting lists but are marked deleted: searches skip them and
+ * they no longer count towards hits or the length normalisation. Term document frequencies
+ * still include them until the index is rebuilt, so callers should rebuild once
+ * {@link #removedCount()} grows large.
+ */
+public class ReviewSearchIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // Rough JVM overhead of a HashMap entry, its String key and the PostingList object
+    private static final int TERM_OVERHEAD_BYTES = 32 + 40 + 32;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    private long[] reviewIds = new long[INITIAL_CAPACITY];
+    private long[] movieIds = new long[INITIAL_CAPACITY];
+    private int[] termCounts = new int[INITIAL_CAPACITY];
+    private final BitSet removed = new BitSet();
+    private int documentCount;
+    private int removedCount;
+    private long totalTermCount;
+    private long maxReviewId;
+
+    // Review ids in ascending order with their document numbers, for lookups by id
+    private long[] sortedReviewIds = new long[INITIAL_CAPACITY];
+    private int[] sortedDocuments = new int[INITIAL_CAPACITY];
+
+    /**
+     * Add a review to the index.
+     * @return false if the review has no searchable terms, or was already added or removed
+     */
+    public boolean add(long reviewId, long movieId, String text) {
+        List<String> terms = ReviewTokenizer.tokenize(text);
+        if (terms.isEmpty()) {
+            return false;
+        }
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            int position = Arrays.binarySearch(sortedReviewIds, 0, documentCount, reviewId);
+            if (position >= 0) {
+                // Already indexed, or removed; a removed review does not come back
+                return false;
+            }
+            ensureCapacity(documentCount + 1);
+            int document = documentCount;
+            // Reviews mostly arrive in id order, so the insertion point is at or near the end
+            int insertAt = -position - 1;
+            System.arraycopy(sortedReviewIds, insertAt, sortedReviewIds, insertAt + 1, documentCount - insertAt);
+            System.arraycopy(sortedDocuments, insertAt, sortedDocuments, insertAt + 1, documentCount - insertAt);
+            sortedReviewIds[insertAt] = reviewId;
+            sortedDocuments[insertAt] = document;
+            documentCount++;
+            maxReviewId = Math.max(maxReviewId, reviewId);
+
+            reviewIds[document] = reviewId;
+            movieIds[document] = movieId;
+            termCounts[document] = terms.size();
+            totalTermCount += terms.size();
+
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new PostingList())
+                        .add(document, entry.getValue());
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Check whether a review is indexed and not removed
+     */
+    public boolean contains(long reviewId) {
+        lock.readLock().lock();
+        try {
+            int document = documentOf(reviewId);
+            return document >= 0 && !removed.get(document);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a review, so it is no longer returned or counted by searches.
+     * @return false if the review was not indexed or already removed
+     */
+    public boolean remove(long reviewId) {
+        lock.writeLock().lock();
+        try {
+            int document = documentOf(reviewId);
+            if (document < 0 || removed.get(document)) {
+                return false;
+            }
+            removed.set(document);
+            removedCount++;
+            totalTermCount -= termCounts[document];
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rank reviews matching any of the query terms.
+     * @param queryTerms Terms produced by {@link ReviewTokenizer}
+     * @param movieId Restrict results to one movie, or null for the whole catalogue
+     * @param offset Number of top hits to skip
+     * @param limit Maximum number of hits to return
+     */
+    public SearchHits search(Collection<String> queryTerms, Long movieId, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            int liveCount = documentCount - removedCount;
+            if (liveCount == 0 || limit <= 0) {
+                return SearchHits.EMPTY;
+            }
+
+            List<PostingList> lists = new ArrayList<>();
+            for (String term : new LinkedHashSet<>(queryTerms)) {
+                PostingList list = postings.get(term);
+                if (list != null) {
+                    lists.add(list);
+                }
+            }
+            if (lists.isEmpty()) {
+                return SearchHits.EMPTY;
+            }
+
+            PostingList.Cursor[] cursors = new PostingList.Cursor[lists.size()];
+            float[] idfs = new float[lists.size()];
+            for (int i = 0; i < cursors.length; i++) {
+                cursors[i] = lists.get(i).cursor();
+                cursors[i].next();
+                idfs[i] = idf(lists.get(i).documentFrequency(), liveCount);
+            }
+
+            float averageTermCount = (float) totalTermCount / liveCount;
+            int capacity = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+            PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(capacity, 1024) + 1);
+            int totalHits = 0;
+
+            // Merge the posting lists in document order, scoring each document once
+            while (true) {
+                int document = Integer.MAX_VALUE;
+                for (PostingList.Cursor cursor : cursors) {
+                    document = Math.min(document, cursor.document());
+                }
+                if (document == Integer.MAX_VALUE) {
+                    break;
+                }
+                if (removed.get(document)) {
+                    for (PostingList.Cursor cursor : cursors) {
+                        if (cursor.document() == document) {
+                            cursor.next();
+                        }
+                    }
+                    continue;
+                }
+
+                float score = 0;
+                float lengthNorm = K1 * (1 - B + B * termCounts[document] / averageTermCount);
+                for (int i = 0; i < cursors.length; i++) {
+                    PostingList.Cursor cursor = cursors[i];
+                    if (cursor.document() == document) {
+                        int tf = cursor.termFrequency();
+                        score += idfs[i] * tf * (K1 + 1) / (tf + lengthNorm);
+                        cursor.next();
+                    }
+                }
+
+                if (movieId != null && movieIds[document] != movieId) {
+                    continue;
+                }
+                totalHits++;
+                if (top.size() < capacity) {
+                    top.add(new Hit(document, score));
+                } else if (top.peek().compareTo(document, score) < 0) {
+                    top.poll();
+                    top.add(new Hit(document, score));
+                }
+            }
+
+            int returned = Math.max(0, top.size() - offset);
+            long[] ids = new long[returned];
+            float[] scores = new float[returned];
+            // The heap drains lowest first: fill ranks from the back and drop ranks before the offset
+            for (int rank = top.size() - 1; rank >= 0; rank--) {
+                Hit hit = top.poll();
+                if (rank >= offset) {
+                    ids[rank - offset] = reviewIds[hit.document];
+                    scores[rank - offset] = hit.score;
+                }
+            }
+            return new SearchHits(ids, scores, totalHits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed reviews that have not been removed
+     */
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documentCount - removedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of removed reviews still held in the posting lists
+     */
+    public int removedCount() {
+        lock.readLock().lock();
+        try {
+            return removedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Highest review id ever added, or 0 for an empty index
+     */
+    public long maxReviewId() {
+        lock.readLock().lock();
+        try {
+            return maxReviewId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate heap footprint of the index in bytes.
+     */
+    public long estimatedSizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = (long) reviewIds.length * Long.BYTES
+                    + (long) movieIds.length * Long.BYTES
+                    + (long) termCounts.length * Integer.BYTES
+                    + (long) sortedReviewIds.length * Long.BYTES
+                    + (long) sortedDocuments.length * Integer.BYTES
+                    + removed.size() / Byte.SIZE;
+            for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+                bytes += TERM_OVERHEAD_BYTES + 2L * entry.getKey().length() + entry.getValue().sizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static float idf(int documentFrequency, int liveCount) {
+        // Frequencies still count removed documents, so keep the numerator from going negative
+        return (float) Math.log(1 + Math.max(0, liveCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private int documentOf(long reviewId) {
+        int position = Arrays.binarySearch(sortedReviewIds, 0, documentCount, reviewId);
+        return position >= 0 ? sortedDocuments[position] : -1;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > reviewIds.length) {
+            int capacity = Math.max(reviewIds.length * 2, required);
+            reviewIds = Arrays.copyOf(reviewIds, capacity);
+            movieIds = Arrays.copyOf(movieIds, capacity);
+            termCounts = Arrays.copyOf(termCounts, capacity);
+            sortedReviewIds = Arrays.copyOf(sortedReviewIds, capacity);
+            sortedDocuments = Arrays.copyOf(sortedDocuments, capacity);
+        }
+    }
+
+    private static final class Hit implements Comparable<Hit> {
+
+        private final int document;
+        private final float score;
+
+        private Hit(int document, float score) {
+            this.document = document;
+            this.score = score;
+        }
+
+        // Lower score first; on equal scores the older (smaller) document ranks lower
+        private int compareTo(int otherDocument, float otherScore) {
+            int byScore = Float.compare(score, otherScore);
+            return byScore != 0 ? byScore : Integer.compare(document, otherDocument);
+        }
+
+        @Override
+        public int compareTo(Hit other) {
+            return compareTo(other.document, other.score);
+        }
+    }
+
+    /**
+     * A page of ranked review ids with their scores and the total number of matches.
+     */
+    public static final class SearchHits {
+
+        static final SearchHits EMPTY = new SearchHits(new long[0], new float[0], 0);
+
+        private final long[] reviewIds;
+        private final float[] scores;
+        private final int totalHits;
+
+        SearchHits(long[] reviewIds, float[] scores, int totalHits) {
+            this.reviewIds = reviewIds;
+            this.scores = scores;
+            this.totalHits = totalHits;
+        }
+
+        public long[] getReviewIds() {
+            return reviewIds;
+        }
+
+        public float[] getScores() {
+            return scores;
+        }
+
+        public int getTotalHits() {
+            return totalHits;
+        }
+    }
+}
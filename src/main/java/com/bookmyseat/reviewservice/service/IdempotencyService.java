@@ -0,0 +1,36 @@
+package com.bookmyseat.reviewservice.service;
+
+import com.bookmyseat.reviewservice.dto.ReviewDTO;
+import com.bookmyseat.reviewservice.dto.ReviewSubmissionDTO;
+import com.bookmyseat.reviewservice.idempotency.IdempotentSubmission;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    /**
+     * Find the response of an earlier submission made with the same Idempotency-Key
+     * @param idempotencyKey Idempotency-Key header value
+     * @param submission Submission being retried
+     * @return Original response, or empty if the key has not been used
+     */
+    Optional<ReviewDTO> findResponse(String idempotencyKey, ReviewSubmissionDTO submission);
+
+    /**
+     * Submit a review at most once per Idempotency-Key. The key is claimed before the review is
+     * submitted and its response stored in the same transaction as the review, so a retry made
+     * while the first request is still running waits for and replays that response.
+     * @param idempotencyKey Idempotency-Key header value
+     * @param submission Submission being made
+     * @param submit Submits the review; only called by the request holding the key
+     * @return Response of this submission, or the replayed response of the earlier one
+     */
+    IdempotentSubmission submitOnce(String idempotencyKey, ReviewSubmissionDTO submission, Supplier<ReviewDTO> submit);
+
+    /**
+     * Delete stored keys older than the configured time to live
+     * @return Number of keys deleted
+     */
+    int purgeExpiredKeys();
+}
@@ -0,0 +1,20 @@
+package com.bookmyseat.reviewservice.service;
+
+import java.time.Duration;
+
+public interface JobLeaseService {
+
+    /**
+     * Take the lease of a background job for this instance, or extend it if already held
+     * @param jobName Job to run on a single instance
+     * @param duration How long the lease is held if it is not released; longer than any run
+     * @return true if this instance now holds the lease, false if another instance does
+     */
+    boolean tryAcquire(String jobName, Duration duration);
+
+    /**
+     * Give up a lease held by this instance, so the next run on any instance can take it
+     * @param jobName Job whose lease to release
+     */
+    void release(String jobName);
+}
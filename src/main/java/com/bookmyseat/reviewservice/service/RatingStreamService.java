@@ -0,0 +1,25 @@
+package com.bookmyseat.reviewservice.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface RatingStreamService {
+
+    /**
+     * Open a stream of a movie's rating summary: the current summary first, then a new one
+     * whenever a review changes the aggregate
+     * @param movieId Movie identifier
+     * @return Emitter sending "rating" events carrying a RatingSummaryDTO
+     */
+    SseEmitter subscribe(Long movieId);
+
+    /**
+     * Queue an update for every subscriber of the movie, at most once per configured interval
+     * @param movieId Movie identifier
+     */
+    void publishRatingChange(Long movieId);
+
+    /**
+     * Number of open rating streams across all movies
+     */
+    int getConnectionCount();
+}
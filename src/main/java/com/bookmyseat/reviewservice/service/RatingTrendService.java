@@ -0,0 +1,37 @@
+package com.bookmyseat.reviewservice.service;
+
+import com.bookmyseat.reviewservice.dto.RatingTrendDTO;
+import com.bookmyseat.reviewservice.dto.TrendGranularity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface RatingTrendService {
+
+    /**
+     * Get the rating time series of a movie from its daily rollups
+     * @param movieId Movie identifier
+     * @param from First day of the range (inclusive)
+     * @param to Last day of the range (inclusive)
+     * @param granularity Period length of each point
+     * @return One point per period, oldest first
+     */
+    RatingTrendDTO getRatingTrend(Long movieId, LocalDate from, LocalDate to, TrendGranularity granularity);
+
+    /**
+     * Add a submitted review to its movie's daily rollup
+     * @param movieId Movie identifier
+     * @param reviewDate Submission time of the review
+     * @param rating Rating of the review
+     */
+    void recordReview(Long movieId, LocalDateTime reviewDate, BigDecimal rating);
+
+    /**
+     * Rebuild the daily rollups of all movies for a date range from the reviews table
+     * @param from First day to rebuild (inclusive)
+     * @param to Day after the last day to rebuild (exclusive)
+     * @return Number of rollup rows written
+     */
+    int rebuildRollups(LocalDate from, LocalDate to);
+}
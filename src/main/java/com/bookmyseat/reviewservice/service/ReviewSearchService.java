@@ -0,0 +1,16 @@
+package com.bookmyseat.reviewservice.service;
+
+import com.bookmyseat.reviewservice.dto.ReviewSearchResponseDTO;
+
+public interface ReviewSearchService {
+
+    /**
+     * Full-text search over review comments, best match first
+     * @param query Free-text query
+     * @param movieId Restrict results to one movie, or null to search all movies
+     * @param page Page number (0-based)
+     * @param size Page size
+     * @return Ranked page of matching reviews with comment previews
+     */
+    ReviewSearchResponseDTO searchReviews(String query, Long movieId, int page, int size);
+}
@@ -1,8 +1,10 @@
 package com.bookmyseat.reviewservice.service;
 
+import com.bookmyseat.reviewservice.dto.ReviewCommentDTO;
 import com.bookmyseat.reviewservice.dto.ReviewDTO;
 import com.bookmyseat.reviewservice.dto.ReviewSubmissionDTO;
 import com.bookmyseat.reviewservice.dto.MovieReviewsResponseDTO;
+import com.bookmyseat.reviewservice.dto.UserReviewsResponseDTO;
 import org.springframework.data.domain.Pageable;
 
 public interface ReviewService {
@@ -23,12 +25,38 @@ public interface ReviewService {
     MovieReviewsResponseDTO getReviewsForMovie(Long movieId, Pageable pageable);
 
     /**
-     * Get review by ID
+     * Get paginated reviews for a movie with comment previews instead of full comments
+     * @param movieId Movie identifier
+     * @param pageable Pagination parameters
+     * @return Paginated review previews with movie information
+     */
+    MovieReviewsResponseDTO getReviewPreviewsForMovie(Long movieId, Pageable pageable);
+
+    /**
+     * Get review by ID. Reviews moved to the archive are only served through movie listings
+     * and are not found here.
      * @param reviewId Review identifier
      * @return Review details
      */
     ReviewDTO getReviewById(Long reviewId);
 
+    /**
+     * Get the full comment of a review. Archived reviews are not found here; their full comment
+     * is part of the movie listing.
+     * @param reviewId Review identifier
+     * @return Full review comment
+     */
+    ReviewCommentDTO getReviewComment(Long reviewId);
+
+    /**
+     * Get a user's reviews, newest first, one cursor page at a time. Archived reviews are left out.
+     * @param userName User whose reviews to fetch
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param size Maximum number of reviews to return
+     * @return Page of reviews with the cursor for the next page
+     */
+    UserReviewsResponseDTO getReviewsByUser(String userName, String cursor, int size);
+
     /**
      * Check if a movie has any reviews
      * @param movieId Movie identifier
@@ -0,0 +1,37 @@
+package com.bookmyseat.reviewservice.service;
+
+import com.bookmyseat.reviewservice.dto.UniqueReviewersDTO;
+import com.bookmyseat.reviewservice.sketch.HyperLogLog;
+
+import java.util.List;
+
+public interface ReviewerCountService {
+
+    /**
+     * Estimate the number of distinct users who reviewed a movie
+     * @param movieId Movie identifier
+     * @return Estimated distinct reviewer count
+     */
+    UniqueReviewersDTO getUniqueReviewers(Long movieId);
+
+    /**
+     * Estimate the number of distinct users who reviewed any of the given movies
+     * @param movieIds Movie identifiers, e.g. the movies of a genre; null or empty for all movies
+     * @return Estimated distinct reviewer count of the union
+     */
+    UniqueReviewersDTO getUniqueReviewers(List<Long> movieIds);
+
+    /**
+     * Add the author of a submitted review to the movie's sketch
+     * @param movieId Movie identifier
+     * @param userName Review author
+     */
+    void recordReviewer(Long movieId, String userName);
+
+    /**
+     * Merge a sketch of reviewers into the movie's stored sketch
+     * @param movieId Movie identifier
+     * @param reviewers Sketch of reviewers to add
+     */
+    void mergeReviewers(Long movieId, HyperLogLog reviewers);
+}
@@ -0,0 +1,29 @@
+package com.bookmyseat.reviewservice.service;
+
+import com.bookmyseat.reviewservice.dto.TrendingMovieDTO;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TrendingService {
+
+    /**
+     * Get the movies with the most recent review activity
+     * @param limit Maximum number of movies to return
+     * @return Movies ordered by trending score, highest first
+     */
+    List<TrendingMovieDTO> getTrendingMovies(int limit);
+
+    /**
+     * Count a submitted review towards its movie's trending score
+     * @param movieId Movie identifier
+     * @param submittedAt Submission time of the review
+     */
+    void recordReview(Long movieId, Instant submittedAt);
+
+    /**
+     * Persist the scores changed since the previous snapshot
+     * @return Number of scores written
+     */
+    int snapshotScores();
+}
@@ -0,0 +1,272 @@
+package com.bookmyseat.reviewservice.service.impl;
+
+import com.bookmyseat.reviewservice.dto.ReviewDTO;
+import com.bookmyseat.reviewservice.dto.ReviewSubmissionDTO;
+import com.bookmyseat.reviewservice.entity.ReviewIdempotencyKey;
+import com.bookmyseat.reviewservice.exception.IdempotencyKeyInProgressException;
+import com.bookmyseat.reviewservice.exception.IdempotencyKeyReuseException;
+import com.bookmyseat.reviewservice.exception.InvalidIdempotencyKeyException;
+import com.bookmyseat.reviewservice.idempotency.IdempotencyCache;
+import com.bookmyseat.reviewservice.idempotency.IdempotentSubmission;
+import com.bookmyseat.reviewservice.repository.ReviewIdempotencyKeyRepository;
+import com.bookmyseat.reviewservice.service.IdempotencyService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Replays the response of a review submission for retries carrying the same Idempotency-Key.
+ * <p>
+ * A submission first claims its key by inserting a pending row, in a transaction of its own,
+ * and then stores its response on that row in the same transaction as the review. Whichever
+ * request inserts the row submits; a concurrent retry fails the insert and polls until the
+ * response is stored, so it is replayed rather than submitted again. A failed submission
+ * deletes its claim, and a claim left by a request that died is taken over after the claim
+ * timeout, which is longer than any submission takes.
+ * <p>
+ * Recent keys are answered from a bounded {@link IdempotencyCache}; the review_idempotency_keys
+ * table covers keys first used on another instance or evicted from the cache. Keys live for the
+ * configured time to live and are then deleted in batches.
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+
+    private final ReviewIdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyCache cache;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Duration pollInterval;
+    private final Duration claimTimeout;
+    private final int purgeBatchSize;
+    private final Clock clock;
+    private final Counter memoryReplays;
+    private final Counter databaseReplays;
+
+    @Autowired
+    public IdempotencyServiceImpl(ReviewIdempotencyKeyRepository idempotencyKeyRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${review.idempotency.cache-capacity:10000}") int cacheCapacity,
+                                  @Value("${review.idempotency.ttl-hours:24}") long ttlHours,
+                                  @Value("${review.idempotency.wait-ms:5000}") long waitMs,
+                                  @Value("${review.idempotency.poll-ms:50}") long pollMs,
+                                  @Value("${review.idempotency.claim-timeout-ms:60000}") long claimTimeoutMs,
+                                  @Value("${review.idempotency.purge-batch-size:1000}") int purgeBatchSize) {
+        this(idempotencyKeyRepository, transactionTemplate, meterRegistry, new IdempotencyCache(cacheCapacity),
+                Duration.ofHours(ttlHours), Duration.ofMillis(waitMs), Duration.ofMillis(pollMs),
+                Duration.ofMillis(claimTimeoutMs), purgeBatchSize, Clock.systemUTC());
+    }
+
+    IdempotencyServiceImpl(ReviewIdempotencyKeyRepository idempotencyKeyRepository,
+                           TransactionTemplate transactionTemplate,
+                           MeterRegistry meterRegistry,
+                           IdempotencyCache cache,
+                           Duration ttl,
+                           Duration waitTimeout,
+                           Duration pollInterval,
+                           Duration claimTimeout,
+                           int purgeBatchSize,
+                           Clock clock) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.cache = cache;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.pollInterval = pollInterval;
+        this.claimTimeout = claimTimeout;
+        this.purgeBatchSize = Math.max(1, purgeBatchSize);
+        this.clock = clock;
+
+        this.memoryReplays = Counter.builder("review_idempotent_replays")
+                .description("Submissions answered with the response of an earlier request with the same Idempotency-Key")
+                .tag("source", "memory")
+                .register(meterRegistry);
+        this.databaseReplays = Counter.builder("review_idempotent_replays")
+                .description("Submissions answered with the response of an earlier request with the same Idempotency-Key")
+                .tag("source", "database")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<ReviewDTO> findResponse(String idempotencyKey, ReviewSubmissionDTO submission) {
+        validateKey(idempotencyKey);
+        Instant notBefore = Instant.now(clock).minus(ttl);
+
+        ReviewDTO response = cache.get(idempotencyKey, notBefore);
+        Counter replays = memoryReplays;
+        if (response == null) {
+            // A pending key has no response to replay yet
+            Optional<ReviewIdempotencyKey> stored = idempotencyKeyRepository.findById(idempotencyKey)
+                    .filter(key -> !key.isPending() && !key.getCreatedAt().isBefore(notBefore));
+            if (stored.isEmpty()) {
+                return Optional.empty();
+            }
+            response = stored.get().toReviewDTO();
+            cache.put(idempotencyKey, response, stored.get().getCreatedAt());
+            replays = databaseReplays;
+        }
+
+        if (!matches(response, submission)) {
+            logger.warn("Idempotency-Key {} reused for a different submission by user {}",
+                       idempotencyKey, submission.getUserName());
+            throw new IdempotencyKeyReuseException(
+                    "Idempotency-Key " + idempotencyKey + " was already used for a different review submission");
+        }
+
+        replays.increment();
+        logger.info("Replaying review {} for Idempotency-Key {}", response.getId(), idempotencyKey);
+        return Optional.of(response);
+    }
+
+    @Override
+    public IdempotentSubmission submitOnce(String idempotencyKey, ReviewSubmissionDTO submission,
+                                           Supplier<ReviewDTO> submit) {
+        Instant deadline = Instant.now(clock).plus(waitTimeout);
+        while (true) {
+            Optional<ReviewDTO> replayed = findResponse(idempotencyKey, submission);
+            if (replayed.isPresent()) {
+                return IdempotentSubmission.replayed(replayed.get());
+            }
+
+            // Stored at the column's millisecond precision, so the claim can be matched by its time
+            Instant claimedAt = Instant.now(clock).truncatedTo(ChronoUnit.MILLIS);
+            if (claim(idempotencyKey, claimedAt)) {
+                return IdempotentSubmission.created(submitClaimed(idempotencyKey, claimedAt, submit));
+            }
+
+            // Another request holds the key; take it over only if that request is long gone
+            Instant now = Instant.now(clock);
+            if (deleteAbandonedKey(idempotencyKey, now)) {
+                continue;
+            }
+            if (now.isAfter(deadline)) {
+                throw new IdempotencyKeyInProgressException(
+                        "A review submission with Idempotency-Key " + idempotencyKey + " is still in progress");
+            }
+            sleep(pollInterval);
+        }
+    }
+
+    private boolean claim(String idempotencyKey, Instant claimedAt) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    idempotencyKeyRepository.saveAndFlush(new ReviewIdempotencyKey(idempotencyKey, claimedAt)));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Idempotency-Key {} is held by another request", idempotencyKey);
+            return false;
+        }
+    }
+
+    private ReviewDTO submitClaimed(String idempotencyKey, Instant claimedAt, Supplier<ReviewDTO> submit) {
+        ReviewDTO response;
+        try {
+            response = transactionTemplate.execute(status -> {
+                ReviewDTO created = submit.get();
+                int stored = idempotencyKeyRepository.completeClaim(idempotencyKey, claimedAt,
+                        created.getId(), created.getMovieId(), created.getMovieTitle(), created.getUserName(),
+                        created.getRating(), created.getComment(), created.getReviewDate());
+                if (stored == 0) {
+                    // Taken over after the claim timeout; rolling back keeps the review from being saved twice
+                    throw new IdempotencyKeyInProgressException(
+                            "Idempotency-Key " + idempotencyKey + " was claimed by another request");
+                }
+                return created;
+            });
+        } catch (RuntimeException e) {
+            releaseClaim(idempotencyKey, claimedAt);
+            throw e;
+        }
+        cache.put(idempotencyKey, response, claimedAt);
+        return response;
+    }
+
+    private void releaseClaim(String idempotencyKey, Instant claimedAt) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    idempotencyKeyRepository.releaseClaim(idempotencyKey, claimedAt));
+        } catch (RuntimeException e) {
+            // The claim blocks retries until the claim timeout, when it is taken over
+            logger.error("Failed to release Idempotency-Key {}: {}", idempotencyKey, e.getMessage(), e);
+        }
+    }
+
+    private boolean deleteAbandonedKey(String idempotencyKey, Instant now) {
+        Integer deleted = transactionTemplate.execute(status -> idempotencyKeyRepository.deleteAbandonedKey(
+                idempotencyKey, now.minus(claimTimeout), now.minus(ttl)));
+        if (deleted != null && deleted > 0) {
+            logger.warn("Took over Idempotency-Key {} left pending or expired by an earlier request", idempotencyKey);
+            return true;
+        }
+        return false;
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException("Interrupted while waiting for an earlier submission");
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${review.idempotency.purge-interval-ms:600000}",
+               initialDelayString = "${review.idempotency.purge-interval-ms:600000}")
+    public int purgeExpiredKeys() {
+        Instant cutoff = Instant.now(clock).minus(ttl);
+
+        int purged = 0;
+        List<String> batch;
+        do {
+            // Small transactions keep row locks short while submissions keep inserting keys
+            batch = idempotencyKeyRepository.findKeysCreatedBefore(cutoff, PageRequest.of(0, purgeBatchSize));
+            if (!batch.isEmpty()) {
+                List<String> keys = batch;
+                Integer deleted = transactionTemplate.execute(status -> idempotencyKeyRepository.deleteByKeys(keys));
+                purged += deleted != null ? deleted : 0;
+            }
+        } while (batch.size() == purgeBatchSize);
+
+        if (purged > 0) {
+            logger.info("Purged {} idempotency keys stored before {}", purged, cutoff);
+        }
+        return purged;
+    }
+
+    private static void validateKey(String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()
+                || idempotencyKey.length() > ReviewIdempotencyKey.MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException("Idempotency-Key must be between 1 and "
+                    + ReviewIdempotencyKey.MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private static boolean matches(ReviewDTO response, ReviewSubmissionDTO submission) {
+        return Objects.equals(response.getMovieId(), submission.getMovieId())
+                && Objects.equals(response.getUserName(), submission.getUserName())
+                && response.getRating() != null && submission.getRating() != null
+                && response.getRating().compareTo(submission.getRating()) == 0
+                && Objects.equals(response.getComment(), submission.getComment());
+    }
+}
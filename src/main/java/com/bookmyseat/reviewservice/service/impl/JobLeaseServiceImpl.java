@@ -0,0 +1,80 @@
+package com.bookmyseat.reviewservice.service.impl;
+
+import com.bookmyseat.reviewservice.entity.JobLease;
+import com.bookmyseat.reviewservice.repository.JobLeaseRepository;
+import com.bookmyseat.reviewservice.service.JobLeaseService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Elects the instance that runs a background job through a row in the job_leases table.
+ * <p>
+ * The first instance to insert a job's row holds its lease; the others fail the insert. A
+ * lease that was not released, e.g. because its holder crashed, is taken over once it has
+ * expired. Each instance identifies itself by host name and a random suffix, so two
+ * processes on one host never share a lease.
+ */
+@Service
+public class JobLeaseServiceImpl implements JobLeaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobLeaseServiceImpl.class);
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final String owner;
+
+    @Autowired
+    public JobLeaseServiceImpl(JobLeaseRepository jobLeaseRepository, TransactionTemplate transactionTemplate) {
+        this(jobLeaseRepository, transactionTemplate, Clock.systemUTC(),
+                System.getenv().getOrDefault("HOSTNAME", "review-service") + "-" + UUID.randomUUID());
+    }
+
+    JobLeaseServiceImpl(JobLeaseRepository jobLeaseRepository, TransactionTemplate transactionTemplate,
+                        Clock clock, String owner) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.owner = owner;
+    }
+
+    @Override
+    public boolean tryAcquire(String jobName, Duration duration) {
+        // Stored at the column's millisecond precision
+        Instant now = Instant.now(clock).truncatedTo(ChronoUnit.MILLIS);
+        Instant expiresAt = now.plus(duration);
+
+        Integer taken = transactionTemplate.execute(status ->
+                jobLeaseRepository.takeOver(jobName, owner, expiresAt, now));
+        if (taken != null && taken > 0) {
+            logger.debug("Holding lease of job {} until {}", jobName, expiresAt);
+            return true;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jobLeaseRepository.saveAndFlush(new JobLease(jobName, owner, expiresAt)));
+            logger.debug("Created lease of job {} until {}", jobName, expiresAt);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Lease of job {} is held by another instance", jobName);
+            return false;
+        }
+    }
+
+    @Override
+    public void release(String jobName) {
+        Instant now = Instant.now(clock).truncatedTo(ChronoUnit.MILLIS);
+        transactionTemplate.executeWithoutResult(status -> jobLeaseRepository.release(jobName, owner, now));
+    }
+}
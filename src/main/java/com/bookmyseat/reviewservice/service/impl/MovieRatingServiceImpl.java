@@ -1,15 +1,20 @@
 package com.bookmyseat.reviewservice.service.impl;
 
+import com.bookmyseat.reviewservice.archive.ArchivedRatingStats;
+import com.bookmyseat.reviewservice.archive.ReviewArchive;
 import com.bookmyseat.reviewservice.client.MovieServiceClient;
 import com.bookmyseat.reviewservice.dto.MovieDetailDTO;
 import com.bookmyseat.reviewservice.dto.RatingSummaryDTO;
 import com.bookmyseat.reviewservice.entity.MovieRating;
 import com.bookmyseat.reviewservice.entity.Review;
+import com.bookmyseat.reviewservice.event.MovieRatingChangedEvent;
+import com.bookmyseat.reviewservice.outbox.ReviewOutbox;
 import com.bookmyseat.reviewservice.repository.MovieRatingRepository;
 import com.bookmyseat.reviewservice.repository.ReviewRepository;
 import com.bookmyseat.reviewservice.service.MovieRatingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,13 +34,22 @@ public class MovieRatingServiceImpl implements MovieRatingService {
     private final MovieRatingRepository movieRatingRepository;
     private final ReviewRepository reviewRepository;
     private final MovieServiceClient movieServiceClient;
+    private final ReviewArchive reviewArchive;
+    private final ReviewOutbox reviewOutbox;
+    private final ApplicationEventPublisher eventPublisher;
 
     public MovieRatingServiceImpl(MovieRatingRepository movieRatingRepository,
                                  ReviewRepository reviewRepository,
-                                 MovieServiceClient movieServiceClient) {
+                                 MovieServiceClient movieServiceClient,
+                                 ReviewArchive reviewArchive,
+                                 ReviewOutbox reviewOutbox,
+                                 ApplicationEventPublisher eventPublisher) {
         this.movieRatingRepository = movieRatingRepository;
         this.reviewRepository = reviewRepository;
         this.movieServiceClient = movieServiceClient;
+        this.reviewArchive = reviewArchive;
+        this.reviewOutbox = reviewOutbox;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -109,13 +123,18 @@ public class MovieRatingServiceImpl implements MovieRatingService {
         Long movieId = review.getMovieId();
         Optional<MovieRating> existingRating = movieRatingRepository.findByMovieId(movieId);
 
+        MovieRating movieRating;
         if (existingRating.isPresent()) {
             // Update existing rating
-            updateExistingRating(existingRating.get(), review);
+            movieRating = updateExistingRating(existingRating.get(), review);
         } else {
             // Create new rating entry
-            createNewRating(movieId, review);
+            movieRating = createNewRating(movieId, review);
         }
+
+        // Stored in the same transaction as the new aggregate
+        reviewOutbox.recordRatingChanged(movieRating);
+        eventPublisher.publishEvent(new MovieRatingChangedEvent(movieId));
     }
 
     @Override
@@ -123,42 +142,25 @@ public class MovieRatingServiceImpl implements MovieRatingService {
         logger.debug("Recalculating movie rating for movie: {}", movieId);
 
         List<Review> reviews = reviewRepository.findByMovieIdOrderByReviewDateDesc(movieId);
-        if (reviews.isEmpty()) {
+        ArchivedRatingStats archived = getArchivedRatingStats(movieId);
+        if (reviews.isEmpty() && archived.getReviewCount() == 0) {
             logger.debug("No reviews found for movie {}, removing rating cache", movieId);
             movieRatingRepository.deleteByMovieId(movieId);
+            reviewOutbox.recordRatingRemoved(movieId);
+            eventPublisher.publishEvent(new MovieRatingChangedEvent(movieId));
             return;
         }
 
-        // Calculate average rating
-        BigDecimal sum = reviews.stream()
-                .map(Review::getRating)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal averageRating = sum.divide(BigDecimal.valueOf(reviews.size()), 2, RoundingMode.HALF_UP);
-
-        // Calculate rating distribution
         MovieRating movieRating = movieRatingRepository.findByMovieId(movieId)
                 .orElse(new MovieRating(movieId));
-
-        // Reset counts
-        movieRating.setRating1Count(0);
-        movieRating.setRating2Count(0);
-        movieRating.setRating3Count(0);
-        movieRating.setRating4Count(0);
-        movieRating.setRating5Count(0);
-
-        // Count each rating
-        for (Review review : reviews) {
-            int ratingValue = review.getRating().intValue();
-            movieRating.incrementRatingCount(ratingValue);
-        }
-
-        movieRating.setAverageRating(averageRating);
-        movieRating.setTotalReviews(reviews.size());
+        applyRatings(movieRating, reviews, archived);
 
         movieRatingRepository.save(movieRating);
+        reviewOutbox.recordRatingChanged(movieRating);
+        eventPublisher.publishEvent(new MovieRatingChangedEvent(movieId));
 
         logger.info("Updated rating for movie {}: avg={}, total={}",
-                   movieId, averageRating, reviews.size());
+                   movieId, movieRating.getAverageRating(), movieRating.getTotalReviews());
     }
 
     @Override
@@ -167,6 +169,8 @@ public class MovieRatingServiceImpl implements MovieRatingService {
             logger.debug("Initializing rating cache for movie: {}", movieId);
             MovieRating movieRating = new MovieRating(movieId);
             movieRatingRepository.save(movieRating);
+            reviewOutbox.recordRatingChanged(movieRating);
+            eventPublisher.publishEvent(new MovieRatingChangedEvent(movieId));
         }
     }
 
@@ -174,40 +178,52 @@ public class MovieRatingServiceImpl implements MovieRatingService {
     public void deleteMovieRating(Long movieId) {
         logger.debug("Deleting rating cache for movie: {}", movieId);
         movieRatingRepository.deleteByMovieId(movieId);
+        reviewOutbox.recordRatingRemoved(movieId);
+        eventPublisher.publishEvent(new MovieRatingChangedEvent(movieId));
     }
 
-    private void updateExistingRating(MovieRating movieRating, Review newReview) {
+    private MovieRating updateExistingRating(MovieRating movieRating, Review newReview) {
         // Get all reviews to recalculate (this ensures accuracy)
         List<Review> allReviews = reviewRepository.findByMovieIdOrderByReviewDateDesc(movieRating.getMovieId());
+        applyRatings(movieRating, allReviews, getArchivedRatingStats(movieRating.getMovieId()));
 
-        // Calculate new average
-        BigDecimal sum = allReviews.stream()
+        movieRatingRepository.save(movieRating);
+
+        logger.debug("Updated existing rating for movie {}: avg={}, total={}",
+                    movieRating.getMovieId(), movieRating.getAverageRating(), movieRating.getTotalReviews());
+        return movieRating;
+    }
+
+    // Recompute average and distribution from the reviews table plus the archived totals
+    private void applyRatings(MovieRating movieRating, List<Review> reviews, ArchivedRatingStats archived) {
+        BigDecimal sum = reviews.stream()
                 .map(Review::getRating)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal averageRating = sum.divide(BigDecimal.valueOf(allReviews.size()), 2, RoundingMode.HALF_UP);
+                .reduce(archived.getRatingSum(), BigDecimal::add);
+        int totalReviews = reviews.size() + (int) archived.getReviewCount();
+        BigDecimal averageRating = sum.divide(BigDecimal.valueOf(totalReviews), 2, RoundingMode.HALF_UP);
 
-        // Reset and recalculate distribution
-        movieRating.setRating1Count(0);
-        movieRating.setRating2Count(0);
-        movieRating.setRating3Count(0);
-        movieRating.setRating4Count(0);
-        movieRating.setRating5Count(0);
+        movieRating.setRating1Count(archived.getRatingCount(1));
+        movieRating.setRating2Count(archived.getRatingCount(2));
+        movieRating.setRating3Count(archived.getRatingCount(3));
+        movieRating.setRating4Count(archived.getRatingCount(4));
+        movieRating.setRating5Count(archived.getRatingCount(5));
 
-        for (Review review : allReviews) {
+        for (Review review : reviews) {
             int ratingValue = review.getRating().intValue();
             movieRating.incrementRatingCount(ratingValue);
         }
 
         movieRating.setAverageRating(averageRating);
-        movieRating.setTotalReviews(allReviews.size());
-
-        movieRatingRepository.save(movieRating);
+        movieRating.setTotalReviews(totalReviews);
+    }
 
-        logger.debug("Updated existing rating for movie {}: avg={}, total={}",
-                    movieRating.getMovieId(), averageRating, allReviews.size());
+    private ArchivedRatingStats getArchivedRatingStats(Long movieId) {
+        return reviewArchive.getArchivedReviewCount(movieId) > 0
+                ? reviewArchive.getRatingStats(movieId)
+                : ArchivedRatingStats.EMPTY;
     }
 
-    private void createNewRating(Long movieId, Review firstReview) {
+    private MovieRating createNewRating(Long movieId, Review firstReview) {
         MovieRating movieRating = new MovieRating(movieId);
         movieRating.setAverageRating(firstReview.getRating());
         movieRating.setTotalReviews(1);
@@ -219,6 +235,7 @@ public class MovieRatingServiceImpl implements MovieRatingService {
 
         logger.debug("Created new rating for movie {}: avg={}, total=1",
                     movieId, firstReview.getRating());
+        return movieRating;
     }
 
     private Map<String, Integer> buildRatingDistribution(MovieRating movieRating) {
@@ -0,0 +1,256 @@
+package com.bookmyseat.reviewservice.service.impl;
+
+import com.bookmyseat.reviewservice.dto.RatingSummaryDTO;
+import com.bookmyseat.reviewservice.event.ReviewSubmittedEvent;
+import com.bookmyseat.reviewservice.service.MovieRatingService;
+import com.bookmyseat.reviewservice.service.RatingStreamService;
+import com.bookmyseat.reviewservice.stream.MovieRatingChannel;
+import com.bookmyseat.reviewservice.stream.RatingSubscriber;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes rating summaries to open Server-Sent Events streams.
+ * <p>
+ * Each movie with viewers has one {@link MovieRatingChannel}. A committed review schedules
+ * one publish for its movie, at least the configured interval after the previous one, which
+ * loads the summary once and offers it to every subscriber. Subscribers buffer only the latest
+ * update and are drained by a small pool of sender threads, so a slow connection skips
+ * intermediate updates instead of holding up the others.
+ * <p>
+ * A send still blocked after the send timeout, typically on a client that stopped reading, is
+ * interrupted and its stream dropped. The pool gets an extra thread for as long as such a send
+ * stays blocked, so stalled clients never take sender threads away from the other streams.
+ */
+@Service
+public class RatingStreamServiceImpl implements RatingStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingStreamServiceImpl.class);
+
+    private final MovieRatingService movieRatingService;
+    private final long intervalNanos;
+    private final long timeoutMs;
+    private final long sendTimeoutNanos;
+    private final int senderThreads;
+    private final Map<Long, MovieRatingChannel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ScheduledExecutorService publisher;
+    private final ThreadPoolExecutor senders;
+    private final AtomicInteger stalledSenders = new AtomicInteger();
+    private final Counter sent;
+    private final Counter dropped;
+    private final Counter timedOut;
+
+    public RatingStreamServiceImpl(MovieRatingService movieRatingService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${review.rating-stream.min-interval-ms:1000}") long minIntervalMs,
+                                   @Value("${review.rating-stream.timeout-ms:1800000}") long timeoutMs,
+                                   @Value("${review.rating-stream.sender-threads:4}") int senderThreads,
+                                   @Value("${review.rating-stream.send-timeout-ms:5000}") long sendTimeoutMs) {
+        this.movieRatingService = movieRatingService;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(minIntervalMs);
+        this.timeoutMs = timeoutMs;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.senderThreads = Math.max(1, senderThreads);
+        this.publisher = Executors.newSingleThreadScheduledExecutor(daemonThreads("rating-stream-publisher"));
+        this.senders = new ThreadPoolExecutor(this.senderThreads, this.senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads("rating-stream-sender"));
+        // Checked four times per timeout, so a stalled send is aborted within 1.25 timeouts
+        long checkIntervalMs = Math.max(1, sendTimeoutMs / 4);
+        publisher.scheduleWithFixedDelay(this::abortStalledSends, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("review_rating_stream_connections", connections, AtomicInteger::get)
+                .description("Open rating streams")
+                .register(meterRegistry);
+        Gauge.builder("review_rating_stream_movies", channels, Map::size)
+                .description("Movies with at least one open rating stream")
+                .register(meterRegistry);
+        this.sent = Counter.builder("review_rating_stream_updates")
+                .description("Rating updates offered to stream subscribers, by outcome")
+                .tag("result", "sent")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("review_rating_stream_updates")
+                .description("Rating updates offered to stream subscribers, by outcome")
+                .tag("result", "dropped")
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("review_rating_stream_updates")
+                .description("Rating updates offered to stream subscribers, by outcome")
+                .tag("result", "timed_out")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SseEmitter subscribe(Long movieId) {
+        // Loaded first, so an unknown movie fails the request before a stream is opened
+        RatingSummaryDTO current = movieRatingService.getMovieRatingSummary(movieId);
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        RatingSubscriber subscriber = new RatingSubscriber(emitter);
+        emitter.onCompletion(() -> unsubscribe(movieId, subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(movieId, subscriber));
+
+        channels.compute(movieId, (id, channel) -> {
+            MovieRatingChannel target = channel != null ? channel : new MovieRatingChannel(id);
+            target.add(subscriber);
+            return target;
+        });
+        int open = connections.incrementAndGet();
+        logger.debug("Opened rating stream for movie {}, {} streams open", movieId, open);
+
+        offer(movieId, subscriber, current);
+        return emitter;
+    }
+
+    /**
+     * Push the new aggregate once a submitted review has been committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReviewSubmitted(ReviewSubmittedEvent event) {
+        publishRatingChange(event.getMovieId());
+    }
+
+    @Override
+    public void publishRatingChange(Long movieId) {
+        MovieRatingChannel channel = channels.get(movieId);
+        if (channel == null || !channel.trySchedulePublish()) {
+            // Nobody is watching, or a pending publish will pick this change up
+            return;
+        }
+        long delay = channel.delayBeforePublish(System.nanoTime(), intervalNanos);
+        publisher.schedule(() -> publish(channel), delay, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    private void publish(MovieRatingChannel channel) {
+        channel.beginPublish(System.nanoTime());
+        if (channel.isEmpty()) {
+            return;
+        }
+
+        RatingSummaryDTO summary;
+        try {
+            summary = movieRatingService.getMovieRatingSummary(channel.getMovieId());
+        } catch (RuntimeException e) {
+            // Viewers keep the previous summary until the next change
+            logger.warn("Failed to load rating summary for stream of movie {}: {}", channel.getMovieId(), e.getMessage());
+            return;
+        }
+
+        for (RatingSubscriber subscriber : channel.getSubscribers()) {
+            offer(channel.getMovieId(), subscriber, summary);
+        }
+        logger.debug("Published rating of movie {} to {} streams", channel.getMovieId(), channel.getSubscribers().size());
+    }
+
+    private void offer(Long movieId, RatingSubscriber subscriber, RatingSummaryDTO summary) {
+        if (subscriber.offer(summary)) {
+            dropped.increment();
+        }
+        if (subscriber.startDraining()) {
+            senders.execute(() -> drain(movieId, subscriber));
+        }
+    }
+
+    private void drain(Long movieId, RatingSubscriber subscriber) {
+        try {
+            sent.increment(subscriber.drain());
+        } catch (Exception e) {
+            // The client went away or stopped reading; drop the stream
+            logger.debug("Closing rating stream for movie {}: {}", movieId, e.getMessage());
+            unsubscribe(movieId, subscriber);
+            subscriber.getEmitter().completeWithError(e);
+        } finally {
+            if (subscriber.isSendAborted()) {
+                stalledSenders.decrementAndGet();
+                resizeSenders();
+            }
+        }
+    }
+
+    /**
+     * Interrupt sends blocked for longer than the send timeout and drop their streams
+     */
+    private void abortStalledSends() {
+        long now = System.nanoTime();
+        channels.forEach((movieId, channel) -> {
+            for (RatingSubscriber subscriber : channel.getSubscribers()) {
+                if (subscriber.abortStalledSend(now, sendTimeoutNanos)) {
+                    logger.debug("Rating stream send for movie {} blocked for over {} ms, dropping the stream",
+                            movieId, TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+                    timedOut.increment();
+                    stalledSenders.incrementAndGet();
+                    resizeSenders();
+                    unsubscribe(movieId, subscriber);
+                }
+            }
+        });
+    }
+
+    /**
+     * Keep the configured number of sender threads free of stalled sends
+     */
+    private synchronized void resizeSenders() {
+        int size = senderThreads + Math.max(0, stalledSenders.get());
+        if (size > senders.getMaximumPoolSize()) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+    }
+
+    private void unsubscribe(Long movieId, RatingSubscriber subscriber) {
+        // Completion, error and a failed send may all report the same stream
+        if (!subscriber.close()) {
+            return;
+        }
+        channels.computeIfPresent(movieId, (id, channel) -> {
+            channel.remove(subscriber);
+            return channel.isEmpty() ? null : channel;
+        });
+        int open = connections.decrementAndGet();
+        logger.debug("Closed rating stream for movie {}, {} streams open", movieId, open);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        publisher.shutdownNow();
+        senders.shutdownNow();
+        channels.values().forEach(channel -> channel.getSubscribers()
+                .forEach(subscriber -> subscriber.getEmitter().complete()));
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
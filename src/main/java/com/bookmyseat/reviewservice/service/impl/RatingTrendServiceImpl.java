@@ -0,0 +1,181 @@
+package com.bookmyseat.reviewservice.service.impl;
+
+import com.bookmyseat.reviewservice.client.MovieServiceClient;
+import com.bookmyseat.reviewservice.dto.MovieDetailDTO;
+import com.bookmyseat.reviewservice.dto.RatingTrendDTO;
+import com.bookmyseat.reviewservice.dto.RatingTrendPointDTO;
+import com.bookmyseat.reviewservice.dto.TrendGranularity;
+import com.bookmyseat.reviewservice.entity.MovieRatingDaily;
+import com.bookmyseat.reviewservice.entity.MovieRatingDailyId;
+import com.bookmyseat.reviewservice.event.ReviewSubmittedEvent;
+import com.bookmyseat.reviewservice.exception.InvalidDateRangeException;
+import com.bookmyseat.reviewservice.repository.MovieRatingDailyRepository;
+import com.bookmyseat.reviewservice.repository.ReviewRepository;
+import com.bookmyseat.reviewservice.service.RatingTrendService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class RatingTrendServiceImpl implements RatingTrendService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingTrendServiceImpl.class);
+
+    // Two years of daily rollups, so a trend never sums more than a few hundred rows
+    static final int MAX_RANGE_DAYS = 731;
+
+    private final MovieRatingDailyRepository movieRatingDailyRepository;
+    private final ReviewRepository reviewRepository;
+    private final MovieServiceClient movieServiceClient;
+    private final TransactionTemplate newTransaction;
+
+    public RatingTrendServiceImpl(MovieRatingDailyRepository movieRatingDailyRepository,
+                                  ReviewRepository reviewRepository,
+                                  MovieServiceClient movieServiceClient,
+                                  PlatformTransactionManager transactionManager) {
+        this.movieRatingDailyRepository = movieRatingDailyRepository;
+        this.reviewRepository = reviewRepository;
+        this.movieServiceClient = movieServiceClient;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RatingTrendDTO getRatingTrend(Long movieId, LocalDate from, LocalDate to, TrendGranularity granularity) {
+        if (from.isAfter(to)) {
+            throw new InvalidDateRangeException("Range start " + from + " is after range end " + to);
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new InvalidDateRangeException("Range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+        logger.debug("Getting {} rating trend for movie {} from {} to {}", granularity, movieId, from, to);
+
+        // Validate movie exists
+        MovieDetailDTO movie = movieServiceClient.getMovieById(movieId);
+
+        List<MovieRatingDaily> days = movieRatingDailyRepository
+                .findByMovieIdAndRatingDateBetweenOrderByRatingDate(movieId, from, to);
+        Iterator<MovieRatingDaily> remaining = days.iterator();
+        MovieRatingDaily day = remaining.hasNext() ? remaining.next() : null;
+
+        List<RatingTrendPointDTO> points = new ArrayList<>();
+        int totalReviews = 0;
+        BigDecimal totalSum = BigDecimal.ZERO;
+
+        for (LocalDate periodStart = granularity.periodStart(from); !periodStart.isAfter(to);
+             periodStart = granularity.nextPeriodStart(periodStart)) {
+            LocalDate periodEnd = granularity.nextPeriodStart(periodStart);
+
+            int reviewCount = 0;
+            BigDecimal ratingSum = BigDecimal.ZERO;
+            int[] halfStarCounts = new int[MovieRatingDaily.HALF_STAR_BUCKETS];
+            while (day != null && day.getRatingDate().isBefore(periodEnd)) {
+                reviewCount += day.getReviewCount();
+                ratingSum = ratingSum.add(day.getRatingSum());
+                for (int bucket = 0; bucket < halfStarCounts.length; bucket++) {
+                    halfStarCounts[bucket] += day.getHalfStarCount(bucket);
+                }
+                day = remaining.hasNext() ? remaining.next() : null;
+            }
+
+            totalReviews += reviewCount;
+            totalSum = totalSum.add(ratingSum);
+            points.add(new RatingTrendPointDTO(periodStart, reviewCount, average(ratingSum, reviewCount),
+                    average(totalSum, totalReviews), buildDistribution(halfStarCounts)));
+        }
+
+        logger.debug("Rating trend for movie {} has {} points from {} daily rollups", movieId, points.size(), days.size());
+
+        return new RatingTrendDTO(movieId, movie.getTitle(), from, to, granularity,
+                totalReviews, average(totalSum, totalReviews), points);
+    }
+
+    /**
+     * Keep the daily rollup current once a submitted review has been committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReviewSubmitted(ReviewSubmittedEvent event) {
+        try {
+            recordReview(event.getMovieId(), event.getReviewDate(), event.getRating());
+        } catch (Exception e) {
+            // The review is already saved; a rebuild of the day repairs the rollup
+            logger.error("Failed to update daily rating rollup for movie {}: {}",
+                        event.getMovieId(), e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void recordReview(Long movieId, LocalDateTime reviewDate, BigDecimal rating) {
+        LocalDate ratingDate = reviewDate.toLocalDate();
+        int bucket = MovieRatingDaily.halfStarBucket(rating);
+
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                if (movieRatingDailyRepository.addRating(movieId, ratingDate, rating, bucket) == 0) {
+                    MovieRatingDaily rollup = new MovieRatingDaily(movieId, ratingDate);
+                    rollup.addRating(rating);
+                    movieRatingDailyRepository.saveAndFlush(rollup);
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another request created the day's row first; it exists now
+            logger.debug("Daily rollup for movie {} on {} created concurrently, retrying update", movieId, ratingDate);
+            newTransaction.executeWithoutResult(status ->
+                    movieRatingDailyRepository.addRating(movieId, ratingDate, rating, bucket));
+        }
+    }
+
+    @Override
+    @Transactional
+    public int rebuildRollups(LocalDate from, LocalDate to) {
+        List<Object[]> counts = reviewRepository.countRatingsByMovieAndDay(from.atStartOfDay(), to.atStartOfDay());
+
+        Map<MovieRatingDailyId, MovieRatingDaily> rollups = new HashMap<>();
+        for (Object[] row : counts) {
+            Long movieId = (Long) row[0];
+            LocalDate ratingDate = (LocalDate) row[1];
+            rollups.computeIfAbsent(new MovieRatingDailyId(movieId, ratingDate),
+                            id -> new MovieRatingDaily(movieId, ratingDate))
+                    .addRatings((BigDecimal) row[2], ((Number) row[3]).intValue());
+        }
+
+        movieRatingDailyRepository.saveAll(rollups.values());
+
+        logger.debug("Rebuilt {} daily rating rollups from {} to {}", rollups.size(), from, to);
+        return rollups.size();
+    }
+
+    private static BigDecimal average(BigDecimal ratingSum, int reviewCount) {
+        return reviewCount > 0
+                ? ratingSum.divide(BigDecimal.valueOf(reviewCount), 2, RoundingMode.HALF_UP)
+                : null;
+    }
+
+    private static Map<String, Integer> buildDistribution(int[] halfStarCounts) {
+        Map<String, Integer> distribution = new LinkedHashMap<>();
+        for (int bucket = 0; bucket < halfStarCounts.length; bucket++) {
+            distribution.put(MovieRatingDaily.halfStarLabel(bucket), halfStarCounts[bucket]);
+        }
+        return distribution;
+    }
+}
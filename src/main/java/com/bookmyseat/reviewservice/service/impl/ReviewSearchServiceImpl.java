@@ -0,0 +1,252 @@
+package com.bookmyseat.reviewservice.service.impl;
+
+import com.bookmyseat.reviewservice.client.MovieTitleResolver;
+import com.bookmyseat.reviewservice.dto.ReviewDTO;
+import com.bookmyseat.reviewservice.dto.ReviewSearchResponseDTO;
+import com.bookmyseat.reviewservice.event.ReviewSubmittedEvent;
+import com.bookmyseat.reviewservice.event.ReviewsArchivedEvent;
+import com.bookmyseat.reviewservice.repository.ReviewRepository;
+import com.bookmyseat.reviewservice.search.ReviewSearchDocument;
+import com.bookmyseat.reviewservice.search.ReviewSearchIndex;
+import com.bookmyseat.reviewservice.search.ReviewTokenizer;
+import com.bookmyseat.reviewservice.service.ReviewSearchService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serves review search from an in-memory {@link ReviewSearchIndex}.
+ * <p>
+ * The index is loaded from the reviews table once the application is ready and kept current
+ * from {@link ReviewSubmittedEvent}s. Events that arrive before the load finishes are
+ * buffered and applied afterwards, skipping reviews the load already picked up. Reviews saved
+ * by other instances are picked up by a periodic refresh that reads reviews past the highest id
+ * already indexed.
+ * <p>
+ * Reviews are removed from the index when the archiver deletes them here
+ * ({@link ReviewsArchivedEvent}), and a search that finds a hit whose row is gone (deleted on
+ * another instance) removes it and searches again, so totals only count reviews that still
+ * exist. Once removed reviews outnumber live ones the refresh rebuilds the index from the table.
+ */
+@Service
+public class ReviewSearchServiceImpl implements ReviewSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewSearchServiceImpl.class);
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_ATTEMPTS = 3;
+
+    private volatile ReviewSearchIndex index = new ReviewSearchIndex();
+    private final ReviewRepository reviewRepository;
+    private final MovieTitleResolver movieTitleResolver;
+    private final int loadBatchSize;
+
+    private final Object loadLock = new Object();
+    private final List<ReviewSubmittedEvent> pendingEvents = new ArrayList<>();
+    private final List<Long> pendingRemovals = new ArrayList<>();
+    private boolean loaded;
+
+    public ReviewSearchServiceImpl(ReviewRepository reviewRepository,
+                                   MovieTitleResolver movieTitleResolver,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${review.search.load-batch-size:1000}") int loadBatchSize) {
+        this.reviewRepository = reviewRepository;
+        this.movieTitleResolver = movieTitleResolver;
+        this.loadBatchSize = loadBatchSize;
+
+        Gauge.builder("review_search_index_bytes", this, service -> service.index.estimatedSizeInBytes())
+                .description("Approximate heap footprint of the review search index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("review_search_index_documents", this, service -> service.index.documentCount())
+                .description("Number of reviews in the search index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadIndex() {
+        long started = System.nanoTime();
+        loadDocumentsAfter(index, 0);
+
+        synchronized (loadLock) {
+            for (ReviewSubmittedEvent event : pendingEvents) {
+                index.add(event.getReviewId(), event.getMovieId(), event.getComment());
+            }
+            for (Long reviewId : pendingRemovals) {
+                index.remove(reviewId);
+            }
+            pendingEvents.clear();
+            pendingRemovals.clear();
+            loaded = true;
+        }
+
+        logger.info("Review search index loaded: {} reviews, {} terms, ~{} KB in {} ms",
+                   index.documentCount(), index.termCount(), index.estimatedSizeInBytes() / 1024,
+                   (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Index reviews saved by other instances since the last refresh, and rebuild the index
+     * from the reviews table once removed reviews outnumber live ones
+     */
+    @Scheduled(fixedDelayString = "${review.search.refresh-interval-ms:30000}",
+               initialDelayString = "${review.search.refresh-interval-ms:30000}")
+    public synchronized void refresh() {
+        synchronized (loadLock) {
+            if (!loaded) {
+                return;
+            }
+        }
+        if (index.removedCount() > index.documentCount()) {
+            rebuild();
+        }
+        // Ids are assigned before commit, so a review can become visible below the highest id
+        // already indexed; re-reading one batch behind it catches those
+        ReviewSearchIndex current = index;
+        int added = loadDocumentsAfter(current, Math.max(0, current.maxReviewId() - loadBatchSize));
+        logger.debug("Review search index refreshed with {} new reviews up to id {}", added, current.maxReviewId());
+    }
+
+    private void rebuild() {
+        long started = System.nanoTime();
+        ReviewSearchIndex rebuilt = new ReviewSearchIndex();
+        loadDocumentsAfter(rebuilt, 0);
+        int removed = index.removedCount();
+        // Reviews indexed into the old index meanwhile are picked up by the refresh that follows
+        index = rebuilt;
+        logger.info("Review search index rebuilt without {} removed reviews: {} reviews in {} ms",
+                   removed, rebuilt.documentCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * @return number of reviews newly added to the index
+     */
+    private int loadDocumentsAfter(ReviewSearchIndex target, long afterId) {
+        int added = 0;
+        long lastReviewId = afterId;
+        List<ReviewSearchDocument> batch;
+        do {
+            batch = reviewRepository.findSearchDocumentsAfter(lastReviewId, PageRequest.of(0, loadBatchSize));
+            for (ReviewSearchDocument document : batch) {
+                if (target.add(document.getReviewId(), document.getMovieId(), document.getComment())) {
+                    added++;
+                }
+                lastReviewId = document.getReviewId();
+            }
+        } while (batch.size() == loadBatchSize);
+        return added;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReviewSubmitted(ReviewSubmittedEvent event) {
+        synchronized (loadLock) {
+            if (!loaded) {
+                pendingEvents.add(event);
+                return;
+            }
+        }
+        index.add(event.getReviewId(), event.getMovieId(), event.getComment());
+        logger.debug("Indexed review {} for search", event.getReviewId());
+    }
+
+    @EventListener
+    public void onReviewsArchived(ReviewsArchivedEvent event) {
+        synchronized (loadLock) {
+            if (!loaded) {
+                pendingRemovals.addAll(event.getReviewIds());
+                return;
+            }
+        }
+        ReviewSearchIndex current = index;
+        event.getReviewIds().forEach(current::remove);
+        logger.debug("Removed {} archived reviews of movie {} from the search index",
+                    event.getReviewIds().size(), event.getMovieId());
+    }
+
+    @Override
+    public ReviewSearchResponseDTO searchReviews(String query, Long movieId, int page, int size) {
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        logger.debug("Searching reviews for '{}' in movie {} - page: {}, size: {}", query, movieId, pageNumber, pageSize);
+
+        List<String> terms = ReviewTokenizer.tokenize(query);
+        int offset = (int) Math.min((long) pageNumber * pageSize, Integer.MAX_VALUE);
+        ReviewSearchIndex current = index;
+        ReviewSearchIndex.SearchHits hits;
+        List<ReviewDTO> reviews;
+        int attempts = 0;
+        // A hit whose row is gone is removed from the index; search again so the page is full
+        // and the total only counts reviews that still exist
+        do {
+            hits = current.search(terms, movieId, offset, pageSize);
+            reviews = loadReviews(current, hits.getReviewIds());
+        } while (reviews.size() < hits.getReviewIds().length && ++attempts < MAX_SEARCH_ATTEMPTS);
+
+        resolveMovieTitles(reviews);
+        int totalPages = (hits.getTotalHits() + pageSize - 1) / pageSize;
+
+        logger.debug("Search for '{}' matched {} reviews", query, hits.getTotalHits());
+
+        return new ReviewSearchResponseDTO(query, movieId, reviews, (long) hits.getTotalHits(),
+                pageNumber, pageSize, totalPages);
+    }
+
+    /**
+     * Load previews in index rank order, removing reviews that no longer exist from the index
+     */
+    private List<ReviewDTO> loadReviews(ReviewSearchIndex current, long[] reviewIds) {
+        if (reviewIds.length == 0) {
+            return new ArrayList<>();
+        }
+
+        List<Long> ids = new ArrayList<>(reviewIds.length);
+        for (long reviewId : reviewIds) {
+            ids.add(reviewId);
+        }
+        Map<Long, ReviewDTO> byId = reviewRepository.findReviewPreviewsByIds(ids).stream()
+                .collect(Collectors.toMap(ReviewDTO::getId, Function.identity()));
+
+        List<ReviewDTO> reviews = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long reviewId : ids) {
+            ReviewDTO review = byId.get(reviewId);
+            if (review != null) {
+                reviews.add(review);
+            } else {
+                missing.add(reviewId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            missing.forEach(current::remove);
+            logger.debug("Removed {} deleted reviews from the search index", missing.size());
+        }
+        return reviews;
+    }
+
+    // Resolve each distinct movie title once per page
+    private void resolveMovieTitles(List<ReviewDTO> reviews) {
+        if (reviews.isEmpty()) {
+            return;
+        }
+        Map<Long, String> movieTitles = movieTitleResolver.resolveTitles(
+                reviews.stream().map(ReviewDTO::getMovieId).toList());
+        for (ReviewDTO review : reviews) {
+            review.setMovieTitle(movieTitles.get(review.getMovieId()));
+        }
+    }
+}
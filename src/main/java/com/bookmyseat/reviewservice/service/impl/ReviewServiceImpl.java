@@ -1,23 +1,37 @@
 package com.bookmyseat.reviewservice.service.impl;
 
+import com.bookmyseat.reviewservice.archive.ReviewArchive;
 import com.bookmyseat.reviewservice.client.MovieServiceClient;
+import com.bookmyseat.reviewservice.client.MovieTitleResolver;
 import com.bookmyseat.reviewservice.dto.*;
 import com.bookmyseat.reviewservice.entity.Review;
+import com.bookmyseat.reviewservice.event.ReviewSubmittedEvent;
+import com.bookmyseat.reviewservice.exception.DuplicateReviewException;
 import com.bookmyseat.reviewservice.exception.MovieNotFoundException;
 import com.bookmyseat.reviewservice.exception.ReviewNotFoundException;
 import com.bookmyseat.reviewservice.mapper.ReviewMapper;
+import com.bookmyseat.reviewservice.outbox.ReviewOutbox;
+import com.bookmyseat.reviewservice.pagination.ReviewCursor;
 import com.bookmyseat.reviewservice.repository.ReviewRepository;
 import com.bookmyseat.reviewservice.service.MovieRatingService;
 import com.bookmyseat.reviewservice.service.ReviewService;
+import com.bookmyseat.reviewservice.sketch.DuplicateReviewFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
 
 @Service
 @Transactional
@@ -25,19 +39,36 @@ public class ReviewServiceImpl implements ReviewService {
 
     private static final Logger logger = LoggerFactory.getLogger(ReviewServiceImpl.class);
 
+    private static final int MAX_USER_PAGE_SIZE = 100;
+
     private final ReviewRepository reviewRepository;
     private final ReviewMapper reviewMapper;
     private final MovieServiceClient movieServiceClient;
     private final MovieRatingService movieRatingService;
+    private final MovieTitleResolver movieTitleResolver;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReviewArchive reviewArchive;
+    private final DuplicateReviewFilter duplicateReviewFilter;
+    private final ReviewOutbox reviewOutbox;
 
     public ReviewServiceImpl(ReviewRepository reviewRepository,
                            ReviewMapper reviewMapper,
                            MovieServiceClient movieServiceClient,
-                           MovieRatingService movieRatingService) {
+                           MovieRatingService movieRatingService,
+                           MovieTitleResolver movieTitleResolver,
+                           ApplicationEventPublisher eventPublisher,
+                           ReviewArchive reviewArchive,
+                           DuplicateReviewFilter duplicateReviewFilter,
+                           ReviewOutbox reviewOutbox) {
         this.reviewRepository = reviewRepository;
         this.reviewMapper = reviewMapper;
         this.movieServiceClient = movieServiceClient;
         this.movieRatingService = movieRatingService;
+        this.movieTitleResolver = movieTitleResolver;
+        this.eventPublisher = eventPublisher;
+        this.reviewArchive = reviewArchive;
+        this.duplicateReviewFilter = duplicateReviewFilter;
+        this.reviewOutbox = reviewOutbox;
     }
 
     @Override
@@ -45,6 +76,13 @@ public class ReviewServiceImpl implements ReviewService {
         logger.debug("Submitting review for movie {} by user {}",
                     reviewSubmission.getMovieId(), reviewSubmission.getUserName());
 
+        // One review per user and movie; checked first so duplicates never reach Movie Service
+        if (duplicateReviewFilter.isDuplicate(reviewSubmission.getMovieId(), reviewSubmission.getUserName())) {
+            logger.warn("User {} has already reviewed movie {}",
+                       reviewSubmission.getUserName(), reviewSubmission.getMovieId());
+            throw new DuplicateReviewException(reviewSubmission.getMovieId(), reviewSubmission.getUserName());
+        }
+
         // Validate movie exists via Movie Service
         MovieDetailDTO movie;
         try {
@@ -57,6 +95,10 @@ public class ReviewServiceImpl implements ReviewService {
         // Convert DTO to entity and save
         Review review = reviewMapper.toReview(reviewSubmission);
         Review savedReview = reviewRepository.save(review);
+        duplicateReviewFilter.record(savedReview.getMovieId(), savedReview.getUserName());
+
+        // Stored with the review, so other services hear of it exactly when it is committed
+        reviewOutbox.recordReviewSubmitted(savedReview);
 
         logger.info("Review {} submitted successfully for movie {} by user {}",
                    savedReview.getId(), savedReview.getMovieId(), savedReview.getUserName());
@@ -70,6 +112,9 @@ public class ReviewServiceImpl implements ReviewService {
             // Don't fail the review submission if rating cache update fails
         }
 
+        // Notify in-process listeners such as the search index
+        eventPublisher.publishEvent(new ReviewSubmittedEvent(savedReview));
+
         // Convert to DTO with movie title
         return reviewMapper.toReviewDTO(savedReview, movie.getTitle());
     }
@@ -78,7 +123,18 @@ public class ReviewServiceImpl implements ReviewService {
     @Transactional(readOnly = true)
     public MovieReviewsResponseDTO getReviewsForMovie(Long movieId, Pageable pageable) {
         logger.debug("Fetching reviews for movie {} with pagination: {}", movieId, pageable);
+        return buildReviewsResponse(movieId, pageable, false, reviewRepository::findReviewDTOsByMovieId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MovieReviewsResponseDTO getReviewPreviewsForMovie(Long movieId, Pageable pageable) {
+        logger.debug("Fetching review previews for movie {} with pagination: {}", movieId, pageable);
+        return buildReviewsResponse(movieId, pageable, true, reviewRepository::findReviewPreviewsByMovieId);
+    }
 
+    private MovieReviewsResponseDTO buildReviewsResponse(Long movieId, Pageable pageable, boolean preview,
+                                                         BiFunction<Long, Pageable, Page<ReviewDTO>> pageLoader) {
         // Validate movie exists
         MovieDetailDTO movie;
         try {
@@ -88,15 +144,37 @@ public class ReviewServiceImpl implements ReviewService {
             throw e;
         }
 
-        // Get paginated reviews
-        Page<Review> reviewPage = reviewRepository.findByMovieIdOrderByReviewDateDesc(movieId, pageable);
-        List<ReviewDTO> reviewDTOs = reviewMapper.toReviewDTOList(reviewPage.getContent(), movie.getTitle());
+        // Get paginated reviews, projected directly into DTOs
+        Page<ReviewDTO> reviewPage = pageLoader.apply(movieId, pageable);
+        long hotReviews = reviewPage.getTotalElements();
+
+        // Archived reviews are all older than the hot ones, so they continue the listing
+        long archivedReviews = reviewArchive.getArchivedReviewCount(movieId);
+        if (archivedReviews > 0) {
+            List<ReviewDTO> content = new ArrayList<>(reviewPage.getContent());
+            int missing = pageable.getPageSize() - content.size();
+            if (missing > 0) {
+                long archiveOffset = Math.max(0, pageable.getOffset() - hotReviews);
+                content.addAll(reviewArchive.readReviews(movieId, archiveOffset, missing, preview));
+            }
+            reviewPage = new PageImpl<>(content, pageable, hotReviews + archivedReviews);
+        }
+
+        List<ReviewDTO> reviewDTOs = reviewPage.getContent();
+        for (ReviewDTO reviewDTO : reviewDTOs) {
+            reviewDTO.setMovieTitle(movie.getTitle());
+        }
 
         // Get or calculate average rating
         BigDecimal averageRating = reviewRepository.calculateAverageRating(movieId);
         if (averageRating == null) {
             averageRating = BigDecimal.ZERO;
         }
+        if (archivedReviews > 0) {
+            BigDecimal ratingSum = averageRating.multiply(BigDecimal.valueOf(hotReviews))
+                    .add(reviewArchive.getRatingStats(movieId).getRatingSum());
+            averageRating = ratingSum.divide(BigDecimal.valueOf(hotReviews + archivedReviews), 2, RoundingMode.HALF_UP);
+        }
 
         logger.debug("Found {} reviews for movie {} with average rating {}",
                     reviewPage.getTotalElements(), movieId, averageRating);
@@ -137,10 +215,61 @@ public class ReviewServiceImpl implements ReviewService {
         return reviewMapper.toReviewDTO(review, movieTitle);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ReviewCommentDTO getReviewComment(Long reviewId) {
+        logger.debug("Fetching full comment for review: {}", reviewId);
+
+        return reviewRepository.findCommentById(reviewId)
+                .orElseThrow(() -> {
+                    logger.warn("Review not found with ID: {}", reviewId);
+                    return new ReviewNotFoundException("Review not found with ID: " + reviewId);
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserReviewsResponseDTO getReviewsByUser(String userName, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_USER_PAGE_SIZE);
+        logger.debug("Fetching reviews by user {} - cursor: {}, size: {}", userName, cursor, pageSize);
+
+        // Fetch one extra row to learn whether another page follows
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<ReviewDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = reviewRepository.findReviewDTOsByUserName(userName, limit);
+        } else {
+            ReviewCursor position = ReviewCursor.decode(cursor);
+            rows = reviewRepository.findReviewDTOsByUserNameBefore(userName,
+                    position.getReviewDate(), position.getReviewId(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ReviewDTO> reviews = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+
+        // Resolve each distinct movie once for the whole page
+        Map<Long, String> movieTitles = movieTitleResolver.resolveTitles(
+                reviews.stream().map(ReviewDTO::getMovieId).toList());
+        for (ReviewDTO review : reviews) {
+            review.setMovieTitle(movieTitles.get(review.getMovieId()));
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            ReviewDTO last = reviews.get(reviews.size() - 1);
+            nextCursor = new ReviewCursor(last.getReviewDate(), last.getId()).encode();
+        }
+
+        logger.debug("Found {} reviews by user {}, more: {}", reviews.size(), userName, hasMore);
+
+        return new UserReviewsResponseDTO(userName, reviews, pageSize, nextCursor, hasMore);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public boolean hasReviews(Long movieId) {
-        boolean hasReviews = reviewRepository.existsByMovieId(movieId);
+        boolean hasReviews = reviewRepository.existsByMovieId(movieId)
+                || reviewArchive.getArchivedReviewCount(movieId) > 0;
         logger.debug("Movie {} has reviews: {}", movieId, hasReviews);
         return hasReviews;
     }
@@ -148,7 +277,7 @@ public class ReviewServiceImpl implements ReviewService {
     @Override
     @Transactional(readOnly = true)
     public long getReviewCount(Long movieId) {
-        long count = reviewRepository.countByMovieId(movieId);
+        long count = reviewRepository.countByMovieId(movieId) + reviewArchive.getArchivedReviewCount(movieId);
         logger.debug("Movie {} has {} reviews", movieId, count);
         return count;
     }
@@ -0,0 +1,166 @@
+package com.bookmyseat.reviewservice.service.impl;
+
+import com.bookmyseat.reviewservice.dto.UniqueReviewersDTO;
+import com.bookmyseat.reviewservice.entity.MovieReviewerSketch;
+import com.bookmyseat.reviewservice.event.ReviewSubmittedEvent;
+import com.bookmyseat.reviewservice.repository.MovieReviewerSketchRepository;
+import com.bookmyseat.reviewservice.service.ReviewerCountService;
+import com.bookmyseat.reviewservice.sketch.HyperLogLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Counts distinct reviewers from per-movie {@link HyperLogLog} sketches in movie_reviewer_sketches.
+ * Sketches are updated after each submitted review commits; counts across movies merge the
+ * stored sketches instead of running COUNT(DISTINCT user_name) over the reviews table.
+ */
+@Service
+public class ReviewerCountServiceImpl implements ReviewerCountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewerCountServiceImpl.class);
+
+    private static final int BATCH_SIZE = 500;
+    private static final BigDecimal RELATIVE_STANDARD_ERROR =
+            BigDecimal.valueOf(HyperLogLog.RELATIVE_STANDARD_ERROR).setScale(4, RoundingMode.HALF_UP);
+
+    private final MovieReviewerSketchRepository movieReviewerSketchRepository;
+    private final TransactionTemplate newTransaction;
+    private final long globalCacheNanos;
+
+    // Merging every sketch reads 4 KB per movie, so the global count is reused for a while
+    private volatile CachedCount globalCount;
+
+    public ReviewerCountServiceImpl(MovieReviewerSketchRepository movieReviewerSketchRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${review.sketch.global-cache-seconds:300}") long globalCacheSeconds) {
+        this.movieReviewerSketchRepository = movieReviewerSketchRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.globalCacheNanos = globalCacheSeconds * 1_000_000_000L;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UniqueReviewersDTO getUniqueReviewers(Long movieId) {
+        return getUniqueReviewers(List.of(movieId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UniqueReviewersDTO getUniqueReviewers(List<Long> movieIds) {
+        if (movieIds == null || movieIds.isEmpty()) {
+            return new UniqueReviewersDTO(List.of(), countAllReviewers(), RELATIVE_STANDARD_ERROR);
+        }
+
+        List<Long> distinctIds = movieIds.stream().distinct().toList();
+        HyperLogLog union = new HyperLogLog();
+        for (int from = 0; from < distinctIds.size(); from += BATCH_SIZE) {
+            List<Long> batch = distinctIds.subList(from, Math.min(from + BATCH_SIZE, distinctIds.size()));
+            for (byte[] registers : movieReviewerSketchRepository.findRegistersByMovieIdIn(batch)) {
+                union.merge(HyperLogLog.fromBytes(registers));
+            }
+        }
+
+        long estimate = union.estimate();
+        logger.debug("Estimated {} unique reviewers across {} movies", estimate, distinctIds.size());
+        return new UniqueReviewersDTO(distinctIds, estimate, RELATIVE_STANDARD_ERROR);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReviewSubmitted(ReviewSubmittedEvent event) {
+        try {
+            recordReviewer(event.getMovieId(), event.getUserName());
+        } catch (Exception e) {
+            // The review is already saved; the backfill can re-add its author
+            logger.error("Failed to update reviewer sketch for movie {}: {}", event.getMovieId(), e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void recordReviewer(Long movieId, String userName) {
+        HyperLogLog reviewer = new HyperLogLog();
+        reviewer.add(userName);
+        mergeReviewers(movieId, reviewer);
+    }
+
+    @Override
+    public void mergeReviewers(Long movieId, HyperLogLog reviewers) {
+        // Registers only grow, so a sketch that already covers the reviewers stays covered; skip the lock
+        List<byte[]> stored = movieReviewerSketchRepository.findRegistersByMovieIdIn(List.of(movieId));
+        if (!stored.isEmpty() && !HyperLogLog.fromBytes(stored.get(0)).merge(reviewers)) {
+            return;
+        }
+
+        try {
+            newTransaction.executeWithoutResult(status -> mergeLocked(movieId, reviewers));
+        } catch (DataIntegrityViolationException e) {
+            // Another request created the movie's sketch first; it exists now
+            logger.debug("Reviewer sketch for movie {} created concurrently, retrying merge", movieId);
+            newTransaction.executeWithoutResult(status -> mergeLocked(movieId, reviewers));
+        }
+    }
+
+    private void mergeLocked(Long movieId, HyperLogLog reviewers) {
+        MovieReviewerSketch stored = movieReviewerSketchRepository.findForUpdate(movieId).orElse(null);
+        if (stored == null) {
+            movieReviewerSketchRepository.saveAndFlush(new MovieReviewerSketch(movieId, reviewers));
+            return;
+        }
+
+        HyperLogLog sketch = stored.getSketch();
+        if (sketch.merge(reviewers)) {
+            stored.setSketch(sketch);
+            logger.debug("Updated reviewer sketch for movie {}", movieId);
+        }
+    }
+
+    private long countAllReviewers() {
+        CachedCount cached = globalCount;
+        if (cached != null && System.nanoTime() - cached.computedAt < globalCacheNanos) {
+            return cached.count;
+        }
+
+        HyperLogLog union = new HyperLogLog();
+        long lastMovieId = Long.MIN_VALUE;
+        int movies = 0;
+        List<Object[]> batch;
+        do {
+            batch = movieReviewerSketchRepository.findRegistersAfter(lastMovieId, PageRequest.of(0, BATCH_SIZE));
+            for (Object[] row : batch) {
+                lastMovieId = (Long) row[0];
+                union.merge(HyperLogLog.fromBytes((byte[]) row[1]));
+            }
+            movies += batch.size();
+        } while (batch.size() == BATCH_SIZE);
+
+        long estimate = union.estimate();
+        globalCount = new CachedCount(estimate, System.nanoTime());
+        logger.debug("Estimated {} unique reviewers across all {} movies", estimate, movies);
+        return estimate;
+    }
+
+    private static final class CachedCount {
+
+        private final long count;
+        private final long computedAt;
+
+        CachedCount(long count, long computedAt) {
+            this.count = count;
+            this.computedAt = computedAt;
+        }
+    }
+}
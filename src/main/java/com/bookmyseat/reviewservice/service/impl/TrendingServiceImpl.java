@@ -0,0 +1,183 @@
+package com.bookmyseat.reviewservice.service.impl;
+
+import com.bookmyseat.reviewservice.client.MovieTitleResolver;
+import com.bookmyseat.reviewservice.dto.TrendingMovieDTO;
+import com.bookmyseat.reviewservice.entity.MovieTrendingScore;
+import com.bookmyseat.reviewservice.event.ReviewSubmittedEvent;
+import com.bookmyseat.reviewservice.repository.MovieTrendingScoreRepository;
+import com.bookmyseat.reviewservice.service.TrendingService;
+import com.bookmyseat.reviewservice.trending.TrendingIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranks movies by exponentially decayed review counts held in a {@link TrendingIndex}.
+ * Scores are restored from the movie_trending_scores snapshot at startup, updated from
+ * {@link ReviewSubmittedEvent}s and written back periodically and on shutdown. Each snapshot
+ * also drops movies whose score has decayed below the prune threshold, from memory and from
+ * the snapshot table, so new movies always find room in the index.
+ */
+@Service
+public class TrendingServiceImpl implements TrendingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingServiceImpl.class);
+
+    static final int MAX_LIMIT = 50;
+
+    private final MovieTrendingScoreRepository movieTrendingScoreRepository;
+    private final MovieTitleResolver movieTitleResolver;
+    private final TrendingIndex index;
+    private final double pruneBelowScore;
+    private final Clock clock;
+    private final boolean restoreOnStartup;
+
+    @Autowired
+    public TrendingServiceImpl(MovieTrendingScoreRepository movieTrendingScoreRepository,
+                               MovieTitleResolver movieTitleResolver,
+                               MeterRegistry meterRegistry,
+                               @Value("${review.trending.half-life-hours:6}") double halfLifeHours,
+                               @Value("${review.trending.capacity:65536}") int capacity,
+                               @Value("${review.trending.prune-below-score:0.01}") double pruneBelowScore,
+                               @Value("${review.trending.restore-on-startup:true}") boolean restoreOnStartup) {
+        this(movieTrendingScoreRepository, movieTitleResolver, meterRegistry,
+                new TrendingIndex(halfLifeHours * 3600, capacity), pruneBelowScore, restoreOnStartup, Clock.systemUTC());
+    }
+
+    TrendingServiceImpl(MovieTrendingScoreRepository movieTrendingScoreRepository,
+                        MovieTitleResolver movieTitleResolver,
+                        MeterRegistry meterRegistry,
+                        TrendingIndex index,
+                        double pruneBelowScore,
+                        boolean restoreOnStartup,
+                        Clock clock) {
+        this.movieTrendingScoreRepository = movieTrendingScoreRepository;
+        this.movieTitleResolver = movieTitleResolver;
+        this.index = index;
+        this.pruneBelowScore = pruneBelowScore;
+        this.restoreOnStartup = restoreOnStartup;
+        this.clock = clock;
+
+        Gauge.builder("review_trending_movies", index, TrendingIndex::size)
+                .description("Number of movies with a trending score")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Restore scores from the last snapshot before any review is recorded
+     */
+    @PostConstruct
+    public void loadSnapshot() {
+        if (!restoreOnStartup) {
+            // Class-data-sharing training runs start without a database
+            logger.info("Skipping trending score restore");
+            return;
+        }
+        List<MovieTrendingScore> snapshot = movieTrendingScoreRepository.findAll();
+        for (MovieTrendingScore saved : snapshot) {
+            index.restore(saved.getMovieId(), saved.getScore(), saved.getScoredAt());
+        }
+        // Restoring marks every movie changed; nothing needs writing back yet
+        index.drainChanged(Instant.now(clock), (movieId, score) -> {});
+
+        logger.info("Restored trending scores of {} movies", snapshot.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReviewSubmitted(ReviewSubmittedEvent event) {
+        try {
+            recordReview(event.getMovieId(), Instant.now(clock));
+        } catch (RuntimeException e) {
+            // The review is already saved; it only misses the trending rail
+            logger.error("Failed to record review {} for trending: {}", event.getReviewId(), e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void recordReview(Long movieId, Instant submittedAt) {
+        index.record(movieId, submittedAt);
+        logger.debug("Recorded review of movie {} for trending", movieId);
+    }
+
+    @Override
+    public List<TrendingMovieDTO> getTrendingMovies(int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        List<TrendingIndex.TrendingScore> top = index.top(size, Instant.now(clock));
+
+        Map<Long, String> titles = movieTitleResolver.resolveTitles(
+                top.stream().map(TrendingIndex.TrendingScore::getMovieId).toList());
+
+        List<TrendingMovieDTO> movies = new ArrayList<>(top.size());
+        for (TrendingIndex.TrendingScore score : top) {
+            movies.add(new TrendingMovieDTO(movies.size() + 1, score.getMovieId(), titles.get(score.getMovieId()),
+                    BigDecimal.valueOf(score.getScore()).setScale(2, RoundingMode.HALF_UP)));
+        }
+
+        logger.debug("Returning {} trending movies of {} tracked", movies.size(), index.size());
+        return movies;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${review.trending.snapshot-interval-ms:60000}",
+               initialDelayString = "${review.trending.snapshot-interval-ms:60000}")
+    public int snapshotScores() {
+        Instant now = Instant.now(clock);
+        List<MovieTrendingScore> changed = new ArrayList<>();
+        index.drainChanged(now, (movieId, score) -> changed.add(new MovieTrendingScore(movieId, score, now)));
+
+        if (!changed.isEmpty()) {
+            try {
+                movieTrendingScoreRepository.saveAll(changed);
+            } catch (RuntimeException e) {
+                // Keep the scores pending for the next snapshot
+                changed.forEach(saved -> index.markChanged(saved.getMovieId()));
+                throw e;
+            }
+            logger.debug("Saved trending scores of {} movies", changed.size());
+        }
+
+        pruneScores(now);
+        return changed.size();
+    }
+
+    private void pruneScores(Instant now) {
+        List<Long> pruned = new ArrayList<>();
+        index.prune(pruneBelowScore, now, pruned::add);
+        if (pruned.isEmpty()) {
+            return;
+        }
+        try {
+            movieTrendingScoreRepository.deleteAllByIdInBatch(pruned);
+        } catch (RuntimeException e) {
+            // Left-over rows are restored at the next startup and pruned again
+            logger.warn("Failed to delete {} pruned trending scores: {}", pruned.size(), e.getMessage());
+        }
+        logger.debug("Pruned {} movies with trending scores below {}", pruned.size(), pruneBelowScore);
+    }
+
+    @PreDestroy
+    public void saveOnShutdown() {
+        try {
+            snapshotScores();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to save trending scores on shutdown: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.bookmyseat.reviewservice.sketch;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings.
+ * <p>
+ * {@link #mightContain} never returns false for a value that was added; it returns true for a
+ * value that was not added with roughly the configured false positive rate, as long as no more
+ * than the expected number of values are added. Beyond that the rate rises; see
+ * {@link #expectedFalsePositiveRate()}. Bits live in an {@link AtomicLongArray}, so adds and
+ * lookups from many threads need no lock.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong insertions = new AtomicLong();
+
+    /**
+     * @param expectedInsertions number of values the filter is sized for
+     * @param falsePositiveRate target false positive rate at that size, e.g. 0.01
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Expected insertions must be positive and the false positive rate in (0, 1)");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (bits + Long.SIZE - 1) / Long.SIZE);
+        this.words = new AtomicLongArray(words);
+        this.bitCount = (long) words * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Add a value
+     * @return true if the filter changed, i.e. the value was definitely not present before
+     */
+    public boolean put(String value) {
+        long hash = StringHash.hash64(value);
+        int low = (int) hash;
+        int high = (int) (hash >>> 32);
+
+        boolean changed = false;
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Math.floorMod(low + (long) i * high, bitCount);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.getAndAccumulate(word, mask, (current, set) -> current | set) & mask) == 0) {
+                changed = true;
+            }
+        }
+        if (changed) {
+            insertions.incrementAndGet();
+        }
+        return changed;
+    }
+
+    /**
+     * Whether a value may have been added; false means it definitely was not
+     */
+    public boolean mightContain(String value) {
+        long hash = StringHash.hash64(value);
+        int low = (int) hash;
+        int high = (int) (hash >>> 32);
+
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Math.floorMod(low + (long) i * high, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * False positive rate for the number of distinct values added so far
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashCount * insertions.get() / bitCount), hashCount);
+    }
+
+    /**
+     * Number of distinct values added, not counting values that collided with earlier ones
+     */
+    public long insertionCount() {
+        return insertions.get();
+    }
+
+    public long bitSize() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+}
@@ -0,0 +1,155 @@
+package com.bookmyseat.reviewservice.sketch;
+
+import com.bookmyseat.reviewservice.archive.ReviewArchive;
+import com.bookmyseat.reviewservice.repository.ReviewRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Detects a second review of the same movie by the same user.
+ * <p>
+ * A {@link BloomFilter} over (movie, user) pairs, seeded from the reviews table and the review
+ * archive once the application is ready, answers "definitely new" for most submissions without
+ * touching the database. Only when the filter reports a possible match, or while it is still
+ * being seeded, does the check fall back to an existence query on the reviews table and, for
+ * movies with archived reviews, a scan of the archive.
+ * <p>
+ * Reviews saved by other instances are picked up by a periodic refresh that reads reviews past
+ * the highest id already loaded, so they can slip through for up to one refresh interval. There
+ * is no unique key behind the filter, so concurrent duplicates are not ruled out either.
+ */
+@Component
+public class DuplicateReviewFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateReviewFilter.class);
+
+    private final ReviewRepository reviewRepository;
+    private final ReviewArchive reviewArchive;
+    private final BloomFilter filter;
+    private final int loadBatchSize;
+    private final Counter filterMisses;
+    private final Counter databaseChecks;
+    private final Counter duplicates;
+
+    private volatile boolean loaded;
+    private long lastReviewId;
+
+    public DuplicateReviewFilter(ReviewRepository reviewRepository,
+                                 ReviewArchive reviewArchive,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${review.duplicate-filter.expected-reviews:10000000}") long expectedReviews,
+                                 @Value("${review.duplicate-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                 @Value("${review.duplicate-filter.load-batch-size:1000}") int loadBatchSize) {
+        this.reviewRepository = reviewRepository;
+        this.reviewArchive = reviewArchive;
+        this.filter = new BloomFilter(expectedReviews, falsePositiveRate);
+        this.loadBatchSize = Math.max(1, loadBatchSize);
+
+        this.filterMisses = Counter.builder("review_duplicate_checks")
+                .description("Duplicate review checks, by how they were answered")
+                .tag("result", "filter_new")
+                .register(meterRegistry);
+        this.databaseChecks = Counter.builder("review_duplicate_checks")
+                .description("Duplicate review checks, by how they were answered")
+                .tag("result", "database")
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("review_duplicates_rejected")
+                .description("Submissions rejected as a second review of the same movie by the same user")
+                .register(meterRegistry);
+        Gauge.builder("review_duplicate_filter_false_positive_rate", filter, BloomFilter::expectedFalsePositiveRate)
+                .description("Expected false positive rate of the duplicate review filter at its current fill")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        long started = System.nanoTime();
+        long reviews = loadReviewersAfter(0);
+        long archived = 0;
+        for (Long movieId : reviewArchive.getArchivedMovieIds()) {
+            for (String userName : reviewArchive.readUserNames(movieId)) {
+                filter.put(key(movieId, userName));
+                archived++;
+            }
+        }
+
+        // Reviews saved during the load were added by record(), so the filter is complete now
+        loaded = true;
+
+        logger.info("Duplicate review filter loaded: {} reviews and {} archived reviews into {} KB with {} hashes in {} ms, false positive rate {}",
+                   reviews, archived, filter.bitSize() / 8 / 1024, filter.hashCount(),
+                   (System.nanoTime() - started) / 1_000_000, String.format("%.4f", filter.expectedFalsePositiveRate()));
+    }
+
+    /**
+     * Add reviews saved since the last load or refresh, including those saved by other instances
+     */
+    @Scheduled(fixedDelayString = "${review.duplicate-filter.refresh-interval-ms:30000}",
+               initialDelayString = "${review.duplicate-filter.refresh-interval-ms:30000}")
+    public synchronized void refresh() {
+        if (!loaded) {
+            return;
+        }
+        // Ids are assigned before commit, so a review can become visible below the highest id
+        // already read; re-reading one batch behind it catches those, and a pair can be added twice
+        long reviews = loadReviewersAfter(Math.max(0, lastReviewId - loadBatchSize));
+        logger.debug("Duplicate review filter refreshed with {} reviews up to id {}", reviews, lastReviewId);
+    }
+
+    private long loadReviewersAfter(long afterId) {
+        long reviews = 0;
+        long cursor = afterId;
+        List<Object[]> batch;
+        do {
+            batch = reviewRepository.findReviewersAfter(cursor, PageRequest.of(0, loadBatchSize));
+            for (Object[] row : batch) {
+                cursor = (Long) row[0];
+                filter.put(key((Long) row[1], (String) row[2]));
+            }
+            reviews += batch.size();
+        } while (batch.size() == loadBatchSize);
+        lastReviewId = Math.max(lastReviewId, cursor);
+        return reviews;
+    }
+
+    /**
+     * Whether the user has already reviewed the movie
+     */
+    public boolean isDuplicate(Long movieId, String userName) {
+        if (loaded && !filter.mightContain(key(movieId, userName))) {
+            filterMisses.increment();
+            return false;
+        }
+
+        databaseChecks.increment();
+        boolean duplicate = reviewRepository.existsByMovieIdAndUserName(movieId, userName)
+                || reviewArchive.readUserNames(movieId).contains(userName);
+        if (duplicate) {
+            duplicates.increment();
+        }
+        return duplicate;
+    }
+
+    /**
+     * Add a saved review. If its transaction rolls back, the pair only costs one extra
+     * existence query on a later submission.
+     */
+    public void record(Long movieId, String userName) {
+        filter.put(key(movieId, userName));
+    }
+
+    private static String key(Long movieId, String userName) {
+        return movieId + ":" + userName;
+    }
+}
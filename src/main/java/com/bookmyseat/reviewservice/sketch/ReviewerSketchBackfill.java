@@ -0,0 +1,82 @@
+package com.bookmyseat.reviewservice.sketch;
+
+import com.bookmyseat.reviewservice.archive.ReviewArchive;
+import com.bookmyseat.reviewservice.dto.ReviewDTO;
+import com.bookmyseat.reviewservice.repository.ReviewRepository;
+import com.bookmyseat.reviewservice.service.ReviewerCountService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the reviewer sketch of every movie from the reviews table and the review archive.
+ * <p>
+ * Reviews are read once in id order and hashed into an in-memory sketch per movie (4 KB each),
+ * then each sketch is merged into the stored one. Merging never removes reviewers, so the
+ * backfill can run while reviews are being submitted and can be rerun safely.
+ */
+@Component
+@ConditionalOnProperty(name = "review.sketch.backfill.enabled", havingValue = "true")
+public class ReviewerSketchBackfill implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewerSketchBackfill.class);
+
+    private final ReviewRepository reviewRepository;
+    private final ReviewArchive reviewArchive;
+    private final ReviewerCountService reviewerCountService;
+    private final int batchSize;
+
+    public ReviewerSketchBackfill(ReviewRepository reviewRepository,
+                                  ReviewArchive reviewArchive,
+                                  ReviewerCountService reviewerCountService,
+                                  @Value("${review.sketch.backfill.batch-size:1000}") int batchSize) {
+        this.reviewRepository = reviewRepository;
+        this.reviewArchive = reviewArchive;
+        this.reviewerCountService = reviewerCountService;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Map<Long, HyperLogLog> sketches = new HashMap<>();
+
+        long reviews = 0;
+        long lastReviewId = 0;
+        List<Object[]> batch;
+        do {
+            batch = reviewRepository.findReviewersAfter(lastReviewId, PageRequest.of(0, batchSize));
+            for (Object[] row : batch) {
+                lastReviewId = (Long) row[0];
+                sketches.computeIfAbsent((Long) row[1], movieId -> new HyperLogLog()).add((String) row[2]);
+            }
+            reviews += batch.size();
+        } while (batch.size() == batchSize);
+
+        long archived = 0;
+        for (Long movieId : reviewArchive.getArchivedMovieIds()) {
+            HyperLogLog sketch = sketches.computeIfAbsent(movieId, id -> new HyperLogLog());
+            List<ReviewDTO> page;
+            long offset = 0;
+            do {
+                page = reviewArchive.readReviews(movieId, offset, batchSize, true);
+                page.forEach(review -> sketch.add(review.getUserName()));
+                offset += page.size();
+            } while (page.size() == batchSize);
+            archived += offset;
+        }
+
+        sketches.forEach(reviewerCountService::mergeReviewers);
+
+        logger.info("Backfilled reviewer sketches of {} movies from {} reviews and {} archived reviews",
+                   sketches.size(), reviews, archived);
+    }
+}
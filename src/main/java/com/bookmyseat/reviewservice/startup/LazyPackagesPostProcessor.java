@@ -0,0 +1,72 @@
+package com.bookmyseat.reviewservice.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+import java.util.List;
+
+/**
+ * Marks the beans of the given packages lazy, so they are created on first use instead of
+ * during startup. Meant for beans no request path depends on, such as the OpenAPI document and
+ * Swagger UI, whose controllers are only resolved when their endpoints are first called.
+ * <p>
+ * A bean matches when its class, or the configuration class declaring it, is in one of the
+ * packages. Beans an eager bean injects are still created at startup.
+ */
+public class LazyPackagesPostProcessor implements BeanFactoryPostProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LazyPackagesPostProcessor.class);
+
+    private final List<String> packages;
+
+    public LazyPackagesPostProcessor(List<String> packages) {
+        this.packages = packages.stream()
+                .map(String::strip)
+                .filter(name -> !name.isEmpty())
+                .map(name -> name.endsWith(".") ? name : name + ".")
+                .toList();
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        if (packages.isEmpty()) {
+            return;
+        }
+
+        int marked = 0;
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (definition.isLazyInit() || definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+                continue;
+            }
+            if (matches(definition.getBeanClassName()) || matches(declaringClassName(beanFactory, definition))) {
+                definition.setLazyInit(true);
+                marked++;
+            }
+        }
+        logger.info("Marked {} beans in {} for lazy initialization", marked, packages);
+    }
+
+    private static String declaringClassName(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String factoryBeanName = definition.getFactoryBeanName();
+        if (factoryBeanName == null || !beanFactory.containsBeanDefinition(factoryBeanName)) {
+            return null;
+        }
+        return beanFactory.getBeanDefinition(factoryBeanName).getBeanClassName();
+    }
+
+    private boolean matches(String className) {
+        if (className == null) {
+            return false;
+        }
+        for (String prefix : packages) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,196 @@
+package com.bookmyseat.reviewservice.startup;
+
+import com.bookmyseat.reviewservice.client.MovieTitleResolver;
+import com.bookmyseat.reviewservice.repository.MovieRatingRepository;
+import com.bookmyseat.reviewservice.service.ReviewService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms the service up after the web server starts and before it reports ready.
+ * <p>
+ * Runs as the last ApplicationRunner, and readiness only switches to ACCEPTING_TRAFFIC once all
+ * runners return, so load balancers keep traffic away until it finishes. It loads the most
+ * reviewed movies from movie_ratings, fetches their details from Movie Service concurrently,
+ * reads the first review page of each, and then calls the hot endpoints over the local port
+ * from a few threads so the request path is JIT-compiled. Every phase stops at the time budget.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(name = "review.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    // Same page the review list endpoint serves without parameters
+    static final Pageable FIRST_PAGE = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "reviewDate"));
+
+    private final MovieRatingRepository movieRatingRepository;
+    private final MovieTitleResolver movieTitleResolver;
+    private final ReviewService reviewService;
+    private final Environment environment;
+    private final int movieCount;
+    private final Duration timeBudget;
+    private final int maxRequests;
+    private final int threads;
+    private final Clock clock;
+
+    @Autowired
+    public StartupWarmup(MovieRatingRepository movieRatingRepository,
+                         MovieTitleResolver movieTitleResolver,
+                         ReviewService reviewService,
+                         Environment environment,
+                         @Value("${review.warmup.movies:20}") int movieCount,
+                         @Value("${review.warmup.time-budget-ms:20000}") long timeBudgetMs,
+                         @Value("${review.warmup.max-requests:5000}") int maxRequests,
+                         @Value("${review.warmup.threads:4}") int threads) {
+        this(movieRatingRepository, movieTitleResolver, reviewService, environment, movieCount,
+                Duration.ofMillis(timeBudgetMs), maxRequests, threads, Clock.systemUTC());
+    }
+
+    StartupWarmup(MovieRatingRepository movieRatingRepository,
+                  MovieTitleResolver movieTitleResolver,
+                  ReviewService reviewService,
+                  Environment environment,
+                  int movieCount,
+                  Duration timeBudget,
+                  int maxRequests,
+                  int threads,
+                  Clock clock) {
+        this.movieRatingRepository = movieRatingRepository;
+        this.movieTitleResolver = movieTitleResolver;
+        this.reviewService = reviewService;
+        this.environment = environment;
+        this.movieCount = Math.max(1, movieCount);
+        this.timeBudget = timeBudget;
+        this.maxRequests = Math.max(0, maxRequests);
+        this.threads = Math.max(1, threads);
+        this.clock = clock;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Instant start = Instant.now(clock);
+        Instant deadline = start.plus(timeBudget);
+
+        try {
+            List<Long> movieIds = movieRatingRepository.findMostReviewedMovieIds(PageRequest.of(0, movieCount));
+            if (movieIds.isEmpty()) {
+                logger.info("Skipping warm-up: no movie ratings yet");
+                return;
+            }
+
+            if (!pastDeadline(deadline)) {
+                movieTitleResolver.resolveTitles(movieIds);
+            }
+            int pages = primeFirstPages(movieIds, deadline);
+
+            int requests = 0;
+            Integer port = environment.getProperty("local.server.port", Integer.class);
+            if (port != null && port > 0) {
+                requests = exerciseEndpoints("http://localhost:" + port, movieIds, deadline);
+            }
+
+            logger.info("Warm-up finished in {} ms: {} movies, {} review pages, {} requests",
+                    Duration.between(start, Instant.now(clock)).toMillis(), movieIds.size(), pages, requests);
+        } catch (RuntimeException e) {
+            // A cold start is slower, not broken; never keep the instance from becoming ready
+            logger.warn("Warm-up failed after {} ms: {}",
+                    Duration.between(start, Instant.now(clock)).toMillis(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Read the first review page of each movie until the deadline
+     */
+    int primeFirstPages(List<Long> movieIds, Instant deadline) {
+        int pages = 0;
+        for (Long movieId : movieIds) {
+            if (pastDeadline(deadline)) {
+                break;
+            }
+            try {
+                reviewService.getReviewsForMovie(movieId, FIRST_PAGE);
+                pages++;
+            } catch (RuntimeException e) {
+                logger.debug("Failed to prime reviews of movie {}: {}", movieId, e.getMessage());
+            }
+        }
+        return pages;
+    }
+
+    /**
+     * Call the hot read endpoints round robin from several threads until the deadline or the
+     * request limit
+     * @return Number of requests made
+     */
+    int exerciseEndpoints(String baseUrl, List<Long> movieIds, Instant deadline) {
+        RestClient client = RestClient.builder()
+                .baseUrl(baseUrl)
+                .requestFactory(new SimpleClientHttpRequestFactory())
+                .build();
+        List<String> paths = new ArrayList<>();
+        for (Long movieId : movieIds) {
+            paths.add("/api/v1/reviews/movie/" + movieId);
+            paths.add("/api/v1/reviews/movie/" + movieId + "?preview=true");
+            paths.add("/api/v1/reviews/movie/" + movieId + "/rating");
+        }
+
+        AtomicInteger issued = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "review-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<CompletableFuture<Void>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(CompletableFuture.runAsync(() -> {
+                    while (!pastDeadline(deadline)) {
+                        int request = issued.getAndIncrement();
+                        if (request >= maxRequests) {
+                            break;
+                        }
+                        try {
+                            client.get().uri(paths.get(request % paths.size())).retrieve().toBodilessEntity();
+                        } catch (RuntimeException e) {
+                            logger.debug("Warm-up request failed: {}", e.getMessage());
+                        }
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdownNow();
+        }
+        return Math.min(issued.get(), maxRequests);
+    }
+
+    private boolean pastDeadline(Instant deadline) {
+        return !Instant.now(clock).isBefore(deadline);
+    }
+}
@@ -0,0 +1,66 @@
+package com.bookmyseat.reviewservice.stream;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Subscribers to one movie's rating stream, plus the state that limits the movie to one
+ * published update per interval however many reviews arrive.
+ */
+public class MovieRatingChannel {
+
+    private final Long movieId;
+    private final Set<RatingSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean publishScheduled = new AtomicBoolean();
+    private volatile long lastPublishedNanos;
+    private volatile boolean published;
+
+    public MovieRatingChannel(Long movieId) {
+        this.movieId = movieId;
+    }
+
+    public Long getMovieId() {
+        return movieId;
+    }
+
+    public void add(RatingSubscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void remove(RatingSubscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    public boolean isEmpty() {
+        return subscribers.isEmpty();
+    }
+
+    public Set<RatingSubscriber> getSubscribers() {
+        return subscribers;
+    }
+
+    /**
+     * Claim the next publish for this movie; false if one is already scheduled, in which
+     * case it will include the caller's change
+     */
+    public boolean trySchedulePublish() {
+        return publishScheduled.compareAndSet(false, true);
+    }
+
+    /**
+     * Nanoseconds to wait before publishing so updates are at least the interval apart
+     */
+    public long delayBeforePublish(long nowNanos, long intervalNanos) {
+        return published ? Math.max(0, lastPublishedNanos + intervalNanos - nowNanos) : 0;
+    }
+
+    /**
+     * Start a publish: changes arriving from now on schedule the next one
+     */
+    public void beginPublish(long nowNanos) {
+        lastPublishedNanos = nowNanos;
+        published = true;
+        publishScheduled.set(false);
+    }
+}
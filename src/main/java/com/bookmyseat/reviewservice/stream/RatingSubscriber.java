@@ -0,0 +1,133 @@
+package com.bookmyseat.reviewservice.stream;
+
+import com.bookmyseat.reviewservice.dto.RatingSummaryDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One open rating stream. Its buffer holds a single update: an update offered while the
+ * previous one is still unsent replaces it, so a slow connection receives the latest
+ * aggregate rather than a growing backlog.
+ * <p>
+ * The thread blocked in a send is recorded, so a send that stalls on a client which stopped
+ * reading can be aborted by interrupting it.
+ */
+public class RatingSubscriber {
+
+    static final String EVENT_NAME = "rating";
+
+    private final SseEmitter emitter;
+    private final AtomicReference<RatingSummaryDTO> pending = new AtomicReference<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    // Guarded by this
+    private Thread sender;
+    private long sendStartedNanos;
+    private volatile boolean aborted;
+
+    public RatingSubscriber(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    /**
+     * Buffer an update for sending
+     * @return true if an unsent update was dropped in its favour
+     */
+    public boolean offer(RatingSummaryDTO summary) {
+        return pending.getAndSet(summary) != null;
+    }
+
+    /**
+     * Claim the right to send the buffered updates; only one sender runs per subscriber
+     */
+    public boolean startDraining() {
+        return !closed.get() && !aborted && draining.compareAndSet(false, true);
+    }
+
+    /**
+     * Send buffered updates until the buffer is empty. Called by the thread that won
+     * {@link #startDraining()}.
+     * @return number of updates sent
+     * @throws IOException if the connection is gone or the send was aborted
+     */
+    public int drain() throws IOException {
+        int sent = 0;
+        do {
+            try {
+                RatingSummaryDTO next;
+                while (!closed.get() && (next = pending.getAndSet(null)) != null) {
+                    send(next);
+                    sent++;
+                }
+            } finally {
+                draining.set(false);
+            }
+            // An update offered after the last check but before the release is picked up here
+        } while (!closed.get() && pending.get() != null && draining.compareAndSet(false, true));
+        return sent;
+    }
+
+    /**
+     * Interrupt a send that has been blocked for at least the timeout. No further sends start
+     * once a send was aborted, and the blocked one fails when it returns.
+     * @return true if a stalled send was aborted by this call
+     */
+    public synchronized boolean abortStalledSend(long nowNanos, long timeoutNanos) {
+        if (sender == null || aborted || nowNanos - sendStartedNanos < timeoutNanos) {
+            return false;
+        }
+        aborted = true;
+        sender.interrupt();
+        return true;
+    }
+
+    public boolean isSendAborted() {
+        return aborted;
+    }
+
+    /**
+     * Stop sending and discard the buffered update
+     * @return true if this call closed the subscriber, false if it was already closed
+     */
+    public boolean close() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        pending.set(null);
+        return true;
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    private void send(RatingSummaryDTO summary) throws IOException {
+        synchronized (this) {
+            sender = Thread.currentThread();
+            sendStartedNanos = System.nanoTime();
+        }
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(summary));
+        } finally {
+            synchronized (this) {
+                sender = null;
+                if (aborted) {
+                    // Clear an interrupt the send did not consume, so it cannot hit the thread's next task
+                    Thread.interrupted();
+                }
+            }
+        }
+        if (aborted) {
+            throw new InterruptedIOException("Send aborted after blocking for too long");
+        }
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+}
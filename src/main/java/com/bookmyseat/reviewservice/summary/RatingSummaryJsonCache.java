@@ -0,0 +1,191 @@
+package com.bookmyseat.reviewservice.summary;
+
+import com.bookmyseat.reviewservice.dto.RatingSummaryDTO;
+import com.bookmyseat.reviewservice.event.MovieRatingChangedEvent;
+import com.bookmyseat.reviewservice.service.MovieRatingService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-movie cache of rating summaries already encoded as UTF-8 JSON.
+ * <p>
+ * A hit is one map lookup and hands back the stored bytes, so the endpoint can write them
+ * straight to the response without building the distribution map, the DTO or running Jackson.
+ * Entries are dropped on every {@link MovieRatingChangedEvent}: once while the writing
+ * transaction is still open and again after it commits, so a summary rebuilt from the old row
+ * in between is not kept. Dropping an entry leaves a marker with the movie's next version, and
+ * a build is only stored if the movie's version is still the one it started from, so a build
+ * that raced with a change is refused without holding back builds of other movies. Entries and
+ * markers also expire after a maximum age, which bounds how stale the movie title gets and how
+ * long another instance's rating change takes to show up here.
+ */
+@Component
+public class RatingSummaryJsonCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingSummaryJsonCache.class);
+
+    private final MovieRatingService movieRatingService;
+    private final ObjectMapper objectMapper;
+    private final long maxAgeMillis;
+    private final int capacity;
+    private final Clock clock;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public RatingSummaryJsonCache(MovieRatingService movieRatingService,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${review.rating-summary-cache.max-age-ms:10000}") long maxAgeMillis,
+                                  @Value("${review.rating-summary-cache.capacity:10000}") int capacity) {
+        this(movieRatingService, objectMapper, meterRegistry, maxAgeMillis, capacity, Clock.systemUTC());
+    }
+
+    RatingSummaryJsonCache(MovieRatingService movieRatingService,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           long maxAgeMillis,
+                           int capacity,
+                           Clock clock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.movieRatingService = movieRatingService;
+        this.objectMapper = objectMapper;
+        this.maxAgeMillis = maxAgeMillis;
+        this.capacity = capacity;
+        this.clock = clock;
+
+        this.hits = Counter.builder("review_rating_summary_cache")
+                .description("Rating summary requests answered from or missing the encoded JSON cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("review_rating_summary_cache")
+                .description("Rating summary requests answered from or missing the encoded JSON cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("review_rating_summary_cache_size", this, RatingSummaryJsonCache::size)
+                .description("Movies with an encoded rating summary in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rating summary of a movie as UTF-8 JSON, built and stored on a miss.
+     * The returned array is shared and must not be modified.
+     */
+    public byte[] getJson(Long movieId) {
+        long now = clock.millis();
+        Entry entry = entries.get(movieId);
+        if (entry != null && entry.json != null && entry.expiresAt > now) {
+            hits.increment();
+            return entry.json;
+        }
+
+        misses.increment();
+        long version = version(entry);
+        byte[] json = encode(movieRatingService.getMovieRatingSummary(movieId));
+        store(movieId, new Entry(json, now + maxAgeMillis, version));
+        return json;
+    }
+
+    /**
+     * Drop the movie's entry as soon as its row changes, before the writing transaction commits
+     */
+    @EventListener
+    public void onRatingChanged(MovieRatingChangedEvent event) {
+        evict(event.getMovieId());
+    }
+
+    /**
+     * Drop the movie's entry again once the change is visible to the builds that follow
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRatingCommitted(MovieRatingChangedEvent event) {
+        evict(event.getMovieId());
+    }
+
+    public void evict(Long movieId) {
+        long expiresAt = clock.millis() + maxAgeMillis;
+        // Under the bin lock that store's compute also takes, so a racing build sees the new version
+        entries.compute(movieId, (id, current) -> new Entry(null, expiresAt, version(current) + 1));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Number of movies with an encoded summary
+     */
+    public int size() {
+        int size = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.json != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private void store(Long movieId, Entry entry) {
+        if (entries.size() >= capacity && !entries.containsKey(movieId)) {
+            makeRoom(entry.expiresAt - maxAgeMillis);
+        }
+        entries.compute(movieId, (id, current) -> version(current) == entry.version ? entry : current);
+    }
+
+    private static long version(Entry entry) {
+        return entry != null ? entry.version : 0L;
+    }
+
+    // Drop expired entries, or an arbitrary one when none has expired yet
+    private void makeRoom(long now) {
+        entries.values().removeIf(existing -> existing.expiresAt <= now);
+        Iterator<Long> ids = entries.keySet().iterator();
+        while (entries.size() >= capacity && ids.hasNext()) {
+            ids.next();
+            ids.remove();
+        }
+    }
+
+    private byte[] encode(RatingSummaryDTO summary) {
+        try {
+            return objectMapper.writeValueAsBytes(summary);
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to encode rating summary for movie {}: {}", summary.getMovieId(), e.getMessage());
+            throw new IllegalStateException("Failed to encode rating summary for movie " + summary.getMovieId(), e);
+        }
+    }
+
+    /**
+     * An encoded summary, or a marker left by an eviction when {@code json} is null
+     */
+    private static final class Entry {
+        private final byte[] json;
+        private final long expiresAt;
+        private final long version;
+
+        private Entry(byte[] json, long expiresAt, long version) {
+            this.json = json;
+            this.expiresAt = expiresAt;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.bookmyseat.reviewservice.tracing;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+import java.util.List;
+
+/**
+ * Head sampler that keeps a baseline share of traces and records, without sampling, all others.
+ * <p>
+ * Sampled traces follow the trace id ratio, or the caller's decision when the trace started
+ * upstream. Every other span is still recorded so {@link TailSamplingSpanProcessor} can keep its
+ * trace once it turns out to have failed, been slow or tripped the circuit breaker; spans that
+ * are never kept are dropped without reaching the exporter.
+ */
+public class AdaptiveSampler implements Sampler {
+
+    private final double baselineProbability;
+    private final Sampler baseline;
+
+    public AdaptiveSampler(double baselineProbability) {
+        this.baselineProbability = baselineProbability;
+        this.baseline = Sampler.traceIdRatioBased(baselineProbability);
+    }
+
+    @Override
+    public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                                       Attributes attributes, List<LinkData> parentLinks) {
+        SpanContext parent = Span.fromContext(parentContext).getSpanContext();
+        if (parent.isValid()) {
+            return parent.isSampled() ? SamplingResult.recordAndSample() : SamplingResult.recordOnly();
+        }
+        SamplingResult result = baseline.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+        return result.getDecision() == SamplingDecision.RECORD_AND_SAMPLE ? result : SamplingResult.recordOnly();
+    }
+
+    @Override
+    public String getDescription() {
+        return "AdaptiveSampler{baseline=" + baselineProbability + "}";
+    }
+
+    @Override
+    public String toString() {
+        return getDescription();
+    }
+}
@@ -0,0 +1,41 @@
+package com.bookmyseat.reviewservice.tracing;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.circuitbreaker.event.CircuitBreakerOnStateTransitionEvent;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tags the span in which the Movie Service circuit breaker changes state, so the tail sampler
+ * always keeps the trace of the call that opened or closed it.
+ */
+@Component
+public class CircuitBreakerTraceMarker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreakerTraceMarker.class);
+
+    // Circuit breaker instance used by MovieServiceClient
+    static final String MOVIE_SERVICE_CIRCUIT_BREAKER = "movieService";
+
+    private final Tracer tracer;
+
+    public CircuitBreakerTraceMarker(CircuitBreakerRegistry circuitBreakerRegistry, Tracer tracer) {
+        this.tracer = tracer;
+        circuitBreakerRegistry.circuitBreaker(MOVIE_SERVICE_CIRCUIT_BREAKER)
+                .getEventPublisher()
+                .onStateTransition(this::onStateTransition);
+    }
+
+    void onStateTransition(CircuitBreakerOnStateTransitionEvent event) {
+        String transition = event.getStateTransition().name();
+        Span span = tracer.currentSpan();
+        if (span != null) {
+            span.tag(TailSamplingSpanProcessor.CIRCUIT_BREAKER_TRANSITION.getKey(), transition);
+        }
+        logger.info("Circuit breaker {} transitioned {} (trace {})", event.getCircuitBreakerName(), transition,
+                   span != null ? span.context().traceId() : "none");
+    }
+}
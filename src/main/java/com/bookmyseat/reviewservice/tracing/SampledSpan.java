@@ -0,0 +1,90 @@
+package com.bookmyseat.reviewservice.tracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.data.DelegatingSpanData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+/**
+ * A recorded but unsampled span presented as sampled, so a trace kept after the fact passes
+ * the exporter's sampled check
+ */
+class SampledSpan implements ReadableSpan {
+
+    private final ReadableSpan delegate;
+    private final SpanContext spanContext;
+
+    SampledSpan(ReadableSpan delegate) {
+        this.delegate = delegate;
+        SpanContext original = delegate.getSpanContext();
+        this.spanContext = SpanContext.create(original.getTraceId(), original.getSpanId(),
+                TraceFlags.getSampled(), original.getTraceState());
+    }
+
+    @Override
+    public SpanContext getSpanContext() {
+        return spanContext;
+    }
+
+    @Override
+    public SpanContext getParentSpanContext() {
+        return delegate.getParentSpanContext();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public SpanData toSpanData() {
+        return new DelegatingSpanData(delegate.toSpanData()) {
+            @Override
+            public SpanContext getSpanContext() {
+                return spanContext;
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public InstrumentationLibraryInfo getInstrumentationLibraryInfo() {
+        return delegate.getInstrumentationLibraryInfo();
+    }
+
+    @Override
+    public InstrumentationScopeInfo getInstrumentationScopeInfo() {
+        return delegate.getInstrumentationScopeInfo();
+    }
+
+    @Override
+    public boolean hasEnded() {
+        return delegate.hasEnded();
+    }
+
+    @Override
+    public long getLatencyNanos() {
+        return delegate.getLatencyNanos();
+    }
+
+    @Override
+    public SpanKind getKind() {
+        return delegate.getKind();
+    }
+
+    @Override
+    public <T> T getAttribute(AttributeKey<T> key) {
+        return delegate.getAttribute(key);
+    }
+
+    @Override
+    public Attributes getAttributes() {
+        return delegate.getAttributes();
+    }
+}
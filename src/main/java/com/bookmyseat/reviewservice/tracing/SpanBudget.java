@@ -0,0 +1,55 @@
+package com.bookmyseat.reviewservice.tracing;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Number of spans that may be exported per second. Baseline traces may use only half of it,
+ * leaving room for the failed, slow and circuit-breaker traces that matter most under load.
+ */
+public class SpanBudget {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int spansPerSecond;
+    private final LongSupplier nanoClock;
+    private long windowStart;
+    private int used;
+
+    public SpanBudget(int spansPerSecond) {
+        this(spansPerSecond, System::nanoTime);
+    }
+
+    SpanBudget(int spansPerSecond, LongSupplier nanoClock) {
+        if (spansPerSecond < 1) {
+            throw new IllegalArgumentException("Spans per second must be positive: " + spansPerSecond);
+        }
+        this.spansPerSecond = spansPerSecond;
+        this.nanoClock = nanoClock;
+        this.windowStart = nanoClock.getAsLong();
+    }
+
+    /**
+     * Claim room for a trace's spans in the current second
+     * @param spans Number of spans in the trace
+     * @param priority Whether the trace may use the whole budget rather than the baseline half
+     * @return true if the spans may be exported
+     */
+    public synchronized boolean tryAcquire(int spans, boolean priority) {
+        long now = nanoClock.getAsLong();
+        if (now - windowStart >= WINDOW_NANOS) {
+            windowStart = now;
+            used = 0;
+        }
+        int limit = priority ? spansPerSecond : spansPerSecond / 2;
+        if (used + spans > limit) {
+            return false;
+        }
+        used += spans;
+        return true;
+    }
+
+    public int getSpansPerSecond() {
+        return spansPerSecond;
+    }
+}
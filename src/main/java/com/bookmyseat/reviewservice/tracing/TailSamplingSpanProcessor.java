@@ -0,0 +1,220 @@
+package com.bookmyseat.reviewservice.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides which traces reach the exporter once their local root span has ended.
+ * <p>
+ * Spans are held per trace until the root ends. The trace is then exported if the head sampler
+ * sampled it, if any span failed, if a span recorded a circuit breaker state transition, or if
+ * the root took longer than the slow threshold, and only while the {@link SpanBudget} for the
+ * current second has room. Everything else is dropped, so export cost stays bounded however
+ * many requests arrive. Traces whose root never ends are evicted after the maximum age.
+ */
+public class TailSamplingSpanProcessor implements SpanProcessor {
+
+    /** Span attribute recording a circuit breaker state transition during the span */
+    public static final AttributeKey<String> CIRCUIT_BREAKER_TRANSITION = AttributeKey.stringKey("circuit_breaker.transition");
+
+    private static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+    private static final String SERVER_ERROR = "SERVER_ERROR";
+    static final int MAX_SPANS_PER_TRACE = 512;
+
+    /**
+     * Why a trace was kept, most important first
+     */
+    enum Reason {
+        CIRCUIT_BREAKER("circuit_breaker"),
+        ERROR("error"),
+        SLOW("slow"),
+        BASELINE("baseline");
+
+        private final String tag;
+
+        Reason(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final SpanProcessor exporter;
+    private final SpanBudget budget;
+    private final long slowThresholdNanos;
+    private final int maxPendingTraces;
+    private final long maxTraceAgeNanos;
+    private final Map<String, PendingTrace> pending = new ConcurrentHashMap<>();
+    private final Map<Reason, Counter> exported = new EnumMap<>(Reason.class);
+    private final Counter droppedOverBudget;
+    private final Counter droppedOverflow;
+
+    /**
+     * @param exporter Processor that exports sampled spans, normally Spring Boot's batch processor
+     */
+    public TailSamplingSpanProcessor(SpanProcessor exporter, SpanBudget budget, long slowThresholdMs,
+                                     int maxPendingTraces, long maxTraceAgeMs, MeterRegistry meterRegistry) {
+        this.exporter = exporter;
+        this.budget = budget;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.maxPendingTraces = maxPendingTraces;
+        this.maxTraceAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxTraceAgeMs);
+
+        for (Reason reason : Reason.values()) {
+            exported.put(reason, Counter.builder("review_traces_exported")
+                    .description("Traces handed to the span exporter, by why they were kept")
+                    .tag("reason", reason.tag)
+                    .register(meterRegistry));
+        }
+        this.droppedOverBudget = Counter.builder("review_traces_dropped")
+                .description("Traces worth keeping that were dropped to bound tracing overhead")
+                .tag("reason", "budget")
+                .register(meterRegistry);
+        this.droppedOverflow = Counter.builder("review_traces_dropped")
+                .description("Traces worth keeping that were dropped to bound tracing overhead")
+                .tag("reason", "overflow")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        String traceId = span.getSpanContext().getTraceId();
+        SpanContext parent = span.getParentSpanContext();
+        if (parent.isValid() && !parent.isRemote()) {
+            PendingTrace trace = pending.get(traceId);
+            if (trace == null && (trace = startTrace(traceId)) == null) {
+                droppedOverflow.increment();
+                return;
+            }
+            trace.add(span, classify(span));
+            return;
+        }
+
+        // Local root: the whole trace on this instance has ended
+        PendingTrace trace = pending.remove(traceId);
+        if (trace == null) {
+            trace = new PendingTrace(System.nanoTime());
+        }
+        trace.add(span, classify(span));
+        if (span.getLatencyNanos() >= slowThresholdNanos) {
+            trace.keep(Reason.SLOW);
+        }
+        if (span.getSpanContext().isSampled()) {
+            trace.keep(Reason.BASELINE);
+        }
+        export(trace);
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+        return exporter.forceFlush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        pending.clear();
+        return exporter.shutdown();
+    }
+
+    int getPendingTraceCount() {
+        return pending.size();
+    }
+
+    private PendingTrace startTrace(String traceId) {
+        if (pending.size() >= maxPendingTraces) {
+            long cutoff = System.nanoTime() - maxTraceAgeNanos;
+            pending.values().removeIf(trace -> trace.startedNanos < cutoff);
+            if (pending.size() >= maxPendingTraces) {
+                return null;
+            }
+        }
+        return pending.computeIfAbsent(traceId, id -> new PendingTrace(System.nanoTime()));
+    }
+
+    private void export(PendingTrace trace) {
+        Reason reason = trace.reason;
+        if (reason == null) {
+            return;
+        }
+        List<ReadableSpan> spans = trace.spans();
+        if (!budget.tryAcquire(spans.size(), reason != Reason.BASELINE)) {
+            droppedOverBudget.increment();
+            return;
+        }
+        for (ReadableSpan span : spans) {
+            exporter.onEnd(span.getSpanContext().isSampled() ? span : new SampledSpan(span));
+        }
+        exported.get(reason).increment();
+    }
+
+    private static Reason classify(ReadableSpan span) {
+        if (span.getAttribute(CIRCUIT_BREAKER_TRANSITION) != null) {
+            return Reason.CIRCUIT_BREAKER;
+        }
+        if (SERVER_ERROR.equals(span.getAttribute(OUTCOME))
+                || span.toSpanData().getStatus().getStatusCode() == StatusCode.ERROR) {
+            return Reason.ERROR;
+        }
+        return null;
+    }
+
+    /**
+     * Ended spans of one trace awaiting its local root
+     */
+    private static final class PendingTrace {
+
+        private final long startedNanos;
+        private final List<ReadableSpan> spans = new ArrayList<>();
+        private volatile Reason reason;
+
+        private PendingTrace(long startedNanos) {
+            this.startedNanos = startedNanos;
+        }
+
+        synchronized void add(ReadableSpan span, Reason spanReason) {
+            if (spans.size() < MAX_SPANS_PER_TRACE) {
+                spans.add(span);
+            }
+            if (spanReason != null) {
+                keep(spanReason);
+            }
+        }
+
+        synchronized void keep(Reason candidate) {
+            if (reason == null || candidate.ordinal() < reason.ordinal()) {
+                reason = candidate;
+            }
+        }
+
+        synchronized List<ReadableSpan> spans() {
+            return new ArrayList<>(spans);
+        }
+    }
+}
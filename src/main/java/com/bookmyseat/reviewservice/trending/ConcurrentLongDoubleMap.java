@@ -0,0 +1,274 @@
+package com.bookmyseat.reviewservice.trending;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Fixed-capacity hash map from {@code long} keys to {@code double} values with lock-free reads
+ * and updates.
+ * <p>
+ * Open addressing with linear probing over parallel atomic arrays, sized to at least twice the
+ * capacity so probe chains stay short: a value is updated by compare-and-set on its raw bits, so
+ * no key or value is ever boxed. Adding and removing keys is rare and serialised on the map. A
+ * removed key leaves a tombstone that the next new key probing through it reuses. Each slot also
+ * carries a changed flag so callers can persist only the entries updated since the last
+ * {@link #drainChanged}.
+ * <p>
+ * Slots that hold no value carry a NaN bit pattern instead: one for removed entries and one per
+ * added key until its first update, so an update racing with a removal can never land on a key
+ * that reused the slot.
+ */
+public class ConcurrentLongDoubleMap {
+
+    private static final long EMPTY = 0L;
+    private static final long TOMBSTONE = Long.MIN_VALUE;
+
+    private static final long REMOVED = 0x7FF8_0000_0000_0000L;
+    private static final long NAN_PAYLOAD = 0x0007_FFFF_FFFF_FFFFL;
+
+    private final AtomicLongArray keys;
+    private final AtomicLongArray values;
+    private final AtomicIntegerArray changed;
+    private final double absentValue;
+    private final int capacity;
+    private final int mask;
+
+    // Guarded by this
+    private long claims;
+    private volatile int size;
+
+    /**
+     * @param capacity maximum number of keys
+     * @param absentValue value reported for keys not in the map
+     */
+    public ConcurrentLongDoubleMap(int capacity, double absentValue) {
+        int slots = Integer.highestOneBit(Math.max(1, capacity - 1)) << 2;
+        this.keys = new AtomicLongArray(slots);
+        this.values = new AtomicLongArray(slots);
+        this.changed = new AtomicIntegerArray(slots);
+        this.absentValue = absentValue;
+        this.capacity = capacity;
+        this.mask = slots - 1;
+
+        for (int i = 0; i < slots; i++) {
+            values.set(i, REMOVED);
+        }
+    }
+
+    /**
+     * Current value of a key, or the absent value
+     */
+    public double get(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return absentValue;
+        }
+        long bits = values.get(slot);
+        return isValue(bits) && keys.get(slot) == key ? Double.longBitsToDouble(bits) : absentValue;
+    }
+
+    /**
+     * Atomically replace the value of a key with {@code update} applied to it, adding the key
+     * if needed. {@code update} may run more than once under contention, must be side-effect
+     * free and must not return NaN.
+     * @return the value the update was applied to (the absent value for a new key)
+     * @throws IllegalStateException if the key is new and the map is full
+     */
+    public double getAndUpdate(long key, DoubleUnaryOperator update) {
+        while (true) {
+            int slot = find(key);
+            if (slot < 0) {
+                slot = insert(key);
+            }
+
+            long currentBits = values.get(slot);
+            if (currentBits == REMOVED || keys.get(slot) != key) {
+                // Removed since it was found; add it again
+                continue;
+            }
+            double current = isValue(currentBits) ? Double.longBitsToDouble(currentBits) : absentValue;
+            double updated = update.applyAsDouble(current);
+            if (Double.isNaN(updated)) {
+                throw new IllegalArgumentException("Update of key " + key + " returned NaN");
+            }
+            if (values.compareAndSet(slot, currentBits, Double.doubleToRawLongBits(updated))) {
+                changed.set(slot, 1);
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Remove every entry matching the condition. An entry updated while it is being removed is
+     * kept.
+     * @param removed receives each removed entry
+     * @return number of entries removed
+     */
+    public int removeIf(EntryPredicate condition, EntryConsumer removed) {
+        int count = 0;
+        for (int slot = 0; slot <= mask; slot++) {
+            long key = keys.get(slot);
+            long bits = values.get(slot);
+            if (isKey(key) && isValue(bits) && condition.test(key, Double.longBitsToDouble(bits))
+                    && remove(slot, key, bits)) {
+                removed.accept(key, Double.longBitsToDouble(bits));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Visit every entry
+     */
+    public void forEach(EntryConsumer consumer) {
+        for (int slot = 0; slot <= mask; slot++) {
+            long key = keys.get(slot);
+            long bits = values.get(slot);
+            if (isKey(key) && isValue(bits)) {
+                consumer.accept(key, Double.longBitsToDouble(bits));
+            }
+        }
+    }
+
+    /**
+     * Visit every entry updated since the previous call and clear its changed flag.
+     * An update racing with the drain is reported now or by the next drain.
+     * @return number of entries visited
+     */
+    public int drainChanged(EntryConsumer consumer) {
+        int drained = 0;
+        for (int slot = 0; slot <= mask; slot++) {
+            if (changed.get(slot) == 1 && changed.getAndSet(slot, 0) == 1) {
+                long key = keys.get(slot);
+                long bits = values.get(slot);
+                if (isKey(key) && isValue(bits)) {
+                    consumer.accept(key, Double.longBitsToDouble(bits));
+                    drained++;
+                }
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Flag an existing key as changed again, e.g. after persisting a drained entry failed
+     */
+    public void markChanged(long key) {
+        int slot = find(key);
+        if (slot >= 0) {
+            changed.set(slot, 1);
+        }
+    }
+
+    /**
+     * Number of keys in the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Maximum number of keys
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    int slots() {
+        return mask + 1;
+    }
+
+    private int find(long key) {
+        if (!isKey(key)) {
+            throw new IllegalArgumentException("Key must not be " + key);
+        }
+
+        int slot = spread(key) & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            long current = keys.get(slot);
+            if (current == key) {
+                return slot;
+            }
+            if (current == EMPTY) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private synchronized int insert(long key) {
+        // Another thread may have added the key since it was looked up
+        int free = -1;
+        int slot = spread(key) & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            long current = keys.get(slot);
+            if (current == key) {
+                return slot;
+            }
+            if (current == TOMBSTONE && free < 0) {
+                free = slot;
+            }
+            if (current == EMPTY) {
+                if (free < 0) {
+                    free = slot;
+                }
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (free < 0 || size >= capacity) {
+            throw new IllegalStateException("Map is full, cannot add key " + key);
+        }
+
+        // A fresh marker unique to this claim, set before the key so no update of the slot's
+        // previous key can match it
+        claims = claims % NAN_PAYLOAD + 1;
+        values.set(free, REMOVED + claims);
+        changed.set(free, 0);
+        keys.set(free, key);
+        size++;
+        return free;
+    }
+
+    private synchronized boolean remove(int slot, long key, long bits) {
+        if (keys.get(slot) != key || !values.compareAndSet(slot, bits, REMOVED)) {
+            return false;
+        }
+        keys.set(slot, TOMBSTONE);
+        changed.set(slot, 0);
+        size--;
+        return true;
+    }
+
+    private static boolean isKey(long key) {
+        return key != EMPTY && key != TOMBSTONE;
+    }
+
+    private static boolean isValue(long bits) {
+        return !Double.isNaN(Double.longBitsToDouble(bits));
+    }
+
+    private static int spread(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Receives map entries without boxing
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, double value);
+    }
+
+    /**
+     * Tests map entries without boxing
+     */
+    @FunctionalInterface
+    public interface EntryPredicate {
+        boolean test(long key, double value);
+    }
+}
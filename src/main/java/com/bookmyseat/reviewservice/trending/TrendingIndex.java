@@ -0,0 +1,204 @@
+package com.bookmyseat.reviewservice.trending;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.LongConsumer;
+
+/**
+ * Exponentially decayed review counts per movie, ranked for top-K lookups.
+ * <p>
+ * Uses forward decay: a review at time {@code t} adds {@code e^(λt)} to its movie's total, and
+ * the decayed score at time {@code now} is the total times {@code e^(-λ·now)}. The factor is the
+ * same for every movie, so decay never changes the ranking and only the movie that received a
+ * review has to be re-ranked. Totals are kept as natural logarithms, which grow linearly with
+ * time instead of exponentially and so never overflow.
+ * <p>
+ * Log totals live in a {@link ConcurrentLongDoubleMap}. The ranking is a skip list ordered by
+ * log total, so reading the top K movies costs O(log N + K) regardless of review volume. Movies
+ * whose score has decayed to almost nothing are {@link #prune pruned} to make room for new ones.
+ */
+public class TrendingIndex {
+
+    private static final Comparator<RankedMovie> BY_RANK = Comparator
+            .comparingDouble(RankedMovie::logTotal).reversed()
+            .thenComparingLong(RankedMovie::movieId);
+
+    private final double decayPerSecond;
+    private final ConcurrentLongDoubleMap logTotals;
+    private final ConcurrentSkipListSet<RankedMovie> ranking = new ConcurrentSkipListSet<>(BY_RANK);
+
+    /**
+     * @param halfLifeSeconds time for a review's contribution to halve
+     * @param capacity maximum number of movies tracked
+     */
+    public TrendingIndex(double halfLifeSeconds, int capacity) {
+        if (halfLifeSeconds <= 0) {
+            throw new IllegalArgumentException("Half-life must be positive");
+        }
+        this.decayPerSecond = Math.log(2) / halfLifeSeconds;
+        this.logTotals = new ConcurrentLongDoubleMap(capacity, Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * Count one review of a movie at the given time
+     */
+    public void record(long movieId, Instant at) {
+        add(movieId, decayPerSecond * seconds(at));
+    }
+
+    /**
+     * Add a score measured at the given time, e.g. one restored from a snapshot
+     */
+    public void restore(long movieId, double score, Instant scoredAt) {
+        if (score > 0) {
+            add(movieId, Math.log(score) + decayPerSecond * seconds(scoredAt));
+        }
+    }
+
+    /**
+     * Decayed score of a movie at the given time; 0 if it has no reviews
+     */
+    public double score(long movieId, Instant now) {
+        return decayedScore(logTotals.get(movieId), now);
+    }
+
+    /**
+     * Movies with the highest decayed scores, highest first
+     */
+    public List<TrendingScore> top(int limit, Instant now) {
+        List<TrendingScore> top = new ArrayList<>(limit);
+        Set<Long> seen = new HashSet<>();
+
+        Iterator<RankedMovie> iterator = ranking.iterator();
+        while (iterator.hasNext() && top.size() < limit) {
+            RankedMovie ranked = iterator.next();
+            if (!seen.add(ranked.movieId())) {
+                // Left behind by two updates of the same movie racing; the newer entry ranks higher
+                iterator.remove();
+                continue;
+            }
+            top.add(new TrendingScore(ranked.movieId(), score(ranked.movieId(), now)));
+        }
+        return top;
+    }
+
+    /**
+     * Visit the score of every movie updated since the previous call
+     * @return number of movies visited
+     */
+    public int drainChanged(Instant now, ScoreConsumer consumer) {
+        return logTotals.drainChanged((movieId, logTotal) -> consumer.accept(movieId, decayedScore(logTotal, now)));
+    }
+
+    /**
+     * Report a movie again on the next {@link #drainChanged}
+     */
+    public void markChanged(long movieId) {
+        logTotals.markChanged(movieId);
+    }
+
+    /**
+     * Stop tracking movies whose decayed score has fallen to {@code minScore} or below
+     * @param pruned receives the id of each movie removed
+     * @return number of movies removed
+     */
+    public int prune(double minScore, Instant now, LongConsumer pruned) {
+        double minLogTotal = Math.log(minScore) + decayPerSecond * seconds(now);
+        return logTotals.removeIf((movieId, logTotal) -> logTotal <= minLogTotal, (movieId, logTotal) -> {
+            ranking.remove(new RankedMovie(movieId, logTotal));
+            pruned.accept(movieId);
+        });
+    }
+
+    /**
+     * Number of movies tracked
+     */
+    public int size() {
+        return logTotals.size();
+    }
+
+    private void add(long movieId, double logIncrement) {
+        double previous = logTotals.getAndUpdate(movieId, logTotal -> logAddExp(logTotal, logIncrement));
+        double updated = logAddExp(previous, logIncrement);
+
+        ranking.add(new RankedMovie(movieId, updated));
+        if (previous != Double.NEGATIVE_INFINITY) {
+            ranking.remove(new RankedMovie(movieId, previous));
+        }
+    }
+
+    private double decayedScore(double logTotal, Instant now) {
+        return logTotal == Double.NEGATIVE_INFINITY ? 0.0 : Math.exp(logTotal - decayPerSecond * seconds(now));
+    }
+
+    // ln(e^a + e^b) without overflow
+    static double logAddExp(double a, double b) {
+        if (a == Double.NEGATIVE_INFINITY) {
+            return b;
+        }
+        if (b == Double.NEGATIVE_INFINITY) {
+            return a;
+        }
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(-Math.abs(a - b)));
+    }
+
+    private static double seconds(Instant instant) {
+        return instant.getEpochSecond() + instant.getNano() / 1e9;
+    }
+
+    private static final class RankedMovie {
+
+        private final long movieId;
+        private final double logTotal;
+
+        RankedMovie(long movieId, double logTotal) {
+            this.movieId = movieId;
+            this.logTotal = logTotal;
+        }
+
+        long movieId() {
+            return movieId;
+        }
+
+        double logTotal() {
+            return logTotal;
+        }
+    }
+
+    /**
+     * Decayed score of a movie at a point in time
+     */
+    public static class TrendingScore {
+
+        private final long movieId;
+        private final double score;
+
+        public TrendingScore(long movieId, double score) {
+            this.movieId = movieId;
+            this.score = score;
+        }
+
+        public long getMovieId() {
+            return movieId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * Receives movie scores without boxing
+     */
+    @FunctionalInterface
+    public interface ScoreConsumer {
+        void accept(long movieId, double score);
+    }
+}
@@ -0,0 +1,9 @@
+-- Transactional outbox: review and rating change events written in the same transaction as
+-- the change itself, then published to other services by the relay and deleted in batches.
+CREATE TABLE review_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(40) NOT NULL,
+    movie_id BIGINT NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
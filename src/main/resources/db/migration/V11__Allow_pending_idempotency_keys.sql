@@ -0,0 +1,10 @@
+-- A submission claims its Idempotency-Key with a pending row before the review is saved, and
+-- fills in the response in the same transaction as the review. Concurrent retries with the
+-- same key then fail to insert the key and wait for that response instead of submitting again.
+-- A pending row has no review yet, so the response columns become nullable.
+ALTER TABLE review_idempotency_keys
+    MODIFY review_id BIGINT NULL,
+    MODIFY movie_id BIGINT NULL,
+    MODIFY user_name VARCHAR(100) NULL,
+    MODIFY rating DECIMAL(2,1) NULL,
+    MODIFY review_date TIMESTAMP(6) NULL;
@@ -0,0 +1,8 @@
+-- One row per background job that must run on a single instance at a time. An instance runs
+-- the job only after inserting the row or taking it over once expires_at has passed, so a
+-- crashed holder blocks the job for at most one lease.
+CREATE TABLE job_leases (
+    job_name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(200) NOT NULL,
+    expires_at TIMESTAMP(3) NOT NULL
+);
@@ -0,0 +1,13 @@
+-- Store a short comment preview so review listings never read the TEXT column
+ALTER TABLE reviews
+    ADD COLUMN comment_preview VARCHAR(200) NULL AFTER comment,
+    ADD COLUMN comment_truncated BOOLEAN NOT NULL DEFAULT FALSE AFTER comment_preview;
+
+UPDATE reviews
+SET comment_preview = LEFT(comment, 200),
+    comment_truncated = CHAR_LENGTH(comment) > 200
+WHERE comment IS NOT NULL;
+
+-- Listings filter by movie and sort by review date; serve both from one index
+CREATE INDEX idx_movie_review_date ON reviews (movie_id, review_date);
+DROP INDEX idx_movie_id ON reviews;
@@ -0,0 +1,4 @@
+-- User review history filters by user and seeks on (review_date, id) from the previous page's
+-- last row; one composite index serves the filter, the sort and the cursor predicate
+CREATE INDEX idx_user_review_date ON reviews (user_name, review_date, id);
+DROP INDEX idx_user_name ON reviews;
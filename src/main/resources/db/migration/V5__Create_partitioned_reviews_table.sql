@@ -0,0 +1,23 @@
+-- Shadow table for the online move to a reviews table hash-partitioned by movie_id.
+-- MySQL requires the partitioning column in every unique key, so the primary key becomes
+-- (id, movie_id); id stays AUTO_INCREMENT and unique on its own.
+-- Rows are copied and the tables swapped by ReviewPartitionMigrator, not by Flyway, so the
+-- live table stays writable during the copy.
+CREATE TABLE reviews_partitioned (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    movie_id BIGINT NOT NULL,
+    user_name VARCHAR(100) NOT NULL,
+    rating DECIMAL(2,1) NOT NULL CHECK (rating >= 1.0 AND rating <= 5.0),
+    comment TEXT,
+    comment_preview VARCHAR(200) NULL,
+    comment_truncated BOOLEAN NOT NULL DEFAULT FALSE,
+    review_date TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6),
+    created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6),
+    updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (id, movie_id),
+    INDEX idx_movie_review_date (movie_id, review_date),
+    INDEX idx_user_review_date (user_name, review_date, id),
+    INDEX idx_review_date (review_date),
+    INDEX idx_rating (rating)
+)
+PARTITION BY HASH (movie_id) PARTITIONS 16;
@@ -0,0 +1,18 @@
+-- Daily rating rollup per movie: review count, rating sum and a half-star histogram
+-- (1.0, 1.5, ..., 5.0). Trend queries read one row per movie per day instead of scanning reviews.
+CREATE TABLE movie_rating_daily (
+    movie_id BIGINT NOT NULL,
+    rating_date DATE NOT NULL,
+    review_count INT NOT NULL DEFAULT 0,
+    rating_sum DECIMAL(12,1) NOT NULL DEFAULT 0,
+    rating_10_count INT NOT NULL DEFAULT 0,
+    rating_15_count INT NOT NULL DEFAULT 0,
+    rating_20_count INT NOT NULL DEFAULT 0,
+    rating_25_count INT NOT NULL DEFAULT 0,
+    rating_30_count INT NOT NULL DEFAULT 0,
+    rating_35_count INT NOT NULL DEFAULT 0,
+    rating_40_count INT NOT NULL DEFAULT 0,
+    rating_45_count INT NOT NULL DEFAULT 0,
+    rating_50_count INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (movie_id, rating_date)
+);
@@ -0,0 +1,7 @@
+-- Snapshot of the in-memory trending scores: the exponentially decayed review count of each
+-- movie as of scored_at. Loaded at startup so a restart does not reset the trending rail.
+CREATE TABLE movie_trending_scores (
+    movie_id BIGINT PRIMARY KEY,
+    score DOUBLE NOT NULL,
+    scored_at TIMESTAMP(3) NOT NULL
+);
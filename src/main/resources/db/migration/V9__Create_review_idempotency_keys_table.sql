@@ -0,0 +1,15 @@
+-- Response of each review submission made with an Idempotency-Key header, so a retried
+-- request replays the original ReviewDTO instead of creating a second review. Rows are
+-- only needed for as long as clients retry and are purged in batches by created_at.
+CREATE TABLE review_idempotency_keys (
+    idempotency_key VARCHAR(100) PRIMARY KEY,
+    review_id BIGINT NOT NULL,
+    movie_id BIGINT NOT NULL,
+    movie_title VARCHAR(255),
+    user_name VARCHAR(100) NOT NULL,
+    rating DECIMAL(2,1) NOT NULL,
+    comment TEXT,
+    review_date TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(3) NOT NULL,
+    INDEX idx_idempotency_created_at (created_at)
+);
@@ -0,0 +1,178 @@
+package com.bookmyseat.reviewservice.archive;
+
+import com.bookmyseat.reviewservice.dto.ReviewDTO;
+import com.bookmyseat.reviewservice.entity.Review;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReviewArchiveTest {
+
+    private static final LocalDateTime BASE_DATE = LocalDateTime.of(2021, 1, 1, 12, 0, 0, 123456000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readReviews_PagesAcrossBlocksNewestFirst() {
+        // Given: two batches, the second newer than the first
+        ReviewArchive archive = new ReviewArchive(directory.toString());
+        archive.publish(archive.append(1L, reviewsNewestFirst(1L, 1, 3)));
+        archive.publish(archive.append(1L, reviewsNewestFirst(1L, 4, 6)));
+
+        // When
+        List<ReviewDTO> firstPage = archive.readReviews(1L, 0, 4, false);
+        List<ReviewDTO> secondPage = archive.readReviews(1L, 4, 4, false);
+
+        // Then
+        assertEquals(List.of(6L, 5L, 4L, 3L), ids(firstPage));
+        assertEquals(List.of(2L, 1L), ids(secondPage));
+        assertEquals(BASE_DATE.plusDays(6), firstPage.get(0).getReviewDate());
+        assertEquals("Comment 6", firstPage.get(0).getComment());
+        assertTrue(archive.readReviews(1L, 6, 4, false).isEmpty());
+        assertTrue(archive.readReviews(2L, 0, 4, false).isEmpty());
+    }
+
+    @Test
+    void readReviews_PreviewTruncatesLongComments() {
+        // Given
+        ReviewArchive archive = new ReviewArchive(directory.toString());
+        Review review = review(1L, 1L, "x".repeat(Review.COMMENT_PREVIEW_LENGTH + 50), BigDecimal.valueOf(3.5));
+        archive.publish(archive.append(1L, List.of(review)));
+
+        // When
+        ReviewDTO preview = archive.readReviews(1L, 0, 10, true).get(0);
+        ReviewDTO full = archive.readReviews(1L, 0, 10, false).get(0);
+
+        // Then
+        assertEquals(Review.COMMENT_PREVIEW_LENGTH, preview.getComment().length());
+        assertTrue(preview.getCommentTruncated());
+        assertEquals(Review.COMMENT_PREVIEW_LENGTH + 50, full.getComment().length());
+        assertNull(full.getCommentTruncated());
+    }
+
+    @Test
+    void getRatingStats_SumsPublishedBatchesOnly() {
+        // Given
+        ReviewArchive archive = new ReviewArchive(directory.toString());
+        archive.publish(archive.append(1L, List.of(review(1L, 1L, null, BigDecimal.valueOf(4.5)),
+                review(2L, 1L, "Fine", BigDecimal.valueOf(2.0)))));
+        archive.append(1L, List.of(review(3L, 1L, "Unpublished", BigDecimal.valueOf(5.0))));
+
+        // When
+        ArchivedRatingStats stats = archive.getRatingStats(1L);
+
+        // Then
+        assertEquals(2, stats.getReviewCount());
+        assertEquals(0, new BigDecimal("6.5").compareTo(stats.getRatingSum()));
+        assertEquals(1, stats.getRatingCount(4));
+        assertEquals(1, stats.getRatingCount(2));
+        assertEquals(0, stats.getRatingCount(5));
+        assertNull(archive.readReviews(1L, 0, 1, false).get(0).getComment());
+    }
+
+    @Test
+    void append_RejectedWhileMovieHasUnpublishedBatch() {
+        // Given
+        ReviewArchive archive = new ReviewArchive(directory.toString());
+        ReviewArchive.ArchiveBatch pending = archive.append(1L, reviewsNewestFirst(1L, 1, 2));
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> archive.append(1L, reviewsNewestFirst(1L, 3, 4)));
+        assertEquals(List.of(pending), archive.getPendingBatches());
+
+        archive.publish(pending);
+        archive.publish(archive.append(1L, reviewsNewestFirst(1L, 3, 4)));
+        assertTrue(archive.getPendingBatches().isEmpty());
+        assertEquals(4, archive.getArchivedReviewCount(1L));
+    }
+
+    @Test
+    void readUserNames_IncludesPublishedAndPendingBatches() {
+        // Given
+        ReviewArchive archive = new ReviewArchive(directory.toString());
+        archive.publish(archive.append(1L, reviewsNewestFirst(1L, 1, 2)));
+        archive.append(1L, reviewsNewestFirst(1L, 3, 3));
+
+        // When & Then
+        assertEquals(List.of("User 2", "User 1", "User 3"), archive.readUserNames(1L));
+        assertTrue(archive.readUserNames(2L).isEmpty());
+    }
+
+    @Test
+    void load_RestoresIndexAndIgnoresPartialTail() throws IOException {
+        // Given
+        ReviewArchive writer = new ReviewArchive(directory.toString());
+        writer.publish(writer.append(7L, reviewsNewestFirst(7L, 1, 2)));
+        // The process stops before the second batch is published
+        ReviewArchive.ArchiveBatch latest = writer.append(7L, reviewsNewestFirst(7L, 3, 5));
+        Files.write(directory.resolve("movie-7.idx"), new byte[]{1, 2, 3}, StandardOpenOption.APPEND);
+
+        // When
+        ReviewArchive reader = new ReviewArchive(directory.toString());
+        reader.load();
+
+        // Then
+        assertEquals(List.of(7L), reader.getArchivedMovieIds());
+        assertEquals(5, reader.getArchivedReviewCount(7L));
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), ids(reader.readReviews(7L, 0, 10, false)));
+        assertEquals(latest.getMaxReviewId(), reader.getLatestBatch(7L).getMaxReviewId());
+        assertEquals(List.of(5L, 4L, 3L), reader.readReviewIds(reader.getLatestBatch(7L)));
+
+        // Appending after the torn entry still lines up
+        reader.publish(reader.append(7L, reviewsNewestFirst(7L, 6, 6)));
+        ReviewArchive reloaded = new ReviewArchive(directory.toString());
+        reloaded.load();
+        assertEquals(6, reloaded.getArchivedReviewCount(7L));
+    }
+
+    @Test
+    void load_MissingDirectoryIsEmpty() {
+        ReviewArchive archive = new ReviewArchive(directory.resolve("missing").toString());
+        archive.load();
+
+        assertEquals(0, archive.getArchivedReviewCount(1L));
+        assertSame(ArchivedRatingStats.EMPTY, archive.getRatingStats(1L));
+        assertNull(archive.getLatestBatch(1L));
+    }
+
+    @Test
+    void isOnDurableVolume_RequiresVolumeMarker() throws IOException {
+        ReviewArchive archive = new ReviewArchive(directory.toString());
+        assertFalse(archive.isOnDurableVolume());
+
+        Files.createFile(directory.resolve(ReviewArchive.VOLUME_MARKER));
+
+        assertTrue(archive.isOnDurableVolume());
+        assertFalse(new ReviewArchive("data/review-archive").isOnDurableVolume());
+    }
+
+    private static List<Review> reviewsNewestFirst(Long movieId, int firstId, int lastId) {
+        List<Review> reviews = new ArrayList<>();
+        for (int id = lastId; id >= firstId; id--) {
+            reviews.add(review((long) id, movieId, "Comment " + id, BigDecimal.valueOf(4.0)));
+        }
+        return reviews;
+    }
+
+    private static Review review(Long id, Long movieId, String comment, BigDecimal rating) {
+        Review review = new Review(movieId, "User " + id, rating, comment);
+        review.setId(id);
+        review.setReviewDate(BASE_DATE.plusDays(id));
+        return review;
+    }
+
+    private static List<Long> ids(List<ReviewDTO> reviews) {
+        return reviews.stream().map(ReviewDTO::getId).toList();
+    }
+}
@@ -0,0 +1,204 @@
+package com.bookmyseat.reviewservice.archive;
+
+import com.bookmyseat.reviewservice.entity.Review;
+import com.bookmyseat.reviewservice.event.ReviewsArchivedEvent;
+import com.bookmyseat.reviewservice.repository.ReviewRepository;
+import com.bookmyseat.reviewservice.service.JobLeaseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewArchiverTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-10-01T00:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2023, 10, 2, 0, 0);
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private JobLeaseService jobLeaseService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    Path directory;
+
+    private ReviewArchive reviewArchive;
+    private ReviewArchiver reviewArchiver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.createFile(directory.resolve(ReviewArchive.VOLUME_MARKER));
+        reviewArchive = new ReviewArchive(directory.toString());
+        reviewArchiver = new ReviewArchiver(reviewRepository, reviewArchive, transactionTemplate, jobLeaseService,
+                eventPublisher, CLOCK, 730, 2, Duration.ofHours(6));
+        lenient().when(jobLeaseService.tryAcquire(ReviewArchiver.LEASE, Duration.ofHours(6))).thenReturn(true);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0)
+                        .doInTransaction(new SimpleTransactionStatus()));
+    }
+
+    @Test
+    void archiveOldReviews_MovesBatchesOldestFirst() {
+        // Given
+        when(reviewRepository.findMovieIdsWithReviewsBefore(CUTOFF)).thenReturn(List.of(1L));
+        when(reviewRepository.findArchiveCandidates(1L, CUTOFF, PageRequest.of(0, 2)))
+                .thenReturn(List.of(review(1L), review(2L)))
+                .thenReturn(List.of(review(3L)));
+        when(reviewRepository.deleteArchivedReviews(eq(1L), any())).thenReturn(2, 1);
+
+        // When
+        long archived = reviewArchiver.archiveOldReviews();
+
+        // Then
+        assertEquals(3, archived);
+        verify(reviewRepository).deleteArchivedReviews(1L, List.of(1L, 2L));
+        verify(reviewRepository).deleteArchivedReviews(1L, List.of(3L));
+        ArgumentCaptor<ReviewsArchivedEvent> events = ArgumentCaptor.forClass(ReviewsArchivedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L)),
+                events.getAllValues().stream().map(ReviewsArchivedEvent::getReviewIds).toList());
+        assertEquals(3, reviewArchive.getArchivedReviewCount(1L));
+        assertEquals(List.of(3L, 2L, 1L), reviewArchive.readReviews(1L, 0, 10, false).stream()
+                .map(review -> review.getId()).toList());
+    }
+
+    @Test
+    void archiveOldReviews_FailedDeleteIsRetriedOnNextRun() {
+        // Given
+        when(reviewRepository.findMovieIdsWithReviewsBefore(CUTOFF)).thenReturn(List.of(1L), List.of());
+        when(reviewRepository.findArchiveCandidates(1L, CUTOFF, PageRequest.of(0, 2)))
+                .thenReturn(List.of(review(1L)));
+        when(reviewRepository.deleteArchivedReviews(1L, List.of(1L)))
+                .thenThrow(new IllegalStateException("Lock wait timeout"))
+                .thenReturn(1);
+
+        // When
+        reviewArchiver.archiveOldReviews();
+
+        // Then: the block stays hidden while its review is still in the reviews table
+        assertEquals(0, reviewArchive.getArchivedReviewCount(1L));
+        assertTrue(reviewArchive.readReviews(1L, 0, 10, false).isEmpty());
+        assertEquals(1, reviewArchive.getPendingBatches().size());
+
+        // When
+        reviewArchiver.archiveOldReviews();
+
+        // Then
+        verify(reviewRepository, times(2)).deleteArchivedReviews(1L, List.of(1L));
+        assertEquals(1, reviewArchive.getArchivedReviewCount(1L));
+        assertTrue(reviewArchive.getPendingBatches().isEmpty());
+    }
+
+    @Test
+    void archiveOldReviews_MovieWithUnfinishedBatchIsNotArchivedFurther() {
+        // Given: the delete keeps failing
+        when(reviewRepository.findMovieIdsWithReviewsBefore(CUTOFF)).thenReturn(List.of(1L));
+        when(reviewRepository.findArchiveCandidates(1L, CUTOFF, PageRequest.of(0, 2)))
+                .thenReturn(List.of(review(1L)));
+        when(reviewRepository.deleteArchivedReviews(1L, List.of(1L)))
+                .thenThrow(new IllegalStateException("Lock wait timeout"));
+
+        // When
+        reviewArchiver.archiveOldReviews();
+        long archived = reviewArchiver.archiveOldReviews();
+
+        // Then: no second block is appended behind the unpublished one
+        assertEquals(0, archived);
+        assertEquals(1, reviewArchive.getPendingBatches().size());
+        assertEquals(0, reviewArchive.getArchivedReviewCount(1L));
+    }
+
+    @Test
+    void recoverInterruptedBatches_SkipsCompletedBatches() {
+        // Given
+        reviewArchive.publish(reviewArchive.append(1L, List.of(review(1L))));
+        when(reviewRepository.existsById(1L)).thenReturn(false);
+
+        // When
+        reviewArchiver.recoverInterruptedBatches();
+
+        // Then
+        verify(reviewRepository, never()).deleteArchivedReviews(any(), any());
+    }
+
+    @Test
+    void archiveOldReviews_SkippedWhileAnotherInstanceHoldsLease() {
+        // Given
+        when(jobLeaseService.tryAcquire(ReviewArchiver.LEASE, Duration.ofHours(6))).thenReturn(false);
+
+        // When
+        long archived = reviewArchiver.archiveOldReviews();
+
+        // Then
+        assertEquals(0, archived);
+        verifyNoInteractions(reviewRepository);
+        verify(jobLeaseService, never()).release(any());
+    }
+
+    @Test
+    void archiveOldReviews_ReleasesLeaseAfterRun() {
+        when(reviewRepository.findMovieIdsWithReviewsBefore(CUTOFF)).thenReturn(List.of());
+
+        reviewArchiver.archiveOldReviews();
+
+        verify(jobLeaseService).release(ReviewArchiver.LEASE);
+    }
+
+    @Test
+    void verifyDurableStorage_RejectsDirectoryWithoutVolumeMarker() throws IOException {
+        // Given: a directory that was never provisioned as a volume
+        Files.delete(directory.resolve(ReviewArchive.VOLUME_MARKER));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, reviewArchiver::verifyDurableStorage);
+        assertThrows(IllegalStateException.class, reviewArchiver::archiveOldReviews);
+        verifyNoInteractions(reviewRepository, jobLeaseService);
+    }
+
+    @Test
+    void verifyDurableStorage_RejectsRelativeDirectory() {
+        ReviewArchiver relative = new ReviewArchiver(reviewRepository, new ReviewArchive("data/review-archive"),
+                transactionTemplate, jobLeaseService, eventPublisher, CLOCK, 730, 2, Duration.ofHours(6));
+
+        assertThrows(IllegalStateException.class, relative::verifyDurableStorage);
+    }
+
+    private static Review review(Long id) {
+        Review review = new Review(1L, "User " + id, BigDecimal.valueOf(4.0), "Comment " + id);
+        review.setId(id);
+        review.setReviewDate(LocalDateTime.of(2020, 1, 1, 0, 0).plusDays(id));
+        return review;
+    }
+}
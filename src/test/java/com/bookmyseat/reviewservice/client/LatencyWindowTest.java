@@ -0,0 +1,79 @@
+package com.bookmyseat.reviewservice.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyWindowTest {
+
+    @Test
+    void quantileNanos_UnknownUntilMinimumSamplesRecorded() {
+        LatencyWindow window = new LatencyWindow(100, 0.95, 20);
+
+        for (int i = 1; i < 20; i++) {
+            window.record(i);
+        }
+        assertEquals(-1, window.quantileNanos());
+
+        window.record(20);
+        assertEquals(19, window.quantileNanos());
+    }
+
+    @Test
+    void quantileNanos_ReturnsP95OfRecordedSamples() {
+        LatencyWindow window = new LatencyWindow(100, 0.95, 10);
+
+        // 1..100 shuffled, twice, so the last refresh sees a full window
+        for (int i = 0; i < 200; i++) {
+            window.record((i * 37L) % 100 + 1);
+        }
+
+        assertEquals(95, window.quantileNanos());
+    }
+
+    @Test
+    void quantileNanos_OnlyReflectsTheMostRecentWindow() {
+        LatencyWindow window = new LatencyWindow(16, 0.95, 8);
+        for (int i = 0; i < 16; i++) {
+            window.record(1_000);
+        }
+        assertEquals(1_000, window.quantileNanos());
+
+        // When: latency drops and the old samples are overwritten
+        for (int i = 0; i < 16; i++) {
+            window.record(10);
+        }
+
+        // Then
+        assertEquals(10, window.quantileNanos());
+        assertEquals(32, window.count());
+    }
+
+    @Test
+    void hedgeBudget_AllowsConfiguredShareOfRequestsUpToBurst() {
+        HedgeBudget budget = new HedgeBudget(5, 2);
+        assertFalse(budget.tryAcquire());
+
+        for (int i = 0; i < 20; i++) {
+            budget.onRequest();
+        }
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+
+        // Idle stretches cannot bank more than the burst
+        for (int i = 0; i < 1_000; i++) {
+            budget.onRequest();
+        }
+        assertEquals(2.0, budget.tokens(), 1e-9);
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+    }
+
+    @Test
+    void constructor_RejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new LatencyWindow(4, 0.95, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyWindow(100, 1.0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new HedgeBudget(150, 1));
+    }
+}
@@ -0,0 +1,400 @@
+package com.bookmyseat.reviewservice.client;
+
+import com.bookmyseat.reviewservice.exception.MovieNotFoundException;
+import com.bookmyseat.reviewservice.exception.MovieServiceUnavailableException;
+import com.bookmyseat.reviewservice.metrics.RequestLatencyMetrics;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieServiceHedgerTest {
+
+    private static final long INITIAL_DELAY_MS = 50;
+    // Tests wait for a full window before using the p95, so the hedging delay stays at the initial one
+    private static final int WINDOW_SIZE = 64;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger calls = new AtomicInteger();
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private SimpleMeterRegistry meterRegistry;
+    private MovieServiceHedger hedger;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        meterRegistry = new SimpleMeterRegistry();
+        hedger = hedger(100, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        hedger.shutdown();
+    }
+
+    @Test
+    void call_FastLookupIsNotHedged() {
+        // When
+        String result = hedger.call(() -> "movie-" + calls.incrementAndGet());
+
+        // Then
+        assertEquals("movie-1", result);
+        assertEquals(1, calls.get());
+        assertEquals(0.0, hedges("won") + hedges("lost"));
+    }
+
+    @Test
+    void call_SlowLookupIsHedgedAndFirstAnswerWins() {
+        // Given: the first request hangs, the second answers straight away
+        Supplier<String> lookup = () -> {
+            if (calls.incrementAndGet() == 1) {
+                awaitRelease();
+                return "primary";
+            }
+            return "hedge";
+        };
+
+        // When
+        long start = System.nanoTime();
+        String result = hedger.call(lookup);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertEquals("hedge", result);
+        assertEquals(2, calls.get());
+        assertTrue(elapsedMs >= INITIAL_DELAY_MS, "Hedge should wait for the hedging delay, took " + elapsedMs + " ms");
+        waitFor(() -> hedges("won") == 1.0);
+    }
+
+    @Test
+    void call_PrimaryAnsweringAfterTheHedgeIsSentStillWins() throws InterruptedException {
+        // Given: both requests hang until released, and the primary is released first
+        CountDownLatch hedgeRelease = new CountDownLatch(1);
+        Supplier<String> lookup = () -> {
+            if (calls.incrementAndGet() == 1) {
+                awaitRelease();
+                return "primary";
+            }
+            await(hedgeRelease);
+            return "hedge";
+        };
+        Thread releaser = new Thread(() -> {
+            waitFor(() -> calls.get() == 2);
+            release.countDown();
+        });
+        releaser.start();
+
+        // When
+        String result = hedger.call(lookup);
+        hedgeRelease.countDown();
+        releaser.join();
+
+        // Then: the losing hedge's success is recorded on the breaker like a losing failure would be
+        assertEquals("primary", result);
+        waitFor(() -> hedges("lost") == 1.0);
+        assertEquals(0.0, hedges("won"));
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(MovieServiceHedger.CIRCUIT_BREAKER);
+        waitFor(() -> circuitBreaker.getMetrics().getNumberOfSuccessfulCalls() == 1);
+    }
+
+    @Test
+    void call_PrimaryAnsweringJustBeforeTheHedgeIsRejectedStillWins() {
+        // Given: a single worker, and a budget that grants the hedge only after the primary has
+        // answered and another lookup has taken the freed worker, so the hedge is rejected
+        hedger.shutdown();
+        CountDownLatch otherLookupRelease = new CountDownLatch(1);
+        CountDownLatch workerTaken = new CountDownLatch(1);
+        AtomicReference<MovieServiceHedger> target = new AtomicReference<>();
+        AtomicInteger granted = new AtomicInteger();
+        Supplier<String> otherLookup = () -> {
+            if (Thread.currentThread().getName().startsWith("movie-service-hedge")) {
+                workerTaken.countDown();
+                await(otherLookupRelease);
+            }
+            return "other";
+        };
+        HedgeBudget budget = new HedgeBudget(100, 10) {
+            @Override
+            public boolean tryAcquire() {
+                if (granted.getAndIncrement() > 0) {
+                    return false;
+                }
+                release.countDown();
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (workerTaken.getCount() > 0) {
+                    assertTrue(System.nanoTime() < deadline, "Worker not taken in time");
+                    // Falls back to running on its own thread until the primary's worker is free
+                    new Thread(() -> target.get().call(otherLookup)).start();
+                    sleep(5);
+                }
+                return true;
+            }
+        };
+        hedger = new MovieServiceHedger(circuitBreakerRegistry, meterRegistry, true, budget,
+                INITIAL_DELAY_MS, 5, WINDOW_SIZE, WINDOW_SIZE, 1);
+        target.set(hedger);
+
+        // When
+        String result;
+        try {
+            result = hedger.call(() -> {
+                awaitRelease();
+                return "primary";
+            });
+        } finally {
+            otherLookupRelease.countDown();
+        }
+
+        // Then
+        assertEquals("primary", result);
+        assertTrue(meterRegistry.get("review_movie_service_hedges_skipped").tag("reason", "saturated")
+                .counter().count() >= 1.0);
+        assertEquals(0.0, hedges("won") + hedges("lost"));
+    }
+
+    @Test
+    void call_PrimaryFailingWhileHedgeIsInFlightDoesNotDecideTheResult() {
+        // Given: the primary fails once the hedge is sent, and the hedge answers after that failure
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(MovieServiceHedger.CIRCUIT_BREAKER);
+        Supplier<String> lookup = () -> {
+            if (calls.incrementAndGet() == 1) {
+                waitFor(() -> calls.get() == 2);
+                throw new MovieServiceUnavailableException("Movie service returned server error: 503");
+            }
+            waitFor(() -> circuitBreaker.getMetrics().getNumberOfFailedCalls() == 1);
+            return "hedge";
+        };
+
+        // When
+        String result = hedger.call(lookup);
+
+        // Then
+        assertEquals("hedge", result);
+        waitFor(() -> hedges("won") == 1.0);
+    }
+
+    @Test
+    void call_FailsOnlyOnceEveryAttemptHasFailed() {
+        // Given: both requests fail, the primary first
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(MovieServiceHedger.CIRCUIT_BREAKER);
+        Supplier<String> lookup = () -> {
+            if (calls.incrementAndGet() == 1) {
+                waitFor(() -> calls.get() == 2);
+                throw new MovieServiceUnavailableException("Movie service returned server error: 503");
+            }
+            waitFor(() -> circuitBreaker.getMetrics().getNumberOfFailedCalls() == 1);
+            throw new MovieServiceUnavailableException("Movie service returned server error: 502");
+        };
+
+        // When
+        MovieServiceUnavailableException thrown = assertThrows(MovieServiceUnavailableException.class,
+                () -> hedger.call(lookup));
+
+        // Then: the first failure is reported; the last one is left to the caller's breaker annotation
+        assertTrue(thrown.getMessage().contains("503"));
+        waitFor(() -> hedges("lost") == 1.0);
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void call_NoHedgeWhenBudgetIsExhausted() {
+        // Given: no extra load allowed
+        hedger.shutdown();
+        hedger = hedger(0, 10);
+
+        // When
+        String result = hedger.call(() -> {
+            calls.incrementAndGet();
+            sleep(INITIAL_DELAY_MS * 2);
+            return "primary";
+        });
+
+        // Then
+        assertEquals("primary", result);
+        assertEquals(1, calls.get());
+        assertEquals(1.0, meterRegistry.get("review_movie_service_hedges_skipped").tag("reason", "budget").counter().count());
+    }
+
+    @Test
+    void call_BudgetLimitsHedgesToTheConfiguredShareOfLookups() {
+        // Given: 10% extra load and a single hedge of burst
+        hedger.shutdown();
+        hedger = hedger(10, 1);
+
+        // When: every lookup is slow
+        for (int i = 0; i < 20; i++) {
+            hedger.call(() -> {
+                sleep(INITIAL_DELAY_MS + 20);
+                return "movie";
+            });
+        }
+
+        // Then
+        waitFor(() -> hedges("won") + hedges("lost") == 2.0);
+        assertEquals(18.0, meterRegistry.get("review_movie_service_hedges_skipped").tag("reason", "budget").counter().count());
+    }
+
+    @Test
+    void call_NotHedgedWhileCircuitBreakerIsNotClosed() {
+        // Given
+        circuitBreakerRegistry.circuitBreaker(MovieServiceHedger.CIRCUIT_BREAKER).transitionToOpenState();
+        Thread caller = Thread.currentThread();
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        // When
+        hedger.call(() -> {
+            ranOn.set(Thread.currentThread());
+            calls.incrementAndGet();
+            sleep(INITIAL_DELAY_MS * 2);
+            return "movie";
+        });
+
+        // Then
+        assertSame(caller, ranOn.get());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void call_FailureAnsweringFirstIsPropagated() {
+        // When / Then
+        assertThrows(MovieNotFoundException.class, () -> hedger.call(() -> {
+            throw new MovieNotFoundException(1L);
+        }));
+    }
+
+    @Test
+    void call_LosingAttemptFailureIsRecordedOnCircuitBreaker() {
+        // Given: the primary hangs and then fails after the hedge has answered
+        Supplier<String> lookup = () -> {
+            if (calls.incrementAndGet() == 1) {
+                awaitRelease();
+                throw new MovieServiceUnavailableException("Movie service returned server error: 503");
+            }
+            return "hedge";
+        };
+
+        // When
+        String result = hedger.call(lookup);
+        release.countDown();
+
+        // Then
+        assertEquals("hedge", result);
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(MovieServiceHedger.CIRCUIT_BREAKER);
+        waitFor(() -> circuitBreaker.getMetrics().getNumberOfFailedCalls() == 1);
+    }
+
+    @Test
+    void call_AttemptsRunAsTheCallersEndpoint() {
+        // When
+        String endpoint = RequestLatencyMetrics.callAs("getReviewsForMovie",
+                () -> hedger.call(RequestLatencyMetrics::currentEndpoint));
+
+        // Then
+        assertEquals("getReviewsForMovie", endpoint);
+    }
+
+    @Test
+    void hedgeDelay_FollowsObservedP95OnceEnoughLookupsWereSeen() {
+        // Given
+        hedger.shutdown();
+        meterRegistry = new SimpleMeterRegistry();
+        hedger = hedger(100, 10, 16);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(INITIAL_DELAY_MS), hedger.hedgeDelayNanos());
+
+        // When: 16 quick lookups fill the minimum sample count
+        for (int i = 0; i < 16; i++) {
+            hedger.call(() -> "movie");
+        }
+
+        // Then: fast lookups bring the delay down to the floor. A lookup slowed by a busy machine
+        // holds the p95 up until it leaves the window, so keep looking up until it has
+        waitFor(() -> hedger.call(() -> "movie") != null && hedger.hedgeDelayNanos() == TimeUnit.MILLISECONDS.toNanos(5));
+        assertEquals(0.005, meterRegistry.get("review_movie_service_hedge_delay").timeGauge().value(TimeUnit.SECONDS), 1e-9);
+    }
+
+    @Test
+    void workerCount_CappedAtConnectionsPerRoute() {
+        assertEquals(100, MovieServiceHedger.workerCount(100, 150));
+        assertEquals(50, MovieServiceHedger.workerCount(100, 50));
+    }
+
+    @Test
+    void call_WorkersBeyondConnectionPoolRunUnhedged() throws Exception {
+        // Given: 8 hedging threads configured, but a single pooled connection; no hedge budget, so
+        // the busy lookup never tries to hedge
+        hedger.shutdown();
+        hedger = new MovieServiceHedger(circuitBreakerRegistry, meterRegistry, true, 0, 0,
+                INITIAL_DELAY_MS, 5, WINDOW_SIZE, WINDOW_SIZE, 8, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        Thread busy = new Thread(() -> hedger.call(() -> {
+            started.countDown();
+            awaitRelease();
+            return "busy";
+        }));
+        busy.start();
+        await(started);
+
+        // When
+        String result = hedger.call(() -> "movie");
+
+        // Then: the only worker is taken, so the second lookup ran on this thread
+        assertEquals("movie", result);
+        assertEquals(1.0, meterRegistry.get("review_movie_service_hedges_skipped").tag("reason", "saturated")
+                .counter().count());
+        release.countDown();
+        busy.join(5000);
+    }
+
+    private MovieServiceHedger hedger(double maxExtraLoadPercent, int burst) {
+        return hedger(maxExtraLoadPercent, burst, WINDOW_SIZE);
+    }
+
+    private MovieServiceHedger hedger(double maxExtraLoadPercent, int burst, int minSamples) {
+        return new MovieServiceHedger(circuitBreakerRegistry, meterRegistry, true, maxExtraLoadPercent, burst,
+                INITIAL_DELAY_MS, 5, WINDOW_SIZE, minSamples, 8, 150);
+    }
+
+    private double hedges(String outcome) {
+        return meterRegistry.get("review_movie_service_hedges").tag("outcome", outcome).counter().count();
+    }
+
+    private void awaitRelease() {
+        await(release);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not reached in time");
+            sleep(10);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.bookmyseat.reviewservice.client;
+
+import com.bookmyseat.reviewservice.dto.MovieDetailDTO;
+import com.bookmyseat.reviewservice.exception.MovieNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MovieTitleResolverTest {
+
+    @Mock
+    private MovieServiceClient movieServiceClient;
+
+    @InjectMocks
+    private MovieTitleResolver movieTitleResolver;
+
+    @Test
+    void resolveTitles_FetchesEachDistinctMovieOnce() {
+        // Given
+        when(movieServiceClient.getMovieByIdAsync(1L)).thenReturn(CompletableFuture.completedFuture(movie(1L, "Inception")));
+        when(movieServiceClient.getMovieByIdAsync(2L)).thenReturn(CompletableFuture.completedFuture(movie(2L, "The Matrix")));
+
+        // When
+        Map<Long, String> titles = movieTitleResolver.resolveTitles(List.of(1L, 2L, 1L, 1L));
+
+        // Then
+        assertEquals(Map.of(1L, "Inception", 2L, "The Matrix"), titles);
+        verify(movieServiceClient, times(1)).getMovieByIdAsync(1L);
+        verify(movieServiceClient, times(1)).getMovieByIdAsync(2L);
+    }
+
+    @Test
+    void resolveTitles_FailedLookupFallsBackToUnknownMovie() {
+        // Given
+        when(movieServiceClient.getMovieByIdAsync(1L))
+                .thenReturn(CompletableFuture.failedFuture(new MovieNotFoundException(1L)));
+        when(movieServiceClient.getMovieByIdAsync(2L)).thenThrow(new IllegalStateException("Executor rejected"));
+
+        // When
+        Map<Long, String> titles = movieTitleResolver.resolveTitles(List.of(1L, 2L));
+
+        // Then
+        assertEquals(MovieTitleResolver.UNKNOWN_MOVIE, titles.get(1L));
+        assertEquals(MovieTitleResolver.UNKNOWN_MOVIE, titles.get(2L));
+    }
+
+    @Test
+    void resolveTitles_EmptyInput() {
+        assertTrue(movieTitleResolver.resolveTitles(List.of()).isEmpty());
+        verifyNoInteractions(movieServiceClient);
+    }
+
+    private static MovieDetailDTO movie(Long movieId, String title) {
+        return new MovieDetailDTO(movieId, title, "Description", 120, "Drama", "English", LocalDate.of(2010, 7, 16));
+    }
+}
@@ -0,0 +1,145 @@
+package com.bookmyseat.reviewservice.config;
+
+import com.bookmyseat.reviewservice.metrics.RequestLatencyMetrics;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestClientConfigTest {
+
+    private final RestClientConfig config = new RestClientConfig();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private RestClient restClient;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.createContext("/api/v1/movies/1", exchange -> {
+            // The client's source port identifies the TCP connection the request arrived on
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"id\":1,\"title\":\"Inception\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        connectionManager = config.movieServiceConnectionManager(3000, 10, 2, 2000, 300_000);
+        httpClient = config.movieServiceHttpClient(connectionManager, 3000, 500, 30_000);
+        config.movieServiceConnectionPoolMetrics(connectionManager).bindTo(meterRegistry);
+        restClient = config.restClientBuilder(config.clientHttpRequestFactory(httpClient),
+                        new RequestLatencyMetrics(meterRegistry, List.of(Duration.ofMillis(100))))
+                .baseUrl("http://localhost:" + server.getAddress().getPort())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void sequentialCallsReuseOneKeepAliveConnection() {
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertTrue(restClient.get().uri("/api/v1/movies/1").retrieve().body(String.class).contains("Inception"));
+        }
+
+        // Then
+        assertEquals(1, clientPorts.size(), "Every call should reuse the first connection");
+        PoolStats stats = connectionManager.getTotalStats();
+        assertEquals(0, stats.getLeased());
+        assertEquals(1, stats.getAvailable());
+        assertEquals(1.0, poolGauge("httpcomponents.httpclient.pool.total.connections", "available"));
+        assertEquals(0.0, poolGauge("httpcomponents.httpclient.pool.total.connections", "leased"));
+    }
+
+    @Test
+    void concurrentCallsBeyondPerRouteLimitWaitForALeasedConnection() throws Exception {
+        // Given: two connections per route, and the server holds responses until released
+        release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<String>> calls = List.of(
+                    callers.submit(() -> restClient.get().uri("/api/v1/movies/1").retrieve().body(String.class)),
+                    callers.submit(() -> restClient.get().uri("/api/v1/movies/1").retrieve().body(String.class)),
+                    callers.submit(() -> restClient.get().uri("/api/v1/movies/1").retrieve().body(String.class)));
+
+            // When
+            waitFor(() -> connectionManager.getTotalStats().getPending() == 1);
+
+            // Then
+            assertEquals(2.0, poolGauge("httpcomponents.httpclient.pool.total.connections", "leased"));
+            assertEquals(1.0, meterRegistry.get("httpcomponents.httpclient.pool.total.pending")
+                    .tag("httpclient", RestClientConfig.POOL_METRICS_NAME).gauge().value());
+
+            release.countDown();
+            for (Future<String> call : calls) {
+                assertTrue(call.get(5, TimeUnit.SECONDS).contains("Inception"));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(2, clientPorts.size(), "The third call should reuse a released connection");
+        assertEquals(2, connectionManager.getTotalStats().getAvailable());
+        assertEquals(10.0, meterRegistry.get("httpcomponents.httpclient.pool.total.max").gauge().value());
+    }
+
+    private double poolGauge(String name, String state) {
+        return meterRegistry.get(name)
+                .tag("httpclient", RestClientConfig.POOL_METRICS_NAME)
+                .tag("state", state)
+                .gauge().value();
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not reached in time");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -1,11 +1,29 @@
 package com.bookmyseat.reviewservice.controller;
 
 import com.bookmyseat.reviewservice.dto.*;
+import com.bookmyseat.reviewservice.exception.DuplicateReviewException;
+import com.bookmyseat.reviewservice.exception.IdempotencyKeyInProgressException;
+import com.bookmyseat.reviewservice.exception.IdempotencyKeyReuseException;
+import com.bookmyseat.reviewservice.exception.InvalidCursorException;
+import com.bookmyseat.reviewservice.exception.InvalidDateRangeException;
 import com.bookmyseat.reviewservice.exception.MovieNotFoundException;
+import com.bookmyseat.reviewservice.exception.RateLimitExceededException;
 import com.bookmyseat.reviewservice.exception.ReviewNotFoundException;
+import com.bookmyseat.reviewservice.idempotency.IdempotentSubmission;
+import com.bookmyseat.reviewservice.ratelimit.SubmissionRateLimiter;
+import com.bookmyseat.reviewservice.service.IdempotencyService;
 import com.bookmyseat.reviewservice.service.MovieRatingService;
+import com.bookmyseat.reviewservice.service.RatingStreamService;
+import com.bookmyseat.reviewservice.service.RatingTrendService;
+import com.bookmyseat.reviewservice.service.ReviewSearchService;
 import com.bookmyseat.reviewservice.service.ReviewService;
+import com.bookmyseat.reviewservice.service.ReviewerCountService;
+import com.bookmyseat.reviewservice.service.TrendingService;
+import com.bookmyseat.reviewservice.summary.RatingSummaryJsonCache;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,16 +33,25 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,6 +68,30 @@ class ReviewControllerTest {
     @MockBean
     private MovieRatingService movieRatingService;
 
+    @MockBean
+    private RatingSummaryJsonCache ratingSummaryJsonCache;
+
+    @MockBean
+    private ReviewSearchService reviewSearchService;
+
+    @MockBean
+    private RatingTrendService ratingTrendService;
+
+    @MockBean
+    private TrendingService trendingService;
+
+    @MockBean
+    private ReviewerCountService reviewerCountService;
+
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @MockBean
+    private SubmissionRateLimiter submissionRateLimiter;
+
+    @MockBean
+    private RatingStreamService ratingStreamService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -133,6 +184,119 @@ class ReviewControllerTest {
                 .andExpect(jsonPath("$.message").value("Movie not found with ID: 999"));
     }
 
+    @Test
+    void submitReview_DuplicateReview() throws Exception {
+        when(reviewService.submitReview(any(ReviewSubmissionDTO.class)))
+                .thenThrow(new DuplicateReviewException(1L, "John Doe"));
+
+        mockMvc.perform(post("/api/v1/reviews")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(reviewSubmissionDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value("DUPLICATE_REVIEW"));
+    }
+
+    @Test
+    void submitReview_NewIdempotencyKeySubmitsOnce() throws Exception {
+        when(reviewService.submitReview(any(ReviewSubmissionDTO.class)))
+                .thenReturn(reviewDTO);
+        when(idempotencyService.submitOnce(eq("retry-1"), any(ReviewSubmissionDTO.class), any()))
+                .thenAnswer(invocation -> IdempotentSubmission.created(
+                        invocation.<Supplier<ReviewDTO>>getArgument(2).get()));
+
+        mockMvc.perform(post("/api/v1/reviews")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(reviewSubmissionDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andExpect(jsonPath("$.id").value(1L));
+
+        verify(reviewService).submitReview(any(ReviewSubmissionDTO.class));
+    }
+
+    @Test
+    void submitReview_RepeatedIdempotencyKeyReplaysResponse() throws Exception {
+        when(idempotencyService.submitOnce(eq("retry-1"), any(ReviewSubmissionDTO.class), any()))
+                .thenReturn(IdempotentSubmission.replayed(reviewDTO));
+
+        mockMvc.perform(post("/api/v1/reviews")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(reviewSubmissionDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value(1L))
+                .andExpect(jsonPath("$.movieTitle").value("Inception"));
+
+        verify(reviewService, never()).submitReview(any(ReviewSubmissionDTO.class));
+        verify(submissionRateLimiter, never()).checkSubmission(any(), any());
+    }
+
+    @Test
+    void submitReview_ReusedIdempotencyKey() throws Exception {
+        when(idempotencyService.submitOnce(eq("retry-1"), any(ReviewSubmissionDTO.class), any()))
+                .thenThrow(new IdempotencyKeyReuseException("Idempotency-Key retry-1 was already used"));
+
+        mockMvc.perform(post("/api/v1/reviews")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(reviewSubmissionDTO)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.errorCode").value("IDEMPOTENCY_KEY_REUSED"));
+
+        verify(reviewService, never()).submitReview(any(ReviewSubmissionDTO.class));
+    }
+
+    @Test
+    void submitReview_IdempotencyKeyStillInProgress() throws Exception {
+        when(idempotencyService.submitOnce(eq("retry-1"), any(ReviewSubmissionDTO.class), any()))
+                .thenThrow(new IdempotencyKeyInProgressException("A review submission with Idempotency-Key retry-1 is still in progress"));
+
+        mockMvc.perform(post("/api/v1/reviews")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(reviewSubmissionDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value("IDEMPOTENCY_KEY_IN_PROGRESS"));
+
+        verify(reviewService, never()).submitReview(any(ReviewSubmissionDTO.class));
+    }
+
+    @Test
+    void submitReview_RateLimited() throws Exception {
+        doThrow(new RateLimitExceededException("Too many reviews submitted by user John Doe. Please try again later.", 6))
+                .when(submissionRateLimiter).checkSubmission(1L, "John Doe");
+
+        mockMvc.perform(post("/api/v1/reviews")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(reviewSubmissionDTO)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "6"))
+                .andExpect(jsonPath("$.errorCode").value("RATE_LIMIT_EXCEEDED"));
+
+        verify(reviewService, never()).submitReview(any(ReviewSubmissionDTO.class));
+    }
+
+    @Test
+    void submitReview_NewIdempotencyKeyRateLimited() throws Exception {
+        doThrow(new RateLimitExceededException("Too many reviews submitted by user John Doe. Please try again later.", 6))
+                .when(submissionRateLimiter).checkSubmission(1L, "John Doe");
+        when(idempotencyService.submitOnce(eq("retry-1"), any(ReviewSubmissionDTO.class), any()))
+                .thenAnswer(invocation -> IdempotentSubmission.created(
+                        invocation.<Supplier<ReviewDTO>>getArgument(2).get()));
+
+        mockMvc.perform(post("/api/v1/reviews")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(reviewSubmissionDTO)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "6"))
+                .andExpect(jsonPath("$.errorCode").value("RATE_LIMIT_EXCEEDED"));
+
+        verify(reviewService, never()).submitReview(any(ReviewSubmissionDTO.class));
+    }
+
     @Test
     void getReviewsForMovie_Success() throws Exception {
         when(reviewService.getReviewsForMovie(eq(1L), any(Pageable.class)))
@@ -163,6 +327,53 @@ class ReviewControllerTest {
                 .andExpect(jsonPath("$.reviews").isArray());
     }
 
+    @Test
+    void getReviewsForMovie_Cbor() throws Exception {
+        when(reviewService.getReviewsForMovie(eq(1L), any(Pageable.class)))
+                .thenReturn(movieReviewsResponseDTO);
+
+        byte[] body = mockMvc.perform(get("/api/v1/reviews/movie/1")
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = new CBORMapper().readTree(body);
+        assertEquals(1L, page.get("reviews").get(0).get("id").asLong());
+        assertEquals("Great movie!", page.get("reviews").get(0).get("comment").asText());
+        assertEquals(1L, page.get("totalReviews").asLong());
+    }
+
+    @Test
+    void getReviewsForMovie_Smile() throws Exception {
+        when(reviewService.getReviewsForMovie(eq(1L), any(Pageable.class)))
+                .thenReturn(movieReviewsResponseDTO);
+
+        byte[] body = mockMvc.perform(get("/api/v1/reviews/movie/1")
+                .accept(ReviewController.APPLICATION_SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ReviewController.APPLICATION_SMILE_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = new SmileMapper().readTree(body);
+        assertEquals("John Doe", page.get("reviews").get(0).get("userName").asText());
+        assertTrue(page.get("first").asBoolean());
+    }
+
+    @Test
+    void getReviewsForMovie_MovieNotFoundAsCbor() throws Exception {
+        when(reviewService.getReviewsForMovie(eq(999L), any(Pageable.class)))
+                .thenThrow(new MovieNotFoundException("Movie not found with ID: 999"));
+
+        byte[] body = mockMvc.perform(get("/api/v1/reviews/movie/999")
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals("Movie not found with ID: 999", new CBORMapper().readTree(body).get("message").asText());
+    }
+
     @Test
     void getReviewsForMovie_MovieNotFound() throws Exception {
         when(reviewService.getReviewsForMovie(eq(999L), any(Pageable.class)))
@@ -173,13 +384,152 @@ class ReviewControllerTest {
                 .andExpect(jsonPath("$.message").value("Movie not found with ID: 999"));
     }
 
+    @Test
+    void getReviewsForMovie_PreviewMode() throws Exception {
+        when(reviewService.getReviewPreviewsForMovie(eq(1L), any(Pageable.class)))
+                .thenReturn(movieReviewsResponseDTO);
+
+        mockMvc.perform(get("/api/v1/reviews/movie/1")
+                .param("preview", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviews[0].id").value(1L));
+
+        verify(reviewService, never()).getReviewsForMovie(any(), any());
+    }
+
+    @Test
+    void getReviewComment_Success() throws Exception {
+        when(reviewService.getReviewComment(1L))
+                .thenReturn(new ReviewCommentDTO(1L, "Great movie!"));
+
+        mockMvc.perform(get("/api/v1/reviews/1/comment"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewId").value(1L))
+                .andExpect(jsonPath("$.comment").value("Great movie!"));
+    }
+
+    @Test
+    void getReviewComment_ReviewNotFound() throws Exception {
+        when(reviewService.getReviewComment(999L))
+                .thenThrow(new ReviewNotFoundException("Review not found with ID: 999"));
+
+        mockMvc.perform(get("/api/v1/reviews/999/comment"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Review not found with ID: 999"));
+    }
+
+    @Test
+    void getReviewsByUser_Success() throws Exception {
+        UserReviewsResponseDTO userReviews = new UserReviewsResponseDTO("John Doe",
+                List.of(reviewDTO), 20, "next-cursor", true);
+        when(reviewService.getReviewsByUser("John Doe", "abc", 20)).thenReturn(userReviews);
+
+        mockMvc.perform(get("/api/v1/reviews/user/John Doe")
+                .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userName").value("John Doe"))
+                .andExpect(jsonPath("$.reviews[0].id").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void getReviewsByUser_InvalidCursor() throws Exception {
+        when(reviewService.getReviewsByUser("John Doe", "bad", 20))
+                .thenThrow(new InvalidCursorException("Invalid cursor: bad"));
+
+        mockMvc.perform(get("/api/v1/reviews/user/John Doe")
+                .param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_CURSOR"));
+    }
+
+    @Test
+    void searchReviews_Success() throws Exception {
+        ReviewSearchResponseDTO searchResponse = new ReviewSearchResponseDTO("imax", 1L,
+                List.of(reviewDTO), 1L, 0, 10, 1);
+        when(reviewSearchService.searchReviews("imax", 1L, 0, 10)).thenReturn(searchResponse);
+
+        mockMvc.perform(get("/api/v1/reviews/search")
+                .param("q", "imax")
+                .param("movieId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.query").value("imax"))
+                .andExpect(jsonPath("$.reviews[0].id").value(1L))
+                .andExpect(jsonPath("$.totalHits").value(1));
+    }
+
+    @Test
+    void searchReviews_MissingQuery() throws Exception {
+        mockMvc.perform(get("/api/v1/reviews/search"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+    }
+
+    @Test
+    void getTrendingMovies_Success() throws Exception {
+        when(trendingService.getTrendingMovies(3)).thenReturn(List.of(
+                new TrendingMovieDTO(1, 7L, "Inception", new BigDecimal("12.50")),
+                new TrendingMovieDTO(2, 3L, "Interstellar", new BigDecimal("4.25"))));
+
+        mockMvc.perform(get("/api/v1/reviews/trending").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].rank").value(1))
+                .andExpect(jsonPath("$[0].movieId").value(7))
+                .andExpect(jsonPath("$[0].movieTitle").value("Inception"))
+                .andExpect(jsonPath("$[1].trendingScore").value(4.25));
+    }
+
+    @Test
+    void getTrendingMovies_DefaultLimit() throws Exception {
+        when(trendingService.getTrendingMovies(10)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v1/reviews/trending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        verify(trendingService).getTrendingMovies(10);
+    }
+
+    @Test
+    void getUniqueReviewers_ForMovie() throws Exception {
+        when(reviewerCountService.getUniqueReviewers(1L))
+                .thenReturn(new UniqueReviewersDTO(List.of(1L), 1250L, new BigDecimal("0.0163")));
+
+        mockMvc.perform(get("/api/v1/reviews/movie/1/unique-reviewers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.movieIds[0]").value(1))
+                .andExpect(jsonPath("$.uniqueReviewers").value(1250))
+                .andExpect(jsonPath("$.relativeStandardError").value(0.0163));
+    }
+
+    @Test
+    void getUniqueReviewersAcrossMovies_GenreAndGlobal() throws Exception {
+        when(reviewerCountService.getUniqueReviewers(List.of(1L, 2L, 3L)))
+                .thenReturn(new UniqueReviewersDTO(List.of(1L, 2L, 3L), 4200L, new BigDecimal("0.0163")));
+        when(reviewerCountService.getUniqueReviewers((List<Long>) null))
+                .thenReturn(new UniqueReviewersDTO(List.of(), 98000L, new BigDecimal("0.0163")));
+
+        mockMvc.perform(get("/api/v1/reviews/unique-reviewers").param("movieIds", "1,2,3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.uniqueReviewers").value(4200));
+
+        mockMvc.perform(get("/api/v1/reviews/unique-reviewers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.movieIds").isEmpty())
+                .andExpect(jsonPath("$.uniqueReviewers").value(98000));
+    }
+
     @Test
     void getMovieRatingSummary_Success() throws Exception {
-        when(movieRatingService.getMovieRatingSummary(1L))
-                .thenReturn(ratingSummaryDTO);
+        byte[] json = objectMapper.writeValueAsBytes(ratingSummaryDTO);
+        when(ratingSummaryJsonCache.getJson(1L)).thenReturn(json);
 
         mockMvc.perform(get("/api/v1/reviews/movie/1/rating"))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("Content-Length", String.valueOf(json.length)))
                 .andExpect(jsonPath("$.movieId").value(1L))
                 .andExpect(jsonPath("$.movieTitle").value("Inception"))
                 .andExpect(jsonPath("$.averageRating").value(4.5))
@@ -188,9 +538,89 @@ class ReviewControllerTest {
                 .andExpect(jsonPath("$.ratingDistribution.4").value(1));
     }
 
+    @Test
+    void getMovieRatingSummary_AnyAcceptServedFromEncodedJson() throws Exception {
+        when(ratingSummaryJsonCache.getJson(1L)).thenReturn(objectMapper.writeValueAsBytes(ratingSummaryDTO));
+
+        mockMvc.perform(get("/api/v1/reviews/movie/1/rating")
+                .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.movieTitle").value("Inception"));
+
+        verify(movieRatingService, never()).getMovieRatingSummary(any());
+    }
+
+    @Test
+    void getMovieRatingSummary_Cbor() throws Exception {
+        when(movieRatingService.getMovieRatingSummary(1L)).thenReturn(ratingSummaryDTO);
+
+        byte[] body = mockMvc.perform(get("/api/v1/reviews/movie/1/rating")
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode summary = new CBORMapper().readTree(body);
+        assertEquals("Inception", summary.get("movieTitle").asText());
+        assertEquals(2, summary.get("ratingDistribution").get("5").asInt());
+        verify(ratingSummaryJsonCache, never()).getJson(any());
+    }
+
+    @Test
+    void getMovieRatingSummary_PreferredJsonOverCbor() throws Exception {
+        when(ratingSummaryJsonCache.getJson(1L)).thenReturn(objectMapper.writeValueAsBytes(ratingSummaryDTO));
+
+        mockMvc.perform(get("/api/v1/reviews/movie/1/rating")
+                .header("Accept", "application/cbor;q=0.5, application/json"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.totalReviews").value(3));
+
+        verify(movieRatingService, never()).getMovieRatingSummary(any());
+    }
+
+    @Test
+    void getMovieRatingSummary_JsonRankedAboveLowQualityCborServedFromEncodedJson() throws Exception {
+        when(ratingSummaryJsonCache.getJson(1L)).thenReturn(objectMapper.writeValueAsBytes(ratingSummaryDTO));
+
+        mockMvc.perform(get("/api/v1/reviews/movie/1/rating")
+                .header("Accept", "application/json, application/cbor;q=0.1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.movieTitle").value("Inception"));
+
+        verify(movieRatingService, never()).getMovieRatingSummary(any());
+    }
+
+    @Test
+    void getMovieRatingSummary_CborRankedAboveJson() throws Exception {
+        when(movieRatingService.getMovieRatingSummary(1L)).thenReturn(ratingSummaryDTO);
+
+        mockMvc.perform(get("/api/v1/reviews/movie/1/rating")
+                .header("Accept", "application/json;q=0.5, application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+
+        verify(ratingSummaryJsonCache, never()).getJson(any());
+    }
+
+    @Test
+    void getMovieRatingSummary_RefusedCborServedFromEncodedJson() throws Exception {
+        when(ratingSummaryJsonCache.getJson(1L)).thenReturn(objectMapper.writeValueAsBytes(ratingSummaryDTO));
+
+        mockMvc.perform(get("/api/v1/reviews/movie/1/rating")
+                .header("Accept", "application/json, application/cbor;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.movieTitle").value("Inception"));
+
+        verify(movieRatingService, never()).getMovieRatingSummary(any());
+    }
+
     @Test
     void getMovieRatingSummary_MovieNotFound() throws Exception {
-        when(movieRatingService.getMovieRatingSummary(999L))
+        when(ratingSummaryJsonCache.getJson(999L))
                 .thenThrow(new MovieNotFoundException("Movie not found with ID: 999"));
 
         mockMvc.perform(get("/api/v1/reviews/movie/999/rating"))
@@ -198,6 +628,76 @@ class ReviewControllerTest {
                 .andExpect(jsonPath("$.message").value("Movie not found with ID: 999"));
     }
 
+    @Test
+    void streamMovieRatingSummary_OpensEventStream() throws Exception {
+        when(ratingStreamService.subscribe(1L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/v1/reviews/movie/1/rating/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(ratingStreamService).subscribe(1L);
+    }
+
+    @Test
+    void streamMovieRatingSummary_MovieNotFound() throws Exception {
+        when(ratingStreamService.subscribe(999L))
+                .thenThrow(new MovieNotFoundException("Movie not found with ID: 999"));
+
+        mockMvc.perform(get("/api/v1/reviews/movie/999/rating/stream"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Movie not found with ID: 999"));
+    }
+
+    @Test
+    void getMovieRatingTrend_Success() throws Exception {
+        LocalDate from = LocalDate.of(2025, 9, 1);
+        LocalDate to = LocalDate.of(2025, 9, 14);
+        RatingTrendPointDTO point = new RatingTrendPointDTO(from, 3, new BigDecimal("4.33"),
+                new BigDecimal("4.33"), Map.of("4.0", 2, "5.0", 1));
+        RatingTrendDTO trend = new RatingTrendDTO(1L, "Inception", from, to, TrendGranularity.WEEK,
+                3, new BigDecimal("4.33"), List.of(point));
+        when(ratingTrendService.getRatingTrend(1L, from, to, TrendGranularity.WEEK)).thenReturn(trend);
+
+        mockMvc.perform(get("/api/v1/reviews/movie/1/trend")
+                        .param("from", "2025-09-01")
+                        .param("to", "2025-09-14")
+                        .param("granularity", "WEEK"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.granularity").value("WEEK"))
+                .andExpect(jsonPath("$.totalReviews").value(3))
+                .andExpect(jsonPath("$.points[0].periodStart").value("2025-09-01"))
+                .andExpect(jsonPath("$.points[0].ratingDistribution['4.0']").value(2));
+    }
+
+    @Test
+    void getMovieRatingTrend_DefaultsToLastThirtyDays() throws Exception {
+        LocalDate today = LocalDate.now();
+        when(ratingTrendService.getRatingTrend(1L, today.minusDays(29), today, TrendGranularity.DAY))
+                .thenReturn(new RatingTrendDTO());
+
+        mockMvc.perform(get("/api/v1/reviews/movie/1/trend"))
+                .andExpect(status().isOk());
+
+        verify(ratingTrendService).getRatingTrend(1L, today.minusDays(29), today, TrendGranularity.DAY);
+    }
+
+    @Test
+    void getMovieRatingTrend_InvalidRequests() throws Exception {
+        when(ratingTrendService.getRatingTrend(eq(1L), any(), any(), any()))
+                .thenThrow(new InvalidDateRangeException("Range start 2025-09-14 is after range end 2025-09-01"));
+
+        mockMvc.perform(get("/api/v1/reviews/movie/1/trend")
+                        .param("from", "2025-09-14")
+                        .param("to", "2025-09-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_DATE_RANGE"));
+
+        mockMvc.perform(get("/api/v1/reviews/movie/1/trend").param("granularity", "YEAR"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+    }
+
     @Test
     void getReviewById_Success() throws Exception {
         when(reviewService.getReviewById(1L)).thenReturn(reviewDTO);
@@ -57,6 +57,24 @@ class EntityTest {
         assertNull(review.getReviewDate());
     }
 
+    @Test
+    void testReviewCommentPreview() {
+        Review review = new Review(100L, "John", BigDecimal.valueOf(5), "Short comment");
+        review.updateCommentPreview();
+        assertEquals("Short comment", review.getCommentPreview());
+        assertFalse(review.getCommentTruncated());
+
+        review.setComment("x".repeat(Review.COMMENT_PREVIEW_LENGTH + 50));
+        review.updateCommentPreview();
+        assertEquals(Review.COMMENT_PREVIEW_LENGTH, review.getCommentPreview().length());
+        assertTrue(review.getCommentTruncated());
+
+        review.setComment(null);
+        review.updateCommentPreview();
+        assertNull(review.getCommentPreview());
+        assertFalse(review.getCommentTruncated());
+    }
+
     @Test
     void testMovieRatingEntity() {
         MovieRating rating = new MovieRating();
@@ -156,4 +174,26 @@ class EntityTest {
         assertNotNull(toString);
         assertTrue(toString.length() > 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testMovieRatingDailyHalfStarBuckets() {
+        assertEquals(0, MovieRatingDaily.halfStarBucket(new BigDecimal("1.0")));
+        assertEquals(5, MovieRatingDaily.halfStarBucket(new BigDecimal("3.5")));
+        assertEquals(5, MovieRatingDaily.halfStarBucket(new BigDecimal("3.7")));
+        assertEquals(6, MovieRatingDaily.halfStarBucket(new BigDecimal("3.8")));
+        assertEquals(8, MovieRatingDaily.halfStarBucket(new BigDecimal("5.0")));
+        assertEquals("1.0", MovieRatingDaily.halfStarLabel(0));
+        assertEquals("3.5", MovieRatingDaily.halfStarLabel(5));
+        assertEquals("5.0", MovieRatingDaily.halfStarLabel(8));
+
+        MovieRatingDaily rollup = new MovieRatingDaily(1L, LocalDateTime.now().toLocalDate());
+        rollup.addRating(new BigDecimal("4.5"));
+        rollup.addRatings(new BigDecimal("2.0"), 3);
+
+        assertEquals(4, rollup.getReviewCount());
+        assertEquals(0, new BigDecimal("10.5").compareTo(rollup.getRatingSum()));
+        assertEquals(1, rollup.getHalfStarCount(7));
+        assertEquals(3, rollup.getRating20Count());
+        assertEquals(0, rollup.getHalfStarCount(9));
+    }
+}
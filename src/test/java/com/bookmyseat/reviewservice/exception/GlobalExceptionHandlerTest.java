@@ -57,6 +57,76 @@ class GlobalExceptionHandlerTest {
         assertEquals("/api/test", response.getBody().getPath());
     }
 
+    @Test
+    void handleDuplicateReviewException_ReturnsConflictResponse() {
+        // Given
+        DuplicateReviewException exception = new DuplicateReviewException(7L, "Alice");
+
+        // When
+        ResponseEntity<ErrorResponseDTO> response = exceptionHandler.handleDuplicateReviewException(exception, request);
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("User Alice has already reviewed movie ID: 7", response.getBody().getMessage());
+        assertEquals("DUPLICATE_REVIEW", response.getBody().getErrorCode());
+        assertEquals(409, response.getBody().getStatus());
+    }
+
+    @Test
+    void handleRateLimitExceededException_ReturnsTooManyRequestsResponse() {
+        // Given
+        RateLimitExceededException exception =
+                new RateLimitExceededException("Too many reviews submitted by user Alice. Please try again later.", 6);
+
+        // When
+        ResponseEntity<ErrorResponseDTO> response =
+                exceptionHandler.handleRateLimitExceededException(exception, request);
+
+        // Then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("6", response.getHeaders().getFirst("Retry-After"));
+        assertNotNull(response.getBody());
+        assertEquals("RATE_LIMIT_EXCEEDED", response.getBody().getErrorCode());
+        assertEquals(429, response.getBody().getStatus());
+    }
+
+    @Test
+    void handleInvalidIdempotencyKeyException_ReturnsBadRequestResponse() {
+        // Given
+        InvalidIdempotencyKeyException exception =
+                new InvalidIdempotencyKeyException("Idempotency-Key must be between 1 and 100 characters");
+
+        // When
+        ResponseEntity<ErrorResponseDTO> response =
+                exceptionHandler.handleInvalidIdempotencyKeyException(exception, request);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("INVALID_IDEMPOTENCY_KEY", response.getBody().getErrorCode());
+        assertEquals(400, response.getBody().getStatus());
+    }
+
+    @Test
+    void handleIdempotencyKeyReuseException_ReturnsUnprocessableEntityResponse() {
+        // Given
+        IdempotencyKeyReuseException exception = new IdempotencyKeyReuseException(
+                "Idempotency-Key abc was already used for a different review submission");
+
+        // When
+        ResponseEntity<ErrorResponseDTO> response =
+                exceptionHandler.handleIdempotencyKeyReuseException(exception, request);
+
+        // Then
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Idempotency-Key abc was already used for a different review submission",
+                response.getBody().getMessage());
+        assertEquals("IDEMPOTENCY_KEY_REUSED", response.getBody().getErrorCode());
+        assertEquals(422, response.getBody().getStatus());
+    }
+
     @Test
     void handleReviewNotFoundException_ReturnsNotFoundResponse() {
         // Given
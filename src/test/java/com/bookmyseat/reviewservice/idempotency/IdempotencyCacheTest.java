@@ -0,0 +1,63 @@
+package com.bookmyseat.reviewservice.idempotency;
+
+import com.bookmyseat.reviewservice.dto.ReviewDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-10-01T12:00:00Z");
+
+    @Test
+    void get_ReturnsStoredResponse() {
+        IdempotencyCache cache = new IdempotencyCache(10);
+        ReviewDTO response = review(1L);
+
+        cache.put("key-1", response, NOW);
+
+        assertSame(response, cache.get("key-1", NOW.minusSeconds(60)));
+        assertNull(cache.get("key-2", NOW.minusSeconds(60)));
+    }
+
+    @Test
+    void get_IgnoresAndDropsExpiredEntry() {
+        IdempotencyCache cache = new IdempotencyCache(10);
+        cache.put("key-1", review(1L), NOW);
+
+        assertNull(cache.get("key-1", NOW.plusSeconds(1)));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_EvictsLeastRecentlyUsedEntryAtCapacity() {
+        // Given
+        IdempotencyCache cache = new IdempotencyCache(2);
+        cache.put("key-1", review(1L), NOW);
+        cache.put("key-2", review(2L), NOW);
+        cache.get("key-1", NOW);
+
+        // When
+        cache.put("key-3", review(3L), NOW);
+
+        // Then
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("key-1", NOW));
+        assertNull(cache.get("key-2", NOW));
+        assertNotNull(cache.get("key-3", NOW));
+    }
+
+    @Test
+    void constructor_RejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new IdempotencyCache(0));
+    }
+
+    private static ReviewDTO review(Long id) {
+        return new ReviewDTO(id, 1L, "Inception", "Alice", BigDecimal.valueOf(4.0), "Good",
+                LocalDateTime.of(2025, 10, 1, 12, 0));
+    }
+}
@@ -2,35 +2,56 @@ package com.bookmyseat.reviewservice.integration;
 
 import com.bookmyseat.reviewservice.dto.MovieDetailDTO;
 import com.bookmyseat.reviewservice.dto.ReviewSubmissionDTO;
+import com.bookmyseat.reviewservice.entity.OutboxEvent;
 import com.bookmyseat.reviewservice.entity.Review;
+import com.bookmyseat.reviewservice.integration.SqlStatementCounter.SqlStatements;
+import com.bookmyseat.reviewservice.outbox.OutboxEventType;
+import com.bookmyseat.reviewservice.partition.PartitionPruningVerifier;
+import com.bookmyseat.reviewservice.partition.ReviewPartitionQueries;
+import com.bookmyseat.reviewservice.repository.OutboxEventRepository;
 import com.bookmyseat.reviewservice.repository.ReviewRepository;
+import com.bookmyseat.reviewservice.service.RatingTrendService;
+import com.bookmyseat.reviewservice.service.ReviewerCountService;
+import com.bookmyseat.reviewservice.summary.RatingSummaryJsonCache;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
 
 import com.github.tomakehurst.wiremock.client.WireMock;
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -39,6 +60,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         "spring.profiles.active=test"
     })
 @AutoConfigureWebMvc
+@Import(SqlStatementCounter.Config.class)
 @Transactional
 class ReviewServiceIntegrationTest {
 
@@ -52,12 +74,36 @@ class ReviewServiceIntegrationTest {
     @Autowired
     private ReviewRepository reviewRepository;
 
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @Autowired
     private CircuitBreakerRegistry circuitBreakerRegistry;
 
+    @Autowired
+    private RatingTrendService ratingTrendService;
+
+    @Autowired
+    private ReviewerCountService reviewerCountService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RatingSummaryJsonCache ratingSummaryJsonCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @DynamicPropertySource
     static void configureProperties(DynamicPropertyRegistry registry) {
         wireMockServer = new WireMockServer(8090);
@@ -70,6 +116,9 @@ class ReviewServiceIntegrationTest {
         mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
         wireMockServer.resetAll();
         reviewRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        // Summaries encoded by earlier tests describe rows their rollbacks removed
+        ratingSummaryJsonCache.clear();
         // Reset circuit breaker to ensure clean state for each test
         circuitBreakerRegistry.circuitBreaker("movieService").reset();
     }
@@ -98,7 +147,7 @@ class ReviewServiceIntegrationTest {
                 BigDecimal.valueOf(4.5), "Excellent movie!");
 
         // When & Then
-        mockMvc.perform(post("/api/v1/reviews")
+        SqlStatements statements = captureStatements(() -> mockMvc.perform(post("/api/v1/reviews")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(reviewSubmission)))
                 .andExpect(status().isCreated())
@@ -107,7 +156,9 @@ class ReviewServiceIntegrationTest {
                 .andExpect(jsonPath("$.userName").value("John Doe"))
                 .andExpect(jsonPath("$.rating").value(4.5))
                 .andExpect(jsonPath("$.comment").value("Excellent movie!"))
-                .andExpect(jsonPath("$.reviewDate").exists());
+                .andExpect(jsonPath("$.reviewDate").exists()));
+        // Review, two outbox events and the new aggregate; saving the aggregate with its assigned id reads it again
+        statements.assertSelects(2).assertWrites(4);
 
         // Verify data is persisted
         List<Review> savedReviews = reviewRepository.findAll();
@@ -115,6 +166,128 @@ class ReviewServiceIntegrationTest {
         assertEquals(movieId, savedReviews.get(0).getMovieId());
         assertEquals("John Doe", savedReviews.get(0).getUserName());
         assertEquals(BigDecimal.valueOf(4.5), savedReviews.get(0).getRating());
+
+        // Verify change events are stored in the same transaction
+        List<OutboxEventType> events = outboxEventRepository.findAll().stream()
+                .map(OutboxEvent::getEventType)
+                .toList();
+        assertEquals(List.of(OutboxEventType.REVIEW_SUBMITTED, OutboxEventType.RATING_CHANGED), events);
+    }
+
+    @Test
+    void submitReview_SecondReviewBySameUser_Returns409() throws Exception {
+        // Given
+        Long movieId = 1L;
+        MovieDetailDTO movieDetail = new MovieDetailDTO(movieId, "Inception", "Mind-bending thriller",
+                148, "Sci-Fi", "English", LocalDate.of(2010, 7, 16));
+
+        wireMockServer.stubFor(WireMock.get(urlEqualTo("/api/v1/movies/" + movieId))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(objectMapper.writeValueAsString(movieDetail))));
+
+        ReviewSubmissionDTO first = new ReviewSubmissionDTO(movieId, "Dana", BigDecimal.valueOf(4.0), "Good");
+        ReviewSubmissionDTO second = new ReviewSubmissionDTO(movieId, "Dana", BigDecimal.valueOf(1.0), "Bad");
+        ReviewSubmissionDTO otherUser = new ReviewSubmissionDTO(movieId, "Eve", BigDecimal.valueOf(5.0), "Great");
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/reviews")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(first)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/v1/reviews")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(second)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value("DUPLICATE_REVIEW"));
+
+        mockMvc.perform(post("/api/v1/reviews")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(otherUser)))
+                .andExpect(status().isCreated());
+
+        assertEquals(2, reviewRepository.findAll().size());
+    }
+
+    @Test
+    void submitReview_RetryWithIdempotencyKey_ReplaysFirstResponse() throws Exception {
+        // Given
+        Long movieId = 1L;
+        MovieDetailDTO movieDetail = new MovieDetailDTO(movieId, "Inception", "Mind-bending thriller",
+                148, "Sci-Fi", "English", LocalDate.of(2010, 7, 16));
+
+        wireMockServer.stubFor(WireMock.get(urlEqualTo("/api/v1/movies/" + movieId))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(objectMapper.writeValueAsString(movieDetail))));
+
+        String idempotencyKey = UUID.randomUUID().toString();
+        ReviewSubmissionDTO submission = new ReviewSubmissionDTO(movieId, "Frank", BigDecimal.valueOf(3.5), "Decent");
+
+        // When & Then
+        String created = mockMvc.perform(post("/api/v1/reviews")
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(submission)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long reviewId = objectMapper.readTree(created).get("id").asLong();
+
+        SqlStatements replayStatements = captureStatements(() -> mockMvc.perform(post("/api/v1/reviews")
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(submission)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value(reviewId))
+                .andExpect(jsonPath("$.movieTitle").value("Inception")));
+        replayStatements.assertCount(0);
+
+        ReviewSubmissionDTO changed = new ReviewSubmissionDTO(movieId, "Frank", BigDecimal.valueOf(1.0), "Awful");
+        mockMvc.perform(post("/api/v1/reviews")
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(changed)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.errorCode").value("IDEMPOTENCY_KEY_REUSED"));
+
+        assertEquals(1, reviewRepository.findAll().size());
+        wireMockServer.verify(1, WireMock.getRequestedFor(urlEqualTo("/api/v1/movies/" + movieId)));
+    }
+
+    @Test
+    void submitReview_BurstBySameUser_Returns429() throws Exception {
+        // Given
+        Long movieId = 1L;
+        MovieDetailDTO movieDetail = new MovieDetailDTO(movieId, "Inception", "Mind-bending thriller",
+                148, "Sci-Fi", "English", LocalDate.of(2010, 7, 16));
+
+        wireMockServer.stubFor(WireMock.get(urlEqualTo("/api/v1/movies/" + movieId))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(objectMapper.writeValueAsString(movieDetail))));
+
+        ReviewSubmissionDTO submission = new ReviewSubmissionDTO(movieId, "Mallory", BigDecimal.valueOf(1.0), "Boring");
+        String body = objectMapper.writeValueAsString(submission);
+
+        // When & Then: the first of the default burst of five is saved, the rest are duplicates
+        mockMvc.perform(post("/api/v1/reviews").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+        for (int i = 0; i < 4; i++) {
+            mockMvc.perform(post("/api/v1/reviews").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isConflict());
+        }
+
+        mockMvc.perform(post("/api/v1/reviews").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.errorCode").value("RATE_LIMIT_EXCEEDED"));
+
+        assertEquals(1, reviewRepository.findAll().size());
     }
 
     @Test
@@ -136,7 +309,7 @@ class ReviewServiceIntegrationTest {
         reviewRepository.saveAll(List.of(review1, review2));
 
         // When & Then
-        mockMvc.perform(get("/api/v1/reviews/movie/" + movieId)
+        SqlStatements statements = captureStatements(() -> mockMvc.perform(get("/api/v1/reviews/movie/" + movieId)
                 .param("page", "0")
                 .param("size", "10"))
                 .andExpect(status().isOk())
@@ -147,7 +320,185 @@ class ReviewServiceIntegrationTest {
                 .andExpect(jsonPath("$.page").value(0))
                 .andExpect(jsonPath("$.totalPages").value(1))
                 .andExpect(jsonPath("$.first").value(true))
-                .andExpect(jsonPath("$.last").value(true));
+                .andExpect(jsonPath("$.last").value(true)));
+        // Page of DTOs and the average; no count query while the page is not full
+        statements.assertSelects(2).assertWrites(0);
+    }
+
+    @Test
+    void getReviewsForMovie_RecordsEndpointAndPhaseLatency() throws Exception {
+        // Given
+        Long movieId = 1L;
+        MovieDetailDTO movieDetail = new MovieDetailDTO(movieId, "Inception", "Mind-bending thriller",
+                148, "Sci-Fi", "English", LocalDate.of(2010, 7, 16));
+
+        wireMockServer.stubFor(WireMock.get(urlEqualTo("/api/v1/movies/" + movieId))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(objectMapper.writeValueAsString(movieDetail))));
+        reviewRepository.save(new Review(movieId, "Alice", BigDecimal.valueOf(5.0), "Amazing!"));
+
+        long requests = timerCount("review_request_duration", "outcome", "SUCCESS");
+        long movieServiceCalls = timerCount("review_request_phase_duration", "phase", "movie_service");
+        long queries = timerCount("review_request_phase_duration", "phase", "database");
+        long mappings = timerCount("review_request_phase_duration", "phase", "mapping");
+
+        // When
+        mockMvc.perform(get("/api/v1/reviews/movie/" + movieId))
+                .andExpect(status().isOk());
+
+        // Then
+        assertEquals(requests + 1, timerCount("review_request_duration", "outcome", "SUCCESS"));
+        assertEquals(movieServiceCalls + 1, timerCount("review_request_phase_duration", "phase", "movie_service"));
+        assertTrue(timerCount("review_request_phase_duration", "phase", "database") > queries);
+        assertEquals(mappings + 1, timerCount("review_request_phase_duration", "phase", "mapping"));
+    }
+
+    @Test
+    void getReviewsForMovie_CborUsesApplicationJacksonSettingsAndIsTimed() throws Exception {
+        // Given
+        Long movieId = 1L;
+        MovieDetailDTO movieDetail = new MovieDetailDTO(movieId, "Inception", "Mind-bending thriller",
+                148, "Sci-Fi", "English", LocalDate.of(2010, 7, 16));
+
+        wireMockServer.stubFor(WireMock.get(urlEqualTo("/api/v1/movies/" + movieId))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(objectMapper.writeValueAsString(movieDetail))));
+        reviewRepository.save(new Review(movieId, "Alice", BigDecimal.valueOf(5.0), "Amazing!"));
+        long mappings = timerCount("review_request_phase_duration", "phase", "mapping");
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/v1/reviews/movie/" + movieId)
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        JsonNode review = new CBORMapper().readTree(body).get("reviews").get(0);
+        assertEquals("Inception", review.get("movieTitle").asText());
+        // Dates are written as ISO strings, as in the JSON responses
+        assertTrue(review.get("reviewDate").isTextual());
+        assertEquals(mappings + 1, timerCount("review_request_phase_duration", "phase", "mapping"));
+
+        // Clients without a preference still get JSON
+        mockMvc.perform(get("/api/v1/reviews/movie/" + movieId).accept(MediaType.ALL))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void getReviewsForMovie_RecordsQueryStatistics() throws Exception {
+        // Given
+        Long movieId = 1L;
+        MovieDetailDTO movieDetail = new MovieDetailDTO(movieId, "Inception", "Mind-bending thriller",
+                148, "Sci-Fi", "English", LocalDate.of(2010, 7, 16));
+
+        wireMockServer.stubFor(WireMock.get(urlEqualTo("/api/v1/movies/" + movieId))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(objectMapper.writeValueAsString(movieDetail))));
+        reviewRepository.save(new Review(movieId, "Alice", BigDecimal.valueOf(5.0), "Amazing!"));
+        reviewRepository.save(new Review(movieId, "Bob", BigDecimal.valueOf(4.0), "Good!"));
+        String query = "ReviewRepository.findReviewDTOsByMovieId";
+        long executions = queryCount("review_query_duration", query);
+
+        // When
+        mockMvc.perform(get("/api/v1/reviews/movie/" + movieId))
+                .andExpect(status().isOk());
+
+        // Then
+        assertEquals(executions + 1, queryCount("review_query_duration", query));
+        mockMvc.perform(get("/actuator/querystats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.queries[?(@.query == '" + query + "')].rows", hasItem(greaterThanOrEqualTo(2))))
+                .andExpect(jsonPath("$.queries[?(@.query == '" + query + "')].statements", hasItem(greaterThanOrEqualTo(1))));
+    }
+
+    @Test
+    void getReviewsForMovie_PreviewMode_TruncatesLongComments() throws Exception {
+        // Given
+        Long movieId = 1L;
+        MovieDetailDTO movieDetail = new MovieDetailDTO(movieId, "Inception", "Mind-bending thriller",
+                148, "Sci-Fi", "English", LocalDate.of(2010, 7, 16));
+
+        wireMockServer.stubFor(WireMock.get(urlEqualTo("/api/v1/movies/" + movieId))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(objectMapper.writeValueAsString(movieDetail))));
+
+        String longComment = "A".repeat(Review.COMMENT_PREVIEW_LENGTH) + " and the rest of a long review";
+        Review review = reviewRepository.saveAndFlush(
+                new Review(movieId, "Alice", BigDecimal.valueOf(5.0), longComment));
+
+        // When & Then
+        SqlStatements previewStatements = captureStatements(() -> mockMvc.perform(
+                        get("/api/v1/reviews/movie/" + movieId).param("preview", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviews", hasSize(1)))
+                .andExpect(jsonPath("$.reviews[0].movieTitle").value("Inception"))
+                .andExpect(jsonPath("$.reviews[0].comment").value("A".repeat(Review.COMMENT_PREVIEW_LENGTH)))
+                .andExpect(jsonPath("$.reviews[0].commentTruncated").value(true))
+                .andExpect(jsonPath("$.averageRating").value(5.0)));
+        previewStatements.assertSelects(2).assertWrites(0);
+
+        SqlStatements commentStatements = captureStatements(() -> mockMvc.perform(
+                        get("/api/v1/reviews/" + review.getId() + "/comment"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewId").value(review.getId()))
+                .andExpect(jsonPath("$.comment").value(longComment)));
+        commentStatements.assertSelects(1).assertWrites(0);
+    }
+
+    @Test
+    void getReviewsByUser_CursorPagination_EndToEnd() throws Exception {
+        // Given
+        for (long movieId = 1; movieId <= 2; movieId++) {
+            MovieDetailDTO movieDetail = new MovieDetailDTO(movieId, "Movie " + movieId, "Description",
+                    120, "Drama", "English", LocalDate.of(2010, 7, 16));
+            wireMockServer.stubFor(WireMock.get(urlEqualTo("/api/v1/movies/" + movieId))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withHeader("Content-Type", "application/json")
+                            .withBody(objectMapper.writeValueAsString(movieDetail))));
+        }
+
+        Review first = reviewRepository.save(new Review(1L, "Carol", BigDecimal.valueOf(4.0), "First"));
+        Review second = reviewRepository.save(new Review(2L, "Carol", BigDecimal.valueOf(3.5), "Second"));
+        Review third = reviewRepository.save(new Review(1L, "Carol", BigDecimal.valueOf(5.0), "Third"));
+        reviewRepository.save(new Review(1L, "Dave", BigDecimal.valueOf(2.0), "Not Carol"));
+
+        // When & Then - first page
+        String firstPage = mockMvc.perform(get("/api/v1/reviews/user/Carol")
+                .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviews", hasSize(2)))
+                .andExpect(jsonPath("$.reviews[0].id").value(third.getId()))
+                .andExpect(jsonPath("$.reviews[0].movieTitle").value("Movie 1"))
+                .andExpect(jsonPath("$.reviews[1].id").value(second.getId()))
+                .andExpect(jsonPath("$.reviews[1].movieTitle").value("Movie 2"))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        // Second page continues after the cursor
+        SqlStatements statements = captureStatements(() -> mockMvc.perform(get("/api/v1/reviews/user/Carol")
+                .param("size", "2")
+                .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviews", hasSize(1)))
+                .andExpect(jsonPath("$.reviews[0].id").value(first.getId()))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist()));
+        statements.assertSelects(1).assertWrites(0);
+
+        // Each movie is fetched once per page, not once per review
+        wireMockServer.verify(1, WireMock.getRequestedFor(urlEqualTo("/api/v1/movies/2")));
     }
 
     @Test
@@ -170,14 +521,113 @@ class ReviewServiceIntegrationTest {
         reviewRepository.saveAll(List.of(review1, review2, review3));
 
         // When & Then
-        mockMvc.perform(get("/api/v1/reviews/movie/" + movieId + "/rating"))
+        SqlStatements statements = captureStatements(() -> mockMvc.perform(get("/api/v1/reviews/movie/" + movieId + "/rating"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.movieId").value(movieId))
                 .andExpect(jsonPath("$.movieTitle").value("Inception"))
                 .andExpect(jsonPath("$.totalReviews").value(3))
                 .andExpect(jsonPath("$.ratingDistribution.5").value(2))
                 .andExpect(jsonPath("$.ratingDistribution.4").value(1))
-                .andExpect(jsonPath("$.averageRating").value(closeTo(4.67, 0.1)));
+                .andExpect(jsonPath("$.averageRating").value(closeTo(4.67, 0.1))));
+        // No stored aggregate yet, so it is rebuilt from the reviews, stored with its outbox event and read back
+        statements.assertSelects(5).assertWrites(2);
+    }
+
+    @Test
+    void getMovieRatingSummary_RepeatedRequestsServedFromEncodedJson() throws Exception {
+        // Given
+        Long movieId = 1L;
+        MovieDetailDTO movieDetail = new MovieDetailDTO(movieId, "Inception", "Mind-bending thriller",
+                148, "Sci-Fi", "English", LocalDate.of(2010, 7, 16));
+
+        wireMockServer.stubFor(WireMock.get(urlEqualTo("/api/v1/movies/" + movieId))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(objectMapper.writeValueAsString(movieDetail))));
+
+        reviewRepository.saveAll(List.of(
+                new Review(movieId, "Alice", BigDecimal.valueOf(5.0), "Amazing!"),
+                new Review(movieId, "Bob", BigDecimal.valueOf(4.0), "Good movie")));
+
+        // The first request stores the aggregate, which drops anything encoded meanwhile; the second encodes it
+        mockMvc.perform(get("/api/v1/reviews/movie/" + movieId + "/rating")).andExpect(status().isOk());
+        String encoded = mockMvc.perform(get("/api/v1/reviews/movie/" + movieId + "/rating"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // When & Then
+        SqlStatements statements = captureStatements(() -> mockMvc.perform(get("/api/v1/reviews/movie/" + movieId + "/rating"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("Content-Length", String.valueOf(encoded.length())))
+                .andExpect(content().string(encoded)));
+        statements.assertCount(0);
+        wireMockServer.verify(2, WireMock.getRequestedFor(urlEqualTo("/api/v1/movies/" + movieId)));
+
+        // A new review changes the aggregate and drops the encoded summary
+        ReviewSubmissionDTO submission = new ReviewSubmissionDTO(movieId, "Charlie", BigDecimal.valueOf(3.0), "Fine");
+        mockMvc.perform(post("/api/v1/reviews")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(submission)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/reviews/movie/" + movieId + "/rating"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalReviews").value(3))
+                .andExpect(jsonPath("$.ratingDistribution.3").value(1));
+    }
+
+    @Test
+    void getMovieRatingTrend_FromRebuiltRollups() throws Exception {
+        // Given
+        Long movieId = 1L;
+        MovieDetailDTO movieDetail = new MovieDetailDTO(movieId, "Inception", "Mind-bending thriller",
+                148, "Sci-Fi", "English", LocalDate.of(2010, 7, 16));
+
+        wireMockServer.stubFor(WireMock.get(urlEqualTo("/api/v1/movies/" + movieId))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(objectMapper.writeValueAsString(movieDetail))));
+
+        reviewRepository.saveAll(List.of(
+                new Review(movieId, "Alice", BigDecimal.valueOf(5.0), "Amazing!"),
+                new Review(movieId, "Bob", BigDecimal.valueOf(3.5), "Decent")));
+        LocalDate today = LocalDate.now();
+        ratingTrendService.rebuildRollups(today, today.plusDays(1));
+
+        // When & Then
+        SqlStatements statements = captureStatements(() -> mockMvc.perform(get("/api/v1/reviews/movie/" + movieId + "/trend")
+                        .param("from", today.toString())
+                        .param("to", today.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.movieTitle").value("Inception"))
+                .andExpect(jsonPath("$.totalReviews").value(2))
+                .andExpect(jsonPath("$.points", hasSize(1)))
+                .andExpect(jsonPath("$.points[0].ratingDistribution['3.5']").value(1))
+                .andExpect(jsonPath("$.points[0].averageRating").value(closeTo(4.25, 0.01))));
+        statements.assertSelects(1).assertWrites(0);
+    }
+
+    @Test
+    void getUniqueReviewers_FromStoredSketches() throws Exception {
+        // Sketches are written in their own transactions; movie ids no other test uses
+        reviewerCountService.recordReviewer(9001L, "Alice");
+        reviewerCountService.recordReviewer(9001L, "Bob");
+        reviewerCountService.recordReviewer(9001L, "Alice");
+        reviewerCountService.recordReviewer(9002L, "Bob");
+        reviewerCountService.recordReviewer(9002L, "Charlie");
+
+        SqlStatements movieStatements = captureStatements(() -> mockMvc.perform(get("/api/v1/reviews/movie/9001/unique-reviewers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.uniqueReviewers").value(2)));
+        movieStatements.assertSelects(1);
+
+        SqlStatements moviesStatements = captureStatements(() -> mockMvc.perform(get("/api/v1/reviews/unique-reviewers").param("movieIds", "9001,9002"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.uniqueReviewers").value(3)));
+        moviesStatements.assertSelects(1);
     }
 
     @Test
@@ -264,14 +714,15 @@ class ReviewServiceIntegrationTest {
                 new Review(movieId, "John Doe", BigDecimal.valueOf(4.5), "Great movie!"));
 
         // When & Then
-        mockMvc.perform(get("/api/v1/reviews/" + savedReview.getId()))
+        SqlStatements statements = captureStatements(() -> mockMvc.perform(get("/api/v1/reviews/" + savedReview.getId()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(savedReview.getId()))
                 .andExpect(jsonPath("$.movieId").value(movieId))
                 .andExpect(jsonPath("$.movieTitle").value("Inception"))
                 .andExpect(jsonPath("$.userName").value("John Doe"))
                 .andExpect(jsonPath("$.rating").value(4.5))
-                .andExpect(jsonPath("$.comment").value("Great movie!"));
+                .andExpect(jsonPath("$.comment").value("Great movie!")));
+        statements.assertSelects(1).assertWrites(0);
     }
 
     @Test
@@ -289,9 +740,10 @@ class ReviewServiceIntegrationTest {
         reviewRepository.save(new Review(movieId, "John Doe", BigDecimal.valueOf(4.5), "Great!"));
 
         // When & Then
-        mockMvc.perform(get("/api/v1/reviews/movie/" + movieId + "/has-reviews"))
+        SqlStatements statements = captureStatements(() -> mockMvc.perform(get("/api/v1/reviews/movie/" + movieId + "/has-reviews"))
                 .andExpect(status().isOk())
-                .andExpect(content().string("true"));
+                .andExpect(content().string("true")));
+        statements.assertSelects(1);
     }
 
     @Test
@@ -311,8 +763,47 @@ class ReviewServiceIntegrationTest {
         reviewRepository.save(new Review(movieId, "Charlie", BigDecimal.valueOf(3.0), "OK"));
 
         // When & Then
-        mockMvc.perform(get("/api/v1/reviews/movie/" + movieId + "/count"))
+        SqlStatements statements = captureStatements(() -> mockMvc.perform(get("/api/v1/reviews/movie/" + movieId + "/count"))
                 .andExpect(status().isOk())
-                .andExpect(content().string("3"));
+                .andExpect(content().string("3")));
+        statements.assertSelects(1);
+    }
+
+    private long timerCount(String name, String tag, String value) {
+        Timer timer = meterRegistry.find(name).tags("endpoint", "getReviewsForMovie", tag, value).timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    private long queryCount(String name, String query) {
+        Timer timer = meterRegistry.find(name).tag("query", query).timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    /**
+     * Statements a request issues against an empty persistence context, as it would outside the
+     * test transaction
+     */
+    @Test
+    void partitionPruningVerifier_CapturesSqlGeneratedByHibernate() {
+        // Given
+        PartitionPruningVerifier verifier = new PartitionPruningVerifier(jdbcTemplate, reviewRepository, transactionTemplate);
+
+        ReviewPartitionQueries.MOVIE_SCOPED.forEach((method, query) -> {
+            // When
+            List<String> statements = verifier.captureStatements(query);
+
+            // Then: Hibernate's own SQL for the repository method, filtered on the partition key
+            assertFalse(statements.isEmpty(), method);
+            for (String sql : statements) {
+                assertTrue(sql.matches("(?s).*\\breviews\\b.*"), method + ": " + sql);
+                assertTrue(sql.matches("(?s).*\\bmovie_id\\s*=\\s*\\?.*"), method + ": " + sql);
+            }
+        });
+    }
+
+    private SqlStatements captureStatements(SqlStatementCounter.ThrowingRunnable request) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        return SqlStatementCounter.capture(request);
     }
-}
\ No newline at end of file
+}
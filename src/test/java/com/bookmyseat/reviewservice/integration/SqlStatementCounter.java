@@ -0,0 +1,251 @@
+package com.bookmyseat.reviewservice.integration;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Counts the SQL statements a block of test code sends to the database, so tests can pin the
+ * statement budget of an endpoint and fail when a change adds queries (an N+1 loop, an extra
+ * count or a lazy load).
+ * <p>
+ * Import {@link Config} to wrap the application DataSource, then:
+ * <pre>
+ * SqlStatements statements = SqlStatementCounter.capture(() -&gt; mockMvc.perform(get("/api/v1/reviews/1")));
+ * statements.assertSelects(1).assertWrites(0);
+ * </pre>
+ * Only statements executed on the capturing thread are counted, so scheduled jobs and async
+ * listeners running meanwhile do not make the counts flaky. A JDBC batch counts as one statement.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * Run a block and return the statements it executed on this thread
+     */
+    public static SqlStatements capture(ThrowingRunnable block) throws Exception {
+        List<String> previous = CAPTURED.get();
+        List<String> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            block.run();
+        } finally {
+            if (previous != null) {
+                previous.addAll(statements);
+                CAPTURED.set(previous);
+            } else {
+                CAPTURED.remove();
+            }
+        }
+        return new SqlStatements(statements);
+    }
+
+    /**
+     * Wrap a DataSource so the statements executed through it can be captured
+     */
+    public static DataSource wrap(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                return proxy(Connection.class, connection, new ConnectionHandler(connection));
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                Connection connection = super.getConnection(username, password);
+                return proxy(Connection.class, connection, new ConnectionHandler(connection));
+            }
+        };
+    }
+
+    private static void record(String sql) {
+        List<String> statements = CAPTURED.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlStatementCounter.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Hands out counting statements for a pooled connection
+     */
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlStatementCounter.invoke(connection, method, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            return switch (method.getName()) {
+                case "createStatement" -> proxy(Statement.class, (Statement) result,
+                        new StatementHandler((Statement) result, null));
+                case "prepareStatement" -> proxy(PreparedStatement.class, (PreparedStatement) result,
+                        new StatementHandler((Statement) result, sql));
+                case "prepareCall" -> proxy(CallableStatement.class, (CallableStatement) result,
+                        new StatementHandler((Statement) result, sql));
+                default -> result;
+            };
+        }
+    }
+
+    /**
+     * Records each execution of a statement
+     */
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String preparedSql;
+
+        private StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                boolean hasSql = args != null && args.length > 0 && args[0] instanceof String;
+                record(hasSql ? (String) args[0] : preparedSql);
+            }
+            return SqlStatementCounter.invoke(statement, method, args);
+        }
+    }
+
+    /**
+     * Statements executed by a captured block
+     */
+    public static final class SqlStatements {
+
+        private final List<String> statements;
+
+        private SqlStatements(List<String> statements) {
+            this.statements = Collections.unmodifiableList(statements);
+        }
+
+        public List<String> all() {
+            return statements;
+        }
+
+        public int count() {
+            return statements.size();
+        }
+
+        public int selects() {
+            return countOf("select", "with");
+        }
+
+        /**
+         * Inserts, updates, deletes and merges
+         */
+        public int writes() {
+            return countOf("insert", "update", "delete", "merge");
+        }
+
+        public SqlStatements assertCount(int expected) {
+            return check("statements", expected, count());
+        }
+
+        public SqlStatements assertSelects(int expected) {
+            return check("selects", expected, selects());
+        }
+
+        public SqlStatements assertWrites(int expected) {
+            return check("writes", expected, writes());
+        }
+
+        private int countOf(String... keywords) {
+            int count = 0;
+            for (String sql : statements) {
+                String first = firstKeyword(sql);
+                for (String keyword : keywords) {
+                    if (first.equals(keyword)) {
+                        count++;
+                        break;
+                    }
+                }
+            }
+            return count;
+        }
+
+        private SqlStatements check(String kind, int expected, int actual) {
+            if (expected != actual) {
+                fail("Expected " + expected + " " + kind + " but " + actual + " were executed:\n  "
+                        + String.join("\n  ", statements.stream().map(SqlStatements::oneLine).toList()));
+            }
+            return this;
+        }
+
+        private static String firstKeyword(String sql) {
+            String trimmed = oneLine(sql);
+            int end = trimmed.indexOf(' ');
+            return (end < 0 ? trimmed : trimmed.substring(0, end)).toLowerCase(Locale.ROOT);
+        }
+
+        private static String oneLine(String sql) {
+            return sql == null ? "" : sql.strip().replaceAll("\\s+", " ");
+        }
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    /**
+     * Wraps the application DataSource for {@link #capture}
+     */
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class Config {
+
+        @Bean
+        public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.bookmyseat.reviewservice.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Collects raw latency samples per operation.
+ * Not thread-safe: every worker owns its own recorder and they are merged once the run is over.
+ */
+final class LatencyRecorder {
+
+    enum Operation {
+        SUBMIT, LIST, RATING_SUMMARY, DEEP_PAGE
+    }
+
+    private final Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+
+    void record(Operation operation, long latencyNanos, boolean success) {
+        samples.computeIfAbsent(operation, op -> new Samples()).add(latencyNanos, success);
+    }
+
+    void mergeInto(LatencyRecorder target) {
+        samples.forEach((operation, source) ->
+                target.samples.computeIfAbsent(operation, op -> new Samples()).addAll(source));
+    }
+
+    String report(Duration elapsed) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-15s %9s %8s %10s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)"));
+
+        long totalRequests = 0;
+        for (Operation operation : Operation.values()) {
+            Samples s = samples.get(operation);
+            if (s == null || s.size == 0) {
+                continue;
+            }
+            long[] sorted = Arrays.copyOf(s.latencies, s.size);
+            Arrays.sort(sorted);
+            totalRequests += s.size;
+            report.append(String.format("%-15s %9d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation, s.size, s.errors, s.size / seconds(elapsed),
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                    millis(percentile(sorted, 0.999)), millis(sorted[sorted.length - 1])));
+        }
+        report.append(String.format("%-15s %9d %8s %10.1f%n", "TOTAL", totalRequests, "", totalRequests / seconds(elapsed)));
+        return report.toString();
+    }
+
+    long totalRequests() {
+        return samples.values().stream().mapToLong(s -> s.size).sum();
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toNanos() / 1_000_000_000.0;
+    }
+
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long latencyNanos, boolean success) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+    }
+}
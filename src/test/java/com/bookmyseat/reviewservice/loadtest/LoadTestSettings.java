@@ -0,0 +1,79 @@
+package com.bookmyseat.reviewservice.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Load test knobs, read from system properties so runs can be tuned from the command line, e.g.
+ * <pre>
+ * mvn test -Pload-test -Dloadtest.threads=64 -Dloadtest.duration=60 -Dloadtest.movieService.errorRate=0.05
+ * </pre>
+ */
+final class LoadTestSettings {
+
+    final Duration warmup;
+    final Duration duration;
+    final int threads;
+
+    // Seed data
+    final int movies;
+    final int reviewsPerMovie;
+    final int deepMovieReviews;
+    final int pageSize;
+
+    // Workload mix (relative weights)
+    final int submitWeight;
+    final int listWeight;
+    final int ratingWeight;
+    final int deepPageWeight;
+
+    // Movie service stub behaviour
+    final int movieServiceLatencyMs;
+    final int movieServiceJitterMs;
+    final double movieServiceErrorRate;
+
+    private LoadTestSettings() {
+        this.warmup = Duration.ofSeconds(intProperty("loadtest.warmup", 10));
+        this.duration = Duration.ofSeconds(intProperty("loadtest.duration", 30));
+        this.threads = intProperty("loadtest.threads", 32);
+        this.movies = intProperty("loadtest.movies", 20);
+        this.reviewsPerMovie = intProperty("loadtest.reviewsPerMovie", 200);
+        this.deepMovieReviews = intProperty("loadtest.deepMovieReviews", 20000);
+        this.pageSize = intProperty("loadtest.pageSize", 20);
+        this.submitWeight = intProperty("loadtest.mix.submit", 10);
+        this.listWeight = intProperty("loadtest.mix.list", 50);
+        this.ratingWeight = intProperty("loadtest.mix.rating", 30);
+        this.deepPageWeight = intProperty("loadtest.mix.deepPage", 10);
+        this.movieServiceLatencyMs = intProperty("loadtest.movieService.latencyMs", 5);
+        this.movieServiceJitterMs = intProperty("loadtest.movieService.jitterMs", 10);
+        this.movieServiceErrorRate = Double.parseDouble(System.getProperty("loadtest.movieService.errorRate", "0.0"));
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings();
+    }
+
+    /**
+     * Movie id used for the deep pagination workload; kept outside the regular movie id range.
+     */
+    long deepMovieId() {
+        return movies + 1L;
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+
+    @Override
+    public String toString() {
+        return "threads=" + threads +
+                ", warmup=" + warmup.toSeconds() + "s" +
+                ", duration=" + duration.toSeconds() + "s" +
+                ", movies=" + movies + "x" + reviewsPerMovie +
+                ", deepMovieReviews=" + deepMovieReviews +
+                ", pageSize=" + pageSize +
+                ", mix(submit/list/rating/deep)=" + submitWeight + "/" + listWeight + "/" +
+                ratingWeight + "/" + deepPageWeight +
+                ", movieService(latency=" + movieServiceLatencyMs + "ms+" + movieServiceJitterMs +
+                "ms, errorRate=" + movieServiceErrorRate + ")";
+    }
+}
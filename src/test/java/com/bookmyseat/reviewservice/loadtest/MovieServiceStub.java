@@ -0,0 +1,98 @@
+package com.bookmyseat.reviewservice.loadtest;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Local stand-in for movie-service with configurable latency and error injection.
+ */
+final class MovieServiceStub {
+
+    private final WireMockServer server;
+
+    private MovieServiceStub(WireMockServer server) {
+        this.server = server;
+    }
+
+    static MovieServiceStub start(LoadTestSettings settings) {
+        WireMockServer server = new WireMockServer(options()
+                .dynamicPort()
+                .containerThreads(Math.max(50, settings.threads * 2))
+                .extensions(new FaultInjectingTransformer(settings.movieServiceErrorRate)));
+        server.start();
+
+        for (long movieId = 1; movieId <= settings.deepMovieId(); movieId++) {
+            ResponseDefinitionBuilder response = aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(movieJson(movieId));
+            if (settings.movieServiceJitterMs > 0) {
+                response.withUniformRandomDelay(settings.movieServiceLatencyMs,
+                        settings.movieServiceLatencyMs + settings.movieServiceJitterMs);
+            } else {
+                response.withFixedDelay(settings.movieServiceLatencyMs);
+            }
+            server.stubFor(get(urlEqualTo("/api/v1/movies/" + movieId)).willReturn(response));
+        }
+        return new MovieServiceStub(server);
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    void stop() {
+        if (server.isRunning()) {
+            server.stop();
+        }
+    }
+
+    private static String movieJson(long movieId) {
+        return "{\"id\":" + movieId + ",\"title\":\"Load Test Movie " + movieId + "\"," +
+                "\"description\":\"Synthetic movie\",\"durationMinutes\":120,\"genre\":\"Drama\"," +
+                "\"language\":\"English\",\"releaseDate\":\"2024-01-01\"}";
+    }
+
+    /**
+     * Replaces a configurable fraction of responses with a 503 so circuit breaker and
+     * retry behaviour can be measured under partial movie-service failure.
+     */
+    static final class FaultInjectingTransformer extends ResponseDefinitionTransformer {
+
+        private final double errorRate;
+
+        FaultInjectingTransformer(double errorRate) {
+            this.errorRate = errorRate;
+        }
+
+        @Override
+        public ResponseDefinition transform(Request request, ResponseDefinition responseDefinition,
+                                            FileSource files, Parameters parameters) {
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                return aResponse()
+                        .withStatus(503)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"message\":\"Injected failure\"}")
+                        .build();
+            }
+            return responseDefinition;
+        }
+
+        @Override
+        public String getName() {
+            return "fault-injection";
+        }
+    }
+}
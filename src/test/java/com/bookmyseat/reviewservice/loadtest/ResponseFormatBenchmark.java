@@ -0,0 +1,117 @@
+package com.bookmyseat.reviewservice.loadtest;
+
+import com.bookmyseat.reviewservice.dto.MovieReviewsResponseDTO;
+import com.bookmyseat.reviewservice.dto.ReviewDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares payload size, encode and decode CPU time and encode allocation of JSON, CBOR and
+ * Smile for review pages of 10, 100 and 1000 reviews, using the mappers of the application's
+ * own message converters.
+ * <p>
+ * Excluded from the regular build; run with {@code mvn test -Pload-test -Dtest=ResponseFormatBenchmark}.
+ */
+@Tag("load")
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "logging.level.com.bookmyseat.reviewservice=WARN",
+    "review.warmup.enabled=false"
+})
+class ResponseFormatBenchmark {
+
+    // Encoded reviews per measurement, so each page size gets a comparable amount of work
+    private static final int REVIEWS_PER_RUN = 500_000;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jsonConverter;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Test
+    void compareFormats() throws IOException {
+        for (int size : new int[] {10, 100, 1000}) {
+            MovieReviewsResponseDTO page = page(size);
+            int iterations = Math.max(200, REVIEWS_PER_RUN / size);
+
+            Measurement json = measure(jsonConverter.getObjectMapper(), page, iterations);
+            Measurement cbor = measure(cborConverter.getObjectMapper(), page, iterations);
+            Measurement smile = measure(smileConverter.getObjectMapper(), page, iterations);
+
+            System.out.printf("page size %4d | json: %8d B %8.1f us enc %8.1f us dec %9d B alloc"
+                            + " | cbor: %8d B (%+.0f%%) %8.1f us enc %8.1f us dec %9d B alloc"
+                            + " | smile: %8d B (%+.0f%%) %8.1f us enc %8.1f us dec %9d B alloc%n",
+                    size, json.bytes, json.encodeMicros, json.decodeMicros, json.allocatedBytes,
+                    cbor.bytes, percent(cbor.bytes, json.bytes), cbor.encodeMicros, cbor.decodeMicros, cbor.allocatedBytes,
+                    smile.bytes, percent(smile.bytes, json.bytes), smile.encodeMicros, smile.decodeMicros, smile.allocatedBytes);
+        }
+    }
+
+    private static Measurement measure(ObjectMapper mapper, MovieReviewsResponseDTO page, int iterations) throws IOException {
+        byte[] encoded = mapper.writeValueAsBytes(page);
+        MovieReviewsResponseDTO decoded = mapper.readValue(encoded, MovieReviewsResponseDTO.class);
+        assertEquals(page.getReviews().size(), decoded.getReviews().size());
+
+        for (int i = 0; i < iterations; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(page), MovieReviewsResponseDTO.class);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < iterations; i++) {
+            mapper.writeValueAsBytes(page);
+        }
+        long encodeCpu = threads.getCurrentThreadCpuTime() - cpuBefore;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        cpuBefore = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < iterations; i++) {
+            mapper.readValue(encoded, MovieReviewsResponseDTO.class);
+        }
+        long decodeCpu = threads.getCurrentThreadCpuTime() - cpuBefore;
+
+        return new Measurement(encoded.length, encodeCpu / 1000.0 / iterations, decodeCpu / 1000.0 / iterations,
+                allocated / iterations);
+    }
+
+    private static double percent(int bytes, int jsonBytes) {
+        return 100.0 * (bytes - jsonBytes) / jsonBytes;
+    }
+
+    private static MovieReviewsResponseDTO page(int size) {
+        List<ReviewDTO> reviews = new ArrayList<>(size);
+        LocalDateTime reviewDate = LocalDateTime.of(2025, 10, 1, 12, 0);
+        for (int i = 0; i < size; i++) {
+            reviews.add(new ReviewDTO((long) i + 1, 1L, "Benchmark Movie", "bench-user-" + i,
+                    BigDecimal.valueOf(1 + (i % 9) * 0.5),
+                    "A moderately long benchmark comment that resembles a typical user review, number " + i,
+                    reviewDate.minusMinutes(i)));
+        }
+        return new MovieReviewsResponseDTO(reviews, BigDecimal.valueOf(3.25), 25_000L, 0,
+                (int) Math.ceil(25_000.0 / size), size, true, false);
+    }
+
+    private record Measurement(int bytes, double encodeMicros, double decodeMicros, long allocatedBytes) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.bookmyseat.reviewservice.loadtest;
+
+import com.bookmyseat.reviewservice.dto.ReviewDTO;
+import com.bookmyseat.reviewservice.entity.Review;
+import com.bookmyseat.reviewservice.mapper.ReviewMapper;
+import com.bookmyseat.reviewservice.repository.ReviewRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares heap allocation per review page for entity hydration + mapping against the
+ * DTO projection used by {@code ReviewServiceImpl.getReviewsForMovie}.
+ * <p>
+ * Excluded from the regular build; run with {@code mvn test -Pload-test -Dtest=ReviewListingAllocationBenchmark}.
+ */
+@Tag("load")
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "logging.level.com.bookmyseat.reviewservice=WARN"
+})
+class ReviewListingAllocationBenchmark {
+
+    private static final long MOVIE_ID = 1L;
+    private static final int REVIEWS = 2000;
+    private static final int WARMUP_ITERATIONS = 2000;
+    private static final int MEASURED_ITERATIONS = 5000;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ReviewMapper reviewMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareEntityHydrationWithProjection() {
+        seedReviews();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        for (int size : new int[] {10, 50, 100}) {
+            Pageable pageable = PageRequest.of(3, size);
+
+            Supplier<List<ReviewDTO>> entityPath = () -> readOnly.execute(status ->
+                    reviewMapper.toReviewDTOList(
+                            reviewRepository.findByMovieIdOrderByReviewDateDesc(MOVIE_ID, pageable).getContent(),
+                            "Benchmark Movie"));
+            Supplier<List<ReviewDTO>> projectionPath = () -> readOnly.execute(status -> {
+                List<ReviewDTO> page = reviewRepository.findReviewDTOsByMovieId(MOVIE_ID, pageable).getContent();
+                page.forEach(dto -> dto.setMovieTitle("Benchmark Movie"));
+                return page;
+            });
+
+            assertEquals(entityPath.get().size(), projectionPath.get().size());
+
+            Measurement entity = measure(entityPath);
+            Measurement projection = measure(projectionPath);
+            System.out.printf("page size %3d | entity: %8d B/page %7.1f us/page | projection: %8d B/page %7.1f us/page | allocation -%.0f%%%n",
+                    size, entity.bytesPerPage, entity.microsPerPage,
+                    projection.bytesPerPage, projection.microsPerPage,
+                    100.0 * (entity.bytesPerPage - projection.bytesPerPage) / entity.bytesPerPage);
+        }
+    }
+
+    private void seedReviews() {
+        reviewRepository.deleteAllInBatch();
+        List<Review> reviews = new ArrayList<>(REVIEWS);
+        for (int i = 0; i < REVIEWS; i++) {
+            reviews.add(new Review(MOVIE_ID, "bench-user-" + i, BigDecimal.valueOf(1 + (i % 9) * 0.5),
+                    "A moderately long benchmark comment that resembles a typical user review, number " + i));
+        }
+        reviewRepository.saveAll(reviews);
+    }
+
+    private static Measurement measure(Supplier<List<ReviewDTO>> pageLoader) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            pageLoader.get();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            pageLoader.get();
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Measurement(allocated / MEASURED_ITERATIONS, elapsed / 1000.0 / MEASURED_ITERATIONS);
+    }
+
+    private record Measurement(long bytesPerPage, double microsPerPage) {
+    }
+}
@@ -0,0 +1,188 @@
+package com.bookmyseat.reviewservice.loadtest;
+
+import com.bookmyseat.reviewservice.entity.Review;
+import com.bookmyseat.reviewservice.loadtest.LatencyRecorder.Operation;
+import com.bookmyseat.reviewservice.repository.ReviewRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test: boots the full application (H2 by default, or any profile passed via
+ * {@code -Dloadtest.profile}), points it at a WireMock movie-service stand-in and drives a mixed
+ * workload over real HTTP, reporting p50/p99/p999 latency and throughput per operation.
+ * <p>
+ * Excluded from the regular build; run with {@code mvn test -Pload-test}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.jpa.show-sql=false",
+        "review.rate-limit.enabled=false",
+        "logging.level.com.bookmyseat.reviewservice=WARN",
+        "logging.level.org.springframework.web.client=WARN",
+        "logging.level.io.github.resilience4j=WARN"
+    })
+class ReviewServiceLoadTest {
+
+    private static final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+    private static MovieServiceStub movieService;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        movieService = MovieServiceStub.start(settings);
+        registry.add("movie-service.base-url", movieService::baseUrl);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (movieService != null) {
+            movieService.stop();
+        }
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        seedReviews();
+
+        System.out.println("Load test settings: " + settings);
+        runWorkload(settings.warmup);
+        long started = System.nanoTime();
+        LatencyRecorder result = runWorkload(settings.duration);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        String report = result.report(elapsed);
+        System.out.println(report);
+        Files.writeString(Path.of("target", "load-test-report.txt"),
+                "Load test settings: " + settings + System.lineSeparator() + report);
+
+        assertTrue(result.totalRequests() > 0, "Load test did not complete any request");
+    }
+
+    private void seedReviews() {
+        reviewRepository.deleteAllInBatch();
+        for (long movieId = 1; movieId <= settings.movies; movieId++) {
+            insertReviews(movieId, settings.reviewsPerMovie);
+        }
+        insertReviews(settings.deepMovieId(), settings.deepMovieReviews);
+    }
+
+    private void insertReviews(long movieId, int count) {
+        List<Review> batch = new ArrayList<>(1000);
+        for (int i = 0; i < count; i++) {
+            BigDecimal rating = BigDecimal.valueOf(1 + (i % 9) * 0.5);
+            batch.add(new Review(movieId, "seed-user-" + i, rating, "Seeded review " + i + " for movie " + movieId));
+            if (batch.size() == 1000) {
+                reviewRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        reviewRepository.saveAll(batch);
+    }
+
+    private LatencyRecorder runWorkload(Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(settings.threads);
+        try {
+            List<Future<LatencyRecorder>> futures = new ArrayList<>();
+            for (int worker = 0; worker < settings.threads; worker++) {
+                int workerId = worker;
+                futures.add(workers.submit(() -> runWorker(workerId, deadline)));
+            }
+            LatencyRecorder merged = new LatencyRecorder();
+            for (Future<LatencyRecorder> future : futures) {
+                future.get().mergeInto(merged);
+            }
+            return merged;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private LatencyRecorder runWorker(int workerId, long deadline) {
+        LatencyRecorder recorder = new LatencyRecorder();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int totalWeight = settings.submitWeight + settings.listWeight + settings.ratingWeight + settings.deepPageWeight;
+        long sequence = 0;
+
+        while (System.nanoTime() < deadline) {
+            int pick = random.nextInt(totalWeight);
+            long movieId = 1 + random.nextInt(settings.movies);
+            Operation operation;
+            HttpRequest request;
+
+            if ((pick -= settings.submitWeight) < 0) {
+                operation = Operation.SUBMIT;
+                // Unique user per submission so duplicate-review rules never reject load traffic
+                String body = String.format("{\"movieId\":%d,\"userName\":\"load-%d-%d\",\"rating\":%s,\"comment\":\"Load test review\"}",
+                        movieId, workerId, sequence++, 1 + random.nextInt(9) * 0.5);
+                request = HttpRequest.newBuilder(uri("/api/v1/reviews"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                        .build();
+            } else if ((pick -= settings.listWeight) < 0) {
+                operation = Operation.LIST;
+                request = HttpRequest.newBuilder(uri("/api/v1/reviews/movie/" + movieId
+                        + "?page=" + random.nextInt(3) + "&size=" + settings.pageSize)).GET().build();
+            } else if ((pick -= settings.ratingWeight) < 0) {
+                operation = Operation.RATING_SUMMARY;
+                request = HttpRequest.newBuilder(uri("/api/v1/reviews/movie/" + movieId + "/rating")).GET().build();
+            } else {
+                operation = Operation.DEEP_PAGE;
+                int lastPage = Math.max(1, settings.deepMovieReviews / settings.pageSize);
+                int page = lastPage / 2 + random.nextInt(Math.max(1, lastPage / 2));
+                request = HttpRequest.newBuilder(uri("/api/v1/reviews/movie/" + settings.deepMovieId()
+                        + "?page=" + page + "&size=" + settings.pageSize)).GET().build();
+            }
+
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                success = response.statusCode() < 400;
+            } catch (Exception e) {
+                success = false;
+            }
+            recorder.record(operation, System.nanoTime() - start, success);
+        }
+        return recorder;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
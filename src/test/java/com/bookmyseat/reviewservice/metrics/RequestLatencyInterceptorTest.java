@@ -0,0 +1,71 @@
+package com.bookmyseat.reviewservice.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLatencyInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestLatencyInterceptor interceptor;
+    private HandlerMethod handler;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new RequestLatencyInterceptor(new RequestLatencyMetrics(meterRegistry, List.of()));
+        handler = new HandlerMethod(new StubController(), StubController.class.getMethod("getReviewById", Long.class));
+        request = new MockHttpServletRequest("GET", "/api/v1/reviews/1");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void afterCompletion_RecordsRequestUnderHandlerName() {
+        // When
+        interceptor.preHandle(request, response, handler);
+        response.setStatus(404);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        // Then
+        assertEquals("getReviewById", request.getAttribute(RequestLatencyMetrics.ENDPOINT_ATTRIBUTE));
+        assertEquals(1, meterRegistry.get(RequestLatencyMetrics.REQUEST_TIMER)
+                .tags("endpoint", "getReviewById", "outcome", "CLIENT_ERROR").timer().count());
+    }
+
+    @Test
+    void afterCompletion_UnhandledExceptionCountsAsServerError() {
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, new IllegalStateException("boom"));
+
+        assertEquals(1, meterRegistry.get(RequestLatencyMetrics.REQUEST_TIMER)
+                .tags("endpoint", "getReviewById", "outcome", "SERVER_ERROR").timer().count());
+    }
+
+    @Test
+    void afterConcurrentHandlingStarted_StreamNotRecorded() {
+        // When
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterConcurrentHandlingStarted(request, response, handler);
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        // Then
+        assertNull(meterRegistry.find(RequestLatencyMetrics.REQUEST_TIMER).timer());
+    }
+
+    static class StubController {
+        public void getReviewById(Long reviewId) {
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.bookmyseat.reviewservice.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLatencyMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestLatencyMetrics metrics = new RequestLatencyMetrics(meterRegistry,
+            List.of(Duration.ofMillis(100), Duration.ofMillis(500)));
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void recordRequest_TaggedByEndpointAndOutcome() {
+        metrics.recordRequest(metrics.startRequest(), "getReviewsForMovie", 200);
+        metrics.recordRequest(metrics.startRequest(), "getReviewsForMovie", 404);
+        metrics.recordRequest(metrics.startRequest(), "getReviewsForMovie", 404);
+
+        assertEquals(1, requestTimer("getReviewsForMovie", "SUCCESS").count());
+        assertEquals(2, requestTimer("getReviewsForMovie", "CLIENT_ERROR").count());
+    }
+
+    @Test
+    void recordRequest_PublishesSloBuckets() {
+        metrics.recordRequest(metrics.startRequest(), "submitReview", 201);
+
+        List<Double> bucketMillis = Arrays.stream(requestTimer("submitReview", "SUCCESS").takeSnapshot().histogramCounts())
+                .map(bucket -> bucket.bucket(TimeUnit.MILLISECONDS))
+                .toList();
+
+        assertTrue(bucketMillis.contains(100.0));
+        assertTrue(bucketMillis.contains(500.0));
+    }
+
+    @Test
+    void recordPhase_AttributedToCurrentEndpoint() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(RequestLatencyMetrics.ENDPOINT_ATTRIBUTE, "getReviewById");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // When
+        metrics.recordPhase(LatencyPhase.DATABASE, TimeUnit.MILLISECONDS.toNanos(3));
+
+        // Then
+        Timer timer = meterRegistry.get(RequestLatencyMetrics.PHASE_TIMER)
+                .tags("endpoint", "getReviewById", "phase", "database").timer();
+        assertEquals(1, timer.count());
+        assertEquals(3.0, timer.totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void recordPhase_OutsideRequestIsBackground() {
+        metrics.recordPhase(LatencyPhase.MOVIE_SERVICE, 1_000);
+
+        assertEquals(1, meterRegistry.get(RequestLatencyMetrics.PHASE_TIMER)
+                .tags("endpoint", RequestLatencyMetrics.BACKGROUND, "phase", "movie_service").timer().count());
+    }
+
+    private Timer requestTimer(String endpoint, String outcome) {
+        return meterRegistry.get(RequestLatencyMetrics.REQUEST_TIMER)
+                .tags("endpoint", endpoint, "outcome", outcome).timer();
+    }
+}
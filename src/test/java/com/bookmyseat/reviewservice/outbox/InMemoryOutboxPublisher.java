@@ -0,0 +1,32 @@
+package com.bookmyseat.reviewservice.outbox;
+
+import com.bookmyseat.reviewservice.entity.OutboxEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test publisher that keeps every delivered event, optionally failing the next deliveries
+ */
+class InMemoryOutboxPublisher implements OutboxPublisher {
+
+    private final List<OutboxEvent> published = new ArrayList<>();
+    private int failuresRemaining;
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        if (failuresRemaining > 0) {
+            failuresRemaining--;
+            throw new IllegalStateException("Broker unavailable");
+        }
+        published.addAll(events);
+    }
+
+    void failNext(int deliveries) {
+        this.failuresRemaining = deliveries;
+    }
+
+    List<OutboxEvent> getPublished() {
+        return published;
+    }
+}
@@ -0,0 +1,111 @@
+package com.bookmyseat.reviewservice.outbox;
+
+import com.bookmyseat.reviewservice.entity.OutboxEvent;
+import com.bookmyseat.reviewservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemoryOutboxPublisher publisher;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new InMemoryOutboxPublisher();
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(outboxEventRepository, publisher, new TransactionTemplate(transactionManager),
+                meterRegistry, 2, 10);
+    }
+
+    @Test
+    void relay_PublishesAndDeletesBatchesInIdOrder() {
+        // Given
+        when(outboxEventRepository.findOldest(PageRequest.of(0, 2)))
+                .thenReturn(List.of(event(1L), event(2L)))
+                .thenReturn(List.of(event(3L)));
+
+        // When
+        int relayed = relay.relay();
+
+        // Then
+        assertEquals(3, relayed);
+        assertEquals(List.of(1L, 2L, 3L), publisher.getPublished().stream().map(OutboxEvent::getId).toList());
+        verify(outboxEventRepository).deleteByIds(List.of(1L, 2L));
+        verify(outboxEventRepository).deleteByIds(List.of(3L));
+        assertEquals(3.0, meterRegistry.get("review_outbox_published").counter().count());
+    }
+
+    @Test
+    void relay_FailedBatchIsKeptForNextRun() {
+        // Given
+        when(outboxEventRepository.findOldest(PageRequest.of(0, 2))).thenReturn(List.of(event(1L), event(2L)));
+        publisher.failNext(1);
+
+        // When
+        int relayed = relay.relay();
+
+        // Then
+        assertEquals(0, relayed);
+        verify(outboxEventRepository, never()).deleteByIds(any());
+        assertEquals(1.0, meterRegistry.get("review_outbox_publish_failures").counter().count());
+
+        // And the next run delivers it
+        when(outboxEventRepository.findOldest(PageRequest.of(0, 2)))
+                .thenReturn(List.of(event(1L), event(2L)))
+                .thenReturn(List.of());
+        assertEquals(2, relay.relay());
+        verify(outboxEventRepository).deleteByIds(List.of(1L, 2L));
+    }
+
+    @Test
+    void relay_StopsAfterMaxBatchesPerRun() {
+        // Given
+        relay = new OutboxRelay(outboxEventRepository, publisher, new TransactionTemplate(transactionManager),
+                meterRegistry, 2, 2);
+        when(outboxEventRepository.findOldest(PageRequest.of(0, 2)))
+                .thenReturn(List.of(event(1L), event(2L)))
+                .thenReturn(List.of(event(3L), event(4L)));
+
+        // When & Then
+        assertEquals(4, relay.relay());
+        verify(outboxEventRepository, times(2)).findOldest(any());
+    }
+
+    @Test
+    void relay_EmptyOutboxPublishesNothing() {
+        when(outboxEventRepository.findOldest(PageRequest.of(0, 2))).thenReturn(List.of());
+
+        assertEquals(0, relay.relay());
+        assertTrue(publisher.getPublished().isEmpty());
+        verify(outboxEventRepository, never()).deleteByIds(any());
+    }
+
+    private static OutboxEvent event(Long id) {
+        OutboxEvent event = new OutboxEvent(OutboxEventType.REVIEW_SUBMITTED, 1L, "{}", LocalDateTime.now());
+        event.setId(id);
+        return event;
+    }
+}
@@ -0,0 +1,103 @@
+package com.bookmyseat.reviewservice.outbox;
+
+import com.bookmyseat.reviewservice.entity.MovieRating;
+import com.bookmyseat.reviewservice.entity.OutboxEvent;
+import com.bookmyseat.reviewservice.entity.Review;
+import com.bookmyseat.reviewservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewOutboxTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private ObjectMapper objectMapper;
+    private ReviewOutbox reviewOutbox;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        reviewOutbox = new ReviewOutbox(outboxEventRepository, objectMapper);
+    }
+
+    @Test
+    void recordReviewSubmitted_StoresReviewPayload() throws Exception {
+        // Given
+        Review review = new Review(7L, "Alice", BigDecimal.valueOf(4.5), "Great movie!");
+        review.setId(42L);
+        review.setReviewDate(LocalDateTime.of(2025, 10, 1, 12, 30));
+
+        // When
+        reviewOutbox.recordReviewSubmitted(review);
+
+        // Then
+        OutboxEvent event = savedEvent();
+        assertEquals(OutboxEventType.REVIEW_SUBMITTED, event.getEventType());
+        assertEquals(7L, event.getMovieId());
+        assertNotNull(event.getCreatedAt());
+
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        assertEquals(42L, payload.get("reviewId").asLong());
+        assertEquals("Alice", payload.get("userName").asText());
+        assertEquals(4.5, payload.get("rating").asDouble());
+        assertEquals("Great movie!", payload.get("comment").asText());
+        assertEquals("2025-10-01T12:30:00", payload.get("reviewDate").asText());
+    }
+
+    @Test
+    void recordRatingChanged_StoresAggregatePayload() throws Exception {
+        // Given
+        MovieRating movieRating = new MovieRating(7L);
+        movieRating.setAverageRating(new BigDecimal("4.25"));
+        movieRating.setTotalReviews(12);
+
+        // When
+        reviewOutbox.recordRatingChanged(movieRating);
+
+        // Then
+        OutboxEvent event = savedEvent();
+        assertEquals(OutboxEventType.RATING_CHANGED, event.getEventType());
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        assertEquals(7L, payload.get("movieId").asLong());
+        assertEquals(4.25, payload.get("averageRating").asDouble());
+        assertEquals(12, payload.get("totalReviews").asInt());
+        assertFalse(payload.get("removed").asBoolean());
+    }
+
+    @Test
+    void recordRatingRemoved_StoresZeroedPayloadFlaggedAsRemoved() throws Exception {
+        // When
+        reviewOutbox.recordRatingRemoved(7L);
+
+        // Then
+        OutboxEvent event = savedEvent();
+        assertEquals(OutboxEventType.RATING_CHANGED, event.getEventType());
+        assertEquals(7L, event.getMovieId());
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        assertEquals(0.0, payload.get("averageRating").asDouble());
+        assertEquals(0, payload.get("totalReviews").asInt());
+        assertTrue(payload.get("removed").asBoolean());
+    }
+
+    private OutboxEvent savedEvent() {
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(captor.capture());
+        return captor.getValue();
+    }
+}
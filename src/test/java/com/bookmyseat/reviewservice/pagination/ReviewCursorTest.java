@@ -0,0 +1,31 @@
+package com.bookmyseat.reviewservice.pagination;
+
+import com.bookmyseat.reviewservice.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReviewCursorTest {
+
+    @Test
+    void encodeDecode_RoundTripsWithFullPrecision() {
+        LocalDateTime reviewDate = LocalDateTime.of(2025, 9, 30, 10, 30, 15, 123456000);
+
+        String token = new ReviewCursor(reviewDate, 42L).encode();
+        ReviewCursor decoded = ReviewCursor.decode(token);
+
+        assertEquals(reviewDate, decoded.getReviewDate());
+        assertEquals(42L, decoded.getReviewId());
+        assertFalse(token.contains("="));
+    }
+
+    @Test
+    void decode_RejectsMalformedTokens() {
+        assertThrows(InvalidCursorException.class, () -> ReviewCursor.decode("%%%"));
+        assertThrows(InvalidCursorException.class, () -> ReviewCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(InvalidCursorException.class, () -> ReviewCursor.decode(
+                new ReviewCursor(LocalDateTime.of(2025, 1, 1, 0, 0), 1L).encode().substring(2)));
+    }
+}
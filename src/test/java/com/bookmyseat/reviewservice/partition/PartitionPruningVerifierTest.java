@@ -0,0 +1,112 @@
+package com.bookmyseat.reviewservice.partition;
+
+import com.bookmyseat.reviewservice.repository.ReviewRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionPruningVerifierTest {
+
+    // Shape of the SQL Hibernate generates for a paged movie query
+    private static final String PAGE_SQL =
+            "select r1_0.id,r1_0.movie_id from reviews r1_0 where r1_0.movie_id=? order by r1_0.review_date desc limit ?,?";
+    private static final String COUNT_SQL = "select count(r1_0.id) from reviews r1_0 where r1_0.movie_id=?";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void verify_ExplainsCapturedSqlAgainstTargetTable() {
+        // Given
+        when(jdbcTemplate.queryForList(anyString(), any(Object[].class))).thenReturn(List.of(planRow("p1")));
+
+        // When
+        boolean pruned = verifier(List.of(PAGE_SQL, COUNT_SQL)).verify("reviews_partitioned");
+
+        // Then
+        assertTrue(pruned);
+        int statements = 2 * ReviewPartitionQueries.MOVIE_SCOPED.size();
+        verify(jdbcTemplate, times(statements)).queryForList(startsWith("EXPLAIN "), any(Object[].class));
+        verify(jdbcTemplate, times(statements / 2)).queryForList(
+                eq("EXPLAIN " + PAGE_SQL.replace("from reviews ", "from reviews_partitioned ")),
+                eq(1L), eq(1L), eq(1L));
+        verify(jdbcTemplate, never()).queryForList(contains("from reviews r1_0"), any(Object[].class));
+    }
+
+    @Test
+    void verify_FailsWhenAStatementReadsSeveralPartitions() {
+        // Given
+        when(jdbcTemplate.queryForList(startsWith("EXPLAIN select r1_0.id"), any(Object[].class)))
+                .thenReturn(List.of(planRow("p1")));
+        when(jdbcTemplate.queryForList(startsWith("EXPLAIN select count"), any(Object[].class)))
+                .thenReturn(List.of(planRow("p0,p1,p2")));
+
+        // When / Then
+        assertFalse(verifier(List.of(PAGE_SQL, COUNT_SQL)).verify("reviews_partitioned"));
+    }
+
+    @Test
+    void verify_FailsOnUnpartitionedTable() {
+        // Given
+        when(jdbcTemplate.queryForList(anyString(), any(Object[].class))).thenReturn(List.of(planRow(null)));
+
+        // When / Then
+        assertFalse(verifier(List.of(COUNT_SQL)).verify("reviews"));
+    }
+
+    @Test
+    void verify_FailsWhenNoSqlWasCaptured() {
+        assertFalse(verifier(List.of()).verify("reviews_partitioned"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void sampleParameters_BindsEveryPlaceholder() {
+        assertArrayEquals(new Object[] {1L, 1L, 1L}, PartitionPruningVerifier.sampleParameters(PAGE_SQL));
+    }
+
+    @Test
+    void partitionsScanned_MergesRows() {
+        Set<String> partitions = PartitionPruningVerifier.partitionsScanned(
+                List.of(planRow("p3"), planRow("p3, p7"), planRow(null)));
+
+        assertEquals(Set.of("p3", "p7"), partitions);
+    }
+
+    private PartitionPruningVerifier verifier(List<String> capturedSql) {
+        return new PartitionPruningVerifier(jdbcTemplate, reviewRepository, transactionTemplate) {
+            @Override
+            public List<String> captureStatements(Consumer<ReviewRepository> query) {
+                return capturedSql;
+            }
+        };
+    }
+
+    private static Map<String, Object> planRow(String partitions) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", 1L);
+        row.put("table", "reviews_partitioned");
+        row.put("PARTITIONS", partitions);
+        return row;
+    }
+}
@@ -0,0 +1,242 @@
+package com.bookmyseat.reviewservice.partition;
+
+import com.bookmyseat.reviewservice.service.JobLeaseService;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the migrator's copy and reconcile SQL against H2 in MySQL mode. H2 has no LOCK TABLES
+ * or RENAME TABLE, so the swap test replaces those two statements with H2 equivalents.
+ */
+class ReviewPartitionMigratorTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private static final Duration LEASE = Duration.ofHours(24);
+
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private PartitionPruningVerifier pruningVerifier;
+    private JobLeaseService jobLeaseService;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:partition-migration;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        pruningVerifier = mock(PartitionPruningVerifier.class);
+        jobLeaseService = mock(JobLeaseService.class);
+        createTable(ReviewPartitionMigrator.SOURCE_TABLE, "PRIMARY KEY (id)");
+        createTable(ReviewPartitionMigrator.TARGET_TABLE, "PRIMARY KEY (id, movie_id)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void copyRemaining_CopiesInChunksAndResumesFromHighestCopiedId() throws Exception {
+        // Given: a previous run stopped after copying ids 1-4
+        for (long id = 1; id <= 10; id++) {
+            insertReview(id, 4.0);
+        }
+        jdbcTemplate.update(ReviewPartitionMigrator.copySql(), 0L, 4L);
+
+        // When
+        long copied = migrator(3).copyRemaining();
+
+        // Then
+        assertEquals(6, copied);
+        assertEquals(rows(ReviewPartitionMigrator.SOURCE_TABLE), rows(ReviewPartitionMigrator.TARGET_TABLE));
+        assertEquals(0, migrator(3).copyRemaining());
+    }
+
+    @Test
+    void reconcile_AppliesRowsCommittedOutOfOrderUpdatedAndDeletedDuringCopy() throws Exception {
+        // Given: id 4 is still in flight when the copy runs past it
+        for (long id : new long[] {1, 2, 3, 5, 6}) {
+            insertReview(id, 4.0);
+        }
+        ReviewPartitionMigrator migrator = migrator(2);
+        migrator.copyRemaining();
+
+        insertReview(4, 3.5);
+        deleteReview(2);
+        updateReview(3, 1.5);
+
+        // A rerun of the copy alone cannot see any of it
+        assertEquals(0, migrator.copyRemaining());
+
+        // When
+        long changed = migrator.reconcile();
+
+        // Then: id 2 and the stale id 3 deleted, id 3 and id 4 inserted
+        assertEquals(4, changed);
+        assertEquals(rows(ReviewPartitionMigrator.SOURCE_TABLE), rows(ReviewPartitionMigrator.TARGET_TABLE));
+        assertEquals(0, migrator.reconcile());
+    }
+
+    @Test
+    void swapTables_ReconcilesUnderLockAndRenamesTables() throws Exception {
+        // Given: rows changed after the last reconcile pass
+        for (long id = 1; id <= 6; id++) {
+            insertReview(id, 4.0);
+        }
+        ReviewPartitionMigrator migrator = migrator(4);
+        migrator.copyRemaining();
+        migrator.reconcile();
+
+        deleteReview(6);
+        insertReview(8, 2.0);
+        insertReview(7, 5.0);
+        deleteReview(1);
+        updateReview(5, 3.0);
+        List<Map<String, Object>> expected = rows(ReviewPartitionMigrator.SOURCE_TABLE);
+
+        // When
+        migrator.swapTables();
+
+        // Then
+        assertEquals(expected, rows(ReviewPartitionMigrator.SOURCE_TABLE));
+        assertEquals(List.of(2L, 3L, 4L, 5L, 7L, 8L), jdbcTemplate.queryForList(
+                "SELECT id FROM " + ReviewPartitionMigrator.SOURCE_TABLE + " ORDER BY id", Long.class));
+        // The swapped-in table is the partitioned copy; the old table is kept
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.KEY_COLUMN_USAGE " +
+                "WHERE TABLE_NAME = 'REVIEWS'", Integer.class));
+        assertEquals(expected.size(), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + ReviewPartitionMigrator.RETIRED_TABLE, Integer.class));
+    }
+
+    @Test
+    void lockTablesSql_LocksEveryAliasUsedUnderTheLock() {
+        String lock = new ReviewPartitionMigrator(jdbcTemplate, dataSource, pruningVerifier, jobLeaseService,
+                1, 0, true, LEASE).lockTablesSql();
+
+        assertTrue(lock.contains("reviews WRITE"));
+        assertTrue(lock.contains("reviews AS s READ"));
+        assertTrue(lock.contains("reviews_partitioned WRITE"));
+        assertTrue(lock.contains("reviews_partitioned AS t READ"));
+        assertTrue(ReviewPartitionMigrator.deleteStaleSql().contains(" s WHERE"));
+        assertTrue(ReviewPartitionMigrator.insertMissingSql().contains(" t WHERE"));
+    }
+
+    @Test
+    void onReadinessChange_StartsOnceInTheBackgroundWhenAcceptingTraffic() {
+        // Given
+        ReviewPartitionMigrator migrator = migrator(2);
+
+        // When
+        migrator.onReadinessChange(new AvailabilityChangeEvent<>(this, ReadinessState.REFUSING_TRAFFIC));
+        verify(jobLeaseService, after(100).never()).tryAcquire(any(), any());
+        migrator.onReadinessChange(new AvailabilityChangeEvent<>(this, ReadinessState.ACCEPTING_TRAFFIC));
+        migrator.onReadinessChange(new AvailabilityChangeEvent<>(this, ReadinessState.ACCEPTING_TRAFFIC));
+
+        // Then
+        verify(jobLeaseService, timeout(5000)).tryAcquire(ReviewPartitionMigrator.LEASE, LEASE);
+        verify(jobLeaseService, after(100).times(1)).tryAcquire(any(), any());
+        migrator.stop();
+    }
+
+    @Test
+    void runExclusively_SkipsWhileAnotherInstanceHoldsTheLease() {
+        // Given
+        insertReview(1, 4.0);
+        when(jobLeaseService.tryAcquire(ReviewPartitionMigrator.LEASE, LEASE)).thenReturn(false);
+
+        // When
+        migrator(2).runExclusively();
+
+        // Then
+        assertTrue(rows(ReviewPartitionMigrator.TARGET_TABLE).isEmpty());
+        verify(jobLeaseService, never()).release(any());
+        verifyNoInteractions(pruningVerifier);
+    }
+
+    @Test
+    void runExclusively_LeavesTablesInPlaceWhenPruningFails() {
+        // Given
+        for (long id = 1; id <= 3; id++) {
+            insertReview(id, 4.0);
+        }
+        when(jobLeaseService.tryAcquire(ReviewPartitionMigrator.LEASE, LEASE)).thenReturn(true);
+        when(pruningVerifier.verify(ReviewPartitionMigrator.TARGET_TABLE)).thenReturn(false);
+
+        // When
+        migrator(2).runExclusively();
+
+        // Then: copied, but not swapped
+        assertEquals(rows(ReviewPartitionMigrator.SOURCE_TABLE), rows(ReviewPartitionMigrator.TARGET_TABLE));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES " +
+                "WHERE TABLE_NAME = 'REVIEWS_UNPARTITIONED'", Integer.class));
+        verify(jobLeaseService).release(ReviewPartitionMigrator.LEASE);
+    }
+
+    private ReviewPartitionMigrator migrator(int chunkSize) {
+        return new ReviewPartitionMigrator(jdbcTemplate, dataSource, pruningVerifier, jobLeaseService,
+                chunkSize, 0, true, LEASE) {
+            @Override
+            String lockTablesSql() {
+                return "SET EXCLUSIVE 1";
+            }
+
+            @Override
+            String unlockTablesSql() {
+                return "SET EXCLUSIVE 0";
+            }
+
+            @Override
+            List<String> renameTablesSql() {
+                return List.of(
+                        "ALTER TABLE " + SOURCE_TABLE + " RENAME TO " + RETIRED_TABLE,
+                        "ALTER TABLE " + TARGET_TABLE + " RENAME TO " + SOURCE_TABLE);
+            }
+        };
+    }
+
+    private void createTable(String table, String primaryKey) {
+        jdbcTemplate.execute("CREATE TABLE " + table + " (" +
+                "id BIGINT NOT NULL, movie_id BIGINT NOT NULL, user_name VARCHAR(100) NOT NULL, " +
+                "rating DECIMAL(2,1) NOT NULL, comment TEXT, comment_preview VARCHAR(200), " +
+                "comment_truncated BOOLEAN NOT NULL DEFAULT FALSE, review_date TIMESTAMP(6), " +
+                "created_at TIMESTAMP(6), updated_at TIMESTAMP(6), " + primaryKey + ")");
+    }
+
+    private void insertReview(long id, double rating) {
+        Timestamp created = Timestamp.valueOf(CREATED.plusMinutes(id));
+        jdbcTemplate.update("INSERT INTO " + ReviewPartitionMigrator.SOURCE_TABLE +
+                        " (id, movie_id, user_name, rating, comment, comment_preview, comment_truncated," +
+                        " review_date, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, FALSE, ?, ?, ?)",
+                id, id % 3 + 1, "user-" + id, rating, "Comment " + id, "Comment " + id, created, created, created);
+    }
+
+    private void updateReview(long id, double rating) {
+        jdbcTemplate.update("UPDATE " + ReviewPartitionMigrator.SOURCE_TABLE +
+                        " SET rating = ?, comment = ?, updated_at = ? WHERE id = ?",
+                rating, "Edited " + id, Timestamp.valueOf(CREATED.plusDays(1)), id);
+    }
+
+    private void deleteReview(long id) {
+        jdbcTemplate.update("DELETE FROM " + ReviewPartitionMigrator.SOURCE_TABLE + " WHERE id = ?", id);
+    }
+
+    private List<Map<String, Object>> rows(String table) {
+        return jdbcTemplate.queryForList("SELECT id, movie_id, user_name, rating, comment, updated_at FROM "
+                + table + " ORDER BY id");
+    }
+}
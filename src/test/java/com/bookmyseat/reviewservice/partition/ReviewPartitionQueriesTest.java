@@ -0,0 +1,50 @@
+package com.bookmyseat.reviewservice.partition;
+
+import com.bookmyseat.reviewservice.repository.ReviewRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.Invocation;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReviewPartitionQueriesTest {
+
+    @Test
+    void everyRepositoryQueryIsClassifiedExactlyOnce() {
+        Set<String> repositoryMethods = Arrays.stream(ReviewRepository.class.getDeclaredMethods())
+                .map(Method::getName)
+                .collect(Collectors.toSet());
+
+        for (String method : repositoryMethods) {
+            boolean movieScoped = ReviewPartitionQueries.MOVIE_SCOPED.containsKey(method);
+            boolean allPartitions = ReviewPartitionQueries.ALL_PARTITIONS.containsKey(method);
+            assertTrue(movieScoped ^ allPartitions,
+                    method + " must be listed in exactly one of MOVIE_SCOPED or ALL_PARTITIONS");
+        }
+
+        assertTrue(repositoryMethods.containsAll(ReviewPartitionQueries.MOVIE_SCOPED.keySet()));
+        assertTrue(repositoryMethods.containsAll(ReviewPartitionQueries.ALL_PARTITIONS.keySet()));
+    }
+
+    @Test
+    void movieScopedQueriesCallTheirMethodWithTheSampleMovie() {
+        ReviewPartitionQueries.MOVIE_SCOPED.forEach((method, query) -> {
+            ReviewRepository repository = mock(ReviewRepository.class);
+
+            query.accept(repository);
+
+            Collection<Invocation> invocations = mockingDetails(repository).getInvocations();
+            assertFalse(invocations.isEmpty(), method);
+            for (Invocation invocation : invocations) {
+                assertEquals(method, invocation.getMethod().getName());
+                assertEquals(ReviewPartitionQueries.SAMPLE_MOVIE_ID, invocation.getArgument(0), method);
+            }
+        });
+    }
+}
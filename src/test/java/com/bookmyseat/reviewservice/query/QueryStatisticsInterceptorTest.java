@@ -0,0 +1,103 @@
+package com.bookmyseat.reviewservice.query;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class QueryStatisticsInterceptorTest {
+
+    private QueryStatistics queryStatistics;
+    private QueryStatisticsInterceptor interceptor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        queryStatistics = new QueryStatistics(new SimpleMeterRegistry(), true, 200);
+        ObjectProvider<QueryStatistics> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(queryStatistics);
+        interceptor = new QueryStatisticsInterceptor("ReviewRepository", provider);
+    }
+
+    @Test
+    void invoke_RecordsStatementsAndEntitiesIssuedDuringCall() throws Throwable {
+        // Given
+        StatementCountingInspector inspector = new StatementCountingInspector();
+        MethodInvocation invocation = invocation("findAll", () -> {
+            inspector.inspect("select * from reviews");
+            inspector.inspect("select * from movie_ratings");
+            QueryCounters.current().entitiesLoaded += 3;
+            return List.of("a", "b", "c");
+        });
+        inspector.inspect("select 1");
+
+        // When
+        Object result = interceptor.invoke(invocation);
+
+        // Then
+        assertEquals(List.of("a", "b", "c"), result);
+        QueryStatisticsReport.QueryReport report = queryStatistics.report().getQueries().get(0);
+        assertEquals("ReviewRepository.findAll", report.getQuery());
+        assertEquals(1, report.getExecutions());
+        assertEquals(3, report.getRows());
+        assertEquals(3, report.getEntitiesLoaded());
+        assertEquals(2, report.getStatements());
+    }
+
+    @Test
+    void invoke_FailedQueryStillRecorded() throws Throwable {
+        // Given
+        MethodInvocation invocation = invocation("findById", () -> {
+            throw new IllegalStateException("connection lost");
+        });
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> interceptor.invoke(invocation));
+        assertEquals(1, queryStatistics.report().getQueries().get(0).getExecutions());
+    }
+
+    @Test
+    void invoke_DisabledPassesThrough() throws Throwable {
+        // Given
+        queryStatistics.setEnabled(false);
+
+        // When
+        Object result = interceptor.invoke(invocation("findAll", List::of));
+
+        // Then
+        assertEquals(List.of(), result);
+        assertTrue(queryStatistics.report().getQueries().isEmpty());
+    }
+
+    @Test
+    void rowCount_CountsResultShapes() {
+        assertEquals(0, QueryStatisticsInterceptor.rowCount(null));
+        assertEquals(2, QueryStatisticsInterceptor.rowCount(List.of(1, 2)));
+        assertEquals(3, QueryStatisticsInterceptor.rowCount(new PageImpl<>(List.of(1, 2, 3))));
+        assertEquals(0, QueryStatisticsInterceptor.rowCount(Optional.empty()));
+        assertEquals(1, QueryStatisticsInterceptor.rowCount(Optional.of(1)));
+        assertEquals(1, QueryStatisticsInterceptor.rowCount(42L));
+    }
+
+    private static MethodInvocation invocation(String methodName, ThrowingSupplier body) throws Throwable {
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(CrudRepository.class.getMethod(methodName,
+                methodName.equals("findById") ? new Class<?>[] {Object.class} : new Class<?>[0]));
+        when(invocation.proceed()).thenAnswer(answer -> body.get());
+        return invocation;
+    }
+
+    @FunctionalInterface
+    private interface ThrowingSupplier {
+        Object get() throws Throwable;
+    }
+}
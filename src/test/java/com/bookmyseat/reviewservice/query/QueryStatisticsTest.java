@@ -0,0 +1,89 @@
+package com.bookmyseat.reviewservice.query;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryStatisticsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryStatistics queryStatistics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queryStatistics = new QueryStatistics(meterRegistry, true, 200);
+    }
+
+    @Test
+    void record_PublishesMetersPerQuery() {
+        // When
+        queryStatistics.record("ReviewRepository.findById", TimeUnit.MILLISECONDS.toNanos(5), 1, 1, 1);
+        queryStatistics.record("ReviewRepository.findById", TimeUnit.MILLISECONDS.toNanos(7), 0, 0, 1);
+
+        // Then
+        String query = "ReviewRepository.findById";
+        assertEquals(2, meterRegistry.get("review_query_duration").tag("query", query).timer().count());
+        assertEquals(1.0, meterRegistry.get("review_query_rows").tag("query", query).summary().totalAmount());
+        assertEquals(1.0, meterRegistry.get("review_query_entities_loaded").tag("query", query).counter().count());
+        assertEquals(2.0, meterRegistry.get("review_query_statements").tag("query", query).counter().count());
+        assertEquals(0.0, meterRegistry.get("review_slow_queries").tag("query", query).counter().count());
+    }
+
+    @Test
+    void record_CountsQueriesAtOrOverThresholdAsSlow() {
+        // When
+        queryStatistics.record("ReviewRepository.countByMovieId", TimeUnit.MILLISECONDS.toNanos(200), 1, 0, 1);
+        queryStatistics.record("ReviewRepository.countByMovieId", TimeUnit.MILLISECONDS.toNanos(199), 1, 0, 1);
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("review_slow_queries")
+                .tag("query", "ReviewRepository.countByMovieId").counter().count());
+    }
+
+    @Test
+    void report_SortsBySlowestTotalTimeFirst() {
+        // Given
+        queryStatistics.record("fast", TimeUnit.MILLISECONDS.toNanos(1), 1, 0, 1);
+        queryStatistics.record("slow", TimeUnit.MILLISECONDS.toNanos(50), 10, 10, 2);
+
+        // When
+        QueryStatisticsReport report = queryStatistics.report();
+
+        // Then
+        List<QueryStatisticsReport.QueryReport> queries = report.getQueries();
+        assertTrue(report.isEnabled());
+        assertEquals(200, report.getSlowThresholdMs());
+        assertEquals(List.of("slow", "fast"), queries.stream().map(QueryStatisticsReport.QueryReport::getQuery).toList());
+        assertEquals(1, queries.get(0).getExecutions());
+        assertEquals(50.0, queries.get(0).getTotalTimeMs(), 0.001);
+        assertEquals(10, queries.get(0).getRows());
+        assertEquals(10, queries.get(0).getEntitiesLoaded());
+        assertEquals(2, queries.get(0).getStatements());
+    }
+
+    @Test
+    void endpoint_ChangesSettingsAtRuntime() {
+        // Given
+        QueryStatisticsEndpoint endpoint = new QueryStatisticsEndpoint(queryStatistics);
+
+        // When
+        QueryStatisticsReport report = endpoint.configure(false, 50L);
+
+        // Then
+        assertFalse(report.isEnabled());
+        assertEquals(50, report.getSlowThresholdMs());
+        assertFalse(queryStatistics.isEnabled());
+        assertTrue(endpoint.configure(null, null).getQueries().isEmpty());
+    }
+
+    @Test
+    void setSlowThresholdMs_NegativeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> queryStatistics.setSlowThresholdMs(-1));
+    }
+}
@@ -0,0 +1,63 @@
+package com.bookmyseat.reviewservice.ratelimit;
+
+import com.bookmyseat.reviewservice.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubmissionRateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void checkSubmission_ThrottlesUserAfterBurst() {
+        // Given
+        SubmissionRateLimiter limiter = new SubmissionRateLimiter(meterRegistry, true, 1024, 4, 2, 1, 100, 60);
+        limiter.checkSubmission(1L, "Alice");
+        limiter.checkSubmission(2L, "Alice");
+
+        // When
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> limiter.checkSubmission(3L, "Alice"));
+
+        // Then
+        assertEquals("Too many reviews submitted by user Alice. Please try again later.", exception.getMessage());
+        assertEquals(60, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("review_submissions_throttled").tag("scope", "user").counter().count());
+        assertDoesNotThrow(() -> limiter.checkSubmission(3L, "Bob"));
+    }
+
+    @Test
+    void checkSubmission_ThrottlesMovieAcrossUsers() {
+        // Given
+        SubmissionRateLimiter limiter = new SubmissionRateLimiter(meterRegistry, true, 1024, 4, 5, 10, 2, 60);
+        limiter.checkSubmission(1L, "Alice");
+        limiter.checkSubmission(1L, "Bob");
+
+        // When
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> limiter.checkSubmission(1L, "Carol"));
+
+        // Then
+        assertEquals("Too many reviews submitted for movie ID: 1. Please try again later.", exception.getMessage());
+        assertEquals(1, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("review_submissions_throttled").tag("scope", "movie").counter().count());
+        assertDoesNotThrow(() -> limiter.checkSubmission(2L, "Carol"));
+    }
+
+    @Test
+    void checkSubmission_DisabledNeverThrottles() {
+        SubmissionRateLimiter limiter = new SubmissionRateLimiter(meterRegistry, false, 1024, 4, 1, 1, 1, 1);
+
+        for (int i = 0; i < 10; i++) {
+            assertDoesNotThrow(() -> limiter.checkSubmission(1L, "Alice"));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.bookmyseat.reviewservice.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void tryAcquire_AllowsBurstThenThrottles() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(64, 4, 3, 1, nanos::get);
+
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.tryAcquire("alice"));
+    }
+
+    @Test
+    void tryAcquire_RefillsAtConfiguredRate() {
+        // Given
+        TokenBucketLimiter limiter = new TokenBucketLimiter(64, 4, 2, 2, nanos::get);
+        limiter.tryAcquire(7L);
+        limiter.tryAcquire(7L);
+        assertTrue(limiter.tryAcquire(7L) > 0);
+
+        // When
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        // Then
+        assertEquals(0, limiter.tryAcquire(7L));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), limiter.tryAcquire(7L));
+    }
+
+    @Test
+    void tryAcquire_RefillNeverExceedsBurst() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(64, 4, 2, 1, nanos::get);
+        limiter.tryAcquire("bob");
+        nanos.addAndGet(TimeUnit.HOURS.toNanos(1));
+
+        assertEquals(0, limiter.tryAcquire("bob"));
+        assertEquals(0, limiter.tryAcquire("bob"));
+        assertTrue(limiter.tryAcquire("bob") > 0);
+    }
+
+    @Test
+    void tryAcquire_KeysHaveSeparateBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(64, 4, 1, 1, nanos::get);
+
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertTrue(limiter.tryAcquire("alice") > 0);
+        assertEquals(0, limiter.tryAcquire("bob"));
+        assertEquals(0, limiter.tryAcquire(1L));
+        assertEquals(0, limiter.tryAcquire(2L));
+    }
+
+    @Test
+    void tryAcquire_KeySpaceStaysBoundedByEvictingLeastRecentlyUsed() {
+        // Given a single set of WAYS slots
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 1, 1, nanos::get);
+        assertEquals(TokenBucketLimiter.WAYS, limiter.capacity());
+        for (long movieId = 1; movieId <= TokenBucketLimiter.WAYS; movieId++) {
+            limiter.tryAcquire(movieId);
+            nanos.incrementAndGet();
+        }
+        assertTrue(limiter.tryAcquire(1L) > 0);
+
+        // When
+        assertEquals(0, limiter.tryAcquire(100L));
+
+        // Then movie 2 was least recently used and starts over with a full bucket
+        assertEquals(1, limiter.evictionCount());
+        assertTrue(limiter.tryAcquire(1L) > 0);
+        assertEquals(0, limiter.tryAcquire(2L));
+    }
+
+    @Test
+    void constructor_RoundsStripesAndSetsToPowersOfTwo() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1000, 3, 1, 1);
+
+        // 4 stripes x 64 sets x 4 ways
+        assertEquals(1024, limiter.capacity());
+    }
+
+    @Test
+    void constructor_RejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(0, 1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(16, 1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(16, 1, 1, 0));
+    }
+}
@@ -0,0 +1,140 @@
+package com.bookmyseat.reviewservice.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReviewSearchIndexTest {
+
+    private ReviewSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ReviewSearchIndex();
+        index.add(1L, 10L, "Watched it in IMAX, the visuals were stunning");
+        index.add(2L, 10L, "The ending was confusing but the IMAX sound was great");
+        index.add(3L, 20L, "Loved the ending. What an ending!");
+        index.add(4L, 20L, "Too long and boring");
+    }
+
+    @Test
+    void tokenize_LowercasesAndDropsStopWords() {
+        assertEquals(List.of("imax", "ending", "blew", "me", "away", "3d"),
+                ReviewTokenizer.tokenize("The IMAX ending blew me away, a 3D-"));
+        assertTrue(ReviewTokenizer.tokenize(null).isEmpty());
+        assertTrue(ReviewTokenizer.tokenize("  ,.! ").isEmpty());
+    }
+
+    @Test
+    void search_RanksByRelevance() {
+        ReviewSearchIndex.SearchHits hits = index.search(List.of("ending"), null, 0, 10);
+
+        assertEquals(2, hits.getTotalHits());
+        // Review 3 mentions "ending" twice in a short comment
+        assertArrayEquals(new long[] {3L, 2L}, hits.getReviewIds());
+        assertTrue(hits.getScores()[0] > hits.getScores()[1]);
+    }
+
+    @Test
+    void search_MultipleTermsFavourDocumentsMatchingMore() {
+        ReviewSearchIndex.SearchHits hits = index.search(List.of("imax", "ending"), null, 0, 10);
+
+        assertEquals(3, hits.getTotalHits());
+        assertEquals(2L, hits.getReviewIds()[0]);
+    }
+
+    @Test
+    void search_FiltersByMovie() {
+        ReviewSearchIndex.SearchHits hits = index.search(List.of("imax", "ending"), 20L, 0, 10);
+
+        assertEquals(1, hits.getTotalHits());
+        assertArrayEquals(new long[] {3L}, hits.getReviewIds());
+    }
+
+    @Test
+    void search_Paginates() {
+        ReviewSearchIndex.SearchHits firstPage = index.search(List.of("imax", "ending"), null, 0, 2);
+        ReviewSearchIndex.SearchHits secondPage = index.search(List.of("imax", "ending"), null, 2, 2);
+        ReviewSearchIndex.SearchHits pastEnd = index.search(List.of("imax", "ending"), null, 4, 2);
+
+        assertEquals(2, firstPage.getReviewIds().length);
+        assertEquals(1, secondPage.getReviewIds().length);
+        assertEquals(0, pastEnd.getReviewIds().length);
+        assertEquals(3, pastEnd.getTotalHits());
+    }
+
+    @Test
+    void search_UnknownTermReturnsNothing() {
+        ReviewSearchIndex.SearchHits hits = index.search(List.of("popcorn"), null, 0, 10);
+
+        assertEquals(0, hits.getTotalHits());
+        assertEquals(0, hits.getReviewIds().length);
+    }
+
+    @Test
+    void add_IgnoresTextWithoutTerms() {
+        assertFalse(index.add(5L, 10L, "a"));
+        assertEquals(4, index.documentCount());
+    }
+
+    @Test
+    void contains_FindsIndexedReviews() {
+        assertTrue(index.contains(3L));
+        assertFalse(index.contains(5L));
+
+        index.add(7L, 10L, "Added later");
+        index.add(6L, 10L, "Added out of order");
+        assertTrue(index.contains(6L));
+        assertTrue(index.contains(7L));
+        assertFalse(index.contains(5L));
+    }
+
+    @Test
+    void add_IgnoresReviewsAlreadyIndexed() {
+        assertFalse(index.add(2L, 10L, "Indexed twice"));
+        assertEquals(4, index.documentCount());
+        assertEquals(0, index.search(List.of("twice"), null, 0, 10).getTotalHits());
+    }
+
+    @Test
+    void remove_DropsReviewFromResultsAndTotals() {
+        assertTrue(index.remove(3L));
+        assertFalse(index.remove(3L));
+        assertFalse(index.remove(9L));
+
+        ReviewSearchIndex.SearchHits hits = index.search(List.of("ending"), null, 0, 10);
+        assertEquals(1, hits.getTotalHits());
+        assertArrayEquals(new long[] {2L}, hits.getReviewIds());
+        assertFalse(index.contains(3L));
+        assertEquals(3, index.documentCount());
+        assertEquals(1, index.removedCount());
+        assertEquals(0, index.search(List.of("imax", "ending"), 20L, 0, 10).getTotalHits());
+    }
+
+    @Test
+    void remove_ReviewIsNotAddedBack() {
+        index.add(6L, 10L, "Added out of order");
+        index.remove(6L);
+
+        assertFalse(index.add(6L, 10L, "Added out of order"));
+        assertFalse(index.contains(6L));
+        assertEquals(6L, index.maxReviewId());
+    }
+
+    @Test
+    void search_LargeIndexDecodesPostingsAndTracksFootprint() {
+        ReviewSearchIndex large = new ReviewSearchIndex();
+        for (long reviewId = 1; reviewId <= 5000; reviewId++) {
+            String text = reviewId % 1000 == 0 ? "rare gem common" : "common words everywhere";
+            large.add(reviewId, reviewId % 7, text);
+        }
+
+        ReviewSearchIndex.SearchHits hits = large.search(List.of("rare"), null, 0, 10);
+        assertArrayEquals(new long[] {5000L, 4000L, 3000L, 2000L, 1000L}, hits.getReviewIds());
+        assertEquals(5000, large.search(List.of("common"), null, 0, 10).getTotalHits());
+        assertTrue(large.estimatedSizeInBytes() > 0);
+    }
+}
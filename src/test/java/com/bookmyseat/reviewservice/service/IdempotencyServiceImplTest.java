@@ -0,0 +1,266 @@
+package com.bookmyseat.reviewservice.service;
+
+import com.bookmyseat.reviewservice.dto.ReviewDTO;
+import com.bookmyseat.reviewservice.dto.ReviewSubmissionDTO;
+import com.bookmyseat.reviewservice.entity.ReviewIdempotencyKey;
+import com.bookmyseat.reviewservice.exception.DuplicateReviewException;
+import com.bookmyseat.reviewservice.exception.IdempotencyKeyInProgressException;
+import com.bookmyseat.reviewservice.exception.IdempotencyKeyReuseException;
+import com.bookmyseat.reviewservice.exception.InvalidIdempotencyKeyException;
+import com.bookmyseat.reviewservice.idempotency.IdempotentSubmission;
+import com.bookmyseat.reviewservice.repository.ReviewIdempotencyKeyRepository;
+import com.bookmyseat.reviewservice.service.impl.IdempotencyServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplTest {
+
+    @Mock
+    private ReviewIdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyServiceImpl idempotencyService;
+    private ReviewSubmissionDTO submission;
+    private ReviewDTO response;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        idempotencyService = new IdempotencyServiceImpl(idempotencyKeyRepository,
+                new TransactionTemplate(transactionManager), meterRegistry, 100, 24, 200, 10, 60_000, 2);
+        submission = new ReviewSubmissionDTO(1L, "Alice", BigDecimal.valueOf(4.5), "Great movie!");
+        response = new ReviewDTO(10L, 1L, "Inception", "Alice", BigDecimal.valueOf(4.5), "Great movie!",
+                LocalDateTime.of(2025, 10, 1, 12, 0));
+    }
+
+    @Test
+    void findResponse_UnknownKeyReturnsEmpty() {
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.empty());
+
+        assertTrue(idempotencyService.findResponse("key-1", submission).isEmpty());
+    }
+
+    @Test
+    void findResponse_SavedKeyReplayedFromMemory() {
+        // Given
+        submit("key-1");
+        clearInvocations(idempotencyKeyRepository);
+
+        // When
+        Optional<ReviewDTO> replayed = idempotencyService.findResponse("key-1", submission);
+
+        // Then
+        assertSame(response, replayed.orElseThrow());
+        verify(idempotencyKeyRepository, never()).findById(anyString());
+        assertEquals(1.0, meterRegistry.get("review_idempotent_replays").tag("source", "memory").counter().count());
+    }
+
+    @Test
+    void findResponse_KeyFromAnotherInstanceReplayedFromDatabase() {
+        // Given
+        when(idempotencyKeyRepository.findById("key-1"))
+                .thenReturn(Optional.of(new ReviewIdempotencyKey("key-1", response, Instant.now())));
+
+        // When
+        ReviewDTO replayed = idempotencyService.findResponse("key-1", submission).orElseThrow();
+        idempotencyService.findResponse("key-1", submission);
+
+        // Then
+        assertEquals(10L, replayed.getId());
+        assertEquals("Inception", replayed.getMovieTitle());
+        assertEquals(LocalDateTime.of(2025, 10, 1, 12, 0), replayed.getReviewDate());
+        verify(idempotencyKeyRepository, times(1)).findById("key-1");
+        assertEquals(1.0, meterRegistry.get("review_idempotent_replays").tag("source", "database").counter().count());
+        assertEquals(1.0, meterRegistry.get("review_idempotent_replays").tag("source", "memory").counter().count());
+    }
+
+    @Test
+    void findResponse_ExpiredKeyIgnored() {
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.of(
+                new ReviewIdempotencyKey("key-1", response, Instant.now().minus(Duration.ofHours(25)))));
+
+        assertTrue(idempotencyService.findResponse("key-1", submission).isEmpty());
+    }
+
+    @Test
+    void findResponse_PendingKeyHasNoResponseYet() {
+        when(idempotencyKeyRepository.findById("key-1"))
+                .thenReturn(Optional.of(new ReviewIdempotencyKey("key-1", Instant.now())));
+
+        assertTrue(idempotencyService.findResponse("key-1", submission).isEmpty());
+    }
+
+    @Test
+    void findResponse_DifferentSubmissionThrows() {
+        // Given
+        submit("key-1");
+        ReviewSubmissionDTO changed = new ReviewSubmissionDTO(1L, "Alice", BigDecimal.valueOf(2.0), "Great movie!");
+
+        // When & Then
+        assertThrows(IdempotencyKeyReuseException.class, () -> idempotencyService.findResponse("key-1", changed));
+    }
+
+    @Test
+    void findResponse_SameRatingAtDifferentScaleMatches() {
+        submit("key-1");
+        ReviewSubmissionDTO rescaled = new ReviewSubmissionDTO(1L, "Alice", new BigDecimal("4.50"), "Great movie!");
+
+        assertTrue(idempotencyService.findResponse("key-1", rescaled).isPresent());
+    }
+
+    @Test
+    void findResponse_InvalidKeyThrows() {
+        assertThrows(InvalidIdempotencyKeyException.class, () -> idempotencyService.findResponse(" ", submission));
+        assertThrows(InvalidIdempotencyKeyException.class,
+                () -> idempotencyService.findResponse("k".repeat(ReviewIdempotencyKey.MAX_KEY_LENGTH + 1), submission));
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    @Test
+    void submitOnce_ClaimsKeyThenStoresResponseWithTheReview() {
+        // When
+        IdempotentSubmission result = submit("key-1");
+
+        // Then: a pending row is inserted first and completed with the response
+        ArgumentCaptor<ReviewIdempotencyKey> claim = ArgumentCaptor.forClass(ReviewIdempotencyKey.class);
+        verify(idempotencyKeyRepository).saveAndFlush(claim.capture());
+        assertEquals("key-1", claim.getValue().getIdempotencyKey());
+        assertTrue(claim.getValue().isPending());
+        assertTrue(claim.getValue().isNew());
+        verify(idempotencyKeyRepository).completeClaim("key-1", claim.getValue().getCreatedAt(), 10L, 1L,
+                "Inception", "Alice", BigDecimal.valueOf(4.5), "Great movie!", LocalDateTime.of(2025, 10, 1, 12, 0));
+        assertFalse(result.isReplayed());
+        assertSame(response, result.getResponse());
+    }
+
+    @Test
+    void submitOnce_ConcurrentRequestWaitsAndReplaysFirstResponse() {
+        // Given: another request holds the key and stores its response while this one waits
+        when(idempotencyKeyRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(idempotencyKeyRepository.findById("key-1"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new ReviewIdempotencyKey("key-1", Instant.now())))
+                .thenReturn(Optional.of(new ReviewIdempotencyKey("key-1", response, Instant.now())));
+
+        // When
+        IdempotentSubmission result = idempotencyService.submitOnce("key-1", submission, () -> {
+            throw new AssertionError("A concurrent retry must not submit again");
+        });
+
+        // Then
+        assertTrue(result.isReplayed());
+        assertEquals(10L, result.getResponse().getId());
+        verify(idempotencyKeyRepository, never()).completeClaim(any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void submitOnce_GivesUpWhileFirstRequestIsStillInProgress() {
+        // Given
+        when(idempotencyKeyRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(idempotencyKeyRepository.findById("key-1"))
+                .thenReturn(Optional.of(new ReviewIdempotencyKey("key-1", Instant.now())));
+
+        // When & Then
+        assertThrows(IdempotencyKeyInProgressException.class,
+                () -> idempotencyService.submitOnce("key-1", submission, () -> response));
+    }
+
+    @Test
+    void submitOnce_AbandonedClaimIsTakenOver() {
+        // Given: the first claim attempt finds a row left by a request that died
+        when(idempotencyKeyRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(idempotencyKeyRepository.deleteAbandonedKey(eq("key-1"), any(), any())).thenReturn(1);
+        when(idempotencyKeyRepository.completeClaim(eq("key-1"), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(1);
+
+        // When
+        IdempotentSubmission result = idempotencyService.submitOnce("key-1", submission, () -> response);
+
+        // Then
+        assertFalse(result.isReplayed());
+        verify(idempotencyKeyRepository, times(2)).saveAndFlush(any());
+    }
+
+    @Test
+    void submitOnce_FailedSubmissionReleasesClaim() {
+        // Given
+        DuplicateReviewException failure = new DuplicateReviewException(1L, "Alice");
+
+        // When
+        DuplicateReviewException thrown = assertThrows(DuplicateReviewException.class,
+                () -> idempotencyService.submitOnce("key-1", submission, () -> {
+                    throw failure;
+                }));
+
+        // Then
+        assertSame(failure, thrown);
+        ArgumentCaptor<ReviewIdempotencyKey> claim = ArgumentCaptor.forClass(ReviewIdempotencyKey.class);
+        verify(idempotencyKeyRepository).saveAndFlush(claim.capture());
+        verify(idempotencyKeyRepository).releaseClaim("key-1", claim.getValue().getCreatedAt());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void submitOnce_ClaimTakenOverBeforeCompletionRollsBackTheReview() {
+        // Given: the claim row no longer matches, so nothing is completed
+        when(idempotencyKeyRepository.completeClaim(eq("key-1"), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(0);
+
+        // When & Then
+        assertThrows(IdempotencyKeyInProgressException.class,
+                () -> idempotencyService.submitOnce("key-1", submission, () -> response));
+        verify(transactionManager).rollback(any());
+        verify(idempotencyKeyRepository).releaseClaim(eq("key-1"), any());
+    }
+
+    @Test
+    void purgeExpiredKeys_DeletesInBatches() {
+        // Given
+        when(idempotencyKeyRepository.findKeysCreatedBefore(any(), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of("key-1", "key-2"))
+                .thenReturn(List.of("key-3"));
+        when(idempotencyKeyRepository.deleteByKeys(any())).thenReturn(2, 1);
+
+        // When
+        int purged = idempotencyService.purgeExpiredKeys();
+
+        // Then
+        assertEquals(3, purged);
+        verify(idempotencyKeyRepository).deleteByKeys(List.of("key-1", "key-2"));
+        verify(idempotencyKeyRepository).deleteByKeys(List.of("key-3"));
+    }
+
+    private IdempotentSubmission submit(String idempotencyKey) {
+        when(idempotencyKeyRepository.completeClaim(eq(idempotencyKey), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(1);
+        return idempotencyService.submitOnce(idempotencyKey, submission, () -> response);
+    }
+}
@@ -0,0 +1,91 @@
+package com.bookmyseat.reviewservice.service;
+
+import com.bookmyseat.reviewservice.entity.JobLease;
+import com.bookmyseat.reviewservice.repository.JobLeaseRepository;
+import com.bookmyseat.reviewservice.service.impl.JobLeaseServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobLeaseServiceImplTest {
+
+    private static final Duration LEASE = Duration.ofHours(1);
+
+    @Mock
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private JobLeaseServiceImpl jobLeaseService;
+
+    @BeforeEach
+    void setUp() {
+        jobLeaseService = new JobLeaseServiceImpl(jobLeaseRepository, new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void tryAcquire_FirstInstanceCreatesLease() {
+        // Given
+        when(jobLeaseRepository.takeOver(eq("archive"), anyString(), any(), any())).thenReturn(0);
+
+        // When
+        boolean acquired = jobLeaseService.tryAcquire("archive", LEASE);
+
+        // Then
+        ArgumentCaptor<JobLease> lease = ArgumentCaptor.forClass(JobLease.class);
+        verify(jobLeaseRepository).saveAndFlush(lease.capture());
+        assertTrue(acquired);
+        assertEquals("archive", lease.getValue().getJobName());
+        assertTrue(lease.getValue().getExpiresAt().isAfter(Instant.now().plus(LEASE).minusSeconds(60)));
+    }
+
+    @Test
+    void tryAcquire_ExpiredOrOwnLeaseTakenOver() {
+        when(jobLeaseRepository.takeOver(eq("archive"), anyString(), any(), any())).thenReturn(1);
+
+        assertTrue(jobLeaseService.tryAcquire("archive", LEASE));
+        verify(jobLeaseRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void tryAcquire_LeaseHeldByAnotherInstance() {
+        // Given
+        when(jobLeaseRepository.takeOver(eq("archive"), anyString(), any(), any())).thenReturn(0);
+        when(jobLeaseRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        // When & Then
+        assertFalse(jobLeaseService.tryAcquire("archive", LEASE));
+    }
+
+    @Test
+    void release_ReleasesLeaseOfThisInstanceOnly() {
+        // Given
+        when(jobLeaseRepository.takeOver(eq("archive"), anyString(), any(), any())).thenReturn(1);
+        jobLeaseService.tryAcquire("archive", LEASE);
+
+        // When
+        jobLeaseService.release("archive");
+
+        // Then
+        ArgumentCaptor<String> holder = ArgumentCaptor.forClass(String.class);
+        verify(jobLeaseRepository).takeOver(eq("archive"), holder.capture(), any(), any());
+        verify(jobLeaseRepository).release(eq("archive"), eq(holder.getValue()), any());
+    }
+}
@@ -1,10 +1,14 @@
 package com.bookmyseat.reviewservice.service;
 
+import com.bookmyseat.reviewservice.archive.ArchivedRatingStats;
+import com.bookmyseat.reviewservice.archive.ReviewArchive;
 import com.bookmyseat.reviewservice.client.MovieServiceClient;
 import com.bookmyseat.reviewservice.dto.MovieDetailDTO;
 import com.bookmyseat.reviewservice.dto.RatingSummaryDTO;
 import com.bookmyseat.reviewservice.entity.MovieRating;
 import com.bookmyseat.reviewservice.entity.Review;
+import com.bookmyseat.reviewservice.event.MovieRatingChangedEvent;
+import com.bookmyseat.reviewservice.outbox.ReviewOutbox;
 import com.bookmyseat.reviewservice.repository.MovieRatingRepository;
 import com.bookmyseat.reviewservice.repository.ReviewRepository;
 import com.bookmyseat.reviewservice.service.impl.MovieRatingServiceImpl;
@@ -14,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -38,6 +43,15 @@ class MovieRatingServiceImplTest {
     @Mock
     private MovieServiceClient movieServiceClient;
 
+    @Mock
+    private ReviewArchive reviewArchive;
+
+    @Mock
+    private ReviewOutbox reviewOutbox;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MovieRatingServiceImpl movieRatingService;
 
@@ -151,6 +165,10 @@ class MovieRatingServiceImplTest {
 
         // Then
         verify(movieRatingRepository).save(any(MovieRating.class));
+        verify(reviewOutbox).recordRatingChanged(movieRating);
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof MovieRatingChangedEvent changed && changed.getMovieId().equals(1L)));
+        assertEquals(4, movieRating.getTotalReviews());
     }
 
     @Test
@@ -165,6 +183,7 @@ class MovieRatingServiceImplTest {
 
         // Then
         verify(movieRatingRepository).save(any(MovieRating.class));
+        verify(reviewOutbox).recordRatingChanged(argThat(rating -> rating.getTotalReviews() == 1));
     }
 
     @Test
@@ -181,7 +200,8 @@ class MovieRatingServiceImplTest {
         movieRatingService.recalculateMovieRating(movieId);
 
         // Then
-        verify(movieRatingRepository).save(any(MovieRating.class));
+        verify(movieRatingRepository).save(existingRating);
+        verify(reviewOutbox).recordRatingChanged(existingRating);
     }
 
     @Test
@@ -196,6 +216,53 @@ class MovieRatingServiceImplTest {
         // Then
         verify(movieRatingRepository).deleteByMovieId(movieId);
         verify(movieRatingRepository, never()).save(any());
+        verify(reviewOutbox).recordRatingRemoved(movieId);
+        verify(eventPublisher).publishEvent(any(MovieRatingChangedEvent.class));
+    }
+
+    @Test
+    void recalculateMovieRating_IncludesArchivedReviews() {
+        // Given
+        Long movieId = 1L;
+        MovieRating existingRating = new MovieRating(movieId);
+        int[] archivedCounts = {0, 0, 1, 0, 0, 0};
+
+        when(reviewRepository.findByMovieIdOrderByReviewDateDesc(movieId)).thenReturn(Arrays.asList(review1, review2));
+        when(reviewArchive.getArchivedReviewCount(movieId)).thenReturn(1L);
+        when(reviewArchive.getRatingStats(movieId))
+                .thenReturn(new ArchivedRatingStats(1, BigDecimal.valueOf(2.0), archivedCounts));
+        when(movieRatingRepository.findByMovieId(movieId)).thenReturn(Optional.of(existingRating));
+
+        // When
+        movieRatingService.recalculateMovieRating(movieId);
+
+        // Then
+        verify(movieRatingRepository).save(existingRating);
+        assertEquals(3, existingRating.getTotalReviews());
+        assertEquals(new BigDecimal("3.67"), existingRating.getAverageRating());
+        assertEquals(1, existingRating.getRating2Count());
+        assertEquals(1, existingRating.getRating4Count());
+        assertEquals(1, existingRating.getRating5Count());
+    }
+
+    @Test
+    void recalculateMovieRating_OnlyArchivedReviewsKeepsCache() {
+        // Given
+        Long movieId = 1L;
+        when(reviewRepository.findByMovieIdOrderByReviewDateDesc(movieId)).thenReturn(Arrays.asList());
+        when(reviewArchive.getArchivedReviewCount(movieId)).thenReturn(2L);
+        when(reviewArchive.getRatingStats(movieId))
+                .thenReturn(new ArchivedRatingStats(2, BigDecimal.valueOf(9.0), new int[]{0, 0, 0, 0, 1, 1}));
+        when(movieRatingRepository.findByMovieId(movieId)).thenReturn(Optional.empty());
+
+        // When
+        movieRatingService.recalculateMovieRating(movieId);
+
+        // Then
+        verify(movieRatingRepository, never()).deleteByMovieId(any());
+        verify(movieRatingRepository).save(argThat(rating ->
+                rating.getTotalReviews() == 2 && new BigDecimal("4.50").equals(rating.getAverageRating())));
+        verify(reviewOutbox).recordRatingChanged(argThat(rating -> rating.getTotalReviews() == 2));
     }
 
     @Test
@@ -209,6 +276,8 @@ class MovieRatingServiceImplTest {
 
         // Then
         verify(movieRatingRepository).save(any(MovieRating.class));
+        verify(reviewOutbox).recordRatingChanged(argThat(rating ->
+                rating.getMovieId().equals(movieId) && rating.getTotalReviews() == 0));
     }
 
     @Test
@@ -222,6 +291,7 @@ class MovieRatingServiceImplTest {
 
         // Then
         verify(movieRatingRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher, reviewOutbox);
     }
 
     @Test
@@ -234,5 +304,7 @@ class MovieRatingServiceImplTest {
 
         // Then
         verify(movieRatingRepository).deleteByMovieId(movieId);
+        verify(reviewOutbox).recordRatingRemoved(movieId);
+        verify(eventPublisher).publishEvent(any(MovieRatingChangedEvent.class));
     }
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.bookmyseat.reviewservice.service;
+
+import com.bookmyseat.reviewservice.dto.RatingSummaryDTO;
+import com.bookmyseat.reviewservice.entity.Review;
+import com.bookmyseat.reviewservice.event.ReviewSubmittedEvent;
+import com.bookmyseat.reviewservice.exception.MovieNotFoundException;
+import com.bookmyseat.reviewservice.service.impl.RatingStreamServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingStreamServiceImplTest {
+
+    private static final long INTERVAL_MS = 300;
+
+    @Mock
+    private MovieRatingService movieRatingService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RatingStreamServiceImpl ratingStreamService;
+    private RatingSummaryDTO summary;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ratingStreamService = new RatingStreamServiceImpl(movieRatingService, meterRegistry, INTERVAL_MS, 60_000, 2, 5_000);
+        summary = new RatingSummaryDTO(1L, "Inception", BigDecimal.valueOf(4.5), 3, Map.of("5", 3));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ratingStreamService.shutdown();
+    }
+
+    @Test
+    void subscribe_SendsCurrentSummary() throws InterruptedException {
+        // Given
+        when(movieRatingService.getMovieRatingSummary(1L)).thenReturn(summary);
+
+        // When
+        SseEmitter emitter = ratingStreamService.subscribe(1L);
+
+        // Then
+        assertNotNull(emitter);
+        assertEquals(1, ratingStreamService.getConnectionCount());
+        assertEquals(1.0, meterRegistry.get("review_rating_stream_connections").gauge().value());
+        assertEquals(1.0, meterRegistry.get("review_rating_stream_movies").gauge().value());
+        awaitUntil(() -> sentCount() == 1.0);
+    }
+
+    @Test
+    void subscribe_UnknownMovieOpensNoStream() {
+        when(movieRatingService.getMovieRatingSummary(999L))
+                .thenThrow(new MovieNotFoundException("Movie not found with ID: 999"));
+
+        assertThrows(MovieNotFoundException.class, () -> ratingStreamService.subscribe(999L));
+        assertEquals(0, ratingStreamService.getConnectionCount());
+    }
+
+    @Test
+    void publishRatingChange_NoSubscribersSkipsSummaryLoad() {
+        ratingStreamService.onReviewSubmitted(
+                new ReviewSubmittedEvent(new Review(1L, "Alice", BigDecimal.valueOf(4.5), "Great movie!")));
+
+        verify(movieRatingService, after(INTERVAL_MS).never()).getMovieRatingSummary(anyLong());
+    }
+
+    @Test
+    void publishRatingChange_BurstCoalescedIntoOneUpdatePerInterval() {
+        // Given
+        when(movieRatingService.getMovieRatingSummary(1L)).thenReturn(summary);
+        ratingStreamService.subscribe(1L);
+        ratingStreamService.publishRatingChange(1L);
+        verify(movieRatingService, timeout(2_000).times(2)).getMovieRatingSummary(1L);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            ratingStreamService.publishRatingChange(1L);
+        }
+
+        // Then
+        verify(movieRatingService, after(INTERVAL_MS / 3).times(2)).getMovieRatingSummary(1L);
+        verify(movieRatingService, timeout(2_000).times(3)).getMovieRatingSummary(1L);
+        verify(movieRatingService, after(INTERVAL_MS * 2).times(3)).getMovieRatingSummary(1L);
+    }
+
+    @Test
+    void publishRatingChange_ClosedConnectionRemoved() throws InterruptedException {
+        // Given
+        when(movieRatingService.getMovieRatingSummary(1L)).thenReturn(summary);
+        SseEmitter emitter = ratingStreamService.subscribe(1L);
+        awaitUntil(() -> sentCount() == 1.0);
+        emitter.complete();
+
+        // When
+        ratingStreamService.publishRatingChange(1L);
+
+        // Then
+        awaitUntil(() -> ratingStreamService.getConnectionCount() == 0);
+        assertEquals(0.0, meterRegistry.get("review_rating_stream_movies").gauge().value());
+    }
+
+    private double sentCount() {
+        return meterRegistry.get("review_rating_stream_updates").tag("result", "sent").counter().count();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met within 2s");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.bookmyseat.reviewservice.service;
+
+import com.bookmyseat.reviewservice.client.MovieServiceClient;
+import com.bookmyseat.reviewservice.dto.MovieDetailDTO;
+import com.bookmyseat.reviewservice.dto.RatingTrendDTO;
+import com.bookmyseat.reviewservice.dto.RatingTrendPointDTO;
+import com.bookmyseat.reviewservice.dto.TrendGranularity;
+import com.bookmyseat.reviewservice.entity.MovieRatingDaily;
+import com.bookmyseat.reviewservice.exception.InvalidDateRangeException;
+import com.bookmyseat.reviewservice.repository.MovieRatingDailyRepository;
+import com.bookmyseat.reviewservice.repository.ReviewRepository;
+import com.bookmyseat.reviewservice.service.impl.RatingTrendServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingTrendServiceImplTest {
+
+    @Mock
+    private MovieRatingDailyRepository movieRatingDailyRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private MovieServiceClient movieServiceClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RatingTrendServiceImpl ratingTrendService;
+
+    @BeforeEach
+    void setUp() {
+        ratingTrendService = new RatingTrendServiceImpl(movieRatingDailyRepository, reviewRepository,
+                movieServiceClient, transactionManager);
+    }
+
+    @Test
+    void getRatingTrend_SumsDaysIntoWeeksIncludingEmptyWeeks() {
+        // Given: Monday 2025-09-01 to Sunday 2025-09-21, reviews in weeks one and three
+        Long movieId = 1L;
+        LocalDate from = LocalDate.of(2025, 9, 1);
+        LocalDate to = LocalDate.of(2025, 9, 21);
+        when(movieServiceClient.getMovieById(movieId)).thenReturn(movie());
+        when(movieRatingDailyRepository.findByMovieIdAndRatingDateBetweenOrderByRatingDate(movieId, from, to))
+                .thenReturn(List.of(
+                        day(movieId, LocalDate.of(2025, 9, 1), "5.0", "4.5"),
+                        day(movieId, LocalDate.of(2025, 9, 7), "4.0"),
+                        day(movieId, LocalDate.of(2025, 9, 15), "2.0")));
+
+        // When
+        RatingTrendDTO trend = ratingTrendService.getRatingTrend(movieId, from, to, TrendGranularity.WEEK);
+
+        // Then
+        assertEquals("Inception", trend.getMovieTitle());
+        assertEquals(4, trend.getTotalReviews());
+        assertEquals(new BigDecimal("3.88"), trend.getAverageRating());
+        assertEquals(3, trend.getPoints().size());
+
+        RatingTrendPointDTO first = trend.getPoints().get(0);
+        assertEquals(from, first.getPeriodStart());
+        assertEquals(3, first.getReviewCount());
+        assertEquals(new BigDecimal("4.50"), first.getAverageRating());
+        assertEquals(1, first.getRatingDistribution().get("4.5"));
+        assertEquals(9, first.getRatingDistribution().size());
+
+        RatingTrendPointDTO empty = trend.getPoints().get(1);
+        assertEquals(0, empty.getReviewCount());
+        assertNull(empty.getAverageRating());
+        assertEquals(new BigDecimal("4.50"), empty.getCumulativeAverageRating());
+
+        assertEquals(new BigDecimal("3.88"), trend.getPoints().get(2).getCumulativeAverageRating());
+    }
+
+    @Test
+    void getRatingTrend_MonthStartsBeforeRange() {
+        // Given
+        LocalDate from = LocalDate.of(2025, 8, 20);
+        LocalDate to = LocalDate.of(2025, 9, 10);
+        when(movieServiceClient.getMovieById(1L)).thenReturn(movie());
+        when(movieRatingDailyRepository.findByMovieIdAndRatingDateBetweenOrderByRatingDate(1L, from, to))
+                .thenReturn(List.of());
+
+        // When
+        RatingTrendDTO trend = ratingTrendService.getRatingTrend(1L, from, to, TrendGranularity.MONTH);
+
+        // Then
+        assertEquals(List.of(LocalDate.of(2025, 8, 1), LocalDate.of(2025, 9, 1)),
+                trend.getPoints().stream().map(RatingTrendPointDTO::getPeriodStart).toList());
+        assertNull(trend.getAverageRating());
+    }
+
+    @Test
+    void getRatingTrend_RejectsInvalidRanges() {
+        LocalDate day = LocalDate.of(2025, 9, 1);
+
+        assertThrows(InvalidDateRangeException.class,
+                () -> ratingTrendService.getRatingTrend(1L, day, day.minusDays(1), TrendGranularity.DAY));
+        assertThrows(InvalidDateRangeException.class,
+                () -> ratingTrendService.getRatingTrend(1L, day.minusYears(3), day, TrendGranularity.MONTH));
+        verifyNoInteractions(movieServiceClient, movieRatingDailyRepository);
+    }
+
+    @Test
+    void recordReview_UpdatesExistingDay() {
+        // Given
+        LocalDateTime reviewDate = LocalDateTime.of(2025, 9, 1, 22, 15);
+        when(movieRatingDailyRepository.addRating(1L, reviewDate.toLocalDate(), BigDecimal.valueOf(3.5), 5))
+                .thenReturn(1);
+
+        // When
+        ratingTrendService.recordReview(1L, reviewDate, BigDecimal.valueOf(3.5));
+
+        // Then
+        verify(movieRatingDailyRepository, never()).saveAndFlush(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void recordReview_CreatesFirstRowOfDay() {
+        // Given
+        LocalDateTime reviewDate = LocalDateTime.of(2025, 9, 1, 9, 0);
+        when(movieRatingDailyRepository.addRating(1L, reviewDate.toLocalDate(), BigDecimal.valueOf(4.0), 6))
+                .thenReturn(0);
+
+        // When
+        ratingTrendService.recordReview(1L, reviewDate, BigDecimal.valueOf(4.0));
+
+        // Then
+        ArgumentCaptor<MovieRatingDaily> saved = ArgumentCaptor.forClass(MovieRatingDaily.class);
+        verify(movieRatingDailyRepository).saveAndFlush(saved.capture());
+        assertEquals(1, saved.getValue().getReviewCount());
+        assertEquals(1, saved.getValue().getRating40Count());
+        assertEquals(reviewDate.toLocalDate(), saved.getValue().getRatingDate());
+    }
+
+    @Test
+    void recordReview_RetriesUpdateWhenRowCreatedConcurrently() {
+        // Given
+        LocalDateTime reviewDate = LocalDateTime.of(2025, 9, 1, 9, 0);
+        when(movieRatingDailyRepository.addRating(1L, reviewDate.toLocalDate(), BigDecimal.valueOf(4.0), 6))
+                .thenReturn(0, 1);
+        when(movieRatingDailyRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        // When
+        ratingTrendService.recordReview(1L, reviewDate, BigDecimal.valueOf(4.0));
+
+        // Then
+        verify(movieRatingDailyRepository, times(2)).addRating(1L, reviewDate.toLocalDate(), BigDecimal.valueOf(4.0), 6);
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuildRollups_FoldsRatingCountsIntoDays() {
+        // Given
+        LocalDate from = LocalDate.of(2025, 9, 1);
+        LocalDate to = LocalDate.of(2025, 9, 8);
+        List<Object[]> counts = new ArrayList<>();
+        counts.add(new Object[]{1L, LocalDate.of(2025, 9, 1), new BigDecimal("4.5"), 2L});
+        counts.add(new Object[]{1L, LocalDate.of(2025, 9, 1), new BigDecimal("2.0"), 1L});
+        counts.add(new Object[]{2L, LocalDate.of(2025, 9, 3), new BigDecimal("5.0"), 3L});
+        when(reviewRepository.countRatingsByMovieAndDay(from.atStartOfDay(), to.atStartOfDay())).thenReturn(counts);
+
+        // When
+        int rows = ratingTrendService.rebuildRollups(from, to);
+
+        // Then
+        assertEquals(2, rows);
+        ArgumentCaptor<Collection<MovieRatingDaily>> saved = ArgumentCaptor.forClass(Collection.class);
+        verify(movieRatingDailyRepository).saveAll(saved.capture());
+        MovieRatingDaily movieOne = saved.getValue().stream()
+                .filter(rollup -> rollup.getMovieId() == 1L).findFirst().orElseThrow();
+        assertEquals(3, movieOne.getReviewCount());
+        assertEquals(0, new BigDecimal("11.0").compareTo(movieOne.getRatingSum()));
+        assertEquals(2, movieOne.getRating45Count());
+        assertEquals(1, movieOne.getRating20Count());
+    }
+
+    private static MovieRatingDaily day(Long movieId, LocalDate date, String... ratings) {
+        MovieRatingDaily rollup = new MovieRatingDaily(movieId, date);
+        for (String rating : ratings) {
+            rollup.addRating(new BigDecimal(rating));
+        }
+        return rollup;
+    }
+
+    private static MovieDetailDTO movie() {
+        return new MovieDetailDTO(1L, "Inception", "Description", 148, "Sci-Fi", "English", LocalDate.of(2010, 7, 16));
+    }
+}
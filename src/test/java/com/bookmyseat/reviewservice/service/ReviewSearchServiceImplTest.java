@@ -0,0 +1,244 @@
+package com.bookmyseat.reviewservice.service;
+
+import com.bookmyseat.reviewservice.client.MovieTitleResolver;
+import com.bookmyseat.reviewservice.dto.ReviewDTO;
+import com.bookmyseat.reviewservice.dto.ReviewSearchResponseDTO;
+import com.bookmyseat.reviewservice.entity.Review;
+import com.bookmyseat.reviewservice.event.ReviewSubmittedEvent;
+import com.bookmyseat.reviewservice.event.ReviewsArchivedEvent;
+import com.bookmyseat.reviewservice.repository.ReviewRepository;
+import com.bookmyseat.reviewservice.search.ReviewSearchDocument;
+import com.bookmyseat.reviewservice.service.impl.ReviewSearchServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewSearchServiceImplTest {
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private MovieTitleResolver movieTitleResolver;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReviewSearchServiceImpl reviewSearchService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reviewSearchService = new ReviewSearchServiceImpl(reviewRepository, movieTitleResolver, meterRegistry, 2);
+    }
+
+    @Test
+    void loadIndex_ReadsReviewsInBatches() {
+        // Given
+        when(reviewRepository.findSearchDocumentsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new ReviewSearchDocument(1L, 1L, "Stunning IMAX visuals"),
+                new ReviewSearchDocument(2L, 1L, "Predictable ending")));
+        when(reviewRepository.findSearchDocumentsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of(
+                new ReviewSearchDocument(3L, 2L, "IMAX was worth it")));
+
+        // When
+        reviewSearchService.loadIndex();
+
+        // Then
+        verify(reviewRepository, times(2)).findSearchDocumentsAfter(any(), any(Pageable.class));
+        assertEquals(3.0, meterRegistry.get("review_search_index_documents").gauge().value());
+        assertTrue(meterRegistry.get("review_search_index_bytes").gauge().value() > 0);
+    }
+
+    @Test
+    void onReviewSubmitted_BuffersUntilLoadedWithoutDuplicates() {
+        // Given - one event for a review the load also returns, one for a review it misses
+        ReviewSubmittedEvent loadedReview = submittedEvent(1L, 1L, "Great IMAX experience");
+        ReviewSubmittedEvent missedReview = submittedEvent(2L, 1L, "IMAX again");
+        when(reviewRepository.findSearchDocumentsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new ReviewSearchDocument(1L, 1L, "Great IMAX experience")));
+
+        // When
+        reviewSearchService.onReviewSubmitted(loadedReview);
+        reviewSearchService.onReviewSubmitted(missedReview);
+        reviewSearchService.loadIndex();
+        reviewSearchService.onReviewSubmitted(submittedEvent(3L, 2L, "No IMAX screen nearby"));
+
+        // Then
+        assertEquals(3.0, meterRegistry.get("review_search_index_documents").gauge().value());
+    }
+
+    @Test
+    void searchReviews_ReturnsRankedPreviewsWithMovieTitles() {
+        // Given
+        when(reviewRepository.findSearchDocumentsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new ReviewSearchDocument(1L, 1L, "Good ending"),
+                new ReviewSearchDocument(2L, 2L, "The ending, oh that ending")));
+        when(reviewRepository.findSearchDocumentsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of());
+        reviewSearchService.loadIndex();
+
+        when(reviewRepository.findReviewPreviewsByIds(anyCollection())).thenReturn(List.of(
+                preview(1L, 1L, "Good ending"),
+                preview(2L, 2L, "The ending, oh that ending")));
+        when(movieTitleResolver.resolveTitles(List.of(2L, 1L)))
+                .thenReturn(Map.of(1L, "Inception", 2L, "Unknown Movie"));
+
+        // When
+        ReviewSearchResponseDTO result = reviewSearchService.searchReviews("Ending", null, 0, 10);
+
+        // Then
+        assertEquals(2L, result.getTotalHits());
+        assertEquals(1, result.getTotalPages());
+        assertEquals(2L, result.getReviews().get(0).getId());
+        assertEquals("Unknown Movie", result.getReviews().get(0).getMovieTitle());
+        assertEquals("Inception", result.getReviews().get(1).getMovieTitle());
+    }
+
+    @Test
+    void searchReviews_NoMatchesSkipsDatabase() {
+        // Given
+        when(reviewRepository.findSearchDocumentsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of());
+        reviewSearchService.loadIndex();
+
+        // When
+        ReviewSearchResponseDTO result = reviewSearchService.searchReviews("anything", 1L, 0, 10);
+
+        // Then
+        assertEquals(0L, result.getTotalHits());
+        assertTrue(result.getReviews().isEmpty());
+        verify(reviewRepository, never()).findReviewPreviewsByIds(any(Collection.class));
+        verifyNoInteractions(movieTitleResolver);
+    }
+
+    @Test
+    void refresh_IndexesReviewsSavedByOtherInstances() {
+        // Given
+        when(reviewRepository.findSearchDocumentsAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(new ReviewSearchDocument(1L, 1L, "IMAX first")))
+                .thenReturn(List.of(
+                        new ReviewSearchDocument(1L, 1L, "IMAX first"),
+                        new ReviewSearchDocument(2L, 1L, "IMAX from another instance")));
+        reviewSearchService.loadIndex();
+
+        // When - the refresh re-reads one batch behind the highest indexed id
+        reviewSearchService.refresh();
+
+        // Then
+        assertEquals(2.0, meterRegistry.get("review_search_index_documents").gauge().value());
+    }
+
+    @Test
+    void refresh_SkipsUntilLoaded() {
+        // When
+        reviewSearchService.refresh();
+
+        // Then
+        verifyNoInteractions(reviewRepository);
+    }
+
+    @Test
+    void refresh_RebuildsOnceRemovedReviewsOutnumberLiveOnes() {
+        // Given
+        when(reviewRepository.findSearchDocumentsAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(
+                        new ReviewSearchDocument(1L, 1L, "Old IMAX review"),
+                        new ReviewSearchDocument(2L, 1L, "Old IMAX review")))
+                .thenReturn(List.of(new ReviewSearchDocument(3L, 1L, "New IMAX review")));
+        when(reviewRepository.findSearchDocumentsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of());
+        reviewSearchService.loadIndex();
+        reviewSearchService.onReviewSubmitted(submittedEvent(3L, 1L, "New IMAX review"));
+        reviewSearchService.onReviewsArchived(new ReviewsArchivedEvent(1L, List.of(1L, 2L)));
+        double bytesBefore = meterRegistry.get("review_search_index_bytes").gauge().value();
+
+        // When
+        reviewSearchService.refresh();
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("review_search_index_documents").gauge().value());
+        assertTrue(meterRegistry.get("review_search_index_bytes").gauge().value() < bytesBefore);
+    }
+
+    @Test
+    void onReviewsArchived_RemovesReviewsFromResultsAndTotals() {
+        // Given
+        when(reviewRepository.findSearchDocumentsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new ReviewSearchDocument(1L, 1L, "Good ending"),
+                new ReviewSearchDocument(2L, 1L, "Bad ending")));
+        when(reviewRepository.findSearchDocumentsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of());
+        reviewSearchService.loadIndex();
+        when(reviewRepository.findReviewPreviewsByIds(List.of(2L))).thenReturn(List.of(preview(2L, 1L, "Bad ending")));
+        when(movieTitleResolver.resolveTitles(List.of(1L))).thenReturn(Map.of(1L, "Inception"));
+
+        // When
+        reviewSearchService.onReviewsArchived(new ReviewsArchivedEvent(1L, List.of(1L)));
+        ReviewSearchResponseDTO result = reviewSearchService.searchReviews("ending", null, 0, 10);
+
+        // Then
+        assertEquals(1L, result.getTotalHits());
+        assertEquals(2L, result.getReviews().get(0).getId());
+    }
+
+    @Test
+    void onReviewsArchived_AppliedAfterLoadWhenBuffered() {
+        // Given
+        when(reviewRepository.findSearchDocumentsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new ReviewSearchDocument(1L, 1L, "Good ending")));
+
+        // When - the archiver deletes the review after the load has read it
+        reviewSearchService.onReviewsArchived(new ReviewsArchivedEvent(1L, List.of(1L)));
+        reviewSearchService.loadIndex();
+
+        // Then
+        assertEquals(0.0, meterRegistry.get("review_search_index_documents").gauge().value());
+    }
+
+    @Test
+    void searchReviews_DropsReviewsDeletedElsewhereAndRefillsThePage() {
+        // Given - review 3 was archived by another instance
+        when(reviewRepository.findSearchDocumentsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new ReviewSearchDocument(1L, 1L, "Ending"),
+                new ReviewSearchDocument(2L, 1L, "Ending again")));
+        when(reviewRepository.findSearchDocumentsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of(
+                new ReviewSearchDocument(3L, 1L, "Ending ending ending")));
+        reviewSearchService.loadIndex();
+        when(reviewRepository.findReviewPreviewsByIds(List.of(3L, 1L))).thenReturn(List.of(preview(1L, 1L, "Ending")));
+        when(reviewRepository.findReviewPreviewsByIds(List.of(2L, 1L))).thenReturn(List.of(
+                preview(1L, 1L, "Ending"), preview(2L, 1L, "Ending again")));
+        when(movieTitleResolver.resolveTitles(List.of(1L, 1L))).thenReturn(Map.of(1L, "Inception"));
+
+        // When
+        ReviewSearchResponseDTO result = reviewSearchService.searchReviews("ending", null, 0, 2);
+
+        // Then
+        assertEquals(2L, result.getTotalHits());
+        assertEquals(1, result.getTotalPages());
+        assertEquals(List.of(2L, 1L), result.getReviews().stream().map(ReviewDTO::getId).toList());
+        assertEquals(2.0, meterRegistry.get("review_search_index_documents").gauge().value());
+    }
+
+    private static ReviewSubmittedEvent submittedEvent(Long reviewId, Long movieId, String comment) {
+        Review review = new Review(movieId, "User" + reviewId, BigDecimal.valueOf(4.0), comment);
+        review.setId(reviewId);
+        return new ReviewSubmittedEvent(review);
+    }
+
+    private static ReviewDTO preview(Long reviewId, Long movieId, String comment) {
+        return new ReviewDTO(reviewId, movieId, "User" + reviewId, BigDecimal.valueOf(4.0),
+                comment, false, LocalDateTime.now());
+    }
+}
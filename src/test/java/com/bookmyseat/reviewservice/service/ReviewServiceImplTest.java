@@ -1,19 +1,29 @@
 package com.bookmyseat.reviewservice.service;
 
+import com.bookmyseat.reviewservice.archive.ArchivedRatingStats;
+import com.bookmyseat.reviewservice.archive.ReviewArchive;
 import com.bookmyseat.reviewservice.client.MovieServiceClient;
+import com.bookmyseat.reviewservice.client.MovieTitleResolver;
 import com.bookmyseat.reviewservice.dto.*;
 import com.bookmyseat.reviewservice.entity.Review;
+import com.bookmyseat.reviewservice.event.ReviewSubmittedEvent;
+import com.bookmyseat.reviewservice.exception.DuplicateReviewException;
+import com.bookmyseat.reviewservice.exception.InvalidCursorException;
 import com.bookmyseat.reviewservice.exception.MovieNotFoundException;
 import com.bookmyseat.reviewservice.exception.ReviewNotFoundException;
 import com.bookmyseat.reviewservice.mapper.ReviewMapper;
+import com.bookmyseat.reviewservice.outbox.ReviewOutbox;
+import com.bookmyseat.reviewservice.pagination.ReviewCursor;
 import com.bookmyseat.reviewservice.repository.ReviewRepository;
 import com.bookmyseat.reviewservice.service.impl.ReviewServiceImpl;
+import com.bookmyseat.reviewservice.sketch.DuplicateReviewFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -24,6 +34,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -46,6 +57,21 @@ class ReviewServiceImplTest {
     @Mock
     private MovieRatingService movieRatingService;
 
+    @Mock
+    private MovieTitleResolver movieTitleResolver;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ReviewArchive reviewArchive;
+
+    @Mock
+    private DuplicateReviewFilter duplicateReviewFilter;
+
+    @Mock
+    private ReviewOutbox reviewOutbox;
+
     @InjectMocks
     private ReviewServiceImpl reviewService;
 
@@ -88,7 +114,26 @@ class ReviewServiceImplTest {
 
         verify(movieServiceClient).getMovieById(1L);
         verify(reviewRepository).save(review);
+        verify(duplicateReviewFilter).record(1L, "John Doe");
+        verify(reviewOutbox).recordReviewSubmitted(review);
         verify(movieRatingService).updateMovieRating(review);
+        verify(eventPublisher).publishEvent(any(ReviewSubmittedEvent.class));
+    }
+
+    @Test
+    void submitReview_DuplicateReview() {
+        // Given
+        when(duplicateReviewFilter.isDuplicate(1L, "John Doe")).thenReturn(true);
+
+        // When & Then
+        DuplicateReviewException exception = assertThrows(DuplicateReviewException.class,
+                () -> reviewService.submitReview(reviewSubmissionDTO));
+
+        assertEquals("User John Doe has already reviewed movie ID: 1", exception.getMessage());
+        verifyNoInteractions(movieServiceClient);
+        verify(reviewRepository, never()).save(any());
+        verifyNoInteractions(reviewOutbox);
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -104,6 +149,7 @@ class ReviewServiceImplTest {
         assertEquals("Movie not found with ID: 1", exception.getMessage());
         verify(reviewRepository, never()).save(any());
         verify(movieRatingService, never()).updateMovieRating(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -111,14 +157,13 @@ class ReviewServiceImplTest {
         // Given
         Long movieId = 1L;
         Pageable pageable = PageRequest.of(0, 10);
-        List<Review> reviews = Arrays.asList(review);
-        Page<Review> reviewPage = new PageImpl<>(reviews, pageable, 1);
-        List<ReviewDTO> reviewDTOs = Arrays.asList(reviewDTO);
+        ReviewDTO projected = new ReviewDTO(1L, 1L, "John Doe",
+                BigDecimal.valueOf(4.5), "Great movie!", LocalDateTime.now());
+        Page<ReviewDTO> reviewPage = new PageImpl<>(Arrays.asList(projected), pageable, 1);
 
         when(movieServiceClient.getMovieById(movieId)).thenReturn(movieDetailDTO);
-        when(reviewRepository.findByMovieIdOrderByReviewDateDesc(movieId, pageable))
+        when(reviewRepository.findReviewDTOsByMovieId(movieId, pageable))
                 .thenReturn(reviewPage);
-        when(reviewMapper.toReviewDTOList(reviews, "Inception")).thenReturn(reviewDTOs);
         when(reviewRepository.calculateAverageRating(movieId)).thenReturn(BigDecimal.valueOf(4.5));
 
         // When
@@ -127,6 +172,7 @@ class ReviewServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.getReviews().size());
+        assertEquals("Inception", result.getReviews().get(0).getMovieTitle());
         assertEquals(BigDecimal.valueOf(4.5), result.getAverageRating());
         assertEquals(1L, result.getTotalReviews());
         assertEquals(0, result.getPage());
@@ -135,6 +181,63 @@ class ReviewServiceImplTest {
         assertTrue(result.getLast());
     }
 
+    @Test
+    void getReviewsForMovie_PageSpansHotTierAndArchive() {
+        // Given
+        Long movieId = 1L;
+        Pageable pageable = PageRequest.of(1, 2);
+        ReviewDTO hot = new ReviewDTO(3L, 1L, "Hot User", BigDecimal.valueOf(4.0), "Recent", LocalDateTime.now());
+        ReviewDTO archived = new ReviewDTO(1L, 1L, "Old User", BigDecimal.valueOf(2.0), "Old",
+                LocalDateTime.now().minusYears(3));
+
+        when(movieServiceClient.getMovieById(movieId)).thenReturn(movieDetailDTO);
+        when(reviewRepository.findReviewDTOsByMovieId(movieId, pageable))
+                .thenReturn(new PageImpl<>(List.of(hot), pageable, 3));
+        when(reviewArchive.getArchivedReviewCount(movieId)).thenReturn(2L);
+        when(reviewArchive.readReviews(movieId, 0, 1, false)).thenReturn(List.of(archived));
+        when(reviewArchive.getRatingStats(movieId))
+                .thenReturn(new ArchivedRatingStats(2, BigDecimal.valueOf(5.0), new int[]{0, 0, 1, 1, 0, 0}));
+        when(reviewRepository.calculateAverageRating(movieId)).thenReturn(BigDecimal.valueOf(4.0));
+
+        // When
+        MovieReviewsResponseDTO result = reviewService.getReviewsForMovie(movieId, pageable);
+
+        // Then
+        assertEquals(List.of(3L, 1L), result.getReviews().stream().map(ReviewDTO::getId).toList());
+        assertEquals("Inception", result.getReviews().get(1).getMovieTitle());
+        assertEquals(5L, result.getTotalReviews());
+        assertEquals(3, result.getTotalPages());
+        assertFalse(result.getLast());
+        assertEquals(new BigDecimal("3.40"), result.getAverageRating());
+    }
+
+    @Test
+    void getReviewPreviewsForMovie_PageInsideArchive() {
+        // Given
+        Long movieId = 1L;
+        Pageable pageable = PageRequest.of(2, 10);
+        ReviewDTO archived = new ReviewDTO(1L, 1L, "Old User", BigDecimal.valueOf(3.0), "Old", true,
+                LocalDateTime.now().minusYears(3));
+
+        when(movieServiceClient.getMovieById(movieId)).thenReturn(movieDetailDTO);
+        when(reviewRepository.findReviewPreviewsByMovieId(movieId, pageable))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 12));
+        when(reviewArchive.getArchivedReviewCount(movieId)).thenReturn(9L);
+        when(reviewArchive.readReviews(movieId, 8, 10, true)).thenReturn(List.of(archived));
+        when(reviewArchive.getRatingStats(movieId))
+                .thenReturn(new ArchivedRatingStats(9, BigDecimal.valueOf(27.0), new int[6]));
+        when(reviewRepository.calculateAverageRating(movieId)).thenReturn(BigDecimal.valueOf(3.0));
+
+        // When
+        MovieReviewsResponseDTO result = reviewService.getReviewPreviewsForMovie(movieId, pageable);
+
+        // Then
+        assertEquals(1, result.getReviews().size());
+        assertTrue(result.getReviews().get(0).getCommentTruncated());
+        assertEquals(21L, result.getTotalReviews());
+        assertEquals(3, result.getTotalPages());
+    }
+
     @Test
     void getReviewsForMovie_MovieNotFound() {
         // Given
@@ -149,7 +252,108 @@ class ReviewServiceImplTest {
                 () -> reviewService.getReviewsForMovie(movieId, pageable));
 
         assertEquals("Movie not found with ID: 999", exception.getMessage());
-        verify(reviewRepository, never()).findByMovieIdOrderByReviewDateDesc(any(), any());
+        verify(reviewRepository, never()).findReviewDTOsByMovieId(any(), any());
+    }
+
+    @Test
+    void getReviewPreviewsForMovie_Success() {
+        // Given
+        Long movieId = 1L;
+        Pageable pageable = PageRequest.of(0, 10);
+        ReviewDTO preview = new ReviewDTO(1L, 1L, "John Doe", BigDecimal.valueOf(4.5),
+                "Great movie!", true, LocalDateTime.now());
+        Page<ReviewDTO> reviewPage = new PageImpl<>(Arrays.asList(preview), pageable, 1);
+
+        when(movieServiceClient.getMovieById(movieId)).thenReturn(movieDetailDTO);
+        when(reviewRepository.findReviewPreviewsByMovieId(movieId, pageable)).thenReturn(reviewPage);
+        when(reviewRepository.calculateAverageRating(movieId)).thenReturn(BigDecimal.valueOf(4.5));
+
+        // When
+        MovieReviewsResponseDTO result = reviewService.getReviewPreviewsForMovie(movieId, pageable);
+
+        // Then
+        assertEquals(1, result.getReviews().size());
+        assertEquals("Inception", result.getReviews().get(0).getMovieTitle());
+        assertTrue(result.getReviews().get(0).getCommentTruncated());
+        verify(reviewRepository, never()).findReviewDTOsByMovieId(any(), any());
+    }
+
+    @Test
+    void getReviewComment_Success() {
+        // Given
+        when(reviewRepository.findCommentById(1L))
+                .thenReturn(Optional.of(new ReviewCommentDTO(1L, "Great movie!")));
+
+        // When
+        ReviewCommentDTO result = reviewService.getReviewComment(1L);
+
+        // Then
+        assertEquals(1L, result.getReviewId());
+        assertEquals("Great movie!", result.getComment());
+    }
+
+    @Test
+    void getReviewComment_NotFound() {
+        // Given
+        when(reviewRepository.findCommentById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        ReviewNotFoundException exception = assertThrows(ReviewNotFoundException.class,
+                () -> reviewService.getReviewComment(999L));
+
+        assertEquals("Review not found with ID: 999", exception.getMessage());
+    }
+
+    @Test
+    void getReviewsByUser_FirstPageWithMore() {
+        // Given
+        LocalDateTime now = LocalDateTime.of(2025, 9, 30, 10, 30);
+        List<ReviewDTO> rows = Arrays.asList(
+                new ReviewDTO(3L, 1L, "John Doe", BigDecimal.valueOf(4.0), "Third", now),
+                new ReviewDTO(2L, 2L, "John Doe", BigDecimal.valueOf(3.0), "Second", now.minusDays(1)),
+                new ReviewDTO(1L, 1L, "John Doe", BigDecimal.valueOf(5.0), "First", now.minusDays(2)));
+        when(reviewRepository.findReviewDTOsByUserName("John Doe", PageRequest.of(0, 3))).thenReturn(rows);
+        when(movieTitleResolver.resolveTitles(List.of(1L, 2L)))
+                .thenReturn(Map.of(1L, "Inception", 2L, "The Matrix"));
+
+        // When
+        UserReviewsResponseDTO result = reviewService.getReviewsByUser("John Doe", null, 2);
+
+        // Then
+        assertEquals(2, result.getReviews().size());
+        assertEquals("Inception", result.getReviews().get(0).getMovieTitle());
+        assertEquals("The Matrix", result.getReviews().get(1).getMovieTitle());
+        assertTrue(result.getHasMore());
+        assertEquals(new ReviewCursor(now.minusDays(1), 2L).encode(), result.getNextCursor());
+    }
+
+    @Test
+    void getReviewsByUser_NextPageSeeksFromCursor() {
+        // Given
+        LocalDateTime cursorDate = LocalDateTime.of(2025, 9, 29, 10, 30);
+        String cursor = new ReviewCursor(cursorDate, 2L).encode();
+        List<ReviewDTO> rows = List.of(
+                new ReviewDTO(1L, 1L, "John Doe", BigDecimal.valueOf(5.0), "First", cursorDate.minusDays(1)));
+        when(reviewRepository.findReviewDTOsByUserNameBefore("John Doe", cursorDate, 2L, PageRequest.of(0, 3)))
+                .thenReturn(rows);
+        when(movieTitleResolver.resolveTitles(List.of(1L))).thenReturn(Map.of(1L, "Inception"));
+
+        // When
+        UserReviewsResponseDTO result = reviewService.getReviewsByUser("John Doe", cursor, 2);
+
+        // Then
+        assertEquals(1, result.getReviews().size());
+        assertFalse(result.getHasMore());
+        assertNull(result.getNextCursor());
+        verify(reviewRepository, never()).findReviewDTOsByUserName(any(), any());
+    }
+
+    @Test
+    void getReviewsByUser_InvalidCursor() {
+        // When & Then
+        assertThrows(InvalidCursorException.class,
+                () -> reviewService.getReviewsByUser("John Doe", "not-a-cursor", 20));
+        verifyNoInteractions(reviewRepository);
     }
 
     @Test
@@ -182,6 +386,32 @@ class ReviewServiceImplTest {
         assertEquals("Review not found with ID: 999", exception.getMessage());
     }
 
+    @Test
+    void getReviewById_ArchivedReviewNotFound() {
+        // Given: the review was moved to the archive
+        when(reviewRepository.findById(5L)).thenReturn(Optional.empty());
+        when(reviewRepository.findCommentById(5L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ReviewNotFoundException.class, () -> reviewService.getReviewById(5L));
+        assertThrows(ReviewNotFoundException.class, () -> reviewService.getReviewComment(5L));
+        verifyNoInteractions(reviewArchive);
+    }
+
+    @Test
+    void getReviewsByUser_LeavesOutArchivedReviews() {
+        // Given: only the user's reviews still in the table are found
+        when(reviewRepository.findReviewDTOsByUserName("John Doe", PageRequest.of(0, 21))).thenReturn(List.of());
+        when(movieTitleResolver.resolveTitles(List.of())).thenReturn(Map.of());
+
+        // When
+        UserReviewsResponseDTO result = reviewService.getReviewsByUser("John Doe", null, 20);
+
+        // Then
+        assertTrue(result.getReviews().isEmpty());
+        verifyNoInteractions(reviewArchive);
+    }
+
     @Test
     void getReviewById_MovieServiceFails() {
         // Given
@@ -242,14 +472,13 @@ class ReviewServiceImplTest {
         // Given
         Long movieId = 1L;
         Pageable pageable = PageRequest.of(0, 10);
-        List<Review> reviews = Arrays.asList(review);
-        Page<Review> reviewPage = new PageImpl<>(reviews, pageable, 1);
-        List<ReviewDTO> reviewDTOs = Arrays.asList(reviewDTO);
+        ReviewDTO projected = new ReviewDTO(1L, 1L, "John Doe",
+                BigDecimal.valueOf(4.5), "Great movie!", LocalDateTime.now());
+        Page<ReviewDTO> reviewPage = new PageImpl<>(Arrays.asList(projected), pageable, 1);
 
         when(movieServiceClient.getMovieById(movieId)).thenReturn(movieDetailDTO);
-        when(reviewRepository.findByMovieIdOrderByReviewDateDesc(movieId, pageable))
+        when(reviewRepository.findReviewDTOsByMovieId(movieId, pageable))
                 .thenReturn(reviewPage);
-        when(reviewMapper.toReviewDTOList(reviews, "Inception")).thenReturn(reviewDTOs);
         when(reviewRepository.calculateAverageRating(movieId)).thenReturn(null);
 
         // When
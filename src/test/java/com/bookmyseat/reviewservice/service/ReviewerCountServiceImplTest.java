@@ -0,0 +1,163 @@
+package com.bookmyseat.reviewservice.service;
+
+import com.bookmyseat.reviewservice.dto.UniqueReviewersDTO;
+import com.bookmyseat.reviewservice.entity.MovieReviewerSketch;
+import com.bookmyseat.reviewservice.repository.MovieReviewerSketchRepository;
+import com.bookmyseat.reviewservice.service.impl.ReviewerCountServiceImpl;
+import com.bookmyseat.reviewservice.sketch.HyperLogLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewerCountServiceImplTest {
+
+    @Mock
+    private MovieReviewerSketchRepository movieReviewerSketchRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReviewerCountServiceImpl reviewerCountService;
+
+    @BeforeEach
+    void setUp() {
+        reviewerCountService = new ReviewerCountServiceImpl(movieReviewerSketchRepository, transactionManager, 300);
+    }
+
+    @Test
+    void getUniqueReviewers_MergesSketchesOfMovies() {
+        // Given: 30 users reviewed movie 1, 20 of them and 10 others reviewed movie 2
+        when(movieReviewerSketchRepository.findRegistersByMovieIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(sketchOf(0, 30).toBytes(), sketchOf(10, 40).toBytes()));
+
+        // When
+        UniqueReviewersDTO result = reviewerCountService.getUniqueReviewers(List.of(1L, 2L, 1L));
+
+        // Then
+        assertEquals(List.of(1L, 2L), result.getMovieIds());
+        assertEquals(40L, result.getUniqueReviewers(), 1);
+        assertEquals(new BigDecimal("0.0163"), result.getRelativeStandardError());
+    }
+
+    @Test
+    void getUniqueReviewers_MovieWithoutSketchHasNone() {
+        when(movieReviewerSketchRepository.findRegistersByMovieIdIn(List.of(9L))).thenReturn(List.of());
+
+        UniqueReviewersDTO result = reviewerCountService.getUniqueReviewers(9L);
+
+        assertEquals(List.of(9L), result.getMovieIds());
+        assertEquals(0L, result.getUniqueReviewers());
+    }
+
+    @Test
+    void getUniqueReviewers_GlobalCountPagesThroughSketchesAndIsCached() {
+        // Given
+        List<Object[]> firstPage = new ArrayList<>();
+        for (long movieId = 1; movieId <= 500; movieId++) {
+            firstPage.add(new Object[] {movieId, sketchOf(0, 100).toBytes()});
+        }
+        List<Object[]> secondPage = new ArrayList<>();
+        secondPage.add(new Object[] {501L, sketchOf(100, 150).toBytes()});
+        when(movieReviewerSketchRepository.findRegistersAfter(eq(Long.MIN_VALUE), any(Pageable.class))).thenReturn(firstPage);
+        when(movieReviewerSketchRepository.findRegistersAfter(eq(500L), any(Pageable.class))).thenReturn(secondPage);
+
+        // When
+        UniqueReviewersDTO first = reviewerCountService.getUniqueReviewers((List<Long>) null);
+        UniqueReviewersDTO second = reviewerCountService.getUniqueReviewers(List.of());
+
+        // Then
+        assertTrue(first.getMovieIds().isEmpty());
+        assertEquals(150L, first.getUniqueReviewers(), 2);
+        assertEquals(first.getUniqueReviewers(), second.getUniqueReviewers());
+        verify(movieReviewerSketchRepository, times(2)).findRegistersAfter(any(), any(Pageable.class));
+    }
+
+    @Test
+    void recordReviewer_CreatesSketchForFirstReview() {
+        // Given
+        when(movieReviewerSketchRepository.findRegistersByMovieIdIn(List.of(1L))).thenReturn(List.of());
+        when(movieReviewerSketchRepository.findForUpdate(1L)).thenReturn(Optional.empty());
+
+        // When
+        reviewerCountService.recordReviewer(1L, "Alice");
+
+        // Then
+        ArgumentCaptor<MovieReviewerSketch> saved = ArgumentCaptor.forClass(MovieReviewerSketch.class);
+        verify(movieReviewerSketchRepository).saveAndFlush(saved.capture());
+        assertEquals(1L, saved.getValue().getMovieId());
+        assertEquals(1L, saved.getValue().getSketch().estimate());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void recordReviewer_UpdatesLockedSketch() {
+        // Given
+        MovieReviewerSketch stored = new MovieReviewerSketch(1L, sketchOf(0, 10));
+        when(movieReviewerSketchRepository.findRegistersByMovieIdIn(List.of(1L))).thenReturn(List.of(stored.getRegisters()));
+        when(movieReviewerSketchRepository.findForUpdate(1L)).thenReturn(Optional.of(stored));
+
+        // When
+        reviewerCountService.recordReviewer(1L, "Alice");
+
+        // Then
+        assertEquals(11L, stored.getSketch().estimate());
+        verify(movieReviewerSketchRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void recordReviewer_SkipsLockWhenReviewerAlreadyCounted() {
+        // Given
+        when(movieReviewerSketchRepository.findRegistersByMovieIdIn(List.of(1L)))
+                .thenReturn(List.of(sketchOf(0, 10).toBytes()));
+
+        // When
+        reviewerCountService.recordReviewer(1L, "user-3");
+
+        // Then
+        verify(movieReviewerSketchRepository, never()).findForUpdate(any());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void recordReviewer_RetriesWhenSketchCreatedConcurrently() {
+        // Given
+        MovieReviewerSketch created = new MovieReviewerSketch(1L, sketchOf(0, 10));
+        when(movieReviewerSketchRepository.findRegistersByMovieIdIn(anyList())).thenReturn(List.of());
+        when(movieReviewerSketchRepository.findForUpdate(1L)).thenReturn(Optional.empty(), Optional.of(created));
+        when(movieReviewerSketchRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        // When
+        reviewerCountService.recordReviewer(1L, "Alice");
+
+        // Then
+        assertEquals(11L, created.getSketch().estimate());
+        verify(transactionManager).rollback(any());
+    }
+
+    private static HyperLogLog sketchOf(int fromUser, int toUser) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = fromUser; i < toUser; i++) {
+            sketch.add("user-" + i);
+        }
+        return sketch;
+    }
+}
@@ -0,0 +1,176 @@
+package com.bookmyseat.reviewservice.service;
+
+import com.bookmyseat.reviewservice.client.MovieTitleResolver;
+import com.bookmyseat.reviewservice.dto.TrendingMovieDTO;
+import com.bookmyseat.reviewservice.entity.MovieTrendingScore;
+import com.bookmyseat.reviewservice.repository.MovieTrendingScoreRepository;
+import com.bookmyseat.reviewservice.service.impl.TrendingServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingServiceImplTest {
+
+    @Mock
+    private MovieTrendingScoreRepository movieTrendingScoreRepository;
+
+    @Mock
+    private MovieTitleResolver movieTitleResolver;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TrendingServiceImpl trendingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // A year-long half-life keeps scores steady for the duration of a test
+        trendingService = new TrendingServiceImpl(movieTrendingScoreRepository, movieTitleResolver,
+                meterRegistry, 24 * 365, 1024, 0.01, true);
+    }
+
+    @Test
+    void getTrendingMovies_RanksMoviesAndResolvesTitles() {
+        // Given
+        Instant now = Instant.now();
+        trendingService.recordReview(1L, now);
+        trendingService.recordReview(2L, now);
+        trendingService.recordReview(2L, now);
+        trendingService.recordReview(3L, now);
+        trendingService.recordReview(3L, now);
+        trendingService.recordReview(3L, now);
+        when(movieTitleResolver.resolveTitles(List.of(3L, 2L)))
+                .thenReturn(Map.of(3L, "Inception", 2L, "Interstellar"));
+
+        // When
+        List<TrendingMovieDTO> trending = trendingService.getTrendingMovies(2);
+
+        // Then
+        assertEquals(2, trending.size());
+        assertEquals(1, trending.get(0).getRank());
+        assertEquals(3L, trending.get(0).getMovieId());
+        assertEquals("Inception", trending.get(0).getMovieTitle());
+        assertEquals(3.0, trending.get(0).getTrendingScore().doubleValue(), 0.01);
+        assertEquals(2, trending.get(1).getRank());
+        assertEquals("Interstellar", trending.get(1).getMovieTitle());
+        assertEquals(3.0, meterRegistry.get("review_trending_movies").gauge().value());
+    }
+
+    @Test
+    void getTrendingMovies_ClampsLimit() {
+        // Given
+        Instant now = Instant.now();
+        for (long movieId = 1; movieId <= 60; movieId++) {
+            trendingService.recordReview(movieId, now);
+        }
+        when(movieTitleResolver.resolveTitles(anyList())).thenReturn(Map.of());
+
+        // When & Then
+        assertEquals(50, trendingService.getTrendingMovies(500).size());
+        assertEquals(1, trendingService.getTrendingMovies(0).size());
+    }
+
+    @Test
+    void loadSnapshot_RestoresScoresWithoutRewritingThem() {
+        // Given
+        Instant scoredAt = Instant.now().minus(Duration.ofMinutes(1));
+        when(movieTrendingScoreRepository.findAll()).thenReturn(List.of(
+                new MovieTrendingScore(5L, 4.0, scoredAt),
+                new MovieTrendingScore(6L, 1.0, scoredAt)));
+        when(movieTitleResolver.resolveTitles(List.of(5L, 6L))).thenReturn(Map.of(5L, "Dune", 6L, "Tenet"));
+
+        // When
+        trendingService.loadSnapshot();
+
+        // Then
+        List<TrendingMovieDTO> trending = trendingService.getTrendingMovies(10);
+        assertEquals(5L, trending.get(0).getMovieId());
+        assertEquals(4.0, trending.get(0).getTrendingScore().doubleValue(), 0.01);
+        assertEquals(0, trendingService.snapshotScores());
+        verify(movieTrendingScoreRepository, never()).saveAll(anyCollection());
+    }
+
+    @Test
+    void loadSnapshot_SkippedWhenRestoreDisabled() {
+        // Given
+        TrendingServiceImpl trainingService = new TrendingServiceImpl(movieTrendingScoreRepository, movieTitleResolver,
+                new SimpleMeterRegistry(), 6, 1024, 0.01, false);
+
+        // When
+        trainingService.loadSnapshot();
+
+        // Then
+        verifyNoInteractions(movieTrendingScoreRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void snapshotScores_SavesOnlyChangedMovies() {
+        // Given
+        Instant now = Instant.now();
+        trendingService.recordReview(1L, now);
+        trendingService.recordReview(1L, now);
+        trendingService.recordReview(2L, now);
+
+        // When
+        int saved = trendingService.snapshotScores();
+
+        // Then
+        assertEquals(2, saved);
+        ArgumentCaptor<Collection<MovieTrendingScore>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(movieTrendingScoreRepository).saveAll(captor.capture());
+        MovieTrendingScore movieOne = captor.getValue().stream()
+                .filter(score -> score.getMovieId() == 1L).findFirst().orElseThrow();
+        assertEquals(2.0, movieOne.getScore(), 0.01);
+
+        trendingService.recordReview(2L, now);
+        assertEquals(1, trendingService.snapshotScores());
+    }
+
+    @Test
+    void snapshotScores_KeepsScoresPendingWhenSaveFails() {
+        // Given
+        trendingService.recordReview(1L, Instant.now());
+        when(movieTrendingScoreRepository.saveAll(anyCollection()))
+                .thenThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .thenReturn(List.of());
+
+        // When & Then
+        assertThrows(DataAccessResourceFailureException.class, () -> trendingService.snapshotScores());
+        assertEquals(1, trendingService.snapshotScores());
+    }
+
+    @Test
+    void snapshotScores_PrunesDecayedMoviesFromIndexAndTable() {
+        // Given: movie 7 was last reviewed about eight half-lives ago
+        TrendingServiceImpl hourlyService = new TrendingServiceImpl(movieTrendingScoreRepository, movieTitleResolver,
+                new SimpleMeterRegistry(), 1, 1024, 0.01, true);
+        Instant now = Instant.now();
+        hourlyService.recordReview(7L, now.minus(Duration.ofHours(8)));
+        hourlyService.recordReview(8L, now);
+        when(movieTitleResolver.resolveTitles(List.of(8L))).thenReturn(Map.of(8L, "Arrival"));
+
+        // When
+        hourlyService.snapshotScores();
+
+        // Then
+        verify(movieTrendingScoreRepository).deleteAllByIdInBatch(List.of(7L));
+        assertEquals(List.of(8L), hourlyService.getTrendingMovies(10).stream().map(TrendingMovieDTO::getMovieId).toList());
+    }
+}
@@ -0,0 +1,55 @@
+package com.bookmyseat.reviewservice.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_NeverMissesAddedValues() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(i + ":user-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(i + ":user-" + i));
+        }
+    }
+
+    @Test
+    void mightContain_FalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put("1:user-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("2:user-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 1_500, "False positives: " + falsePositives);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.002);
+    }
+
+    @Test
+    void put_ReportsWhetherFilterChanged() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+        assertTrue(filter.put("1:Alice"));
+        assertFalse(filter.put("1:Alice"));
+        assertEquals(1, filter.insertionCount());
+        assertEquals(7, filter.hashCount());
+        assertEquals(0.0, new BloomFilter(1_000, 0.01).expectedFalsePositiveRate());
+    }
+
+    @Test
+    void constructor_RejectsInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(1_000, 1.0));
+    }
+}
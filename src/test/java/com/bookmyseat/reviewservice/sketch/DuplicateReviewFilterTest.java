@@ -0,0 +1,146 @@
+package com.bookmyseat.reviewservice.sketch;
+
+import com.bookmyseat.reviewservice.archive.ReviewArchive;
+import com.bookmyseat.reviewservice.repository.ReviewRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DuplicateReviewFilterTest {
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private ReviewArchive reviewArchive;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DuplicateReviewFilter duplicateReviewFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        duplicateReviewFilter = new DuplicateReviewFilter(reviewRepository, reviewArchive, meterRegistry, 10_000, 0.01, 2);
+    }
+
+    @Test
+    void isDuplicate_QueriesDatabaseUntilLoaded() {
+        when(reviewRepository.existsByMovieIdAndUserName(1L, "Alice")).thenReturn(false);
+
+        assertFalse(duplicateReviewFilter.isDuplicate(1L, "Alice"));
+
+        verify(reviewRepository).existsByMovieIdAndUserName(1L, "Alice");
+        assertEquals(1.0, meterRegistry.get("review_duplicate_checks").tag("result", "database").counter().count());
+    }
+
+    @Test
+    void isDuplicate_NewPairSkipsDatabaseOnceLoaded() {
+        // Given
+        loadReviews(new Object[] {1L, 1L, "Alice"}, new Object[] {2L, 1L, "Bob"}, new Object[] {3L, 2L, "Alice"});
+
+        // When & Then
+        assertFalse(duplicateReviewFilter.isDuplicate(2L, "Bob"));
+        assertFalse(duplicateReviewFilter.isDuplicate(3L, "Alice"));
+        verify(reviewRepository, never()).existsByMovieIdAndUserName(anyLong(), anyString());
+        assertEquals(2.0, meterRegistry.get("review_duplicate_checks").tag("result", "filter_new").counter().count());
+    }
+
+    @Test
+    void isDuplicate_PossibleMatchConfirmedByDatabase() {
+        // Given
+        loadReviews(new Object[] {1L, 1L, "Alice"});
+        when(reviewRepository.existsByMovieIdAndUserName(1L, "Alice")).thenReturn(true);
+
+        // When & Then
+        assertTrue(duplicateReviewFilter.isDuplicate(1L, "Alice"));
+        assertEquals(1.0, meterRegistry.get("review_duplicates_rejected").counter().count());
+    }
+
+    @Test
+    void record_AddsSavedReviewToFilter() {
+        // Given
+        loadReviews();
+        duplicateReviewFilter.record(5L, "Carol");
+        when(reviewRepository.existsByMovieIdAndUserName(5L, "Carol")).thenReturn(true);
+
+        // When & Then
+        assertTrue(duplicateReviewFilter.isDuplicate(5L, "Carol"));
+        assertFalse(duplicateReviewFilter.isDuplicate(6L, "Carol"));
+        verify(reviewRepository, never()).existsByMovieIdAndUserName(6L, "Carol");
+    }
+
+    @Test
+    void refresh_AddsReviewsSavedByOtherInstances() {
+        // Given: loaded with ids 1-2, then another instance saves ids 3 and 4
+        loadReviews(new Object[] {1L, 1L, "Alice"}, new Object[] {2L, 1L, "Bob"});
+        when(reviewRepository.findReviewersAfter(eq(2L), any(Pageable.class)))
+                .thenReturn(rows(new Object[] {3L, 7L, "Dave"}, new Object[] {4L, 8L, "Erin"}));
+        when(reviewRepository.findReviewersAfter(eq(4L), any(Pageable.class))).thenReturn(rows());
+        when(reviewRepository.existsByMovieIdAndUserName(anyLong(), anyString())).thenReturn(true);
+
+        // When
+        duplicateReviewFilter.refresh();
+
+        // Then: the refresh re-read one batch behind the highest id loaded
+        verify(reviewRepository, times(2)).findReviewersAfter(eq(0L), any(Pageable.class));
+        assertTrue(duplicateReviewFilter.isDuplicate(7L, "Dave"));
+        assertTrue(duplicateReviewFilter.isDuplicate(8L, "Erin"));
+        assertEquals(0.0, meterRegistry.get("review_duplicate_checks").tag("result", "filter_new").counter().count());
+    }
+
+    @Test
+    void refresh_SkippedUntilLoaded() {
+        duplicateReviewFilter.refresh();
+
+        verifyNoInteractions(reviewRepository);
+    }
+
+    @Test
+    void load_SeedsArchivedReviewers() {
+        // Given
+        when(reviewArchive.getArchivedMovieIds()).thenReturn(List.of(9L));
+        when(reviewArchive.readUserNames(9L)).thenReturn(List.of("Frank"));
+        when(reviewRepository.existsByMovieIdAndUserName(9L, "Frank")).thenReturn(false);
+
+        // When
+        loadReviews();
+
+        // Then: only the archive confirms the match
+        assertTrue(duplicateReviewFilter.isDuplicate(9L, "Frank"));
+        assertFalse(duplicateReviewFilter.isDuplicate(9L, "Grace"));
+        assertEquals(1.0, meterRegistry.get("review_duplicates_rejected").counter().count());
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(Arrays.asList(rows));
+    }
+
+    private void loadReviews(Object[]... rows) {
+        List<Object[]> firstBatch = new ArrayList<>();
+        List<Object[]> secondBatch = new ArrayList<>();
+        for (int i = 0; i < rows.length; i++) {
+            (i < 2 ? firstBatch : secondBatch).add(rows[i]);
+        }
+        when(reviewRepository.findReviewersAfter(eq(0L), any(Pageable.class))).thenReturn(firstBatch);
+        if (firstBatch.size() == 2) {
+            when(reviewRepository.findReviewersAfter(eq(2L), any(Pageable.class))).thenReturn(secondBatch);
+        }
+        duplicateReviewFilter.load();
+    }
+}
@@ -0,0 +1,98 @@
+package com.bookmyseat.reviewservice.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    // Three standard errors: the documented bound for nearly all estimates
+    private static final double TOLERANCE = 3 * HyperLogLog.RELATIVE_STANDARD_ERROR;
+
+    @Test
+    void estimate_WithinErrorBoundOfExactCount() {
+        Random random = new Random(42);
+        for (int cardinality : new int[] {10, 100, 1_000, 5_000, 10_000, 20_000, 100_000, 1_000_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            Set<String> exact = new HashSet<>();
+            for (int i = 0; i < cardinality; i++) {
+                String userName = "user-" + random.nextInt(Integer.MAX_VALUE);
+                exact.add(userName);
+                sketch.add(userName);
+            }
+
+            double error = Math.abs(sketch.estimate() - exact.size()) / (double) exact.size();
+            assertTrue(error <= TOLERANCE,
+                    "Estimate " + sketch.estimate() + " for " + exact.size() + " users is off by " + error);
+        }
+    }
+
+    @Test
+    void estimate_SmallCountsAreNearlyExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        assertEquals(0, sketch.estimate());
+
+        for (int i = 0; i < 50; i++) {
+            sketch.add("Reviewer " + i);
+        }
+        assertEquals(50, sketch.estimate(), 1);
+    }
+
+    @Test
+    void add_RepeatedValueDoesNotChangeSketch() {
+        HyperLogLog sketch = new HyperLogLog();
+
+        assertTrue(sketch.add("Alice"));
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(sketch.add("Alice"));
+        }
+        assertEquals(1, sketch.estimate());
+    }
+
+    @Test
+    void merge_EstimatesUnionOfOverlappingSets() {
+        HyperLogLog action = new HyperLogLog();
+        HyperLogLog drama = new HyperLogLog();
+        HyperLogLog all = new HyperLogLog();
+        // Users 0..59,999 reviewed action movies, 40,000..99,999 drama; 100,000 distinct in total
+        for (int i = 0; i < 100_000; i++) {
+            String userName = "user-" + i;
+            if (i < 60_000) {
+                action.add(userName);
+            }
+            if (i >= 40_000) {
+                drama.add(userName);
+            }
+            all.add(userName);
+        }
+
+        assertTrue(action.merge(drama));
+        assertFalse(action.merge(drama));
+        assertArrayEquals(all.toBytes(), action.toBytes());
+        assertEquals(100_000, action.estimate(), 100_000 * TOLERANCE);
+    }
+
+    @Test
+    void fromBytes_RoundTripsRegisters() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 500; i++) {
+            sketch.add("user-" + i);
+        }
+
+        byte[] bytes = sketch.toBytes();
+        assertEquals(HyperLogLog.REGISTER_COUNT, bytes.length);
+        assertEquals(sketch.estimate(), HyperLogLog.fromBytes(bytes).estimate());
+
+        // The restored sketch owns its registers
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+        restored.add("someone else");
+        assertArrayEquals(sketch.toBytes(), bytes);
+
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[16]));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(null));
+    }
+}
@@ -0,0 +1,47 @@
+package com.bookmyseat.reviewservice.startup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyPackagesPostProcessorTest {
+
+    @Test
+    void postProcessBeanFactory_MarksBeansOfListedPackagesLazy() {
+        // Given
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("docs", new RootBeanDefinition("org.springdoc.core.SpringDocConfiguration"));
+        AbstractBeanDefinition declared = BeanDefinitionBuilder.genericBeanDefinition().getBeanDefinition();
+        declared.setFactoryBeanName("docs");
+        declared.setFactoryMethodName("openApiResource");
+        beanFactory.registerBeanDefinition("openApiResource", declared);
+        beanFactory.registerBeanDefinition("reviewService",
+                new RootBeanDefinition("com.bookmyseat.reviewservice.service.impl.ReviewServiceImpl"));
+        beanFactory.registerBeanDefinition("springdocLookalike", new RootBeanDefinition("org.springdocs.Other"));
+
+        // When
+        new LazyPackagesPostProcessor(List.of(" org.springdoc ")).postProcessBeanFactory(beanFactory);
+
+        // Then
+        assertTrue(beanFactory.getBeanDefinition("docs").isLazyInit());
+        assertTrue(beanFactory.getBeanDefinition("openApiResource").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("reviewService").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("springdocLookalike").isLazyInit());
+    }
+
+    @Test
+    void postProcessBeanFactory_NoPackagesLeavesBeansEager() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("docs", new RootBeanDefinition("org.springdoc.core.SpringDocConfiguration"));
+
+        new LazyPackagesPostProcessor(List.of()).postProcessBeanFactory(beanFactory);
+
+        assertFalse(beanFactory.getBeanDefinition("docs").isLazyInit());
+    }
+}
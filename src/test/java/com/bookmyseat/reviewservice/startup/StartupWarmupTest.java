@@ -0,0 +1,124 @@
+package com.bookmyseat.reviewservice.startup;
+
+import com.bookmyseat.reviewservice.client.MovieTitleResolver;
+import com.bookmyseat.reviewservice.repository.MovieRatingRepository;
+import com.bookmyseat.reviewservice.service.ReviewService;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StartupWarmupTest {
+
+    @Mock
+    private MovieRatingRepository movieRatingRepository;
+
+    @Mock
+    private MovieTitleResolver movieTitleResolver;
+
+    @Mock
+    private ReviewService reviewService;
+
+    private MockEnvironment environment;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment();
+    }
+
+    @Test
+    void run_PrefetchesMoviesAndPrimesFirstPages() {
+        // Given
+        when(movieRatingRepository.findMostReviewedMovieIds(PageRequest.of(0, 2))).thenReturn(List.of(7L, 3L));
+        StartupWarmup warmup = warmup(2, Duration.ofSeconds(10), Clock.systemUTC());
+
+        // When
+        warmup.run(null);
+
+        // Then
+        verify(movieTitleResolver).resolveTitles(List.of(7L, 3L));
+        verify(reviewService).getReviewsForMovie(7L, StartupWarmup.FIRST_PAGE);
+        verify(reviewService).getReviewsForMovie(3L, StartupWarmup.FIRST_PAGE);
+    }
+
+    @Test
+    void run_NoRatingsSkipsWarmup() {
+        when(movieRatingRepository.findMostReviewedMovieIds(any())).thenReturn(List.of());
+
+        warmup(20, Duration.ofSeconds(10), Clock.systemUTC()).run(null);
+
+        verifyNoInteractions(movieTitleResolver, reviewService);
+    }
+
+    @Test
+    void run_ExhaustedBudgetStopsAfterLoadingMovies() {
+        // Given: the clock never moves, so a zero budget is already spent
+        when(movieRatingRepository.findMostReviewedMovieIds(any())).thenReturn(List.of(7L));
+        Clock frozen = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+        // When
+        warmup(20, Duration.ZERO, frozen).run(null);
+
+        // Then
+        verify(movieTitleResolver, never()).resolveTitles(anyCollection());
+        verifyNoInteractions(reviewService);
+    }
+
+    @Test
+    void run_FailureDoesNotPreventStartup() {
+        when(movieRatingRepository.findMostReviewedMovieIds(any())).thenThrow(new IllegalStateException("database down"));
+
+        assertDoesNotThrow(() -> warmup(20, Duration.ofSeconds(10), Clock.systemUTC()).run(null));
+    }
+
+    @Test
+    void exerciseEndpoints_CallsHotEndpointsUpToRequestLimit() {
+        // Given
+        WireMockServer server = new WireMockServer(options().dynamicPort());
+        server.start();
+        try {
+            server.stubFor(WireMock.get(urlPathMatching("/api/v1/reviews/movie/.*"))
+                    .willReturn(aResponse().withStatus(200).withBody("{}")));
+            StartupWarmup warmup = new StartupWarmup(movieRatingRepository, movieTitleResolver, reviewService,
+                    environment, 20, Duration.ofSeconds(10), 30, 3, Clock.systemUTC());
+
+            // When
+            int requests = warmup.exerciseEndpoints("http://localhost:" + server.port(), List.of(7L),
+                    Instant.now().plusSeconds(10));
+
+            // Then
+            assertEquals(30, requests);
+            assertEquals(30, server.getAllServeEvents().size());
+            server.verify(10, WireMock.getRequestedFor(WireMock.urlEqualTo("/api/v1/reviews/movie/7")));
+            server.verify(10, WireMock.getRequestedFor(WireMock.urlEqualTo("/api/v1/reviews/movie/7?preview=true")));
+            server.verify(10, WireMock.getRequestedFor(WireMock.urlEqualTo("/api/v1/reviews/movie/7/rating")));
+        } finally {
+            server.stop();
+        }
+    }
+
+    private StartupWarmup warmup(int movies, Duration budget, Clock clock) {
+        return new StartupWarmup(movieRatingRepository, movieTitleResolver, reviewService, environment,
+                movies, budget, 100, 2, clock);
+    }
+}
@@ -0,0 +1,45 @@
+package com.bookmyseat.reviewservice.stream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieRatingChannelTest {
+
+    private static final long INTERVAL = 1_000;
+
+    @Test
+    void trySchedulePublish_OnePendingPublishPerMovie() {
+        MovieRatingChannel channel = new MovieRatingChannel(1L);
+
+        assertTrue(channel.trySchedulePublish());
+        assertFalse(channel.trySchedulePublish());
+
+        channel.beginPublish(100);
+        assertTrue(channel.trySchedulePublish());
+    }
+
+    @Test
+    void delayBeforePublish_KeepsUpdatesAnIntervalApart() {
+        MovieRatingChannel channel = new MovieRatingChannel(1L);
+        assertEquals(0, channel.delayBeforePublish(100, INTERVAL));
+
+        channel.beginPublish(100);
+
+        assertEquals(700, channel.delayBeforePublish(400, INTERVAL));
+        assertEquals(0, channel.delayBeforePublish(1_100, INTERVAL));
+        assertEquals(0, channel.delayBeforePublish(5_000, INTERVAL));
+    }
+
+    @Test
+    void subscribers_AddedAndRemoved() {
+        MovieRatingChannel channel = new MovieRatingChannel(1L);
+        RatingSubscriber subscriber = new RatingSubscriber(null);
+
+        channel.add(subscriber);
+        assertFalse(channel.isEmpty());
+
+        channel.remove(subscriber);
+        assertTrue(channel.isEmpty());
+    }
+}
@@ -0,0 +1,186 @@
+package com.bookmyseat.reviewservice.stream;
+
+import com.bookmyseat.reviewservice.dto.RatingSummaryDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RatingSubscriberTest {
+
+    @Test
+    void drain_SendsBufferedUpdate() throws IOException {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+        RatingSubscriber subscriber = new RatingSubscriber(emitter);
+        RatingSummaryDTO summary = summary(4.5);
+
+        // When
+        assertFalse(subscriber.offer(summary));
+        assertTrue(subscriber.startDraining());
+        int sent = subscriber.drain();
+
+        // Then
+        assertEquals(1, sent);
+        assertEquals(List.of(summary), emitter.sent);
+    }
+
+    @Test
+    void offer_ReplacesUnsentUpdate() throws IOException {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+        RatingSubscriber subscriber = new RatingSubscriber(emitter);
+        RatingSummaryDTO latest = summary(3.0);
+
+        // When
+        subscriber.offer(summary(4.5));
+        boolean dropped = subscriber.offer(latest);
+        subscriber.startDraining();
+        subscriber.drain();
+
+        // Then
+        assertTrue(dropped);
+        assertEquals(List.of(latest), emitter.sent);
+    }
+
+    @Test
+    void startDraining_OnlyOneSenderAtATime() throws IOException {
+        RatingSubscriber subscriber = new RatingSubscriber(new RecordingEmitter());
+        subscriber.offer(summary(4.5));
+
+        assertTrue(subscriber.startDraining());
+        assertFalse(subscriber.startDraining());
+
+        subscriber.drain();
+        assertTrue(subscriber.startDraining());
+    }
+
+    @Test
+    void drain_FailedSendReleasesSender() {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.fail = true;
+        RatingSubscriber subscriber = new RatingSubscriber(emitter);
+        subscriber.offer(summary(4.5));
+        subscriber.startDraining();
+
+        // When & Then
+        assertThrows(IOException.class, subscriber::drain);
+        assertTrue(subscriber.startDraining());
+    }
+
+    @Test
+    void close_StopsFurtherSends() throws IOException {
+        RecordingEmitter emitter = new RecordingEmitter();
+        RatingSubscriber subscriber = new RatingSubscriber(emitter);
+        subscriber.offer(summary(4.5));
+
+        subscriber.close();
+
+        assertTrue(subscriber.isClosed());
+        assertFalse(subscriber.startDraining());
+        assertEquals(0, subscriber.drain());
+        assertTrue(emitter.sent.isEmpty());
+    }
+
+    @Test
+    void close_OnlyFirstCallCloses() {
+        RatingSubscriber subscriber = new RatingSubscriber(new RecordingEmitter());
+
+        assertTrue(subscriber.close());
+        assertFalse(subscriber.close());
+    }
+
+    @Test
+    void abortStalledSend_InterruptsBlockedSendAndStopsFurtherSends() throws Exception {
+        // Given: a send blocked on a client that stopped reading
+        BlockingEmitter emitter = new BlockingEmitter();
+        RatingSubscriber subscriber = new RatingSubscriber(emitter);
+        subscriber.offer(summary(4.5));
+        subscriber.startDraining();
+        CompletableFuture<Boolean> interruptLeft = new CompletableFuture<>();
+        Thread sender = new Thread(() -> {
+            try {
+                subscriber.drain();
+                interruptLeft.completeExceptionally(new AssertionError("Send was not aborted"));
+            } catch (IOException e) {
+                interruptLeft.complete(Thread.currentThread().isInterrupted());
+            }
+        });
+        sender.start();
+        assertTrue(emitter.blocked.await(2, TimeUnit.SECONDS));
+
+        // When
+        assertFalse(subscriber.abortStalledSend(System.nanoTime(), TimeUnit.MINUTES.toNanos(1)));
+        boolean aborted = subscriber.abortStalledSend(System.nanoTime(), 0);
+
+        // Then
+        assertTrue(aborted);
+        assertFalse(interruptLeft.get(2, TimeUnit.SECONDS));
+        assertTrue(subscriber.isSendAborted());
+        assertFalse(subscriber.abortStalledSend(System.nanoTime(), 0));
+        subscriber.offer(summary(3.0));
+        assertFalse(subscriber.startDraining());
+    }
+
+    @Test
+    void abortStalledSend_NoSendInProgress() {
+        RatingSubscriber subscriber = new RatingSubscriber(new RecordingEmitter());
+        subscriber.offer(summary(4.5));
+
+        assertFalse(subscriber.abortStalledSend(System.nanoTime(), 0));
+        assertTrue(subscriber.startDraining());
+    }
+
+    private static RatingSummaryDTO summary(double average) {
+        return new RatingSummaryDTO(1L, "Inception", BigDecimal.valueOf(average), 3, Map.of("5", 3));
+    }
+
+    /**
+     * Emitter that records the data of each event instead of writing to a response
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<Object> sent = new ArrayList<>();
+        private boolean fail;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (fail) {
+                throw new IOException("Broken pipe");
+            }
+            builder.build().stream()
+                    .map(part -> part.getData())
+                    .filter(RatingSummaryDTO.class::isInstance)
+                    .forEach(sent::add);
+        }
+    }
+
+    /**
+     * Emitter whose sends block until interrupted, like a write to a client that stopped reading
+     */
+    private static class BlockingEmitter extends SseEmitter {
+
+        private final CountDownLatch blocked = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            blocked.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException("Write interrupted");
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.bookmyseat.reviewservice.summary;
+
+import com.bookmyseat.reviewservice.dto.RatingSummaryDTO;
+import com.bookmyseat.reviewservice.event.MovieRatingChangedEvent;
+import com.bookmyseat.reviewservice.exception.MovieNotFoundException;
+import com.bookmyseat.reviewservice.service.MovieRatingService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingSummaryJsonCacheTest {
+
+    private static final long MAX_AGE_MS = 10_000;
+
+    @Mock
+    private MovieRatingService movieRatingService;
+
+    @Mock
+    private Clock clock;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SimpleMeterRegistry meterRegistry;
+    private RatingSummaryJsonCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new RatingSummaryJsonCache(movieRatingService, objectMapper, meterRegistry, MAX_AGE_MS, 2, clock);
+    }
+
+    @Test
+    void getJson_EncodesSummaryOnceAndServesTheSameBytes() throws Exception {
+        // Given
+        when(movieRatingService.getMovieRatingSummary(1L)).thenReturn(summary(1L, 3));
+
+        // When
+        byte[] first = cache.getJson(1L);
+        byte[] second = cache.getJson(1L);
+
+        // Then
+        assertSame(first, second);
+        JsonNode json = objectMapper.readTree(first);
+        assertEquals("Inception", json.get("movieTitle").asText());
+        assertEquals(3, json.get("totalReviews").asInt());
+        assertEquals(2, json.get("ratingDistribution").get("5").asInt());
+        verify(movieRatingService, times(1)).getMovieRatingSummary(1L);
+        assertEquals(1.0, meterRegistry.get("review_rating_summary_cache").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("review_rating_summary_cache").tag("result", "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get("review_rating_summary_cache_size").gauge().value());
+    }
+
+    @Test
+    void getJson_RebuildsAfterMaxAge() {
+        when(movieRatingService.getMovieRatingSummary(1L)).thenReturn(summary(1L, 3), summary(1L, 4));
+        when(clock.millis()).thenReturn(0L, MAX_AGE_MS - 1, MAX_AGE_MS);
+
+        byte[] first = cache.getJson(1L);
+        assertSame(first, cache.getJson(1L));
+        assertNotSame(first, cache.getJson(1L));
+
+        verify(movieRatingService, times(2)).getMovieRatingSummary(1L);
+    }
+
+    @Test
+    void onRatingChanged_DropsEncodedSummary() {
+        // Given
+        when(movieRatingService.getMovieRatingSummary(1L)).thenReturn(summary(1L, 3), summary(1L, 4));
+        cache.getJson(1L);
+
+        // When
+        cache.onRatingChanged(new MovieRatingChangedEvent(1L));
+        byte[] rebuilt = cache.getJson(1L);
+
+        // Then
+        assertTrue(new String(rebuilt).contains("\"totalReviews\":4"));
+        verify(movieRatingService, times(2)).getMovieRatingSummary(1L);
+    }
+
+    @Test
+    void getJson_SummaryBuiltWhileRatingChangedIsNotStored() {
+        // Given: the row changes after the summary was read but before it is stored
+        when(movieRatingService.getMovieRatingSummary(1L)).thenAnswer(invocation -> {
+            cache.onRatingCommitted(new MovieRatingChangedEvent(1L));
+            return summary(1L, 3);
+        });
+
+        // When
+        cache.getJson(1L);
+        cache.getJson(1L);
+
+        // Then
+        assertEquals(0, cache.size());
+        verify(movieRatingService, times(2)).getMovieRatingSummary(1L);
+    }
+
+    @Test
+    void getJson_ChangeOfAnotherMovieDoesNotStopStore() {
+        // Given: movie 2 changes while the summary of movie 1 is being built
+        when(movieRatingService.getMovieRatingSummary(1L)).thenAnswer(invocation -> {
+            cache.onRatingCommitted(new MovieRatingChangedEvent(2L));
+            return summary(1L, 3);
+        });
+
+        // When
+        cache.getJson(1L);
+        cache.getJson(1L);
+
+        // Then
+        assertEquals(1, cache.size());
+        verify(movieRatingService, times(1)).getMovieRatingSummary(1L);
+    }
+
+    @Test
+    void getJson_FullCacheMakesRoomForNewMovie() {
+        when(movieRatingService.getMovieRatingSummary(anyLong()))
+                .thenAnswer(invocation -> summary(invocation.getArgument(0), 1));
+
+        cache.getJson(1L);
+        cache.getJson(2L);
+        cache.getJson(3L);
+
+        assertEquals(2, cache.size());
+        cache.getJson(3L);
+        verify(movieRatingService, times(1)).getMovieRatingSummary(3L);
+    }
+
+    @Test
+    void getJson_MovieNotFoundIsNotCached() {
+        when(movieRatingService.getMovieRatingSummary(999L))
+                .thenThrow(new MovieNotFoundException("Movie not found with ID: 999"));
+
+        assertThrows(MovieNotFoundException.class, () -> cache.getJson(999L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void constructor_RejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new RatingSummaryJsonCache(movieRatingService, objectMapper, meterRegistry, MAX_AGE_MS, 0, clock));
+    }
+
+    private static RatingSummaryDTO summary(Long movieId, int totalReviews) {
+        return new RatingSummaryDTO(movieId, "Inception", BigDecimal.valueOf(4.5), totalReviews,
+                Map.of("1", 0, "2", 0, "3", 0, "4", 1, "5", 2));
+    }
+}
@@ -0,0 +1,48 @@
+package com.bookmyseat.reviewservice.tracing;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveSamplerTest {
+
+    private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+
+    @Test
+    void shouldSample_RootOutsideBaselineIsRecordedOnly() {
+        assertEquals(SamplingDecision.RECORD_ONLY, decide(new AdaptiveSampler(0.0), Context.root()));
+    }
+
+    @Test
+    void shouldSample_RootInsideBaselineIsSampled() {
+        assertEquals(SamplingDecision.RECORD_AND_SAMPLE, decide(new AdaptiveSampler(1.0), Context.root()));
+    }
+
+    @Test
+    void shouldSample_FollowsParentDecision() {
+        AdaptiveSampler sampler = new AdaptiveSampler(0.0);
+
+        assertEquals(SamplingDecision.RECORD_AND_SAMPLE, decide(sampler, parent(TraceFlags.getSampled())));
+        assertEquals(SamplingDecision.RECORD_ONLY, decide(new AdaptiveSampler(1.0), parent(TraceFlags.getDefault())));
+    }
+
+    private static SamplingDecision decide(AdaptiveSampler sampler, Context parent) {
+        return sampler.shouldSample(parent, TRACE_ID, "GET /api/v1/reviews", SpanKind.SERVER,
+                Attributes.empty(), List.of()).getDecision();
+    }
+
+    private static Context parent(TraceFlags flags) {
+        SpanContext remote = SpanContext.createFromRemoteParent(TRACE_ID, "b7ad6b7169203331", flags, TraceState.getDefault());
+        return Context.root().with(Span.wrap(remote));
+    }
+}
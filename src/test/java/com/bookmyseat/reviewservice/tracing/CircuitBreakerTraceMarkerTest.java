@@ -0,0 +1,51 @@
+package com.bookmyseat.reviewservice.tracing;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CircuitBreakerTraceMarkerTest {
+
+    @Mock
+    private Tracer tracer;
+
+    @Mock
+    private Span span;
+
+    @Mock
+    private TraceContext traceContext;
+
+    @Test
+    void onStateTransition_TagsCurrentSpan() {
+        // Given
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+        new CircuitBreakerTraceMarker(registry, tracer);
+        when(tracer.currentSpan()).thenReturn(span);
+        when(span.context()).thenReturn(traceContext);
+
+        // When
+        registry.circuitBreaker(CircuitBreakerTraceMarker.MOVIE_SERVICE_CIRCUIT_BREAKER).transitionToOpenState();
+
+        // Then
+        verify(span).tag("circuit_breaker.transition", "CLOSED_TO_OPEN");
+    }
+
+    @Test
+    void onStateTransition_WithoutSpanOnlyLogs() {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+        new CircuitBreakerTraceMarker(registry, tracer);
+
+        registry.circuitBreaker(CircuitBreakerTraceMarker.MOVIE_SERVICE_CIRCUIT_BREAKER).transitionToForcedOpenState();
+
+        verify(tracer).currentSpan();
+        verifyNoInteractions(span);
+    }
+}
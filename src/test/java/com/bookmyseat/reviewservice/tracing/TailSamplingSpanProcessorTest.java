@@ -0,0 +1,170 @@
+package com.bookmyseat.reviewservice.tracing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TailSamplingSpanProcessorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecordingExporter exporter = new RecordingExporter();
+    private TailSamplingSpanProcessor processor;
+    private SdkTracerProvider tracerProvider;
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void onEnd_FastSuccessfulTraceOutsideBaselineDropped() {
+        Tracer tracer = tracer(0.0, 100);
+
+        trace(tracer, 0, false);
+
+        assertTrue(exporter.spans.isEmpty());
+        assertEquals(0, processor.getPendingTraceCount());
+    }
+
+    @Test
+    void onEnd_BaselineTraceExportedWhole() {
+        Tracer tracer = tracer(1.0, 100);
+
+        trace(tracer, 0, false);
+
+        assertEquals(List.of("child", "root"), exportedNames());
+        assertEquals(1.0, exportedCount("baseline"));
+    }
+
+    @Test
+    void onEnd_FailedChildKeepsWholeTrace() {
+        Tracer tracer = tracer(0.0, 100);
+
+        trace(tracer, 0, true);
+
+        assertEquals(List.of("child", "root"), exportedNames());
+        assertTrue(exporter.spans.stream().allMatch(span -> span.getSpanContext().isSampled()));
+        assertEquals(1.0, exportedCount("error"));
+    }
+
+    @Test
+    void onEnd_SlowRootKeepsTrace() {
+        Tracer tracer = tracer(0.0, 100);
+
+        trace(tracer, TimeUnit.MILLISECONDS.toNanos(800), false);
+
+        assertEquals(2, exporter.spans.size());
+        assertEquals(1.0, exportedCount("slow"));
+    }
+
+    @Test
+    void onEnd_CircuitBreakerTransitionKeepsTrace() {
+        // Given
+        Tracer tracer = tracer(0.0, 100);
+        Span root = tracer.spanBuilder("root").startSpan();
+        Span child = tracer.spanBuilder("movie-service").setParent(Context.root().with(root)).startSpan();
+
+        // When
+        child.setAttribute(TailSamplingSpanProcessor.CIRCUIT_BREAKER_TRANSITION, "CLOSED_TO_OPEN");
+        child.end();
+        root.end();
+
+        // Then
+        assertEquals(1.0, exportedCount("circuit_breaker"));
+    }
+
+    @Test
+    void onEnd_BudgetBoundsExportedSpans() {
+        // Budget of 4 spans per second: two failed traces of two spans fit, the third does not
+        Tracer tracer = tracer(0.0, 4);
+
+        trace(tracer, 0, true);
+        trace(tracer, 0, true);
+        trace(tracer, 0, true);
+
+        assertEquals(4, exporter.spans.size());
+        assertEquals(1.0, meterRegistry.get("review_traces_dropped").tag("reason", "budget").counter().count());
+    }
+
+    @Test
+    void onEnd_BaselineLimitedToHalfTheBudget() {
+        Tracer tracer = tracer(1.0, 4);
+
+        trace(tracer, 0, false);
+        trace(tracer, 0, false);
+
+        assertEquals(2, exporter.spans.size());
+    }
+
+    private Tracer tracer(double baseline, int spansPerSecond) {
+        processor = new TailSamplingSpanProcessor(exporter, new SpanBudget(spansPerSecond, () -> 0L),
+                500, 100, 60_000, meterRegistry);
+        tracerProvider = SdkTracerProvider.builder()
+                .setSampler(new AdaptiveSampler(baseline))
+                .addSpanProcessor(processor)
+                .build();
+        return tracerProvider.get("test");
+    }
+
+    private static void trace(Tracer tracer, long rootLatencyNanos, boolean childFails) {
+        long start = System.nanoTime();
+        Span root = tracer.spanBuilder("root").setStartTimestamp(start, TimeUnit.NANOSECONDS).startSpan();
+        Span child = tracer.spanBuilder("child").setParent(Context.root().with(root)).startSpan();
+        if (childFails) {
+            child.setStatus(StatusCode.ERROR, "Movie service unavailable");
+        }
+        child.end();
+        root.end(start + Math.max(rootLatencyNanos, 1), TimeUnit.NANOSECONDS);
+    }
+
+    private List<String> exportedNames() {
+        return exporter.spans.stream().map(ReadableSpan::getName).toList();
+    }
+
+    private double exportedCount(String reason) {
+        return meterRegistry.get("review_traces_exported").tag("reason", reason).counter().count();
+    }
+
+    /**
+     * Collects sampled spans the way the batch exporter accepts them
+     */
+    private static class RecordingExporter implements SpanProcessor {
+
+        private final List<ReadableSpan> spans = new ArrayList<>();
+
+        @Override
+        public void onStart(Context parentContext, ReadWriteSpan span) {
+        }
+
+        @Override
+        public boolean isStartRequired() {
+            return false;
+        }
+
+        @Override
+        public void onEnd(ReadableSpan span) {
+            if (span.getSpanContext().isSampled()) {
+                spans.add(span);
+            }
+        }
+
+        @Override
+        public boolean isEndRequired() {
+            return true;
+        }
+    }
+}
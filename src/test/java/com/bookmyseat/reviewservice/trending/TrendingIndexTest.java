@@ -0,0 +1,210 @@
+package com.bookmyseat.reviewservice.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingIndexTest {
+
+    private static final double HOUR = 3600;
+    private static final Instant NOW = Instant.parse("2025-09-30T12:00:00Z");
+
+    @Test
+    void score_HalvesEveryHalfLife() {
+        TrendingIndex index = new TrendingIndex(HOUR, 16);
+        index.record(1L, NOW);
+        index.record(1L, NOW);
+
+        assertEquals(2.0, index.score(1L, NOW), 1e-9);
+        assertEquals(1.0, index.score(1L, NOW.plus(Duration.ofHours(1))), 1e-9);
+        assertEquals(0.25, index.score(1L, NOW.plus(Duration.ofHours(3))), 1e-9);
+        assertEquals(0.0, index.score(2L, NOW));
+    }
+
+    @Test
+    void top_RecentActivityOutranksOlderVolume() {
+        TrendingIndex index = new TrendingIndex(HOUR, 16);
+        // Movie 1: ten reviews five hours ago; movie 2: two reviews now; movie 3: one review now
+        for (int i = 0; i < 10; i++) {
+            index.record(1L, NOW.minus(Duration.ofHours(5)));
+        }
+        index.record(2L, NOW);
+        index.record(2L, NOW);
+        index.record(3L, NOW);
+
+        List<TrendingIndex.TrendingScore> top = index.top(2, NOW);
+
+        assertEquals(List.of(2L, 3L), top.stream().map(TrendingIndex.TrendingScore::getMovieId).toList());
+        assertEquals(2.0, top.get(0).getScore(), 1e-9);
+        assertEquals(10.0 / 32, index.score(1L, NOW), 1e-9);
+        assertEquals(3, index.top(10, NOW).size());
+    }
+
+    @Test
+    void record_StaysFiniteFarFromEpoch() {
+        TrendingIndex index = new TrendingIndex(60, 16);
+        Instant farFuture = Instant.parse("2300-01-01T00:00:00Z");
+        for (int i = 0; i < 1000; i++) {
+            index.record(1L, farFuture);
+        }
+
+        // Log totals near 1e8 leave about seven significant digits
+        assertEquals(1000.0, index.score(1L, farFuture), 1e-3);
+    }
+
+    @Test
+    void restore_ContinuesDecayFromSnapshotTime() {
+        TrendingIndex index = new TrendingIndex(HOUR, 16);
+        index.restore(1L, 8.0, NOW.minus(Duration.ofHours(2)));
+        index.restore(2L, 0.0, NOW);
+        index.record(1L, NOW);
+
+        assertEquals(3.0, index.score(1L, NOW), 1e-9);
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void drainChanged_ReportsEachUpdatedMovieOnce() {
+        TrendingIndex index = new TrendingIndex(HOUR, 16);
+        index.record(1L, NOW);
+        index.record(1L, NOW);
+        index.record(2L, NOW);
+
+        Map<Long, Double> drained = new HashMap<>();
+        assertEquals(2, index.drainChanged(NOW, drained::put));
+        assertEquals(2.0, drained.get(1L), 1e-9);
+        assertEquals(0, index.drainChanged(NOW, (movieId, score) -> fail("Nothing changed")));
+
+        index.markChanged(2L);
+        drained.clear();
+        index.drainChanged(NOW, drained::put);
+        assertEquals(Map.of(2L, 1.0), drained);
+    }
+
+    @Test
+    void record_ConcurrentUpdatesAreNotLost() throws Exception {
+        TrendingIndex index = new TrendingIndex(1e9, 64);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            writers.add(executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    index.record(1 + i % 4, NOW);
+                }
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        List<TrendingIndex.TrendingScore> top = index.top(10, NOW);
+        assertEquals(4, top.size());
+        for (TrendingIndex.TrendingScore score : top) {
+            assertEquals(2000.0, score.getScore(), 1e-6);
+        }
+    }
+
+    @Test
+    void prune_FreesDecayedMoviesForNewOnes() {
+        // Given: a full index where movie 1 has decayed to 1/1024
+        TrendingIndex index = new TrendingIndex(HOUR, 2);
+        index.record(1L, NOW.minus(Duration.ofHours(10)));
+        index.record(2L, NOW);
+        assertThrows(IllegalStateException.class, () -> index.record(3L, NOW));
+
+        // When
+        List<Long> pruned = new ArrayList<>();
+        int count = index.prune(0.01, NOW, pruned::add);
+
+        // Then
+        assertEquals(1, count);
+        assertEquals(List.of(1L), pruned);
+        assertEquals(0.0, index.score(1L, NOW));
+        index.record(3L, NOW);
+        assertEquals(List.of(2L, 3L), index.top(10, NOW).stream().map(TrendingIndex.TrendingScore::getMovieId).toList());
+    }
+
+    @Test
+    void map_UsesAtLeastTwiceCapacitySlots() {
+        assertEquals(8, new ConcurrentLongDoubleMap(4, 0.0).slots());
+        assertEquals(131072, new ConcurrentLongDoubleMap(65536, 0.0).slots());
+        assertTrue(new ConcurrentLongDoubleMap(1000, 0.0).slots() >= 2000);
+    }
+
+    @Test
+    void map_RemovedKeySlotIsReusedWithoutLosingOtherKeys() {
+        ConcurrentLongDoubleMap map = new ConcurrentLongDoubleMap(4, Double.NEGATIVE_INFINITY);
+        for (long key = 1; key <= 4; key++) {
+            map.getAndUpdate(key, value -> 1.0);
+        }
+
+        assertEquals(2, map.removeIf((key, value) -> key % 2 == 0, (key, value) -> {}));
+        map.getAndUpdate(10L, value -> 5.0);
+        map.getAndUpdate(11L, value -> 6.0);
+
+        assertEquals(4, map.size());
+        assertEquals(Double.NEGATIVE_INFINITY, map.get(2L));
+        assertEquals(1.0, map.get(3L));
+        assertEquals(6.0, map.get(11L));
+        assertThrows(IllegalStateException.class, () -> map.getAndUpdate(12L, value -> 1.0));
+    }
+
+    @Test
+    void map_ConcurrentUpdatesAndRemovalsKeepEveryCountedUpdate() throws Exception {
+        // Writers count into keys 1-4 while a pruner keeps removing them; every count must
+        // end up either in the map or in a removed entry
+        ConcurrentLongDoubleMap map = new ConcurrentLongDoubleMap(8, 0.0);
+        double[] removedTotal = new double[1];
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            writers.add(executor.submit(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    map.getAndUpdate(1 + i % 4, value -> value + 1);
+                }
+            }));
+        }
+        Future<?> pruner = executor.submit(() -> {
+            while (!writers.stream().allMatch(Future::isDone)) {
+                map.removeIf((key, value) -> true, (key, value) -> removedTotal[0] += value);
+            }
+        });
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        pruner.get();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        double[] remaining = new double[1];
+        map.forEach((key, value) -> remaining[0] += value);
+        assertEquals(20000.0, removedTotal[0] + remaining[0]);
+    }
+
+    @Test
+    void map_RejectsKeysBeyondCapacity() {
+        ConcurrentLongDoubleMap map = new ConcurrentLongDoubleMap(4, Double.NaN);
+        for (long key = 1; key <= map.capacity(); key++) {
+            map.getAndUpdate(key, value -> 1.0);
+        }
+
+        assertEquals(map.capacity(), map.size());
+        assertEquals(1.0, map.get(3L));
+        assertTrue(Double.isNaN(map.get(99L)));
+        assertThrows(IllegalStateException.class, () -> map.getAndUpdate(99L, value -> 1.0));
+        assertThrows(IllegalArgumentException.class, () -> map.get(0L));
+    }
+}